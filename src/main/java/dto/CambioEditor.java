@@ -0,0 +1,170 @@
+package dto;
+
+/**
+ * Data Transfer Object (DTO) para los cambios que el servidor envía al editor por
+ * WebSocket.
+ *
+ * <p>Cada mensaje describe solo la parte de la traducción que cambió: el editor quita
+ * {@code borrados} caracteres de su traducción a partir de {@code desde} y coloca
+ * {@code insertado}. Varias ediciones seguidas pueden llegar juntas en un único cambio;
+ * {@code version} es la del último mensaje del editor incluido.</p>
+ *
+ * <p>Si {@code reinicio} es true el cambio empieza un documento nuevo (respuesta a
+ * {@code abrir}) y el editor debe descartar su traducción anterior antes de aplicarlo.
+ * Si el texto contiene un carácter no soportado, {@code error}, {@code codigoError} y
+ * {@code posicionError} lo describen; la traducción sigue actualizándose sin la parte
+ * que contiene el error.</p>
+ *
+ * <p>Ejemplo:</p>
+ * <pre>
+ * {"version":2,"desde":4,"borrados":0,"insertado":"⠀⠍⠥⠝⠙⠕","reinicio":false}
+ * </pre>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see MensajeEditor
+ */
+public class CambioEditor {
+
+    /**
+     * Versión del último mensaje del editor incluido en este cambio.
+     */
+    private long version;
+
+    /**
+     * Posición de la traducción anterior donde empieza el cambio.
+     */
+    private int desde;
+
+    /**
+     * Caracteres de la traducción anterior que se reemplazan.
+     */
+    private int borrados;
+
+    /**
+     * Traducción nueva de la parte cambiada.
+     */
+    private String insertado;
+
+    /**
+     * El cambio empieza un documento nuevo.
+     */
+    private boolean reinicio;
+
+    /**
+     * Versión de la tabla Braille con la que se traduce el documento.
+     */
+    private String versionTabla;
+
+    /**
+     * Mensaje del primer error del texto, o null si no hay errores.
+     */
+    private String error;
+
+    /**
+     * Código del error (nombre de {@code ErrorTraduccion.Codigo}).
+     */
+    private String codigoError;
+
+    /**
+     * Posición en el texto del carácter que produjo el error.
+     */
+    private Integer posicionError;
+
+    /**
+     * Constructor por defecto sin parámetros.
+     * Necesario para la serialización JSON.
+     */
+    public CambioEditor() {
+    }
+
+    /**
+     * Constructor de un cambio sin error.
+     *
+     * @param version Versión del último mensaje incluido
+     * @param desde Posición de la traducción anterior donde empieza el cambio
+     * @param borrados Caracteres reemplazados
+     * @param insertado Traducción nueva de la parte cambiada
+     */
+    public CambioEditor(long version, int desde, int borrados, String insertado) {
+        this.version = version;
+        this.desde = desde;
+        this.borrados = borrados;
+        this.insertado = insertado;
+    }
+
+    // --- Getters y Setters ---
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public int getDesde() {
+        return desde;
+    }
+
+    public void setDesde(int desde) {
+        this.desde = desde;
+    }
+
+    public int getBorrados() {
+        return borrados;
+    }
+
+    public void setBorrados(int borrados) {
+        this.borrados = borrados;
+    }
+
+    public String getInsertado() {
+        return insertado;
+    }
+
+    public void setInsertado(String insertado) {
+        this.insertado = insertado;
+    }
+
+    public boolean isReinicio() {
+        return reinicio;
+    }
+
+    public void setReinicio(boolean reinicio) {
+        this.reinicio = reinicio;
+    }
+
+    public String getVersionTabla() {
+        return versionTabla;
+    }
+
+    public void setVersionTabla(String versionTabla) {
+        this.versionTabla = versionTabla;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getCodigoError() {
+        return codigoError;
+    }
+
+    public void setCodigoError(String codigoError) {
+        this.codigoError = codigoError;
+    }
+
+    public Integer getPosicionError() {
+        return posicionError;
+    }
+
+    public void setPosicionError(Integer posicionError) {
+        this.posicionError = posicionError;
+    }
+}
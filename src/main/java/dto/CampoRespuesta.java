@@ -0,0 +1,91 @@
+package dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Campos opcionales de {@link RespuestaTraduccion} que un cliente puede pedir con
+ * {@link SolicitudTraduccion#setCampos(java.util.List)}.
+ *
+ * <p>{@code exito} y {@code error} no figuran porque se incluyen siempre. Los campos no
+ * pedidos quedan en null y no se serializan; {@link #TEXTO_ESPEJO} además no se calcula.
+ * {@link #CELDAS} solo se incluye si se pide expresamente.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see SolicitudTraduccion
+ */
+public enum CampoRespuesta {
+
+    /** Texto recibido, tal como se envió */
+    TEXTO_ORIGINAL("textoOriginal"),
+
+    /** Resultado de la traducción */
+    TEXTO_TRADUCIDO("textoTraducido"),
+
+    /** Resultado espejado para escritura manual (solo en ESPANOL_A_BRAILLE) */
+    TEXTO_ESPEJO("textoEspejo"),
+
+    /**
+     * Celdas en el formato binario de {@code CeldasBraille.aBinario()}, en Base64 (solo en
+     * las direcciones hacia Braille). No se incluye salvo que se pida
+     */
+    CELDAS("celdas", false),
+
+    /** Dirección aplicada */
+    DIRECCION("direccion"),
+
+    /** Versión de la tabla Braille usada */
+    VERSION_TABLA("versionTabla");
+
+    /** Nombre del campo en el JSON. */
+    private final String nombre;
+
+    /** Si el campo se incluye cuando la solicitud no indica campos. */
+    private final boolean predeterminado;
+
+    CampoRespuesta(String nombre) {
+        this(nombre, true);
+    }
+
+    CampoRespuesta(String nombre, boolean predeterminado) {
+        this.nombre = nombre;
+        this.predeterminado = predeterminado;
+    }
+
+    /**
+     * @return campos que se incluyen cuando la solicitud no indica campos (todos salvo {@link #CELDAS})
+     */
+    public static Set<CampoRespuesta> predeterminados() {
+        Set<CampoRespuesta> campos = EnumSet.noneOf(CampoRespuesta.class);
+        for (CampoRespuesta campo : values()) {
+            if (campo.predeterminado) {
+                campos.add(campo);
+            }
+        }
+        return campos;
+    }
+
+    /**
+     * @return nombre del campo en el JSON
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Busca un campo por su nombre en el JSON, sin lanzar excepciones.
+     *
+     * @param nombre Nombre del campo
+     * @return El campo, o null si el nombre no corresponde a ningún campo opcional
+     */
+    public static CampoRespuesta buscar(String nombre) {
+        for (CampoRespuesta campo : values()) {
+            if (campo.nombre.equals(nombre)) {
+                return campo;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,835 @@
+package dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lectura y escritura JSON en flujo de {@link SolicitudTraduccion} y {@link RespuestaTraduccion},
+ * y de los mensajes del editor en vivo ({@link MensajeEditor}, {@link CambioEditor}), sin
+ * reflexión y sin construir el documento intermedio.
+ *
+ * <p>Los DTO tienen pocos campos, cadenas, enteros y booleanos, así que el formato se
+ * codifica a mano:</p>
+ * <ul>
+ *   <li><b>Lectura</b>: se analiza el JSON directamente desde los bytes UTF-8 de la
+ *       petición, decodificando solo el contenido de las cadenas. Los campos desconocidos
+ *       se ignoran</li>
+ *   <li><b>Escritura</b>: los campos se codifican a UTF-8 directamente en la salida a
+ *       través de un búfer fijo. Las celdas Braille (U+2800 a U+28FF) y el resto de
+ *       caracteres no ASCII se escriben como sus bytes UTF-8, sin secuencias
+ *       {@code \}{@code uXXXX}, que ocuparían el doble</li>
+ * </ul>
+ *
+ * <p>La salida es idéntica byte a byte a la de {@code new Gson().toJson(respuesta)}
+ * codificada en UTF-8: mismo orden de campos, campos null omitidos y los mismos
+ * escapes, incluidos los de HTML ({@code <}, {@code >}, {@code &}, {@code =} y
+ * {@code '}) y los separadores U+2028 y U+2029. Los campos enteros se leen solo como
+ * enteros JSON; un {@code null} deja el valor predeterminado, como hace Gson.</p>
+ *
+ * <p>La lectura es estricta (JSON estándar, RFC 8259) y los errores se informan con
+ * {@link IllegalArgumentException} indicando la posición en bytes.</p>
+ *
+ * <p>Un cuerpo en otra codificación (la declarada en {@code Content-Type}, por ejemplo
+ * ISO-8859-1) se lee con las variantes que reciben la codificación: se transcodifica a
+ * UTF-8 antes de analizarlo, y las posiciones de error se refieren a los bytes UTF-8.
+ * Sin codificación, o si es UTF-8, se analizan los bytes tal cual.</p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * SolicitudTraduccion solicitud = CodecJson.leerSolicitud(req.getInputStream(), req.getCharacterEncoding());
+ * CodecJson.escribir(servicio.procesarTraduccion(solicitud), resp.getOutputStream());
+ * </pre>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see SolicitudTraduccion
+ * @see RespuestaTraduccion
+ */
+public final class CodecJson {
+
+    /** Tamaño de los búferes de lectura y escritura. */
+    private static final int TAMANO_BUFER = 8192;
+
+    /** Profundidad máxima de anidamiento en los valores que se ignoran. */
+    private static final int PROFUNDIDAD_MAXIMA = 64;
+
+    /** Escape de cada carácter ASCII, o null si se escribe tal cual. */
+    private static final byte[][] ESCAPES = new byte[128][];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = String.format("\\u%04x", c).getBytes(StandardCharsets.US_ASCII);
+        }
+        ESCAPES['\t'] = new byte[]{'\\', 't'};
+        ESCAPES['\b'] = new byte[]{'\\', 'b'};
+        ESCAPES['\n'] = new byte[]{'\\', 'n'};
+        ESCAPES['\r'] = new byte[]{'\\', 'r'};
+        ESCAPES['\f'] = new byte[]{'\\', 'f'};
+        ESCAPES['"'] = new byte[]{'\\', '"'};
+        ESCAPES['\\'] = new byte[]{'\\', '\\'};
+        for (char c : new char[]{'<', '>', '&', '=', '\''}) {
+            ESCAPES[c] = String.format("\\u%04x", (int) c).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private CodecJson() {
+    }
+
+    // --- Lectura ---
+
+    /**
+     * Lee una solicitud.
+     *
+     * @param entrada Cuerpo JSON en UTF-8; se lee hasta el final pero no se cierra
+     * @return La solicitud, o null si el cuerpo está vacío o es {@code null}
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el JSON es inválido
+     */
+    public static SolicitudTraduccion leerSolicitud(InputStream entrada) throws IOException {
+        LectorJson lector = new LectorJson(entrada);
+        if (lector.siguienteNoBlanco() == -1) {
+            return null;
+        }
+        SolicitudTraduccion solicitud = lector.leerSolicitud();
+        lector.verificarFinal();
+        return solicitud;
+    }
+
+    /**
+     * Lee una solicitud en la codificación indicada.
+     *
+     * @param entrada Cuerpo JSON; se lee hasta el final pero no se cierra
+     * @param codificacion Codificación del cuerpo, o null para UTF-8
+     * @return La solicitud, o null si el cuerpo está vacío o es {@code null}
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el JSON es inválido o la codificación no existe
+     */
+    public static SolicitudTraduccion leerSolicitud(InputStream entrada, String codificacion) throws IOException {
+        return leerSolicitud(enUtf8(entrada, codificacion));
+    }
+
+    /**
+     * Lee un arreglo de solicitudes.
+     *
+     * @param entrada Cuerpo JSON en UTF-8; se lee hasta el final pero no se cierra
+     * @return Las solicitudes (los elementos {@code null} se conservan), o null si el
+     *         cuerpo está vacío o es {@code null}
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el JSON es inválido o no es un arreglo
+     */
+    public static SolicitudTraduccion[] leerSolicitudes(InputStream entrada) throws IOException {
+        return leerSolicitudes(entrada, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Lee un arreglo de solicitudes sin pasar de {@code maximo} elementos.
+     *
+     * <p>En cuanto el arreglo tiene un elemento más que {@code maximo} se deja de leer y
+     * se devuelven los leídos: el resto del cuerpo no se analiza ni se valida. Así quien
+     * llama puede rechazar un lote demasiado grande sin haberlo deserializado entero.</p>
+     *
+     * @param entrada Cuerpo JSON; se lee hasta el final, salvo si se pasa del máximo, pero
+     *                no se cierra
+     * @param codificacion Codificación del cuerpo, o null para UTF-8
+     * @param maximo Elementos aceptados
+     * @return Las solicitudes, {@code maximo + 1} si el arreglo tiene más, o null si el
+     *         cuerpo está vacío o es {@code null}
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el JSON leído es inválido, no es un arreglo o la
+     *         codificación no existe
+     */
+    public static SolicitudTraduccion[] leerSolicitudes(InputStream entrada, String codificacion, int maximo)
+            throws IOException {
+        LectorJson lector = new LectorJson(enUtf8(entrada, codificacion));
+        int c = lector.siguienteNoBlanco();
+        if (c == -1) {
+            return null;
+        }
+        if (c == 'n') {
+            lector.literal("null");
+            lector.verificarFinal();
+            return null;
+        }
+        lector.esperar('[');
+        List<SolicitudTraduccion> solicitudes = new ArrayList<>();
+        if (lector.siguienteNoBlanco() == ']') {
+            lector.avanzar();
+        } else {
+            do {
+                lector.siguienteNoBlanco();
+                solicitudes.add(lector.leerSolicitud());
+                if (solicitudes.size() > maximo) {
+                    return solicitudes.toArray(new SolicitudTraduccion[0]);
+                }
+            } while (lector.separador(']'));
+        }
+        lector.verificarFinal();
+        return solicitudes.toArray(new SolicitudTraduccion[0]);
+    }
+
+    /**
+     * Lee un mensaje del editor en vivo.
+     *
+     * @param entrada Mensaje JSON en UTF-8; se lee hasta el final pero no se cierra
+     * @return El mensaje, o null si está vacío o es {@code null}
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el JSON es inválido
+     */
+    public static MensajeEditor leerMensajeEditor(InputStream entrada) throws IOException {
+        LectorJson lector = new LectorJson(entrada);
+        if (lector.siguienteNoBlanco() == -1) {
+            return null;
+        }
+        MensajeEditor mensaje = lector.leerMensajeEditor();
+        lector.verificarFinal();
+        return mensaje;
+    }
+
+    /**
+     * Lee un arreglo de solicitudes en la codificación indicada.
+     *
+     * @param entrada Cuerpo JSON; se lee hasta el final pero no se cierra
+     * @param codificacion Codificación del cuerpo, o null para UTF-8
+     * @return Las solicitudes, o null si el cuerpo está vacío o es {@code null}
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el JSON es inválido, no es un arreglo o la
+     *         codificación no existe
+     */
+    public static SolicitudTraduccion[] leerSolicitudes(InputStream entrada, String codificacion) throws IOException {
+        return leerSolicitudes(entrada, codificacion, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return la entrada tal cual si ya está en UTF-8, o su contenido transcodificado
+     * @throws IllegalArgumentException si la codificación no existe o no está soportada
+     */
+    private static InputStream enUtf8(InputStream entrada, String codificacion) throws IOException {
+        if (codificacion == null) {
+            return entrada;
+        }
+        Charset origen;
+        try {
+            origen = Charset.forName(codificacion.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Codificación no soportada: " + codificacion);
+        }
+        if (origen.equals(StandardCharsets.UTF_8)) {
+            return entrada;
+        }
+        String texto = new String(entrada.readAllBytes(), origen);
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // --- Escritura ---
+
+    /**
+     * Escribe una respuesta en UTF-8.
+     *
+     * @param respuesta Respuesta a escribir
+     * @param salida Destino; se vacía el búfer propio pero no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public static void escribir(RespuestaTraduccion respuesta, OutputStream salida) throws IOException {
+        EscritorJson escritor = new EscritorJson(salida);
+        escritor.respuesta(respuesta);
+        escritor.vaciar();
+    }
+
+    /**
+     * Escribe un arreglo de respuestas en UTF-8.
+     *
+     * @param respuestas Respuestas a escribir; los elementos null se escriben como {@code null}
+     * @param salida Destino; se vacía el búfer propio pero no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public static void escribir(List<RespuestaTraduccion> respuestas, OutputStream salida) throws IOException {
+        EscritorJson escritor = new EscritorJson(salida);
+        escritor.byteAscii('[');
+        for (int i = 0; i < respuestas.size(); i++) {
+            if (i > 0) {
+                escritor.byteAscii(',');
+            }
+            escritor.respuesta(respuestas.get(i));
+        }
+        escritor.byteAscii(']');
+        escritor.vaciar();
+    }
+
+    /**
+     * Escribe un cambio del editor en vivo en UTF-8.
+     *
+     * @param cambio Cambio a escribir
+     * @param salida Destino; se vacía el búfer propio pero no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public static void escribir(CambioEditor cambio, OutputStream salida) throws IOException {
+        EscritorJson escritor = new EscritorJson(salida);
+        escritor.cambio(cambio);
+        escritor.vaciar();
+    }
+
+    /**
+     * Analizador JSON mínimo sobre bytes UTF-8, con un carácter de anticipación.
+     */
+    private static final class LectorJson {
+
+        private final InputStream entrada;
+        private final byte[] bufer = new byte[TAMANO_BUFER];
+        private int posicion;
+        private int limite;
+
+        /** Bytes consumidos antes del búfer actual, para los mensajes de error. */
+        private long desplazamiento;
+
+        /** Caracteres de la cadena en curso. */
+        private char[] cadena = new char[64];
+
+        LectorJson(InputStream entrada) {
+            this.entrada = entrada;
+        }
+
+        /**
+         * @return el byte actual sin consumirlo, o -1 al final de la entrada
+         */
+        private int actual() throws IOException {
+            if (posicion == limite) {
+                desplazamiento += limite;
+                posicion = 0;
+                limite = 0;
+                int leidos = entrada.read(bufer);
+                if (leidos <= 0) {
+                    return -1;
+                }
+                limite = leidos;
+            }
+            return bufer[posicion] & 0xFF;
+        }
+
+        private void avanzar() {
+            posicion++;
+        }
+
+        private int leerByte() throws IOException {
+            int b = actual();
+            if (b == -1) {
+                throw error("fin inesperado del JSON");
+            }
+            posicion++;
+            return b;
+        }
+
+        /**
+         * @return el siguiente byte que no es espacio en blanco, sin consumirlo, o -1
+         */
+        int siguienteNoBlanco() throws IOException {
+            int b;
+            while ((b = actual()) == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                posicion++;
+            }
+            return b;
+        }
+
+        void esperar(char esperado) throws IOException {
+            if (siguienteNoBlanco() != esperado) {
+                throw error("se esperaba '" + esperado + "'");
+            }
+            posicion++;
+        }
+
+        /**
+         * Consume una coma o el cierre de un objeto o arreglo.
+         *
+         * @return true si hay otro elemento, false si se consumió el cierre
+         */
+        boolean separador(char cierre) throws IOException {
+            int b = siguienteNoBlanco();
+            if (b == ',') {
+                posicion++;
+                return true;
+            }
+            if (b == cierre) {
+                posicion++;
+                return false;
+            }
+            throw error("se esperaba ',' o '" + cierre + "'");
+        }
+
+        void literal(String palabra) throws IOException {
+            for (int i = 0; i < palabra.length(); i++) {
+                if (leerByte() != palabra.charAt(i)) {
+                    throw error("se esperaba " + palabra);
+                }
+            }
+        }
+
+        void verificarFinal() throws IOException {
+            if (siguienteNoBlanco() != -1) {
+                throw error("contenido adicional después del JSON");
+            }
+        }
+
+        /**
+         * Lee un objeto solicitud, o {@code null}, a partir del byte actual.
+         */
+        SolicitudTraduccion leerSolicitud() throws IOException {
+            if (actual() == 'n') {
+                literal("null");
+                return null;
+            }
+            esperar('{');
+            SolicitudTraduccion solicitud = new SolicitudTraduccion();
+            if (siguienteNoBlanco() == '}') {
+                posicion++;
+                return solicitud;
+            }
+            do {
+                if (siguienteNoBlanco() != '"') {
+                    throw error("se esperaba el nombre de un campo");
+                }
+                String nombre = leerCadena();
+                esperar(':');
+                siguienteNoBlanco();
+                if ("texto".equals(nombre)) {
+                    solicitud.setTexto(leerCadenaONulo());
+                } else if ("direccion".equals(nombre)) {
+                    solicitud.setDireccion(leerCadenaONulo());
+                } else if ("campos".equals(nombre)) {
+                    solicitud.setCampos(leerListaCadenas());
+                } else {
+                    ignorarValor(0);
+                }
+            } while (separador('}'));
+            return solicitud;
+        }
+
+        /**
+         * Lee un objeto mensaje del editor, o {@code null}, a partir del byte actual.
+         */
+        MensajeEditor leerMensajeEditor() throws IOException {
+            if (actual() == 'n') {
+                literal("null");
+                return null;
+            }
+            esperar('{');
+            MensajeEditor mensaje = new MensajeEditor();
+            if (siguienteNoBlanco() == '}') {
+                posicion++;
+                return mensaje;
+            }
+            do {
+                if (siguienteNoBlanco() != '"') {
+                    throw error("se esperaba el nombre de un campo");
+                }
+                String nombre = leerCadena();
+                esperar(':');
+                siguienteNoBlanco();
+                switch (nombre) {
+                    case "tipo" -> mensaje.setTipo(leerCadenaONulo());
+                    case "direccion" -> mensaje.setDireccion(leerCadenaONulo());
+                    case "texto" -> mensaje.setTexto(leerCadenaONulo());
+                    case "insertado" -> mensaje.setInsertado(leerCadenaONulo());
+                    case "version" -> {
+                        Long version = leerEnteroONulo(Long.MIN_VALUE, Long.MAX_VALUE);
+                        if (version != null) {
+                            mensaje.setVersion(version);
+                        }
+                    }
+                    case "desde" -> {
+                        Long desde = leerEnteroONulo(Integer.MIN_VALUE, Integer.MAX_VALUE);
+                        if (desde != null) {
+                            mensaje.setDesde(desde.intValue());
+                        }
+                    }
+                    case "borrados" -> {
+                        Long borrados = leerEnteroONulo(Integer.MIN_VALUE, Integer.MAX_VALUE);
+                        if (borrados != null) {
+                            mensaje.setBorrados(borrados.intValue());
+                        }
+                    }
+                    default -> ignorarValor(0);
+                }
+            } while (separador('}'));
+            return mensaje;
+        }
+
+        /**
+         * Lee un entero JSON (sin fracción ni exponente), o {@code null}, a partir del
+         * byte actual.
+         */
+        private Long leerEnteroONulo(long minimo, long maximo) throws IOException {
+            int b = actual();
+            if (b == 'n') {
+                literal("null");
+                return null;
+            }
+            boolean negativo = b == '-';
+            if (negativo) {
+                posicion++;
+                b = actual();
+            }
+            if (b < '0' || b > '9') {
+                throw error("se esperaba un entero");
+            }
+            long valor = 0;
+            int cifras = 0;
+            while ((b = actual()) >= '0' && b <= '9') {
+                if (cifras > 0 && valor == 0) {
+                    throw error("cero a la izquierda en un número");
+                }
+                if (valor > (Long.MAX_VALUE - (b - '0')) / 10) {
+                    throw error("entero fuera de rango");
+                }
+                valor = valor * 10 + (b - '0');
+                cifras++;
+                posicion++;
+            }
+            if (b == '.' || b == 'e' || b == 'E') {
+                throw error("se esperaba un entero");
+            }
+            valor = negativo ? -valor : valor;
+            if (valor < minimo || valor > maximo) {
+                throw error("entero fuera de rango");
+            }
+            return valor;
+        }
+
+        /**
+         * Lee un arreglo de cadenas, o {@code null}, a partir del byte actual.
+         */
+        private List<String> leerListaCadenas() throws IOException {
+            if (actual() == 'n') {
+                literal("null");
+                return null;
+            }
+            esperar('[');
+            List<String> cadenas = new ArrayList<>();
+            if (siguienteNoBlanco() == ']') {
+                posicion++;
+                return cadenas;
+            }
+            do {
+                siguienteNoBlanco();
+                cadenas.add(leerCadenaONulo());
+            } while (separador(']'));
+            return cadenas;
+        }
+
+        private String leerCadenaONulo() throws IOException {
+            int b = actual();
+            if (b == 'n') {
+                literal("null");
+                return null;
+            }
+            if (b != '"') {
+                throw error("se esperaba una cadena");
+            }
+            return leerCadena();
+        }
+
+        /**
+         * Lee una cadena a partir de las comillas de apertura, decodificando UTF-8 y escapes.
+         */
+        private String leerCadena() throws IOException {
+            posicion++;
+            int longitud = 0;
+            while (true) {
+                // Tramo ASCII sin escapes, el caso más frecuente en los nombres de campo
+                while (posicion < limite) {
+                    int b = bufer[posicion];
+                    if (b < 0x20 || b == '"' || b == '\\') {
+                        break;
+                    }
+                    if (longitud == cadena.length) {
+                        cadena = Arrays.copyOf(cadena, longitud << 1);
+                    }
+                    cadena[longitud++] = (char) b;
+                    posicion++;
+                }
+                if (longitud + 2 > cadena.length) {
+                    cadena = Arrays.copyOf(cadena, cadena.length << 1);
+                }
+                int b = leerByte();
+                if (b == '"') {
+                    return new String(cadena, 0, longitud);
+                } else if (b == '\\') {
+                    cadena[longitud++] = leerEscape();
+                } else if (b < 0x20) {
+                    throw error("carácter de control sin escapar en una cadena");
+                } else if (b < 0x80) {
+                    cadena[longitud++] = (char) b;
+                } else {
+                    longitud = decodificarUtf8(b, longitud);
+                }
+            }
+        }
+
+        private char leerEscape() throws IOException {
+            int b = leerByte();
+            switch (b) {
+                case '"': return '"';
+                case '\\': return '\\';
+                case '/': return '/';
+                case 'b': return '\b';
+                case 'f': return '\f';
+                case 'n': return '\n';
+                case 'r': return '\r';
+                case 't': return '\t';
+                case 'u':
+                    int valor = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digito = Character.digit(leerByte(), 16);
+                        if (digito < 0) {
+                            throw error("secuencia \\u inválida");
+                        }
+                        valor = (valor << 4) | digito;
+                    }
+                    return (char) valor;
+                default:
+                    throw error("escape inválido");
+            }
+        }
+
+        /**
+         * Decodifica una secuencia UTF-8 de varios bytes; las secuencias mal formadas se
+         * sustituyen por U+FFFD, como hace {@link java.io.InputStreamReader}.
+         */
+        private int decodificarUtf8(int primero, int longitud) throws IOException {
+            int continuaciones;
+            int punto;
+            if (primero >= 0xC2 && primero <= 0xDF) {
+                continuaciones = 1;
+                punto = primero & 0x1F;
+            } else if (primero >= 0xE0 && primero <= 0xEF) {
+                continuaciones = 2;
+                punto = primero & 0x0F;
+            } else if (primero >= 0xF0 && primero <= 0xF4) {
+                continuaciones = 3;
+                punto = primero & 0x07;
+            } else {
+                cadena[longitud++] = '\uFFFD';
+                return longitud;
+            }
+            for (int i = 0; i < continuaciones; i++) {
+                int b = actual();
+                if (b < 0x80 || b > 0xBF) {
+                    cadena[longitud++] = '\uFFFD';
+                    return longitud;
+                }
+                posicion++;
+                punto = (punto << 6) | (b & 0x3F);
+            }
+            boolean valido = continuaciones == 1
+                    || (continuaciones == 2 && punto >= 0x800 && (punto < 0xD800 || punto > 0xDFFF))
+                    || (continuaciones == 3 && punto >= 0x10000 && punto <= 0x10FFFF);
+            if (!valido) {
+                cadena[longitud++] = '\uFFFD';
+            } else if (punto >= 0x10000) {
+                cadena[longitud++] = Character.highSurrogate(punto);
+                cadena[longitud++] = Character.lowSurrogate(punto);
+            } else {
+                cadena[longitud++] = (char) punto;
+            }
+            return longitud;
+        }
+
+        /**
+         * Ignora un valor de cualquier tipo a partir del byte actual.
+         */
+        private void ignorarValor(int profundidad) throws IOException {
+            if (profundidad > PROFUNDIDAD_MAXIMA) {
+                throw error("JSON demasiado anidado");
+            }
+            int b = actual();
+            if (b == '"') {
+                leerCadena();
+            } else if (b == '{') {
+                posicion++;
+                if (siguienteNoBlanco() == '}') {
+                    posicion++;
+                    return;
+                }
+                do {
+                    if (siguienteNoBlanco() != '"') {
+                        throw error("se esperaba el nombre de un campo");
+                    }
+                    leerCadena();
+                    esperar(':');
+                    siguienteNoBlanco();
+                    ignorarValor(profundidad + 1);
+                } while (separador('}'));
+            } else if (b == '[') {
+                posicion++;
+                if (siguienteNoBlanco() == ']') {
+                    posicion++;
+                    return;
+                }
+                do {
+                    siguienteNoBlanco();
+                    ignorarValor(profundidad + 1);
+                } while (separador(']'));
+            } else if (b == 't') {
+                literal("true");
+            } else if (b == 'f') {
+                literal("false");
+            } else if (b == 'n') {
+                literal("null");
+            } else if (b == '-' || (b >= '0' && b <= '9')) {
+                while ((b = actual()) == '-' || b == '+' || b == '.' || b == 'e' || b == 'E'
+                        || (b >= '0' && b <= '9')) {
+                    posicion++;
+                }
+            } else {
+                throw error("se esperaba un valor");
+            }
+        }
+
+        private IllegalArgumentException error(String detalle) {
+            return new IllegalArgumentException(
+                    "JSON inválido: " + detalle + " en la posición " + (desplazamiento + posicion));
+        }
+    }
+
+    /**
+     * Codificador UTF-8 con búfer fijo que escribe los campos de las respuestas.
+     */
+    private static final class EscritorJson {
+
+        /** Espacio libre que garantiza cada paso de {@link #cadena(String)}. */
+        private static final int RESERVA = 12;
+
+        private final OutputStream salida;
+        private final byte[] bufer = new byte[TAMANO_BUFER];
+        private int posicion;
+
+        EscritorJson(OutputStream salida) {
+            this.salida = salida;
+        }
+
+        void respuesta(RespuestaTraduccion respuesta) throws IOException {
+            if (respuesta == null) {
+                ascii("null");
+                return;
+            }
+            ascii(respuesta.isExito() ? "{\"exito\":true" : "{\"exito\":false");
+            campo("textoOriginal", respuesta.getTextoOriginal());
+            campo("textoTraducido", respuesta.getTextoTraducido());
+            campo("textoEspejo", respuesta.getTextoEspejo());
+            campo("celdas", respuesta.getCeldas());
+            campo("direccion", respuesta.getDireccion());
+            campo("versionTabla", respuesta.getVersionTabla());
+            campo("error", respuesta.getError());
+            campo("codigoError", respuesta.getCodigoError());
+            campo("caracterError", respuesta.getCaracterError());
+            if (respuesta.getPosicionError() != null) {
+                ascii(",\"posicionError\":");
+                ascii(respuesta.getPosicionError().toString());
+            }
+            byteAscii('}');
+        }
+
+        void cambio(CambioEditor cambio) throws IOException {
+            if (cambio == null) {
+                ascii("null");
+                return;
+            }
+            ascii("{\"version\":");
+            ascii(Long.toString(cambio.getVersion()));
+            ascii(",\"desde\":");
+            ascii(Integer.toString(cambio.getDesde()));
+            ascii(",\"borrados\":");
+            ascii(Integer.toString(cambio.getBorrados()));
+            campo("insertado", cambio.getInsertado());
+            ascii(cambio.isReinicio() ? ",\"reinicio\":true" : ",\"reinicio\":false");
+            campo("versionTabla", cambio.getVersionTabla());
+            campo("error", cambio.getError());
+            campo("codigoError", cambio.getCodigoError());
+            if (cambio.getPosicionError() != null) {
+                ascii(",\"posicionError\":");
+                ascii(cambio.getPosicionError().toString());
+            }
+            byteAscii('}');
+        }
+
+        private void campo(String nombre, String valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            byteAscii(',');
+            byteAscii('"');
+            ascii(nombre);
+            ascii("\":");
+            cadena(valor);
+        }
+
+        /**
+         * Escribe una cadena entre comillas, con escapes y codificada en UTF-8.
+         */
+        private void cadena(String texto) throws IOException {
+            byteAscii('"');
+            int longitud = texto.length();
+            for (int i = 0; i < longitud; i++) {
+                if (posicion > bufer.length - RESERVA) {
+                    vaciar();
+                }
+                char c = texto.charAt(i);
+                if (c < 0x80) {
+                    byte[] escape = ESCAPES[c];
+                    if (escape == null) {
+                        bufer[posicion++] = (byte) c;
+                    } else {
+                        System.arraycopy(escape, 0, bufer, posicion, escape.length);
+                        posicion += escape.length;
+                    }
+                } else if (c < 0x800) {
+                    bufer[posicion++] = (byte) (0xC0 | (c >> 6));
+                    bufer[posicion++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < longitud
+                            && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                        int punto = Character.toCodePoint(c, texto.charAt(++i));
+                        bufer[posicion++] = (byte) (0xF0 | (punto >> 18));
+                        bufer[posicion++] = (byte) (0x80 | ((punto >> 12) & 0x3F));
+                        bufer[posicion++] = (byte) (0x80 | ((punto >> 6) & 0x3F));
+                        bufer[posicion++] = (byte) (0x80 | (punto & 0x3F));
+                    } else {
+                        // Sustituto aislado: mismo reemplazo que el codificador UTF-8 de Java
+                        bufer[posicion++] = '?';
+                    }
+                } else if (c == '\u2028' || c == '\u2029') {
+                    ascii(c == '\u2028' ? "\\u2028" : "\\u2029");
+                } else {
+                    bufer[posicion++] = (byte) (0xE0 | (c >> 12));
+                    bufer[posicion++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bufer[posicion++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            byteAscii('"');
+        }
+
+        private void ascii(String texto) throws IOException {
+            for (int i = 0; i < texto.length(); i++) {
+                byteAscii(texto.charAt(i));
+            }
+        }
+
+        void byteAscii(char c) throws IOException {
+            if (posicion == bufer.length) {
+                vaciar();
+            }
+            bufer[posicion++] = (byte) c;
+        }
+
+        void vaciar() throws IOException {
+            salida.write(bufer, 0, posicion);
+            posicion = 0;
+        }
+    }
+}
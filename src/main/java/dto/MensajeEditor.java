@@ -0,0 +1,136 @@
+package dto;
+
+/**
+ * Data Transfer Object (DTO) para los mensajes que el editor envía por WebSocket a
+ * {@code /ws/editor}.
+ *
+ * <p>Hay dos tipos de mensaje:</p>
+ * <ul>
+ *   <li><b>abrir</b>: empieza un documento nuevo con {@code direccion} y {@code texto}
+ *       completo. Se envía al conectar y al cambiar de dirección</li>
+ *   <li><b>editar</b>: reemplaza {@code borrados} caracteres del texto a partir de
+ *       {@code desde} por {@code insertado}, sobre el texto que resulta de todas las
+ *       ediciones anteriores</li>
+ * </ul>
+ * <p>Cada mensaje lleva un número de {@code version} creciente que el servidor devuelve
+ * en el cambio que lo incluye.</p>
+ *
+ * <p>Ejemplo:</p>
+ * <pre>
+ * {"tipo":"abrir","version":1,"direccion":"ESPANOL_A_BRAILLE","texto":"Hola"}
+ * {"tipo":"editar","version":2,"desde":4,"borrados":0,"insertado":" mundo"}
+ * </pre>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see CambioEditor
+ */
+public class MensajeEditor {
+
+    /** Tipo de mensaje que abre un documento. */
+    public static final String ABRIR = "abrir";
+
+    /** Tipo de mensaje que edita el documento abierto. */
+    public static final String EDITAR = "editar";
+
+    /**
+     * Tipo de mensaje: {@value #ABRIR} o {@value #EDITAR}.
+     */
+    private String tipo;
+
+    /**
+     * Número de versión del texto del editor tras este mensaje.
+     */
+    private long version;
+
+    /**
+     * Dirección de la traducción (solo al abrir).
+     */
+    private String direccion;
+
+    /**
+     * Texto completo del documento (solo al abrir).
+     */
+    private String texto;
+
+    /**
+     * Posición del texto donde empieza la edición.
+     */
+    private int desde;
+
+    /**
+     * Caracteres eliminados a partir de {@link #desde}.
+     */
+    private int borrados;
+
+    /**
+     * Texto insertado en {@link #desde}.
+     */
+    private String insertado;
+
+    /**
+     * Constructor por defecto sin parámetros.
+     * Necesario para la deserialización JSON.
+     */
+    public MensajeEditor() {
+    }
+
+    // --- Getters y Setters ---
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getDireccion() {
+        return direccion;
+    }
+
+    public void setDireccion(String direccion) {
+        this.direccion = direccion;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public void setTexto(String texto) {
+        this.texto = texto;
+    }
+
+    public int getDesde() {
+        return desde;
+    }
+
+    public void setDesde(int desde) {
+        this.desde = desde;
+    }
+
+    public int getBorrados() {
+        return borrados;
+    }
+
+    public void setBorrados(int borrados) {
+        this.borrados = borrados;
+    }
+
+    public String getInsertado() {
+        return insertado;
+    }
+
+    public void setInsertado(String insertado) {
+        this.insertado = insertado;
+    }
+}
@@ -41,18 +41,54 @@ public class RespuestaTraduccion {
      * Texto resultante con efecto espejo (opcional).
      */
     private String textoEspejo;
+
+    /**
+     * Celdas del resultado en formato binario (un byte de puntos por celda y la longitud
+     * de cada línea), codificadas en Base64. Solo presente si se pidió el campo
+     * {@code celdas}.
+     */
+    private String celdas;
     
     /**
      * Dirección en la que se realizó la traducción.
      */
     private String direccion;
     
+    /**
+     * Versión de la tabla Braille con la que se tradujo.
+     * Cambia cuando se recargan las reglas, por lo que las cachés de resultados
+     * deben incluirla en su clave.
+     */
+    private String versionTabla;
+
+    /**
+     * Versión de la tabla con la que se tradujo, aunque no se haya pedido
+     * {@code versionTabla}. No se serializa; sirve para calcular validadores HTTP.
+     */
+    private transient String versionTablaUsada;
+
     /**
      * Mensaje de error si la traducción falló.
      * Solo presente cuando exito = false.
      */
     private String error;
 
+    /**
+     * Código del error (nombre de {@code ErrorTraduccion.Codigo}), para que el cliente
+     * lo distinga sin analizar el mensaje. Solo presente cuando exito = false.
+     */
+    private String codigoError;
+
+    /**
+     * Carácter de la entrada que produjo el error, si el error es de un carácter.
+     */
+    private String caracterError;
+
+    /**
+     * Posición (índice UTF-16) del carácter que produjo el error en el texto original.
+     */
+    private Integer posicionError;
+
     /**
      * Constructor por defecto sin parámetros.
      * Necesario para la serialización JSON.
@@ -198,6 +234,61 @@ public class RespuestaTraduccion {
         this.textoEspejo = textoEspejo;
     }
 
+    /**
+     * Obtiene las celdas del resultado en formato binario y Base64.
+     *
+     * @return Las celdas, o null si no se pidieron o la dirección produce español
+     */
+    public String getCeldas() {
+        return celdas;
+    }
+
+    /**
+     * Establece las celdas del resultado en formato binario y Base64.
+     *
+     * @param celdas Las celdas codificadas
+     */
+    public void setCeldas(String celdas) {
+        this.celdas = celdas;
+    }
+
+    /**
+     * Obtiene la versión de la tabla Braille con la que se tradujo.
+     * 
+     * @return La versión de la tabla, o null si la traducción falló
+     */
+    public String getVersionTabla() {
+        return versionTabla;
+    }
+
+    /**
+     * Establece la versión de la tabla Braille con la que se tradujo.
+     * 
+     * @param versionTabla La versión de la tabla
+     */
+    public void setVersionTabla(String versionTabla) {
+        this.versionTabla = versionTabla;
+    }
+
+    /**
+     * Obtiene la versión de la tabla con la que se tradujo, se haya pedido o no el campo
+     * {@code versionTabla}. No forma parte del JSON.
+     * 
+     * @return La versión de la tabla, o null si la traducción falló
+     */
+    public String getVersionTablaUsada() {
+        return versionTablaUsada;
+    }
+
+    /**
+     * Establece la versión de la tabla con la que se tradujo, sin incluirla en el JSON.
+     * 
+     * @param versionTablaUsada La versión de la tabla
+     */
+    public void setVersionTablaUsada(String versionTablaUsada) {
+        this.versionTablaUsada = versionTablaUsada;
+    }
+
     /**
      * Obtiene el mensaje de error si la traducción falló.
      * 
@@ -216,4 +307,58 @@ public class RespuestaTraduccion {
         this.error = error;
     }
 
+    /**
+     * Obtiene el código del error.
+     *
+     * @return El código (por ejemplo {@code CARACTER_NO_SOPORTADO}), o null si no hubo error
+     */
+    public String getCodigoError() {
+        return codigoError;
+    }
+
+    /**
+     * Establece el código del error.
+     *
+     * @param codigoError El código del error
+     */
+    public void setCodigoError(String codigoError) {
+        this.codigoError = codigoError;
+    }
+
+    /**
+     * Obtiene el carácter que produjo el error.
+     *
+     * @return El carácter, o null si el error no es de un carácter
+     */
+    public String getCaracterError() {
+        return caracterError;
+    }
+
+    /**
+     * Establece el carácter que produjo el error.
+     *
+     * @param caracterError El carácter
+     */
+    public void setCaracterError(String caracterError) {
+        this.caracterError = caracterError;
+    }
+
+    /**
+     * Obtiene la posición en el texto original del carácter que produjo el error.
+     *
+     * @return La posición, o null si el error no es de un carácter
+     */
+    public Integer getPosicionError() {
+        return posicionError;
+    }
+
+    /**
+     * Establece la posición del carácter que produjo el error.
+     *
+     * @param posicionError La posición en el texto original
+     */
+    public void setPosicionError(Integer posicionError) {
+        this.posicionError = posicionError;
+    }
+
 }
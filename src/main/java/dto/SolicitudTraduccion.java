@@ -1,5 +1,7 @@
 package dto;
 
+import java.util.List;
+
 /**
  * Data Transfer Object (DTO) para las solicitudes de traducción recibidas por el sistema.
  * 
@@ -10,6 +12,7 @@ package dto;
  * <p>Ejemplo de uso:</p>
  * <pre>
  * SolicitudTraduccion solicitud = new SolicitudTraduccion("Hola mundo", "ESPANOL_A_BRAILLE");
+ * solicitud.setCampos(List.of("textoTraducido"));   // solo el resultado
  * </pre>
  * 
  * @author Sistema de Traducción Braille
@@ -30,6 +33,12 @@ public class SolicitudTraduccion {
      */
     private String direccion;
 
+    /**
+     * Campos que se quieren en la respuesta, por su nombre en el JSON
+     * (ver {@link CampoRespuesta}). Si es null se devuelven todos.
+     */
+    private List<String> campos;
+
     /**
      * Constructor por defecto sin parámetros.
      * Necesario para la deserialización JSON.
@@ -86,4 +95,22 @@ public class SolicitudTraduccion {
         this.direccion = direccion;
     }
 
+    /**
+     * Obtiene los campos solicitados para la respuesta.
+     * 
+     * @return Nombres de los campos, o null si se quieren todos
+     */
+    public List<String> getCampos() {
+        return campos;
+    }
+
+    /**
+     * Limita la respuesta a ciertos campos; {@code exito} y {@code error} se incluyen siempre.
+     * 
+     * @param campos Nombres de los campos (por ejemplo {@code "textoTraducido"}), o null para todos
+     */
+    public void setCampos(List<String> campos) {
+        this.campos = campos;
+    }
+
 }
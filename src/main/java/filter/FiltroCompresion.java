@@ -0,0 +1,260 @@
+package filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Filtro que comprime las respuestas de la API con gzip o deflate según la cabecera
+ * {@code Accept-Encoding} del cliente.
+ *
+ * <p>Cada celda Braille ocupa tres bytes en UTF-8 y los textos traducidos son muy
+ * repetitivos, por lo que las respuestas grandes se reducen a una fracción de su
+ * tamaño. El filtro:</p>
+ * <ul>
+ *   <li>Elige gzip o deflate respetando los pesos {@code q} de {@code Accept-Encoding};
+ *       a igual peso prefiere gzip</li>
+ *   <li>Solo comprime respuestas exitosas de tipo texto, JSON, XML o binario de al menos
+ *       {@code umbralBytes} bytes (por defecto {@value #UMBRAL_PREDETERMINADO}); por
+ *       debajo la cabecera y el coste de CPU no compensan</li>
+ *   <li>Comprime en flujo a medida que el servlet escribe, sin acumular la respuesta, con
+ *       {@link Deflater} reutilizados de un pool</li>
+ *   <li>Añade {@code Vary: Accept-Encoding} a todas las respuestas, comprimidas o no,
+ *       para que los proxies no entreguen una versión a quien no la acepta</li>
+ *   <li>Convierte en débil ({@code W/"..."}) el ETag de una respuesta comprimida, ya que
+ *       sus bytes no son los de la representación sin comprimir</li>
+ * </ul>
+ *
+ * <p>La respuesta asíncrona de {@code /api/traducir} se escribe sin bloquear; la
+ * compresión lo respeta porque cada escritura del servlet produce como mucho una
+ * escritura comprimida, y como el servlet declara la longitud, la última escritura
+ * incluye también el final del flujo comprimido. Ver {@link RespuestaComprimida}. Para
+ * ello el servlet debe pasar a modo asíncrono con {@code startAsync(request, response)},
+ * de modo que siga escribiendo en la respuesta comprimida; la respuesta se termina y su
+ * compresor vuelve al pool al completarse la petición, no al salir del filtro.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see RespuestaComprimida
+ * @see FiltroCors
+ */
+@WebFilter(urlPatterns = { "/api/*" }, asyncSupported = true)
+public class FiltroCompresion implements Filter {
+
+    /** Tamaño mínimo en bytes de una respuesta para comprimirla si no se configura otro valor. */
+    static final int UMBRAL_PREDETERMINADO = 1024;
+
+    /** Nivel de compresión si no se configura otro valor: rápido y suficiente para Braille. */
+    static final int NIVEL_PREDETERMINADO = 1;
+
+    /** Tamaño mínimo en bytes de una respuesta para comprimirla. */
+    private int umbral = UMBRAL_PREDETERMINADO;
+
+    /** Nivel de compresión de 1 (rápido) a 9 (máximo). */
+    private int nivel = NIVEL_PREDETERMINADO;
+
+    /** Compresores gzip (deflate sin envoltorio zlib) libres. */
+    private BlockingQueue<Deflater> poolGzip;
+
+    /** Compresores deflate (con envoltorio zlib) libres. */
+    private BlockingQueue<Deflater> poolDeflate;
+
+    /**
+     * Lee los parámetros {@code umbralBytes} y {@code nivel} y crea los pools de compresores.
+     *
+     * @param filterConfig Configuración del filtro proporcionada por el contenedor
+     * @throws ServletException si un parámetro no es un número válido
+     */
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        umbral = parametro(filterConfig, "umbralBytes", UMBRAL_PREDETERMINADO, 0, Integer.MAX_VALUE);
+        nivel = parametro(filterConfig, "nivel", NIVEL_PREDETERMINADO, 1, 9);
+        int capacidad = Runtime.getRuntime().availableProcessors() * 2;
+        poolGzip = new ArrayBlockingQueue<>(capacidad);
+        poolDeflate = new ArrayBlockingQueue<>(capacidad);
+    }
+
+    private static int parametro(FilterConfig config, String nombre, int predeterminado, int minimo, int maximo)
+            throws ServletException {
+        String valor = config.getInitParameter(nombre);
+        if (valor == null) {
+            return predeterminado;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero >= minimo && numero <= maximo) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // se informa abajo
+        }
+        throw new ServletException("El parámetro " + nombre + " debe ser un entero entre "
+                + minimo + " y " + maximo + ": " + valor);
+    }
+
+    /**
+     * Envuelve la respuesta para comprimirla si el cliente lo acepta.
+     *
+     * @param request Petición HTTP
+     * @param response Respuesta HTTP
+     * @param chain Resto de la cadena de filtros
+     * @throws IOException Si ocurre un error de I/O
+     * @throws ServletException Si ocurre un error del servlet
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.addHeader("Vary", "Accept-Encoding");
+
+        String codificacion = negociar(httpRequest.getHeader("Accept-Encoding"));
+        if (codificacion == null || "HEAD".equalsIgnoreCase(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RespuestaComprimida comprimida = new RespuestaComprimida(httpRequest, httpResponse, this, codificacion, umbral);
+        try {
+            chain.doFilter(request, comprimida);
+        } finally {
+            if (httpRequest.isAsyncStarted()) {
+                httpRequest.getAsyncContext().addListener(new FinAsincrono(comprimida));
+            } else {
+                comprimida.finalizar();
+            }
+        }
+    }
+
+    /**
+     * Termina la respuesta comprimida de una petición asíncrona cuando se completa.
+     */
+    private static final class FinAsincrono implements AsyncListener {
+
+        private final RespuestaComprimida comprimida;
+
+        FinAsincrono(RespuestaComprimida comprimida) {
+            this.comprimida = comprimida;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent evento) throws IOException {
+            comprimida.finalizar();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent evento) {
+            // La petición se completa a continuación
+        }
+
+        @Override
+        public void onError(AsyncEvent evento) {
+            // La petición se completa a continuación
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent evento) {
+            evento.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Elige la codificación de la respuesta.
+     *
+     * @param aceptadas valor de {@code Accept-Encoding}, o null
+     * @return {@code "gzip"}, {@code "deflate"} o null si el cliente no acepta ninguna
+     */
+    static String negociar(String aceptadas) {
+        if (aceptadas == null) {
+            return null;
+        }
+        double pesoGzip = -1;
+        double pesoDeflate = -1;
+        double pesoComodin = -1;
+        for (String elemento : aceptadas.split(",")) {
+            String[] partes = elemento.split(";");
+            String nombre = partes[0].trim().toLowerCase(Locale.ROOT);
+            double peso = 1;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        peso = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        peso = 0;
+                    }
+                }
+            }
+            switch (nombre) {
+                case "gzip", "x-gzip" -> pesoGzip = Math.max(pesoGzip, peso);
+                case "deflate" -> pesoDeflate = Math.max(pesoDeflate, peso);
+                case "*" -> pesoComodin = peso;
+                default -> {
+                }
+            }
+        }
+        if (pesoGzip < 0) {
+            pesoGzip = pesoComodin;
+        }
+        if (pesoDeflate < 0) {
+            pesoDeflate = pesoComodin;
+        }
+        if (pesoGzip > 0 && pesoGzip >= pesoDeflate) {
+            return "gzip";
+        }
+        return pesoDeflate > 0 ? "deflate" : null;
+    }
+
+    /**
+     * Toma un compresor del pool, o crea uno si no hay libres.
+     *
+     * @param gzip true para gzip (sin envoltorio zlib), false para deflate
+     * @return compresor listo para usar
+     */
+    Deflater obtenerCompresor(boolean gzip) {
+        Deflater compresor = (gzip ? poolGzip : poolDeflate).poll();
+        return compresor != null ? compresor : new Deflater(nivel, gzip);
+    }
+
+    /**
+     * Devuelve un compresor al pool, o libera su memoria nativa si el pool está lleno.
+     *
+     * @param compresor compresor obtenido con {@link #obtenerCompresor(boolean)}
+     * @param gzip el mismo valor con el que se obtuvo
+     */
+    void devolverCompresor(Deflater compresor, boolean gzip) {
+        compresor.reset();
+        if (!(gzip ? poolGzip : poolDeflate).offer(compresor)) {
+            compresor.end();
+        }
+    }
+
+    /**
+     * Libera la memoria nativa de los compresores del pool.
+     */
+    @Override
+    public void destroy() {
+        for (BlockingQueue<Deflater> pool : List.of(poolGzip, poolDeflate)) {
+            Deflater compresor;
+            while ((compresor = pool.poll()) != null) {
+                compresor.end();
+            }
+        }
+    }
+}
@@ -21,6 +21,8 @@ import java.io.IOException;
  *   <li>Access-Control-Allow-Methods: Define métodos HTTP permitidos</li>
  *   <li>Access-Control-Allow-Headers: Especifica encabezados permitidos</li>
  *   <li>Access-Control-Max-Age: Tiempo de caché para solicitudes preflight</li>
+ *   <li>Access-Control-Expose-Headers: Encabezados de respuesta legibles desde JavaScript
+ *       (ETag y versión de la tabla)</li>
  * </ul>
  * 
  * @author Sistema de Traducción Braille
@@ -28,7 +30,7 @@ import java.io.IOException;
  * @since 1.0
  * @see Filter
  */
-@WebFilter(urlPatterns = { "/api/*" })
+@WebFilter(urlPatterns = { "/api/*" }, asyncSupported = true)
 public class FiltroCors implements Filter {
 
     /**
@@ -70,8 +72,9 @@ public class FiltroCors implements Filter {
         // Configuración de los encabezados CORS
         httpResponse.setHeader("Access-Control-Allow-Origin", "*");
         httpResponse.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-        httpResponse.setHeader("Access-Control-Allow-Headers", "Content-Type, Authorization");
+        httpResponse.setHeader("Access-Control-Allow-Headers", "Content-Type, Authorization, If-None-Match");
         httpResponse.setHeader("Access-Control-Max-Age", "3600");
+        httpResponse.setHeader("Access-Control-Expose-Headers", "ETag, X-Version-Tabla");
 
         // Manejo de preflight (OPTIONS)
         if ("OPTIONS".equalsIgnoreCase(httpRequest.getMethod())) {
@@ -0,0 +1,454 @@
+package filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Respuesta que decide en la primera escritura si se comprime y, si es así, comprime
+ * en flujo lo que escribe el servlet.
+ *
+ * <h2>Decisión</h2>
+ * <ul>
+ *   <li>Si el servlet declaró la longitud ({@code Content-Length}), se comprime cuando
+ *       alcanza el umbral, sin esperar a los datos</li>
+ *   <li>Si no la declaró y la petición es síncrona, los primeros bytes se retienen hasta
+ *       el umbral: si la respuesta termina antes, se envía sin comprimir y con su
+ *       longitud; si lo supera, o el servlet fuerza el envío con {@code flush()}, se
+ *       comprime</li>
+ *   <li>Una respuesta asíncrona sin longitud declarada no se comprime, porque el final
+ *       del flujo comprimido no tendría cuándo escribirse sin bloquear</li>
+ * </ul>
+ *
+ * <h2>Escritura sin bloqueo</h2>
+ * <p>En modo no bloqueante el servlet solo escribe tras {@code isReady()}, y cada
+ * escritura aquí produce como mucho una escritura en la salida real. Cuando se escribe
+ * el último byte declarado, el final del flujo comprimido (y el pie de gzip) se añade a
+ * esa misma escritura. {@code isReady()} y {@code setWriteListener()} se delegan en la
+ * salida real.</p>
+ *
+ * <p>No es thread-safe: como la respuesta, la usa un solo hilo a la vez.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see FiltroCompresion
+ */
+final class RespuestaComprimida extends HttpServletResponseWrapper {
+
+    /** Cabecera fija de gzip: método deflate, sin nombre ni fecha, sistema desconocido. */
+    private static final byte[] CABECERA_GZIP = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private enum Estado {
+        /** Aún no se escribió nada. */
+        PENDIENTE,
+        /** Se retienen los primeros bytes hasta saber si se alcanza el umbral. */
+        RETENIENDO,
+        /** Los bytes se envían tal cual. */
+        DIRECTO,
+        /** Los bytes se comprimen. */
+        COMPRIMIDO,
+        /** El flujo comprimido ya se cerró. */
+        TERMINADO
+    }
+
+    private final HttpServletRequest peticion;
+    private final FiltroCompresion filtro;
+    private final boolean gzip;
+    private final int umbral;
+
+    private Estado estado = Estado.PENDIENTE;
+
+    /** Longitud declarada por el servlet, o -1. */
+    private long longitudDeclarada = -1;
+
+    /** Bytes recibidos del servlet. */
+    private long recibidos;
+
+    /** Bytes retenidos (estado RETENIENDO) o comprimidos pendientes de escribir. */
+    private byte[] bufer = new byte[512];
+    private int enBufer;
+
+    private Deflater compresor;
+    private final CRC32 crc = new CRC32();
+
+    private SalidaComprimida salida;
+    private PrintWriter escritor;
+
+    /** Evita que el vaciado del escritor al finalizar fuerce la compresión. */
+    private boolean finalizando;
+
+    RespuestaComprimida(HttpServletRequest peticion, HttpServletResponse respuesta, FiltroCompresion filtro,
+                        String codificacion, int umbral) {
+        super(respuesta);
+        this.peticion = peticion;
+        this.filtro = filtro;
+        this.gzip = "gzip".equals(codificacion);
+        this.umbral = umbral;
+    }
+
+    // --- Longitud declarada: se retiene hasta decidir ---
+
+    @Override
+    public void setContentLength(int longitud) {
+        setContentLengthLong(longitud);
+    }
+
+    @Override
+    public void setContentLengthLong(long longitud) {
+        if (estado == Estado.PENDIENTE) {
+            longitudDeclarada = longitud;
+        } else if (estado == Estado.DIRECTO) {
+            super.setContentLengthLong(longitud);
+        }
+    }
+
+    @Override
+    public void setHeader(String nombre, String valor) {
+        if ("Content-Length".equalsIgnoreCase(nombre)) {
+            setContentLengthLong(valor != null ? Long.parseLong(valor.trim()) : -1);
+        } else {
+            super.setHeader(nombre, valor);
+        }
+    }
+
+    @Override
+    public void addHeader(String nombre, String valor) {
+        if ("Content-Length".equalsIgnoreCase(nombre)) {
+            setHeader(nombre, valor);
+        } else {
+            super.addHeader(nombre, valor);
+        }
+    }
+
+    // --- Salida ---
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (escritor != null) {
+            throw new IllegalStateException("getWriter() ya fue llamado");
+        }
+        if (salida == null) {
+            salida = new SalidaComprimida(super.getOutputStream());
+        }
+        return salida;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (escritor == null) {
+            if (salida != null) {
+                throw new IllegalStateException("getOutputStream() ya fue llamado");
+            }
+            salida = new SalidaComprimida(super.getOutputStream());
+            escritor = new PrintWriter(new OutputStreamWriter(salida, getCharacterEncoding()));
+        }
+        return escritor;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (escritor != null) {
+            escritor.flush();
+        } else if (salida != null) {
+            salida.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        descartar();
+        longitudDeclarada = -1;
+        super.addHeader("Vary", "Accept-Encoding");
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (estado == Estado.RETENIENDO) {
+            enBufer = 0;
+            recibidos = 0;
+        }
+    }
+
+    /**
+     * Termina la respuesta: envía los bytes retenidos o cierra el flujo comprimido, y
+     * devuelve el compresor al pool. El filtro lo llama al salir de la cadena o, si la
+     * petición es asíncrona, al completarse. Llamarlo de nuevo no tiene efecto.
+     *
+     * @throws IOException si falla la escritura
+     */
+    void finalizar() throws IOException {
+        finalizando = true;
+        try {
+            if (escritor != null) {
+                escritor.flush();
+            }
+            if (estado == Estado.PENDIENTE && longitudDeclarada >= 0) {
+                // Sin cuerpo: la longitud declarada se envía tal cual
+                super.setContentLengthLong(longitudDeclarada);
+            } else if (estado == Estado.RETENIENDO) {
+                estado = Estado.DIRECTO;
+                super.setContentLengthLong(enBufer);
+                super.getOutputStream().write(bufer, 0, enBufer);
+                enBufer = 0;
+            } else if (estado == Estado.COMPRIMIDO) {
+                terminar();
+                escribirPendiente(super.getOutputStream());
+            }
+        } finally {
+            liberarCompresor();
+        }
+    }
+
+    // --- Decisión ---
+
+    private boolean admiteCompresion() {
+        int codigo = getStatus();
+        if (codigo < 200 || codigo >= 300 || codigo == SC_NO_CONTENT || codigo == SC_PARTIAL_CONTENT) {
+            return false;
+        }
+        if (containsHeader("Content-Encoding")) {
+            return false;
+        }
+        String tipo = getContentType();
+        if (tipo == null) {
+            return false;
+        }
+        tipo = tipo.toLowerCase(Locale.ROOT);
+        return tipo.startsWith("text/") || tipo.contains("json") || tipo.contains("xml")
+                || tipo.startsWith("application/octet-stream");
+    }
+
+    /**
+     * Decide cómo enviar la respuesta al recibir la primera escritura.
+     */
+    private void decidir() {
+        if (!admiteCompresion()) {
+            directo();
+        } else if (longitudDeclarada >= 0) {
+            if (longitudDeclarada >= umbral) {
+                comprimir();
+            } else {
+                directo();
+            }
+        } else if (peticion.isAsyncStarted()) {
+            directo();
+        } else {
+            estado = Estado.RETENIENDO;
+        }
+    }
+
+    private void directo() {
+        estado = Estado.DIRECTO;
+        if (longitudDeclarada >= 0) {
+            super.setContentLengthLong(longitudDeclarada);
+        }
+    }
+
+    private void comprimir() {
+        estado = Estado.COMPRIMIDO;
+        super.setHeader("Content-Encoding", gzip ? "gzip" : "deflate");
+        String etag = getHeader("ETag");
+        if (etag != null && !etag.startsWith("W/")) {
+            super.setHeader("ETag", "W/" + etag);
+        }
+        compresor = filtro.obtenerCompresor(gzip);
+        crc.reset();
+        if (gzip) {
+            agregar(CABECERA_GZIP, 0, CABECERA_GZIP.length);
+        }
+    }
+
+    // --- Compresión ---
+
+    /**
+     * Comprime un fragmento y deja el resultado en el búfer.
+     */
+    private void comprimirFragmento(byte[] datos, int desde, int cantidad) {
+        crc.update(datos, desde, cantidad);
+        compresor.setInput(datos, desde, cantidad);
+        while (!compresor.needsInput()) {
+            desinflar(Deflater.NO_FLUSH);
+        }
+    }
+
+    private void desinflar(int modo) {
+        if (enBufer == bufer.length) {
+            bufer = Arrays.copyOf(bufer, bufer.length << 1);
+        }
+        enBufer += compresor.deflate(bufer, enBufer, bufer.length - enBufer, modo);
+    }
+
+    /**
+     * Vacía el compresor hasta un límite de bloque, para que el cliente reciba todo lo
+     * escrito hasta ahora.
+     */
+    private void vaciarCompresor() {
+        do {
+            desinflar(Deflater.SYNC_FLUSH);
+        } while (enBufer == bufer.length);
+    }
+
+    /**
+     * Cierra el flujo comprimido y añade el pie de gzip.
+     */
+    private void terminar() {
+        compresor.finish();
+        while (!compresor.finished()) {
+            desinflar(Deflater.NO_FLUSH);
+        }
+        if (gzip) {
+            long valor = crc.getValue();
+            long tamano = recibidos;
+            byte[] pie = new byte[8];
+            for (int i = 0; i < 4; i++) {
+                pie[i] = (byte) (valor >>> (8 * i));
+                pie[4 + i] = (byte) (tamano >>> (8 * i));
+            }
+            agregar(pie, 0, pie.length);
+        }
+        estado = Estado.TERMINADO;
+    }
+
+    private void agregar(byte[] datos, int desde, int cantidad) {
+        if (enBufer + cantidad > bufer.length) {
+            bufer = Arrays.copyOf(bufer, Math.max(bufer.length << 1, enBufer + cantidad));
+        }
+        System.arraycopy(datos, desde, bufer, enBufer, cantidad);
+        enBufer += cantidad;
+    }
+
+    /**
+     * Escribe el búfer en la salida real con una sola escritura.
+     */
+    private void escribirPendiente(ServletOutputStream real) throws IOException {
+        if (enBufer > 0) {
+            real.write(bufer, 0, enBufer);
+            enBufer = 0;
+        }
+    }
+
+    private void liberarCompresor() {
+        if (compresor != null) {
+            filtro.devolverCompresor(compresor, gzip);
+            compresor = null;
+        }
+    }
+
+    private void descartar() {
+        liberarCompresor();
+        estado = Estado.PENDIENTE;
+        enBufer = 0;
+        recibidos = 0;
+        salida = null;
+        escritor = null;
+    }
+
+    /**
+     * Flujo que entrega al servlet: retiene, comprime o pasa los bytes según el estado.
+     */
+    private final class SalidaComprimida extends ServletOutputStream {
+
+        private final ServletOutputStream real;
+
+        SalidaComprimida(ServletOutputStream real) {
+            this.real = real;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] datos, int desde, int cantidad) throws IOException {
+            if (cantidad == 0) {
+                return;
+            }
+            if (estado == Estado.PENDIENTE) {
+                decidir();
+            }
+            switch (estado) {
+                case DIRECTO -> {
+                    recibidos += cantidad;
+                    real.write(datos, desde, cantidad);
+                }
+                case RETENIENDO -> {
+                    recibidos += cantidad;
+                    if (enBufer + cantidad < umbral) {
+                        agregar(datos, desde, cantidad);
+                        return;
+                    }
+                    byte[] retenidos = Arrays.copyOf(bufer, enBufer);
+                    enBufer = 0;
+                    comprimir();
+                    comprimirFragmento(retenidos, 0, retenidos.length);
+                    comprimirFragmento(datos, desde, cantidad);
+                    escribirPendiente(real);
+                }
+                case COMPRIMIDO -> {
+                    recibidos += cantidad;
+                    comprimirFragmento(datos, desde, cantidad);
+                    if (recibidos == longitudDeclarada) {
+                        // Último byte declarado: el cierre viaja en la misma escritura
+                        terminar();
+                        escribirPendiente(real);
+                        liberarCompresor();
+                    } else {
+                        escribirPendiente(real);
+                    }
+                }
+                default -> throw new IOException("La respuesta comprimida ya terminó");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (finalizando) {
+                return;
+            }
+            if (estado == Estado.RETENIENDO && enBufer > 0) {
+                byte[] retenidos = Arrays.copyOf(bufer, enBufer);
+                enBufer = 0;
+                comprimir();
+                comprimirFragmento(retenidos, 0, retenidos.length);
+            }
+            if (estado == Estado.COMPRIMIDO) {
+                vaciarCompresor();
+                escribirPendiente(real);
+            }
+            if (estado != Estado.RETENIENDO) {
+                real.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finalizar();
+            real.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return real.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener escucha) {
+            real.setWriteListener(escucha);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Texto editable con un hueco libre en la posición de la última edición.
+ *
+ * <p>Los caracteres se guardan en un arreglo con un hueco en medio: los anteriores al
+ * hueco al principio y los posteriores al final. Insertar o borrar en el hueco solo
+ * copia los caracteres insertados, y mover el hueco copia los que quedan entre la
+ * posición anterior y la nueva. Como un editor escribe casi siempre cerca de la edición
+ * anterior, el coste de cada edición depende de su tamaño y no de la longitud del texto,
+ * a diferencia de {@link StringBuilder#replace(int, int, String)}, que desplaza todo lo
+ * que sigue.</p>
+ *
+ * <p>No es thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see DocumentoTraducido
+ */
+final class BuferHueco implements CharSequence {
+
+    private char[] datos;
+
+    /** Primera posición del hueco en {@link #datos}. */
+    private int inicioHueco;
+
+    /** Primera posición tras el hueco en {@link #datos}. */
+    private int finHueco;
+
+    BuferHueco(int capacidad) {
+        datos = new char[Math.max(capacidad, 16)];
+        finHueco = datos.length;
+    }
+
+    @Override
+    public int length() {
+        return datos.length - (finHueco - inicioHueco);
+    }
+
+    @Override
+    public char charAt(int indice) {
+        return indice < inicioHueco ? datos[indice] : datos[indice + finHueco - inicioHueco];
+    }
+
+    /**
+     * Reemplaza una parte del texto, dejando el hueco al final del texto insertado.
+     *
+     * @param desde Posición donde empieza el reemplazo
+     * @param borrados Caracteres que se eliminan
+     * @param insertado Texto que se inserta
+     */
+    void reemplazar(int desde, int borrados, CharSequence insertado) {
+        moverHueco(desde);
+        finHueco += borrados;
+        int cantidad = insertado.length();
+        if (finHueco - inicioHueco < cantidad) {
+            crecer(cantidad);
+        }
+        if (insertado instanceof String) {
+            ((String) insertado).getChars(0, cantidad, datos, inicioHueco);
+        } else {
+            for (int i = 0; i < cantidad; i++) {
+                datos[inicioHueco + i] = insertado.charAt(i);
+            }
+        }
+        inicioHueco += cantidad;
+    }
+
+    private void moverHueco(int posicion) {
+        if (posicion < inicioHueco) {
+            int cantidad = inicioHueco - posicion;
+            System.arraycopy(datos, posicion, datos, finHueco - cantidad, cantidad);
+            inicioHueco -= cantidad;
+            finHueco -= cantidad;
+        } else if (posicion > inicioHueco) {
+            int cantidad = posicion - inicioHueco;
+            System.arraycopy(datos, finHueco, datos, inicioHueco, cantidad);
+            inicioHueco += cantidad;
+            finHueco += cantidad;
+        }
+    }
+
+    private void crecer(int necesarios) {
+        int longitud = length();
+        char[] nuevos = new char[Math.max(datos.length << 1, longitud + necesarios + 16)];
+        int posteriores = datos.length - finHueco;
+        System.arraycopy(datos, 0, nuevos, 0, inicioHueco);
+        System.arraycopy(datos, finHueco, nuevos, nuevos.length - posteriores, posteriores);
+        finHueco = nuevos.length - posteriores;
+        datos = nuevos;
+    }
+
+    @Override
+    public CharSequence subSequence(int desde, int hasta) {
+        char[] copia = new char[hasta - desde];
+        for (int i = desde; i < hasta; i++) {
+            copia[i - desde] = charAt(i);
+        }
+        return new String(copia);
+    }
+
+    @Override
+    public String toString() {
+        char[] copia = Arrays.copyOf(datos, length());
+        System.arraycopy(datos, finHueco, copia, inicioHueco, datos.length - finHueco);
+        return new String(copia);
+    }
+}
@@ -0,0 +1,63 @@
+package model;
+
+/**
+ * Parte de la salida de un {@link DocumentoTraducido} que cambió tras una edición.
+ *
+ * <p>Describe el reemplazo que convierte la salida anterior en la nueva: a partir de
+ * {@link #getDesde()} se quitan {@link #getBorrados()} caracteres y se colocan los de
+ * {@link #getInsertado()}. Las posiciones se cuentan en la salida (Braille Unicode con
+ * sus saltos de línea, o español), no en el texto editado. El tramo es mínimo: no
+ * incluye el principio ni el final que quedaron iguales.</p>
+ *
+ * <p>Las instancias son inmutables.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see DocumentoTraducido#editar(int, int, CharSequence)
+ */
+public final class CambioTraduccion {
+
+    private final int desde;
+    private final int borrados;
+    private final String insertado;
+
+    CambioTraduccion(int desde, int borrados, String insertado) {
+        this.desde = desde;
+        this.borrados = borrados;
+        this.insertado = insertado;
+    }
+
+    /**
+     * @return posición de la salida anterior donde empieza el cambio
+     */
+    public int getDesde() {
+        return desde;
+    }
+
+    /**
+     * @return caracteres de la salida anterior que se reemplazan
+     */
+    public int getBorrados() {
+        return borrados;
+    }
+
+    /**
+     * @return caracteres nuevos de la salida
+     */
+    public String getInsertado() {
+        return insertado;
+    }
+
+    /**
+     * @return true si la salida no cambió
+     */
+    public boolean esVacio() {
+        return borrados == 0 && insertado.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "CambioTraduccion{desde=" + desde + ", borrados=" + borrados + ", insertado='" + insertado + "'}";
+    }
+}
@@ -0,0 +1,426 @@
+package model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Representación interna de un texto Braille como máscaras de puntos empaquetadas.
+ *
+ * <p>Cada celda ocupa un solo {@code byte} cuyos bits corresponden a los puntos
+ * de la celda, en el mismo orden que el bloque Unicode Braille Patterns:</p>
+ * <pre>{@code
+ *   punto 1 = 0x01   punto 4 = 0x08
+ *   punto 2 = 0x02   punto 5 = 0x10
+ *   punto 3 = 0x04   punto 6 = 0x20
+ *   punto 7 = 0x40   punto 8 = 0x80
+ * }</pre>
+ *
+ * <p>Los saltos de línea no son celdas: se guardan aparte como la posición de la
+ * celda que inicia cada nueva línea. Así las 256 máscaras posibles quedan libres
+ * para celdas de 8 puntos y cualquier recorrido por líneas es directo.</p>
+ *
+ * <h2>Conversión en el borde de salida</h2>
+ * <p>El motor de traducción produce esta representación; la conversión a Unicode
+ * ({@link #aUnicode()}), a ASCII Braille norteamericano ({@link #aAsciiBraille()})
+ * u otros formatos se hace solo al escribir la salida. El espejo
+ * ({@link #espejar()}) y la validación trabajan directamente sobre los bytes.</p>
+ *
+ * <h2>Formato binario</h2>
+ * <p>{@link #aBinario()} entrega las celdas tal cual, un byte de máscara por celda, para
+ * clientes que solo necesitan los puntos (impresoras y líneas Braille). Cada línea va
+ * precedida por su cantidad de celdas, codificada como entero sin signo de longitud
+ * variable (LEB128: 7 bits por byte, el bit alto indica que sigue otro byte):</p>
+ * <pre>{@code
+ *   línea := cantidad (1 a 5 bytes) máscara*
+ *   texto := línea (línea)*        // una línea más que saltos
+ * }</pre>
+ * <p>Así las 256 máscaras siguen libres y una línea de menos de 128 celdas cuesta un solo
+ * byte extra, frente a los tres bytes por celda del Braille Unicode en UTF-8.</p>
+ *
+ * <p>Las instancias son inmutables y thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see MotorTraduccion
+ * @see Traduccion#getCeldasTraducidas()
+ */
+public final class CeldasBraille {
+
+    /** Primer carácter del bloque Unicode Braille Patterns (celda vacía). */
+    private static final char INICIO_BLOQUE_BRAILLE = '⠀';
+
+    /**
+     * Tabla ASCII Braille norteamericana (la usada por BRF), indexada por la máscara
+     * de 6 puntos. Los puntos 7 y 8 no tienen representación en este formato.
+     */
+    private static final String ASCII_BRAILLE =
+            " A1B'K2L@CIF/MSP\"E3H9O6R^DJG>NTQ,*5<-U8V.%[$+X!&;:4\\0Z7(_?W]#Y)=";
+
+    /** Texto Braille vacío. */
+    public static final CeldasBraille VACIO = new CeldasBraille(new byte[0], 0, new int[0], 0);
+
+    /** Máscaras de puntos, una por celda. Solo las primeras {@link #longitud} son válidas. */
+    private final byte[] mascaras;
+
+    /** Cantidad de celdas. */
+    private final int longitud;
+
+    /** Posición de la celda que inicia cada línea después de un salto, en orden creciente. */
+    private final int[] saltos;
+
+    /** Cantidad de saltos de línea. */
+    private final int numSaltos;
+
+    /**
+     * Crea la representación sin copiar los arreglos; el llamante cede su propiedad.
+     *
+     * @param mascaras Máscaras de puntos
+     * @param longitud Cantidad de celdas válidas
+     * @param saltos Posiciones de los saltos de línea
+     * @param numSaltos Cantidad de saltos válidos
+     */
+    CeldasBraille(byte[] mascaras, int longitud, int[] saltos, int numSaltos) {
+        this.mascaras = mascaras;
+        this.longitud = longitud;
+        this.saltos = saltos;
+        this.numSaltos = numSaltos;
+    }
+
+    /**
+     * Convierte texto Braille Unicode a la representación de máscaras.
+     *
+     * @param texto Texto con celdas U+2800 a U+28FF y, opcionalmente, saltos de línea
+     * @return Celdas equivalentes
+     * @throws IllegalArgumentException si el texto contiene otro tipo de carácter
+     */
+    public static CeldasBraille desdeUnicode(CharSequence texto) {
+        byte[] mascaras = new byte[texto.length()];
+        int[] saltos = new int[4];
+        int longitud = 0;
+        int numSaltos = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '\n') {
+                if (numSaltos == saltos.length) {
+                    saltos = Arrays.copyOf(saltos, numSaltos << 1);
+                }
+                saltos[numSaltos++] = longitud;
+            } else if (c >= INICIO_BLOQUE_BRAILLE && c <= '⣿') {
+                mascaras[longitud++] = (byte) (c - INICIO_BLOQUE_BRAILLE);
+            } else {
+                throw new IllegalArgumentException(
+                        "El texto contiene caracteres que no son Braille válido"
+                );
+            }
+        }
+        return new CeldasBraille(mascaras, longitud, saltos, numSaltos);
+    }
+
+    /**
+     * Lee celdas en el formato binario de {@link #aBinario()}.
+     *
+     * @param datos Bytes en formato binario
+     * @return Celdas equivalentes
+     * @throws IllegalArgumentException si los datos están truncados o mal formados
+     */
+    public static CeldasBraille desdeBinario(byte[] datos) {
+        byte[] mascaras = new byte[datos.length];
+        int[] saltos = new int[4];
+        int longitud = 0;
+        int numSaltos = 0;
+        int posicion = 0;
+        while (true) {
+            long cantidad = 0;
+            for (int desplazamiento = 0; ; desplazamiento += 7) {
+                if (posicion == datos.length || desplazamiento > 28) {
+                    throw new IllegalArgumentException("Formato binario inválido en la posición " + posicion);
+                }
+                int b = datos[posicion++];
+                cantidad |= (long) (b & 0x7F) << desplazamiento;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            if (cantidad > datos.length - posicion) {
+                throw new IllegalArgumentException("Formato binario inválido: línea truncada en la posición " + posicion);
+            }
+            System.arraycopy(datos, posicion, mascaras, longitud, (int) cantidad);
+            posicion += (int) cantidad;
+            longitud += (int) cantidad;
+            if (posicion == datos.length) {
+                return new CeldasBraille(mascaras, longitud, saltos, numSaltos);
+            }
+            if (numSaltos == saltos.length) {
+                saltos = Arrays.copyOf(saltos, numSaltos << 1);
+            }
+            saltos[numSaltos++] = longitud;
+        }
+    }
+
+    /**
+     * Une varias secuencias de celdas en el orden dado, como si se hubieran
+     * traducido de una vez.
+     *
+     * @param partes Secuencias a unir
+     * @return Celdas con el contenido de todas las partes
+     */
+    static CeldasBraille concatenar(CeldasBraille[] partes) {
+        int total = 0;
+        int totalSaltos = 0;
+        for (CeldasBraille parte : partes) {
+            total += parte.longitud;
+            totalSaltos += parte.numSaltos;
+        }
+        byte[] mascaras = new byte[total];
+        int[] saltos = new int[Math.max(totalSaltos, 1)];
+        int longitud = 0;
+        int numSaltos = 0;
+        for (CeldasBraille parte : partes) {
+            System.arraycopy(parte.mascaras, 0, mascaras, longitud, parte.longitud);
+            for (int s = 0; s < parte.numSaltos; s++) {
+                saltos[numSaltos++] = longitud + parte.saltos[s];
+            }
+            longitud += parte.longitud;
+        }
+        return new CeldasBraille(mascaras, longitud, saltos, numSaltos);
+    }
+
+    // --- Acceso ---
+
+    /**
+     * @return cantidad de celdas (sin contar saltos de línea)
+     */
+    public int longitud() {
+        return longitud;
+    }
+
+    /**
+     * Obtiene la máscara de puntos de una celda.
+     *
+     * @param indice posición de la celda
+     * @return máscara de 0 a 255
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango
+     */
+    public int mascara(int indice) {
+        if (indice < 0 || indice >= longitud) {
+            throw new IndexOutOfBoundsException("Celda fuera de rango: " + indice);
+        }
+        return mascaras[indice] & 0xFF;
+    }
+
+    /**
+     * @return cantidad de saltos de línea
+     */
+    public int numeroSaltos() {
+        return numSaltos;
+    }
+
+    /**
+     * Obtiene la posición de un salto de línea.
+     *
+     * @param indice número de salto (0 para el primero)
+     * @return posición de la primera celda de la línea que sigue al salto
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango
+     */
+    public int posicionSalto(int indice) {
+        if (indice < 0 || indice >= numSaltos) {
+            throw new IndexOutOfBoundsException("Salto fuera de rango: " + indice);
+        }
+        return saltos[indice];
+    }
+
+    /**
+     * @return copia de las máscaras de puntos, un byte por celda
+     */
+    public byte[] aBytes() {
+        return Arrays.copyOf(mascaras, longitud);
+    }
+
+    /**
+     * Codifica las celdas en el formato binario: un byte de máscara por celda y cada
+     * línea precedida por su cantidad de celdas (ver la descripción de la clase).
+     *
+     * @return bytes en formato binario
+     */
+    public byte[] aBinario() {
+        int total = longitud;
+        int inicio = 0;
+        for (int s = 0; s <= numSaltos; s++) {
+            int fin = s < numSaltos ? saltos[s] : longitud;
+            total += bytesCantidad(fin - inicio);
+            inicio = fin;
+        }
+        byte[] datos = new byte[total];
+        int posicion = 0;
+        inicio = 0;
+        for (int s = 0; s <= numSaltos; s++) {
+            int fin = s < numSaltos ? saltos[s] : longitud;
+            int cantidad = fin - inicio;
+            while (cantidad >= 0x80) {
+                datos[posicion++] = (byte) (cantidad | 0x80);
+                cantidad >>>= 7;
+            }
+            datos[posicion++] = (byte) cantidad;
+            System.arraycopy(mascaras, inicio, datos, posicion, fin - inicio);
+            posicion += fin - inicio;
+            inicio = fin;
+        }
+        return datos;
+    }
+
+    private static int bytesCantidad(int cantidad) {
+        int bytes = 1;
+        while (cantidad >= 0x80) {
+            cantidad >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    // --- Transformaciones ---
+
+    /**
+     * Obtiene la versión espejada para escritura con punzón y regleta: cada línea
+     * invertida y cada celda con sus columnas intercambiadas.
+     *
+     * @return nuevas celdas espejadas
+     */
+    public CeldasBraille espejar() {
+        byte[] espejo = new byte[longitud];
+        int inicio = 0;
+        for (int s = 0; s <= numSaltos; s++) {
+            int fin = s < numSaltos ? saltos[s] : longitud;
+            for (int i = inicio; i < fin; i++) {
+                espejo[inicio + fin - 1 - i] = (byte) espejarMascara(mascaras[i] & 0xFF);
+            }
+            inicio = fin;
+        }
+        return new CeldasBraille(espejo, longitud, saltos, numSaltos);
+    }
+
+    /**
+     * Intercambia las columnas de una celda (puntos 1-2-3 ↔ 4-5-6 y 7 ↔ 8).
+     *
+     * @param mascara máscara de puntos de 0 a 255
+     * @return máscara espejada
+     */
+    public static int espejarMascara(int mascara) {
+        return ((mascara & 0x07) << 3)
+                | ((mascara >>> 3) & 0x07)
+                | ((mascara & 0x40) << 1)
+                | ((mascara >>> 1) & 0x40);
+    }
+
+    // --- Conversión en el borde de salida ---
+
+    /**
+     * @param mascara máscara de puntos de 0 a 255
+     * @return carácter Unicode Braille Patterns correspondiente
+     */
+    public static char aUnicode(int mascara) {
+        return (char) (INICIO_BLOQUE_BRAILLE + mascara);
+    }
+
+    /**
+     * @param mascara máscara de puntos; se ignoran los puntos 7 y 8
+     * @return carácter ASCII Braille norteamericano correspondiente
+     */
+    public static char aAsciiBraille(int mascara) {
+        return ASCII_BRAILLE.charAt(mascara & 0x3F);
+    }
+
+    /**
+     * @return texto Braille Unicode con saltos de línea {@code '\n'}
+     */
+    public String aUnicode() {
+        StringBuilder texto = new StringBuilder(longitud + numSaltos);
+        escribir(texto, false);
+        return texto.toString();
+    }
+
+    /**
+     * @return texto ASCII Braille norteamericano con saltos de línea {@code '\n'}
+     */
+    public String aAsciiBraille() {
+        StringBuilder texto = new StringBuilder(longitud + numSaltos);
+        escribir(texto, true);
+        return texto.toString();
+    }
+
+    /**
+     * Escribe el texto Braille Unicode en un destino sin construir un String intermedio.
+     *
+     * @param destino destino de la salida
+     * @throws IOException si el destino falla al escribir
+     */
+    public void escribirUnicode(Appendable destino) throws IOException {
+        escribirEn(destino, false);
+    }
+
+    /**
+     * Escribe el texto ASCII Braille en un destino sin construir un String intermedio.
+     *
+     * @param destino destino de la salida
+     * @throws IOException si el destino falla al escribir
+     */
+    public void escribirAsciiBraille(Appendable destino) throws IOException {
+        escribirEn(destino, true);
+    }
+
+    private void escribir(StringBuilder destino, boolean ascii) {
+        try {
+            escribirEn(destino, ascii);
+        } catch (IOException e) {
+            // StringBuilder nunca lanza IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void escribirEn(Appendable destino, boolean ascii) throws IOException {
+        int siguienteSalto = 0;
+        for (int i = 0; i < longitud; i++) {
+            while (siguienteSalto < numSaltos && saltos[siguienteSalto] == i) {
+                destino.append('\n');
+                siguienteSalto++;
+            }
+            int mascara = mascaras[i] & 0xFF;
+            destino.append(ascii ? aAsciiBraille(mascara) : aUnicode(mascara));
+        }
+        for (; siguienteSalto < numSaltos; siguienteSalto++) {
+            destino.append('\n');
+        }
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (!(otro instanceof CeldasBraille)) {
+            return false;
+        }
+        CeldasBraille celdas = (CeldasBraille) otro;
+        return longitud == celdas.longitud
+                && numSaltos == celdas.numSaltos
+                && Arrays.equals(mascaras, 0, longitud, celdas.mascaras, 0, longitud)
+                && Arrays.equals(saltos, 0, numSaltos, celdas.saltos, 0, numSaltos);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < longitud; i++) {
+            hash = 31 * hash + mascaras[i];
+        }
+        for (int s = 0; s < numSaltos; s++) {
+            hash = 31 * hash + saltos[s];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return aUnicode();
+    }
+}
@@ -0,0 +1,238 @@
+package model;
+
+import util.MapeadorBraille;
+import util.TablaBraille;
+
+/**
+ * Diccionario de contracciones del Braille contraído (grado 2), compilado en tries.
+ *
+ * <p>Define dos tipos de contracción, pensados para que la retrotraducción sea
+ * exacta:</p>
+ * <ul>
+ *   <li><b>Palabras</b>: una palabra completa se abrevia con unas pocas letras
+ *       ({@code "que" → "q"}, {@code "porque" → "pq"}). Se aplican solo a palabras en
+ *       minúsculas o con la inicial en mayúscula.</li>
+ *   <li><b>Grupos</b>: una secuencia de letras dentro de una palabra se sustituye por
+ *       una sola celda que no usa ninguna otra regla ({@code "mente" → ⠩}). Se elige
+ *       siempre la coincidencia más larga.</li>
+ * </ul>
+ *
+ * <p>Si una palabra que no es abreviable se escribe igual que una abreviatura
+ * (por ejemplo la palabra {@code "q"}), se antepone el
+ * {@linkplain #INDICADOR_GRADO_1 indicador de grado 1} para que se lea literalmente.</p>
+ *
+ * <h2>Compilación</h2>
+ * <p>Las palabras, las abreviaturas y los grupos se compilan en tres
+ * {@link TrieContracciones}, de modo que el coste de reconocer una contracción
+ * depende de la longitud del texto y no del tamaño del diccionario. La expansión de
+ * los grupos se indexa directamente por la máscara de su celda.</p>
+ *
+ * <p>Las celdas de las abreviaturas y la comprobación de que las celdas de grupo
+ * están libres dependen de la {@link TablaBraille}, por lo que cada tabla publicada
+ * tiene su propio diccionario (ver {@link TablasCompiladas}). El diccionario
+ * {@linkplain #predeterminado(TablaBraille) predeterminado} es un conjunto reducido
+ * de abreviaturas frecuentes del español; no pretende reproducir una norma oficial
+ * de estenografía.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see MotorTraduccion
+ * @see DireccionTraduccion#ESPANOL_A_BRAILLE_CONTRAIDO
+ */
+final class DiccionarioContracciones {
+
+    /** Máscara del indicador de grado 1 (⠰, puntos 5-6): la palabra siguiente no está contraída. */
+    static final int INDICADOR_GRADO_1 = 0x30;
+
+    /** Palabras abreviadas y su abreviatura, en letras. */
+    private static final String[][] PALABRAS = {
+            {"de", "d"},
+            {"que", "q"},
+            {"para", "p"},
+            {"con", "c"},
+            {"muy", "m"},
+            {"todo", "t"},
+            {"por", "pr"},
+            {"pero", "po"},
+            {"como", "cm"},
+            {"porque", "pq"},
+            {"también", "tb"},
+            {"cuando", "cd"},
+            {"donde", "dd"},
+            {"entonces", "ts"},
+            {"siempre", "sp"},
+            {"nosotros", "ns"},
+            {"mucho", "mc"},
+            {"sobre", "sb"},
+            {"desde", "ds"},
+            {"hasta", "ht"},
+            {"entre", "et"},
+            {"según", "sg"},
+            {"después", "dp"},
+            {"mismo", "mm"},
+            {"ahora", "hr"},
+            {"gobierno", "gb"}
+    };
+
+    /** Grupos de letras y la máscara de la celda que los sustituye. */
+    private static final Object[][] GRUPOS = {
+            {"ción", 0x21},
+            {"mente", 0x29},
+            {"ente", 0x39},
+            {"ando", 0x31},
+            {"iendo", 0x2B},
+            {"ado", 0x2F},
+            {"ido", 0x2A},
+            {"es", 0x34},
+            {"ar", 0x14}
+    };
+
+    /** Palabras completas → índice de la entrada. */
+    private final TrieContracciones palabras;
+
+    /** Abreviaturas → índice de la entrada. */
+    private final TrieContracciones abreviaturas;
+
+    /** Palabra completa de cada entrada. */
+    private final String[] expansiones;
+
+    /** Máscaras de las celdas de la abreviatura de cada entrada. */
+    private final byte[][] celdasAbreviatura;
+
+    /** Grupos → índice del grupo. */
+    private final TrieContracciones grupos;
+
+    /** Máscara de la celda de cada grupo. */
+    private final int[] celdaGrupo;
+
+    /** Expansión de cada celda de grupo, indexada por máscara (null si no es un grupo). */
+    private final String[] expansionGrupo = new String[256];
+
+    /**
+     * Compila el diccionario usado por las direcciones contraídas.
+     *
+     * @param tabla Tabla de caracteres en uso
+     * @return Diccionario con las palabras y grupos predeterminados
+     * @throws IllegalArgumentException si la tabla asigna a otra regla una celda de grupo
+     */
+    static DiccionarioContracciones predeterminado(TablaBraille tabla) {
+        return new DiccionarioContracciones(tabla, PALABRAS, GRUPOS);
+    }
+
+    /**
+     * Compila un diccionario.
+     *
+     * @param tabla Tabla de caracteres que da las celdas de las letras
+     * @param entradasPalabras Pares {palabra, abreviatura}
+     * @param entradasGrupos Pares {grupo, máscara de la celda}
+     * @throws IllegalArgumentException si hay claves repetidas, caracteres no
+     *         permitidos o celdas de grupo que ya usa otra regla
+     */
+    DiccionarioContracciones(TablaBraille tabla, String[][] entradasPalabras, Object[][] entradasGrupos) {
+        String[] claves = new String[entradasPalabras.length];
+        String[] abreviados = new String[entradasPalabras.length];
+        this.expansiones = new String[entradasPalabras.length];
+        this.celdasAbreviatura = new byte[entradasPalabras.length][];
+        for (int i = 0; i < entradasPalabras.length; i++) {
+            claves[i] = entradasPalabras[i][0];
+            abreviados[i] = entradasPalabras[i][1];
+            expansiones[i] = claves[i];
+            celdasAbreviatura[i] = aCeldas(tabla, abreviados[i]);
+        }
+        this.palabras = new TrieContracciones(claves);
+        this.abreviaturas = new TrieContracciones(abreviados);
+
+        String[] clavesGrupos = new String[entradasGrupos.length];
+        this.celdaGrupo = new int[entradasGrupos.length];
+        for (int i = 0; i < entradasGrupos.length; i++) {
+            clavesGrupos[i] = (String) entradasGrupos[i][0];
+            int mascara = (Integer) entradasGrupos[i][1];
+            if (!esCeldaLibre(tabla, mascara) || expansionGrupo[mascara] != null) {
+                throw new IllegalArgumentException(
+                        "La celda del grupo '" + clavesGrupos[i] + "' ya tiene otro significado"
+                );
+            }
+            celdaGrupo[i] = mascara;
+            expansionGrupo[mascara] = clavesGrupos[i];
+        }
+        this.grupos = new TrieContracciones(clavesGrupos);
+    }
+
+    // --- Español → Braille ---
+
+    /**
+     * @return índice de la entrada cuya palabra completa es el tramo, o -1
+     */
+    int buscarPalabra(char[] texto, int desde, int hasta) {
+        return palabras.buscar(texto, desde, hasta);
+    }
+
+    /**
+     * @return máscaras de las celdas de la abreviatura de una entrada (no modificar)
+     */
+    byte[] celdasAbreviatura(int entrada) {
+        return celdasAbreviatura[entrada];
+    }
+
+    /**
+     * Busca el grupo más largo que empiece en {@code desde}.
+     *
+     * @return {@code (longitud << 32) | máscara}, o 0 si ningún grupo coincide
+     */
+    long grupoMasLargo(char[] texto, int desde, int hasta) {
+        long coincidencia = grupos.coincidenciaMasLarga(texto, desde, hasta);
+        return coincidencia == 0L ? 0L : (coincidencia & ~0xFFFFFFFFL) | celdaGrupo[(int) coincidencia];
+    }
+
+    // --- Braille → español ---
+
+    /**
+     * @return índice de la entrada cuya abreviatura es el tramo, o -1
+     */
+    int buscarAbreviatura(char[] texto, int desde, int hasta) {
+        return abreviaturas.buscar(texto, desde, hasta);
+    }
+
+    /**
+     * @return palabra completa de una entrada
+     */
+    String expansion(int entrada) {
+        return expansiones[entrada];
+    }
+
+    /**
+     * @param mascara máscara de una celda
+     * @return letras que representa si es una celda de grupo, o null
+     */
+    String expansionGrupo(int mascara) {
+        return expansionGrupo[mascara & 0xFF];
+    }
+
+    private static byte[] aCeldas(TablaBraille tabla, String letras) {
+        byte[] celdas = new byte[letras.length()];
+        for (int i = 0; i < letras.length(); i++) {
+            char celda = tabla.celdaParaLetra(letras.charAt(i));
+            if (celda == MapeadorBraille.SIN_MAPEO || !Character.isLowerCase(letras.charAt(i))) {
+                throw new IllegalArgumentException("Abreviatura no válida: '" + letras + "'");
+            }
+            celdas[i] = (byte) (celda - '⠀');
+        }
+        return celdas;
+    }
+
+    /**
+     * Una celda de grupo no puede coincidir con letras, números, puntuación, signos
+     * de número o mayúscula, ni con el indicador de grado 1.
+     */
+    private static boolean esCeldaLibre(TablaBraille tabla, int mascara) {
+        char celda = CeldasBraille.aUnicode(mascara);
+        return mascara > 0 && mascara < 256
+                && mascara != INDICADOR_GRADO_1
+                && celda != tabla.signoNumero()
+                && celda != tabla.signoMayuscula()
+                && tabla.letraParaCelda(celda) == MapeadorBraille.SIN_MAPEO
+                && tabla.numeroParaCelda(celda) == MapeadorBraille.SIN_MAPEO
+                && tabla.puntuacionParaCelda(celda) == MapeadorBraille.SIN_MAPEO;
+    }
+}
@@ -3,8 +3,9 @@ package model;
 /**
  * Enumeración que define las direcciones posibles de traducción en el sistema.
  * 
- * <p>Esta enum representa las dos direcciones de conversión soportadas:
- * de español a Braille o de Braille a español.</p>
+ * <p>Esta enum representa las direcciones de conversión soportadas:
+ * de español a Braille (integral, en espejo o contraído) o de Braille a español
+ * (integral o contraído).</p>
  * 
  * <p>Ejemplo de uso:</p>
  * <pre>
@@ -37,5 +38,38 @@ public enum DireccionTraduccion {
      * Traducción de texto en español a representación Braille con efecto espejo.
      * Útil para la escritura manual con punzón y regleta (perforación de derecha a izquierda).
      */
-    ESPANOL_A_BRAILLE_ESPEJO
+    ESPANOL_A_BRAILLE_ESPEJO,
+
+    /**
+     * Traducción de texto en español a Braille contraído (grado 2).
+     * Abrevia palabras frecuentes y grupos de letras según
+     * {@link DiccionarioContracciones}, reduciendo el número de celdas
+     * (papel y tiempo de impresión).
+     */
+    ESPANOL_A_BRAILLE_CONTRAIDO,
+
+    /**
+     * Traducción de Braille contraído (grado 2) a texto en español.
+     * Expande las abreviaturas y grupos producidos por
+     * {@link #ESPANOL_A_BRAILLE_CONTRAIDO}.
+     */
+    BRAILLE_CONTRAIDO_A_ESPANOL;
+
+    /**
+     * Indica si la dirección produce Braille.
+     *
+     * @return true si la salida son celdas Braille, false si es texto en español
+     */
+    public boolean esHaciaBraille() {
+        return this != BRAILLE_A_ESPANOL && this != BRAILLE_CONTRAIDO_A_ESPANOL;
+    }
+
+    /**
+     * Indica si la dirección usa Braille contraído.
+     *
+     * @return true para {@link #ESPANOL_A_BRAILLE_CONTRAIDO} y {@link #BRAILLE_CONTRAIDO_A_ESPANOL}
+     */
+    public boolean esContraida() {
+        return this == ESPANOL_A_BRAILLE_CONTRAIDO || this == BRAILLE_CONTRAIDO_A_ESPANOL;
+    }
 }
@@ -0,0 +1,441 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Documento que conserva su traducción al día edición a edición: API de traducción
+ * incremental.
+ *
+ * <p>{@link Traduccion} traduce siempre el texto completo. Un editor, en cambio, modifica
+ * unos pocos caracteres de un documento largo; aquí cada edición ({@link #editar(int,
+ * int, CharSequence)}: posición, caracteres borrados y texto insertado) vuelve a traducir
+ * solo lo necesario y devuelve la parte de la salida que cambió ({@link CambioTraduccion}).
+ * El resultado es idéntico, carácter a carácter, al de traducir el texto completo.</p>
+ *
+ * <h2>Puntos de reinicio y tramos</h2>
+ * <p>El texto se divide en tramos que empiezan en un punto de reinicio, donde el motor
+ * vuelve a su estado inicial (los mismos que usa {@link TraductorParalelo}):</p>
+ * <ul>
+ *   <li><b>Español → Braille</b>: un carácter visible precedido por un espacio o salto de
+ *       línea, que cierran el modo número, el indicador de mayúscula y la palabra</li>
+ *   <li><b>Braille → español</b>: una celda precedida por la celda vacía (⠀)</li>
+ * </ul>
+ * <p>Cada tramo abarca al menos {@value #TAMANO_MINIMO_TRAMO} caracteres (hasta el
+ * siguiente punto de reinicio), para no crear un tramo y un motor por palabra.</p>
+ *
+ * <h2>Edición</h2>
+ * <ol>
+ *   <li>La traducción vuelve a empezar al inicio del tramo anterior a la edición: el
+ *       punto de reinicio más cercano, como mucho unas decenas de caracteres antes</li>
+ *   <li>Sigue hasta el final de la edición y luego hasta el primer inicio de un tramo
+ *       antiguo en el que el motor esté en estado inicial. Ahí la salida converge: lo
+ *       que sigue se traduciría igual que antes y se conserva. Si el motor no está en
+ *       estado inicial (por ejemplo, la edición quitó el espacio que cerraba una palabra)
+ *       el mismo motor continúa por el tramo siguiente</li>
+ *   <li>Los tramos nuevos sustituyen a los traducidos de nuevo y la salida cambia solo
+ *       en la parte distinta</li>
+ * </ol>
+ *
+ * <p>El texto, la salida y los tramos se guardan con un hueco en la posición de la
+ * última edición ({@link BuferHueco}); los tramos posteriores al hueco guardan su
+ * posición contada desde el final, de modo que no hay que actualizarlos. Así el coste
+ * de una edición depende de su tamaño y de la distancia a la anterior, no de la
+ * longitud del documento.</p>
+ *
+ * <h2>Errores</h2>
+ * <p>Un tramo con un carácter no soportado no produce salida y guarda su error; los
+ * demás se siguen traduciendo, de modo que al corregir el carácter solo se traduce de
+ * nuevo ese tramo. {@link #getError()} devuelve el primero, con la misma posición que
+ * informaría la traducción completa.</p>
+ *
+ * <p>El documento usa la instantánea de la tabla activa al crearlo y no cambia de
+ * tabla aunque se publique otra. El modo espejo no se admite, porque invierte líneas
+ * completas que pueden repartirse entre tramos; la salida puede espejarse después con
+ * {@link util.MapeadorBraille#espejarBraille(String)}.</p>
+ *
+ * <p>Cada instancia pertenece a un solo editor y no es thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see CambioTraduccion
+ * @see MotorTraduccion
+ */
+public final class DocumentoTraducido {
+
+    /** Longitud mínima de un tramo antes de buscar el siguiente punto de reinicio. */
+    static final int TAMANO_MINIMO_TRAMO = 64;
+
+    /** Instantánea de la tabla con la que se traducen todos los tramos. */
+    private final TablasCompiladas compiladas;
+
+    private final DireccionTraduccion direccion;
+
+    /** Texto actual del documento. */
+    private final BuferHueco texto;
+
+    /** Traducción actual: la de cada tramo sin error, en orden. */
+    private final BuferHueco salida;
+
+    /*
+     * Tramos con hueco: los índices [0, antes) son los tramos anteriores al hueco y
+     * guardan su posición en el texto y en la salida; los índices [despues, capacidad)
+     * son los posteriores y guardan la distancia desde su inicio hasta el final del
+     * texto y de la salida, que una edición anterior a ellos no cambia.
+     */
+
+    /** Inicio de cada tramo en el texto. */
+    private int[] inicios;
+
+    /** Inicio de la traducción de cada tramo en la salida. */
+    private int[] iniciosSalida;
+
+    /** Error de cada tramo, con la posición relativa a su inicio, o null. */
+    private ErrorTraduccion[] errores;
+
+    /** Tramos anteriores al hueco. */
+    private int antes;
+
+    /** Primer índice posterior al hueco. */
+    private int despues;
+
+    /** Cantidad de tramos con error. */
+    private int tramosConError;
+
+    /** Caracteres del texto traducidos en la última edición. */
+    private int ultimosTraducidos;
+
+    /**
+     * Crea un documento vacío.
+     *
+     * @param direccion Dirección de la traducción
+     * @throws IllegalArgumentException si la dirección es null o es el modo espejo
+     */
+    public DocumentoTraducido(DireccionTraduccion direccion) {
+        this(direccion, "");
+    }
+
+    /**
+     * Crea un documento y traduce su texto inicial.
+     *
+     * @param direccion Dirección de la traducción
+     * @param textoInicial Texto inicial (puede estar vacío)
+     * @throws IllegalArgumentException si la dirección es null o es el modo espejo
+     */
+    public DocumentoTraducido(DireccionTraduccion direccion, CharSequence textoInicial) {
+        if (direccion == null) {
+            throw new IllegalArgumentException("La dirección de traducción es obligatoria");
+        }
+        if (direccion == DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO) {
+            throw new IllegalArgumentException("El documento no admite el modo espejo; espeje la salida");
+        }
+        this.compiladas = TablasCompiladas.actuales();
+        this.direccion = direccion;
+        int longitud = textoInicial.length();
+        this.texto = new BuferHueco(longitud + (longitud >> 3));
+        this.salida = new BuferHueco(longitud + (longitud >> 3));
+        int capacidad = Math.max(16, longitud / TAMANO_MINIMO_TRAMO + 16);
+        this.inicios = new int[capacidad];
+        this.iniciosSalida = new int[capacidad];
+        this.errores = new ErrorTraduccion[capacidad];
+        this.despues = capacidad;
+        anadirTramo(0, 0, null);
+        if (longitud > 0) {
+            editar(0, 0, textoInicial);
+        }
+    }
+
+    /**
+     * Reemplaza una parte del texto y actualiza la traducción.
+     *
+     * @param desde Posición del texto donde empieza la edición
+     * @param borrados Caracteres que se eliminan a partir de {@code desde}
+     * @param insertado Texto que se inserta en {@code desde}
+     * @return Cambio de la salida, con posiciones referidas a la salida anterior
+     * @throws IllegalArgumentException si la edición sale de los límites del texto
+     */
+    public CambioTraduccion editar(int desde, int borrados, CharSequence insertado) {
+        if (desde < 0 || borrados < 0 || desde > texto.length() || borrados > texto.length() - desde) {
+            throw new IllegalArgumentException("Edición fuera del documento: desde " + desde
+                    + ", borrados " + borrados + ", longitud " + texto.length());
+        }
+        int primero = tramoEn(desde - 1);
+        int ultimo = tramoEn(desde + borrados);
+
+        // Los tramos desde 'primero' quedan tras el hueco, contados desde el final
+        moverHueco(primero);
+        int inicio = inicioTramo(primero);
+        int inicioSalida = inicioSalidaTramo(primero);
+        texto.reemplazar(desde, borrados, insertado);
+
+        StringBuilder traducido = new StringBuilder();
+        int consumidos = traducirRegion(inicio, inicioSalida, ultimo - primero + 1, traducido);
+
+        int finSalida = despues + consumidos < inicios.length
+                ? salida.length() - iniciosSalida[despues + consumidos]
+                : salida.length();
+        for (int t = despues; t < despues + consumidos; t++) {
+            if (errores[t] != null) {
+                tramosConError--;
+                errores[t] = null;
+            }
+        }
+        despues += consumidos;
+        return reemplazarSalida(inicioSalida, finSalida, traducido);
+    }
+
+    /**
+     * Traduce desde el inicio de un tramo hasta converger con los tramos antiguos,
+     * añadiendo los tramos nuevos antes del hueco.
+     *
+     * @param inicio Inicio de la región en el texto ya editado
+     * @param inicioSalida Posición de la salida donde se colocará la traducción
+     * @param consumidos Tramos antiguos, tras el hueco, que cubren al menos la edición
+     * @param traducido Destino de la traducción de la región
+     * @return Tramos antiguos sustituidos (puede ser mayor que {@code consumidos})
+     */
+    private int traducirRegion(int inicio, int inicioSalida, int consumidos, StringBuilder traducido) {
+        int fin = inicioAntiguo(consumidos);
+        int inicioTramo = inicio;
+        MotorTraduccion motor = new MotorTraduccion(compiladas, direccion, TAMANO_MINIMO_TRAMO << 1);
+        ErrorTraduccion error = null;
+        int posicion = inicio;
+        while (true) {
+            int corte = siguienteCorte(inicioTramo, posicion, fin);
+            boolean ultimoDelTexto = corte == texto.length();
+            if (error == null && !(motor.avanzar(texto, posicion, corte)
+                    && (ultimoDelTexto || motor.cerrarTramo()))) {
+                error = motor.error();
+            }
+            posicion = corte;
+
+            if (error != null || ultimoDelTexto || motor.enEstadoInicial()) {
+                int salidaTramo = inicioSalida + traducido.length();
+                if (error == null) {
+                    traducido.append(motor.finalizar());
+                }
+                anadirTramo(inicioTramo, salidaTramo, error);
+                if (corte == fin) {
+                    ultimosTraducidos = corte - inicio;
+                    return consumidos;
+                }
+                inicioTramo = corte;
+                motor = new MotorTraduccion(compiladas, direccion, TAMANO_MINIMO_TRAMO << 1);
+                error = null;
+            } else if (corte == fin) {
+                // Sin converger: el mismo motor sigue por el siguiente tramo antiguo
+                fin = inicioAntiguo(++consumidos);
+            }
+        }
+    }
+
+    /**
+     * @return inicio, en el texto ya editado, del tramo antiguo que sigue a los
+     *         {@code consumidos} primeros tras el hueco, o la longitud del texto
+     */
+    private int inicioAntiguo(int consumidos) {
+        int t = despues + consumidos;
+        return t < inicios.length ? texto.length() - inicios[t] : texto.length();
+    }
+
+    /**
+     * @return el primer punto de reinicio a partir del cual el tramo tiene la longitud
+     *         mínima, o {@code fin} si no hay ninguno antes
+     */
+    private int siguienteCorte(int inicioTramo, int posicion, int fin) {
+        for (int p = Math.max(posicion + 1, inicioTramo + TAMANO_MINIMO_TRAMO); p < fin; p++) {
+            if (esPuntoReinicio(p)) {
+                return p;
+            }
+        }
+        return fin;
+    }
+
+    private boolean esPuntoReinicio(int p) {
+        if (texto.charAt(p) <= ' ') {
+            return false;
+        }
+        char previo = texto.charAt(p - 1);
+        return direccion.esHaciaBraille() ? previo <= ' ' : previo == '⠀';
+    }
+
+    /**
+     * Sustituye una parte de la salida y calcula el cambio mínimo equivalente.
+     */
+    private CambioTraduccion reemplazarSalida(int desde, int hasta, CharSequence nuevo) {
+        int anterior = hasta - desde;
+        int comunes = Math.min(anterior, nuevo.length());
+        int prefijo = 0;
+        while (prefijo < comunes && salida.charAt(desde + prefijo) == nuevo.charAt(prefijo)) {
+            prefijo++;
+        }
+        int sufijo = 0;
+        while (sufijo < comunes - prefijo
+                && salida.charAt(hasta - 1 - sufijo) == nuevo.charAt(nuevo.length() - 1 - sufijo)) {
+            sufijo++;
+        }
+        String insertado = nuevo.subSequence(prefijo, nuevo.length() - sufijo).toString();
+        int borrados = anterior - prefijo - sufijo;
+        salida.reemplazar(desde + prefijo, borrados, insertado);
+        return new CambioTraduccion(desde + prefijo, borrados, insertado);
+    }
+
+    // --- Tramos con hueco ---
+
+    private int numeroTramosInterno() {
+        return antes + inicios.length - despues;
+    }
+
+    private int inicioTramo(int t) {
+        return t < antes ? inicios[t] : texto.length() - inicios[t + despues - antes];
+    }
+
+    private int inicioSalidaTramo(int t) {
+        return t < antes ? iniciosSalida[t] : salida.length() - iniciosSalida[t + despues - antes];
+    }
+
+    /**
+     * Deja el hueco justo antes del tramo {@code t}.
+     */
+    private void moverHueco(int t) {
+        while (antes > t) {
+            antes--;
+            despues--;
+            inicios[despues] = texto.length() - inicios[antes];
+            iniciosSalida[despues] = salida.length() - iniciosSalida[antes];
+            errores[despues] = errores[antes];
+            errores[antes] = null;
+        }
+        while (antes < t) {
+            inicios[antes] = texto.length() - inicios[despues];
+            iniciosSalida[antes] = salida.length() - iniciosSalida[despues];
+            errores[antes] = errores[despues];
+            errores[despues] = null;
+            antes++;
+            despues++;
+        }
+    }
+
+    /**
+     * Añade un tramo antes del hueco, con sus posiciones absolutas.
+     */
+    private void anadirTramo(int inicio, int inicioSalida, ErrorTraduccion error) {
+        if (antes == despues) {
+            int capacidad = inicios.length;
+            int posteriores = capacidad - despues;
+            int nueva = capacidad << 1;
+            inicios = ampliar(inicios, nueva, posteriores);
+            iniciosSalida = ampliar(iniciosSalida, nueva, posteriores);
+            ErrorTraduccion[] ampliados = Arrays.copyOf(errores, nueva);
+            System.arraycopy(errores, despues, ampliados, nueva - posteriores, posteriores);
+            Arrays.fill(ampliados, antes, nueva - posteriores, null);
+            errores = ampliados;
+            despues = nueva - posteriores;
+        }
+        inicios[antes] = inicio;
+        iniciosSalida[antes] = inicioSalida;
+        errores[antes] = error;
+        antes++;
+        if (error != null) {
+            tramosConError++;
+        }
+    }
+
+    private int[] ampliar(int[] valores, int capacidad, int posteriores) {
+        int[] ampliados = Arrays.copyOf(valores, capacidad);
+        System.arraycopy(valores, despues, ampliados, capacidad - posteriores, posteriores);
+        return ampliados;
+    }
+
+    /**
+     * @return índice del último tramo que empieza en {@code posicion} o antes (0 si es negativa)
+     */
+    private int tramoEn(int posicion) {
+        int bajo = 0;
+        int alto = numeroTramosInterno() - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto + 1) >>> 1;
+            if (inicioTramo(medio) <= posicion) {
+                bajo = medio;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return bajo;
+    }
+
+    // --- Consultas ---
+
+    /**
+     * @return texto actual del documento
+     */
+    public String getTexto() {
+        return texto.toString();
+    }
+
+    /**
+     * @return longitud del texto actual
+     */
+    public int longitud() {
+        return texto.length();
+    }
+
+    /**
+     * @return carácter del texto actual en una posición
+     */
+    public char caracterEn(int posicion) {
+        return texto.charAt(posicion);
+    }
+
+    /**
+     * @return traducción actual del documento (sin la de los tramos con error)
+     */
+    public String getSalida() {
+        return salida.toString();
+    }
+
+    /**
+     * @return primer error del documento, con su posición en el texto, o null si no hay
+     */
+    public ErrorTraduccion getError() {
+        if (tramosConError == 0) {
+            return null;
+        }
+        int tramos = numeroTramosInterno();
+        for (int t = 0; t < tramos; t++) {
+            ErrorTraduccion error = errores[t < antes ? t : t + despues - antes];
+            if (error != null) {
+                return error.desplazar(inicioTramo(t));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return dirección de la traducción
+     */
+    public DireccionTraduccion getDireccion() {
+        return direccion;
+    }
+
+    /**
+     * @return versión de la tabla con la que se traduce el documento
+     */
+    public String getVersionTabla() {
+        return compiladas.tabla.getVersion();
+    }
+
+    /**
+     * @return cantidad de tramos en que está dividido el documento
+     */
+    int numeroTramos() {
+        return numeroTramosInterno();
+    }
+
+    /**
+     * @return caracteres del texto que se tradujeron en la última edición
+     */
+    int ultimosTraducidos() {
+        return ultimosTraducidos;
+    }
+}
@@ -0,0 +1,167 @@
+package model;
+
+/**
+ * Error de una traducción descrito como datos: qué falló, con qué carácter y dónde.
+ *
+ * <p>Es la alternativa sin excepciones a {@link IllegalArgumentException} en el camino de
+ * traducción: {@link MotorTraduccion}, {@link Traduccion#intentarEjecutar()} y el servicio
+ * devuelven un {@code ErrorTraduccion} en lugar de lanzar, de modo que una entrada
+ * inválida no cuesta la captura de la pila de llamadas. Esto importa cuando llegan
+ * muchas entradas inválidas seguidas, por ejemplo desde un OCR.</p>
+ *
+ * <p>El mensaje legible se construye solo si se pide con {@link #getMensaje()} y coincide
+ * con el de la excepción equivalente.</p>
+ *
+ * <p>Las instancias son inmutables.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see Traduccion#intentarEjecutar()
+ */
+public final class ErrorTraduccion {
+
+    /**
+     * Tipos de error.
+     */
+    public enum Codigo {
+        /** No se recibió la solicitud */
+        SOLICITUD_NULA,
+        /** El texto es null o solo contiene espacios */
+        TEXTO_VACIO,
+        /** No se indicó la dirección */
+        DIRECCION_OBLIGATORIA,
+        /** La dirección no corresponde a ninguna {@link DireccionTraduccion} */
+        DIRECCION_INVALIDA,
+        /** Se pidieron celdas con una dirección que produce español */
+        DIRECCION_SIN_CELDAS,
+        /** Se pidió un campo de respuesta que no existe */
+        CAMPO_DESCONOCIDO,
+        /** Carácter sin regla en la tabla (español → Braille) */
+        CARACTER_NO_SOPORTADO,
+        /** Carácter fuera del bloque Braille (Braille → español) */
+        BRAILLE_NO_VALIDO
+    }
+
+    private final Codigo codigo;
+
+    /** Carácter que produjo el error, si corresponde. */
+    private final char caracter;
+
+    /** Posición del carácter en el texto original, o -1. */
+    private final int posicion;
+
+    /** Valor recibido que produjo el error (dirección o campo), o null. */
+    private final String valor;
+
+    private ErrorTraduccion(Codigo codigo, char caracter, int posicion, String valor) {
+        this.codigo = codigo;
+        this.caracter = caracter;
+        this.posicion = posicion;
+        this.valor = valor;
+    }
+
+    /**
+     * Crea un error sin carácter ni posición asociados.
+     *
+     * @param codigo Tipo de error
+     * @param valor Valor recibido que produjo el error, o null
+     * @return El error
+     */
+    public static ErrorTraduccion de(Codigo codigo, String valor) {
+        return new ErrorTraduccion(codigo, '\0', -1, valor);
+    }
+
+    /**
+     * Crea un error producido por un carácter del texto.
+     *
+     * @param codigo {@link Codigo#CARACTER_NO_SOPORTADO} o {@link Codigo#BRAILLE_NO_VALIDO}
+     * @param caracter Carácter inválido
+     * @param posicion Posición del carácter en el texto
+     * @return El error
+     */
+    public static ErrorTraduccion enCaracter(Codigo codigo, char caracter, int posicion) {
+        return new ErrorTraduccion(codigo, caracter, posicion, null);
+    }
+
+    /**
+     * @param desplazamiento Posición del fragmento dentro del texto completo
+     * @return el mismo error con la posición referida al texto completo
+     */
+    ErrorTraduccion desplazar(int desplazamiento) {
+        return posicion < 0 || desplazamiento == 0
+                ? this
+                : new ErrorTraduccion(codigo, caracter, posicion + desplazamiento, valor);
+    }
+
+    /**
+     * @return tipo de error
+     */
+    public Codigo getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * @return true si el error se produjo en un carácter del texto
+     */
+    public boolean tieneCaracter() {
+        return posicion >= 0;
+    }
+
+    /**
+     * @return carácter que produjo el error; solo es significativo si {@link #tieneCaracter()}
+     */
+    public char getCaracter() {
+        return caracter;
+    }
+
+    /**
+     * @return posición del carácter en el texto original, o -1 si el error no es de un carácter
+     */
+    public int getPosicion() {
+        return posicion;
+    }
+
+    /**
+     * Construye el mensaje legible del error.
+     *
+     * @return El mensaje, igual al de la excepción equivalente
+     */
+    public String getMensaje() {
+        switch (codigo) {
+            case SOLICITUD_NULA:
+                return "La solicitud no puede ser nula";
+            case TEXTO_VACIO:
+                return "El texto no puede estar vacío";
+            case DIRECCION_OBLIGATORIA:
+                return "La dirección es obligatoria";
+            case DIRECCION_INVALIDA:
+                return "Dirección inválida. Use 'ESPANOL_A_BRAILLE', 'BRAILLE_A_ESPANOL', 'ESPANOL_A_BRAILLE_ESPEJO', "
+                        + "'ESPANOL_A_BRAILLE_CONTRAIDO' o 'BRAILLE_CONTRAIDO_A_ESPANOL'";
+            case DIRECCION_SIN_CELDAS:
+                return "La dirección debe producir Braille. Use 'ESPANOL_A_BRAILLE', "
+                        + "'ESPANOL_A_BRAILLE_ESPEJO' o 'ESPANOL_A_BRAILLE_CONTRAIDO'";
+            case CAMPO_DESCONOCIDO:
+                return "Campo de respuesta desconocido: '" + valor
+                        + "'. Use 'textoOriginal', 'textoTraducido', 'textoEspejo', 'celdas', 'direccion' o 'versionTabla'";
+            case CARACTER_NO_SOPORTADO:
+                return "El texto contiene caracteres no soportados: '" + caracter + "'";
+            default:
+                return "El texto contiene caracteres que no son Braille válido";
+        }
+    }
+
+    /**
+     * @return excepción equivalente, para los caminos que informan errores lanzando
+     */
+    IllegalArgumentException aExcepcion() {
+        return new IllegalArgumentException(getMensaje());
+    }
+
+    @Override
+    public String toString() {
+        return tieneCaracter()
+                ? codigo + " '" + caracter + "' en la posición " + posicion
+                : codigo.toString();
+    }
+}
@@ -0,0 +1,761 @@
+package model;
+
+import util.MapeadorBraille;
+import util.TablaBraille;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Motor de traducción de una sola pasada usado por {@link Traduccion}.
+ *
+ * <p>Recorre el texto de entrada una única vez hacia adelante y, en ese mismo
+ * recorrido, aplica las tres etapas que antes eran pasadas independientes:</p>
+ * <ol>
+ *   <li><b>Normalización</b>: equivalente a {@code trim()} seguido de
+ *       {@code replaceAll("[ \\t\\f\\r]+", " ")}, sin expresiones regulares
+ *       ni copias intermedias del texto</li>
+ *   <li><b>Validación</b>: cada carácter se valida justo antes de traducirlo,
+ *       conservando el mismo primer error que la validación completa previa</li>
+ *   <li><b>Traducción</b>: una búsqueda por carácter en las tablas de estados de
+ *       {@link TransductorBraille}, y en modo espejo la inversión de cada línea
+ *       directamente sobre el búfer de salida</li>
+ * </ol>
+ *
+ * <h2>Normalización sin anticipación</h2>
+ * <p>Los caracteres de control y espacios ({@code <= ' '}) no se traducen al
+ * leerlos: se acumulan ya colapsados en un pequeño búfer de pendientes. Si después
+ * aparece un carácter visible, los pendientes se traducen antes que él; si el texto
+ * termina, se descartan (recorte final). Los del inicio se ignoran (recorte inicial).</p>
+ *
+ * <h2>Salida</h2>
+ * <p>En las direcciones hacia Braille la salida se construye como máscaras de puntos
+ * ({@link CeldasBraille}): un byte por celda y los saltos de línea aparte. El espejo
+ * se aplica sobre esos bytes y la conversión a Unicode solo ocurre al entregar el
+ * resultado. En Braille → español la salida son caracteres.</p>
+ *
+ * <h2>Braille contraído</h2>
+ * <p>En las direcciones contraídas las letras de cada palabra se retienen hasta que
+ * termina la palabra; entonces se busca en {@link DiccionarioContracciones} la
+ * palabra completa o, si no es abreviable, los grupos de letras por coincidencia más
+ * larga. La retrotraducción agrupa igual las letras leídas y expande abreviaturas y
+ * grupos, de modo que leer un texto contraído da el mismo resultado que leer su
+ * versión integral. Las palabras que empiezan en modo numérico no se contraen,
+ * porque sus celdas se leerían como dígitos.</p>
+ *
+ * <h2>Estado</h2>
+ * <p>El estado de las reglas ({@code enModoNumero}, {@code siguienteMayuscula}, como
+ * bits de estado del transductor) y el de normalización se guarda en campos, de modo
+ * que el texto puede entregarse en uno o varios fragmentos consecutivos mediante
+ * {@link #procesar(CharSequence, int, int)}.
+ * La salida definitiva puede retirarse del búfer en cualquier momento con
+ * {@link #volcar(Appendable)}, lo que permite traducir en flujo con memoria acotada
+ * (ver {@link TraductorFlujo}). Cada instancia traduce un solo texto y no es thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see Traduccion
+ * @see TransductorBraille
+ */
+final class MotorTraduccion {
+
+    /** Capacidad mínima de los búferes. */
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    /** Tamaño del búfer de conversión a Unicode usado al volcar celdas. */
+    private static final int TAMANO_CONVERSION = 512;
+
+    /** Palabra toda en minúsculas. */
+    private static final int FORMA_MINUSCULAS = 0;
+
+    /** Palabra con la inicial en mayúscula y el resto en minúsculas. */
+    private static final int FORMA_CAPITAL = 1;
+
+    /** Cualquier otra combinación; no se abrevia. */
+    private static final int FORMA_MIXTA = 2;
+
+    /** Tabla de caracteres de la instantánea con la que empezó la traducción. */
+    private final TablaBraille tabla;
+
+    /** Transiciones compiladas para {@link #tabla}. */
+    private final TransductorBraille transductor;
+
+    /** Dirección de la traducción que realiza este motor. */
+    private final DireccionTraduccion direccion;
+
+    /** Indica si la salida son celdas Braille (direcciones español → Braille). */
+    private final boolean haciaBraille;
+
+    /**
+     * Estado de las reglas: bits {@link TransductorBraille#ESTADO_NUMERO} (enModoNumero)
+     * y {@link TransductorBraille#ESTADO_MAYUSCULA} (siguienteMayuscula).
+     */
+    private int estado = TransductorBraille.ESTADO_INICIAL;
+
+    /** Ya se encontró el primer carácter visible (fin del recorte inicial). */
+    private boolean textoIniciado;
+
+    /** Espacios y controles pendientes, ya colapsados, a la espera del siguiente carácter visible. */
+    private char[] pendientes = new char[CAPACIDAD_MINIMA];
+
+    /** Cantidad de caracteres válidos en {@link #pendientes}. */
+    private int numPendientes;
+
+    /** Posición en el texto de cada carácter de {@link #pendientes}, para informar errores. */
+    private int[] posicionesPendientes = new int[CAPACIDAD_MINIMA];
+
+    /** Caracteres recibidos en fragmentos anteriores; base de las posiciones de error. */
+    private int procesados;
+
+    /** Error que detuvo la traducción, o null. */
+    private ErrorTraduccion error;
+
+    /** Salida Braille → español. */
+    private char[] salida;
+
+    /** Salida hacia Braille: máscaras de puntos, una por celda. */
+    private byte[] celdas;
+
+    /** Cantidad de elementos válidos en {@link #salida} o {@link #celdas}. */
+    private int longitud;
+
+    /** Salida hacia Braille: posición de la celda que sigue a cada salto de línea. */
+    private int[] saltos;
+
+    /** Cantidad de saltos válidos en {@link #saltos}. */
+    private int numSaltos;
+
+    /** Posición en {@link #celdas} donde empieza la línea actual (modo espejo). */
+    private int inicioLinea;
+
+    /** Diccionario de contracciones, o null si la dirección no es contraída. */
+    private final DiccionarioContracciones contracciones;
+
+    /** Letras de la palabra en curso (direcciones contraídas). */
+    private char[] palabra;
+
+    /** Cantidad de letras válidas en {@link #palabra}. */
+    private int longitudPalabra;
+
+    /** Copia en minúsculas de la palabra, para buscarla en el diccionario. */
+    private char[] clave;
+
+    /** La palabra en curso no se contrae ni se expande: se escribe o se lee letra a letra. */
+    private boolean palabraLiteral;
+
+    /**
+     * Español → Braille contraído: al leer la salida, la última celda escrita se
+     * interpretaría como dígito (la lectura sigue en modo numérico).
+     */
+    private boolean lecturaNumerica;
+
+    /**
+     * Español → Braille contraído: al leer la salida, la última celda escrita es un
+     * dígito tras una coma decimal, que la lectura interpreta como letra de una palabra.
+     */
+    private boolean lecturaEnPalabra;
+
+    /** La palabra en curso contiene celdas de grupo (Braille contraído → español). */
+    private boolean palabraConGrupos;
+
+    /** Se leyó el indicador de grado 1 y aún no empezó la palabra a la que afecta. */
+    private boolean grado1Pendiente;
+
+    /**
+     * Crea un motor para una dirección concreta.
+     *
+     * <p>Toma la instantánea de la tabla activa ({@link TablasCompiladas#actuales()})
+     * y la conserva hasta el final, aunque entretanto se publique otra tabla.</p>
+     *
+     * @param direccion Dirección de la traducción
+     * @param longitudEstimada Longitud aproximada de la entrada, para dimensionar la salida
+     */
+    MotorTraduccion(DireccionTraduccion direccion, int longitudEstimada) {
+        this(TablasCompiladas.actuales(), direccion, longitudEstimada);
+    }
+
+    /**
+     * Crea un motor sobre una instantánea concreta de la tabla, para que varios
+     * motores que traducen partes del mismo texto usen exactamente las mismas reglas.
+     *
+     * @param compiladas Instantánea de la tabla y sus estructuras derivadas
+     * @param direccion Dirección de la traducción
+     * @param longitudEstimada Longitud aproximada de la entrada, para dimensionar la salida
+     */
+    MotorTraduccion(TablasCompiladas compiladas, DireccionTraduccion direccion, int longitudEstimada) {
+        this.tabla = compiladas.tabla;
+        this.transductor = compiladas.transductor;
+        this.direccion = direccion;
+        this.haciaBraille = direccion.esHaciaBraille();
+        this.contracciones = direccion.esContraida() ? compiladas.contracciones : null;
+        if (contracciones != null) {
+            this.palabra = new char[CAPACIDAD_MINIMA];
+            this.clave = new char[CAPACIDAD_MINIMA];
+        }
+        int capacidad = Math.max(CAPACIDAD_MINIMA, longitudEstimada + (longitudEstimada >> 2));
+        if (haciaBraille) {
+            this.celdas = new byte[capacidad];
+            this.saltos = new int[CAPACIDAD_MINIMA];
+        } else {
+            this.salida = new char[capacidad];
+        }
+    }
+
+    /**
+     * Procesa un fragmento de texto.
+     *
+     * @param texto Texto de entrada
+     * @param desde Índice inicial (inclusive)
+     * @param hasta Índice final (exclusive)
+     * @throws IllegalArgumentException si aparece un carácter no soportado en la dirección actual
+     */
+    void procesar(CharSequence texto, int desde, int hasta) {
+        if (!avanzar(texto, desde, hasta)) {
+            throw error.aExcepcion();
+        }
+    }
+
+    /**
+     * Procesa un fragmento de texto sin lanzar excepciones ante caracteres inválidos.
+     *
+     * <p>Al primer carácter no soportado la traducción se detiene y el error queda
+     * disponible en {@link #error()}, con la posición del carácter contada desde el
+     * inicio del texto (sumando los fragmentos anteriores).</p>
+     *
+     * @param texto Texto de entrada
+     * @param desde Índice inicial (inclusive)
+     * @param hasta Índice final (exclusive)
+     * @return true si el fragmento se tradujo; false si hubo un error (ahora o antes)
+     */
+    boolean avanzar(CharSequence texto, int desde, int hasta) {
+        if (error != null) {
+            return false;
+        }
+        int base = procesados - desde;
+        for (int i = desde; i < hasta; i++) {
+            char c = texto.charAt(i);
+
+            if (c <= ' ') {
+                if (textoIniciado) {
+                    acumularPendiente(c, base + i);
+                }
+                continue;
+            }
+
+            textoIniciado = true;
+            if (numPendientes > 0 && !vaciarPendientes()) {
+                return false;
+            }
+            if (!paso(c)) {
+                registrarError(c, base + i);
+                return false;
+            }
+        }
+        procesados += hasta - desde;
+        return true;
+    }
+
+    /**
+     * @return error que detuvo la traducción, o null si no hubo ninguno
+     */
+    ErrorTraduccion error() {
+        return error;
+    }
+
+    /**
+     * Traduce los espacios pendientes antes de un carácter visible.
+     *
+     * @return false si alguno no es válido en la dirección actual
+     */
+    private boolean vaciarPendientes() {
+        for (int p = 0; p < numPendientes; p++) {
+            if (!paso(pendientes[p])) {
+                registrarError(pendientes[p], posicionesPendientes[p]);
+                numPendientes = 0;
+                return false;
+            }
+        }
+        numPendientes = 0;
+        return true;
+    }
+
+    private void registrarError(char c, int posicion) {
+        error = ErrorTraduccion.enCaracter(haciaBraille
+                ? ErrorTraduccion.Codigo.CARACTER_NO_SOPORTADO
+                : ErrorTraduccion.Codigo.BRAILLE_NO_VALIDO, c, posicion);
+    }
+
+    /**
+     * Termina la traducción descartando los espacios finales.
+     *
+     * @return Texto traducido (Braille Unicode o español según la dirección)
+     */
+    String finalizar() {
+        terminar();
+        return haciaBraille
+                ? new CeldasBraille(celdas, longitud, saltos, numSaltos).aUnicode()
+                : new String(salida, 0, longitud);
+    }
+
+    /**
+     * Termina una traducción hacia Braille y entrega las celdas sin convertirlas a Unicode.
+     *
+     * @return Celdas traducidas; el motor no debe usarse después
+     * @throws IllegalStateException si la dirección es Braille → español
+     */
+    CeldasBraille finalizarCeldas() {
+        if (!haciaBraille) {
+            throw new IllegalStateException("La traducción Braille → español no produce celdas");
+        }
+        terminar();
+        return new CeldasBraille(celdas, longitud, saltos, numSaltos);
+    }
+
+    /**
+     * Cierra un tramo que no es el final del texto: los espacios pendientes se
+     * traducen como si a continuación viniera un carácter visible, igual que ocurriría
+     * si el texto siguiera en este mismo motor.
+     *
+     * @return false si alguno de los espacios pendientes no es válido ({@link #error()})
+     */
+    boolean cerrarTramo() {
+        return error == null && vaciarPendientes();
+    }
+
+    /**
+     * Indica si el motor está en el mismo estado que uno recién creado, de modo que
+     * lo que siga se traduciría igual en este motor que en uno nuevo.
+     *
+     * @return true si no hay indicador activo, palabra abierta ni espacios pendientes
+     */
+    boolean enEstadoInicial() {
+        return estado == TransductorBraille.ESTADO_INICIAL
+                && numPendientes == 0
+                && longitudPalabra == 0
+                && !lecturaNumerica
+                && !lecturaEnPalabra
+                && !grado1Pendiente;
+    }
+
+    /**
+     * @return versión de la tabla con la que traduce este motor
+     */
+    String versionTabla() {
+        return tabla.getVersion();
+    }
+
+    /**
+     * Descarta los espacios finales pendientes y, en modo espejo, espeja la última línea.
+     * Después de llamarlo toda la salida del búfer es definitiva.
+     */
+    void terminar() {
+        numPendientes = 0;
+        if (contracciones != null) {
+            if (haciaBraille) {
+                cerrarPalabraEspanol();
+            } else {
+                cerrarPalabraBraille();
+            }
+        }
+        if (direccion == DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO) {
+            espejarLinea();
+            inicioLinea = longitud;
+        }
+    }
+
+    /**
+     * Escribe en el destino la parte de la salida que ya es definitiva y la retira del búfer.
+     *
+     * <p>En modo espejo solo son definitivas las líneas completas, porque la línea
+     * actual todavía debe invertirse; en las demás direcciones lo es toda la salida.
+     * Las celdas se convierten a Unicode aquí, en el borde de salida.</p>
+     *
+     * @param destino Destino de la salida
+     * @throws IOException si el destino falla al escribir
+     */
+    void volcar(Appendable destino) throws IOException {
+        if (!haciaBraille) {
+            if (longitud > 0) {
+                escribir(destino, salida, longitud);
+                longitud = 0;
+            }
+            return;
+        }
+
+        int definitiva = direccion == DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO ? inicioLinea : longitud;
+        if (definitiva == 0 && numSaltos == 0) {
+            return;
+        }
+        char[] conversion = new char[Math.min(TAMANO_CONVERSION, definitiva + numSaltos + 1)];
+        int usados = 0;
+        int salto = 0;
+        for (int i = 0; i <= definitiva; i++) {
+            while (salto < numSaltos && saltos[salto] == i) {
+                if (usados == conversion.length) {
+                    escribir(destino, conversion, usados);
+                    usados = 0;
+                }
+                conversion[usados++] = '\n';
+                salto++;
+            }
+            if (i == definitiva) {
+                break;
+            }
+            if (usados == conversion.length) {
+                escribir(destino, conversion, usados);
+                usados = 0;
+            }
+            conversion[usados++] = CeldasBraille.aUnicode(celdas[i] & 0xFF);
+        }
+        if (usados > 0) {
+            escribir(destino, conversion, usados);
+        }
+
+        // Todos los saltos registrados están dentro de la parte definitiva
+        System.arraycopy(celdas, definitiva, celdas, 0, longitud - definitiva);
+        longitud -= definitiva;
+        inicioLinea -= definitiva;
+        numSaltos = 0;
+    }
+
+    private static void escribir(Appendable destino, char[] datos, int cantidad) throws IOException {
+        if (destino instanceof Writer) {
+            ((Writer) destino).write(datos, 0, cantidad);
+        } else {
+            destino.append(CharBuffer.wrap(datos, 0, cantidad));
+        }
+    }
+
+    /**
+     * Acumula un espacio o carácter de control, colapsando grupos de
+     * {@code [ \t\f\r]} en un único espacio y conservando el resto tal cual.
+     */
+    private void acumularPendiente(char c, int posicion) {
+        if (c == ' ' || c == '\t' || c == '\f' || c == '\r') {
+            if (numPendientes > 0 && pendientes[numPendientes - 1] == ' ') {
+                return;
+            }
+            c = ' ';
+        }
+        if (numPendientes == pendientes.length) {
+            pendientes = Arrays.copyOf(pendientes, numPendientes << 1);
+            posicionesPendientes = Arrays.copyOf(posicionesPendientes, numPendientes << 1);
+        }
+        posicionesPendientes[numPendientes] = posicion;
+        pendientes[numPendientes++] = c;
+    }
+
+    /**
+     * Valida y traduce un carácter ya normalizado con una única búsqueda en las
+     * tablas compiladas de {@link TransductorBraille}.
+     *
+     * @return false, sin cambiar el estado, si el carácter no es válido en la dirección actual
+     */
+    private boolean paso(char c) {
+        if (!haciaBraille) {
+            if (!MapeadorBraille.esCaracterBraille(c)) {
+                return false;
+            }
+            if (contracciones != null) {
+                leerCeldaContraida(c - '⠀');
+                return true;
+            }
+            int transicion = transductor.transicionBrailleAEspanol(estado, c - '⠀');
+            if ((transicion & TransductorBraille.CON_SALIDA) != 0) {
+                anexarCaracter(TransductorBraille.salida(transicion));
+            }
+            estado = TransductorBraille.siguienteEstado(transicion);
+            return true;
+        }
+
+        long transicion = transductor.transicionEspanolABraille(estado, c);
+        if ((transicion & TransductorBraille.VALIDA) == 0) {
+            return false;
+        }
+        if (contracciones != null) {
+            if (esLetraDePalabra(c)) {
+                if (longitudPalabra == 0) {
+                    palabraLiteral = lecturaNumerica || lecturaEnPalabra;
+                }
+                anexarLetraPalabra(c);
+                return true;
+            }
+            if (longitudPalabra > 0) {
+                cerrarPalabraEspanol();
+                transicion = transductor.transicionEspanolABraille(estado, c);
+            }
+            seguirLectura(c);
+        }
+        emitir(transicion);
+        return true;
+    }
+
+    /**
+     * Escribe las celdas de una transición español → Braille y avanza el estado.
+     */
+    private void emitir(long transicion) {
+        if ((transicion & TransductorBraille.SALTO_LINEA) != 0) {
+            // Preservar saltos de línea y salir de modo numérico
+            if (direccion == DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO) {
+                espejarLinea();
+            }
+            anexarSalto();
+            inicioLinea = longitud;
+        } else {
+            int cantidad = TransductorBraille.cantidad(transicion);
+            anexarCelda(TransductorBraille.primera(transicion));
+            if (cantidad > 1) {
+                anexarCelda(TransductorBraille.segunda(transicion));
+            }
+        }
+        estado = TransductorBraille.siguienteEstado(transicion);
+    }
+
+    // --- Braille contraído ---
+
+    /**
+     * Indica si un carácter forma parte de una palabra contraíble: una letra cuya celda
+     * se lee de vuelta como letra (la 'í' comparte celda con '/' y separa palabras).
+     */
+    private boolean esLetraDePalabra(char c) {
+        return Character.isLetter(c)
+                && tabla.puntuacionParaCelda(tabla.celdaParaLetra(Character.toLowerCase(c)))
+                == MapeadorBraille.SIN_MAPEO;
+    }
+
+    /**
+     * Traduce la palabra retenida: abreviatura de palabra completa, indicador de
+     * grado 1 si coincide con una abreviatura, o grupos por coincidencia más larga.
+     */
+    private void cerrarPalabraEspanol() {
+        int n = longitudPalabra;
+        if (n == 0) {
+            return;
+        }
+        longitudPalabra = 0;
+        lecturaNumerica = false;
+        lecturaEnPalabra = false;
+        if (palabraLiteral) {
+            emitirLetras(0, n);
+            return;
+        }
+
+        int forma = formaPalabra(palabra, n);
+        if (forma != FORMA_MIXTA) {
+            aMinusculas(n);
+            int entrada = contracciones.buscarPalabra(clave, 0, n);
+            if (entrada >= 0) {
+                if (forma == FORMA_CAPITAL) {
+                    anexarCelda(tabla.signoMayuscula() - '⠀');
+                }
+                for (byte celda : contracciones.celdasAbreviatura(entrada)) {
+                    anexarCelda(celda & 0xFF);
+                }
+                estado = TransductorBraille.ESTADO_INICIAL;
+                return;
+            }
+            if (contracciones.buscarAbreviatura(clave, 0, n) >= 0) {
+                anexarCelda(DiccionarioContracciones.INDICADOR_GRADO_1);
+                emitirLetras(0, n);
+                return;
+            }
+        }
+
+        int i = 0;
+        while (i < n) {
+            long grupo = contracciones.grupoMasLargo(palabra, i, n);
+            if (grupo != 0L) {
+                anexarCelda((int) grupo);
+                estado = TransductorBraille.ESTADO_INICIAL;
+                i += (int) (grupo >>> 32);
+            } else {
+                emitirLetras(i, ++i);
+            }
+        }
+    }
+
+    /**
+     * Sigue cómo leerá la retrotraducción el carácter que va a escribirse. Tras una
+     * coma decimal la lectura sale del modo numérico, de modo que los dígitos siguientes
+     * se leen como letras: se marcan con el indicador de grado 1 para que no formen
+     * una abreviatura, y la palabra que los continúe se escribe sin contraer.
+     */
+    private void seguirLectura(char c) {
+        boolean digito = Character.isDigit(c);
+        if (digito && (estado & TransductorBraille.ESTADO_NUMERO) != 0 && !lecturaNumerica) {
+            if (!lecturaEnPalabra) {
+                anexarCelda(DiccionarioContracciones.INDICADOR_GRADO_1);
+                lecturaEnPalabra = true;
+            }
+            return;
+        }
+        lecturaEnPalabra = false;
+        lecturaNumerica = digito && (lecturaNumerica || (estado & TransductorBraille.ESTADO_NUMERO) == 0);
+    }
+
+    /**
+     * Escribe sin contracciones las letras {@code [desde, hasta)} de la palabra retenida.
+     */
+    private void emitirLetras(int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            emitir(transductor.transicionEspanolABraille(estado, palabra[i]));
+        }
+    }
+
+    /**
+     * Lee una celda de Braille contraído. Las letras se retienen en la palabra en curso;
+     * cualquier otra salida cierra la palabra antes de escribirse.
+     */
+    private void leerCeldaContraida(int mascara) {
+        if (mascara == DiccionarioContracciones.INDICADOR_GRADO_1) {
+            if (longitudPalabra > 0) {
+                palabraLiteral = true;
+            } else {
+                grado1Pendiente = true;
+            }
+            return;
+        }
+        boolean enModoNumero = (estado & TransductorBraille.ESTADO_NUMERO) != 0;
+
+        String grupo = contracciones.expansionGrupo(mascara);
+        if (grupo != null && !enModoNumero) {
+            if (longitudPalabra == 0) {
+                abrirPalabra(false);
+            }
+            palabraConGrupos = true;
+            boolean mayuscula = (estado & TransductorBraille.ESTADO_MAYUSCULA) != 0;
+            for (int k = 0; k < grupo.length(); k++) {
+                char letra = grupo.charAt(k);
+                anexarLetraPalabra(k == 0 && mayuscula ? Character.toUpperCase(letra) : letra);
+            }
+            estado &= ~TransductorBraille.ESTADO_MAYUSCULA;
+            return;
+        }
+
+        int transicion = transductor.transicionBrailleAEspanol(estado, mascara);
+        if ((transicion & TransductorBraille.CON_SALIDA) != 0) {
+            char salidaCelda = TransductorBraille.salida(transicion);
+            if (Character.isLetter(salidaCelda)) {
+                if (longitudPalabra == 0) {
+                    abrirPalabra(enModoNumero);
+                }
+                anexarLetraPalabra(salidaCelda);
+            } else {
+                cerrarPalabraBraille();
+                grado1Pendiente = false;
+                anexarCaracter(salidaCelda);
+            }
+        }
+        estado = TransductorBraille.siguienteEstado(transicion);
+    }
+
+    /**
+     * Empieza una palabra en la retrotraducción. Se lee literalmente si sigue al
+     * indicador de grado 1 o si empieza saliendo del modo numérico.
+     */
+    private void abrirPalabra(boolean literal) {
+        palabraLiteral = literal || grado1Pendiente;
+        palabraConGrupos = false;
+        grado1Pendiente = false;
+    }
+
+    /**
+     * Escribe la palabra leída, sustituyendo la abreviatura por la palabra completa
+     * cuando corresponde.
+     */
+    private void cerrarPalabraBraille() {
+        int n = longitudPalabra;
+        if (n == 0) {
+            return;
+        }
+        longitudPalabra = 0;
+        if (!palabraLiteral && !palabraConGrupos) {
+            int forma = formaPalabra(palabra, n);
+            if (forma != FORMA_MIXTA) {
+                aMinusculas(n);
+                int entrada = contracciones.buscarAbreviatura(clave, 0, n);
+                if (entrada >= 0) {
+                    String expansion = contracciones.expansion(entrada);
+                    anexarCaracter(forma == FORMA_CAPITAL
+                            ? Character.toUpperCase(expansion.charAt(0))
+                            : expansion.charAt(0));
+                    for (int k = 1; k < expansion.length(); k++) {
+                        anexarCaracter(expansion.charAt(k));
+                    }
+                    return;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            anexarCaracter(palabra[i]);
+        }
+    }
+
+    private static int formaPalabra(char[] letras, int n) {
+        for (int i = 1; i < n; i++) {
+            if (!Character.isLowerCase(letras[i])) {
+                return FORMA_MIXTA;
+            }
+        }
+        if (Character.isLowerCase(letras[0])) {
+            return FORMA_MINUSCULAS;
+        }
+        return Character.isUpperCase(letras[0]) ? FORMA_CAPITAL : FORMA_MIXTA;
+    }
+
+    private void aMinusculas(int n) {
+        if (clave.length < n) {
+            clave = new char[palabra.length];
+        }
+        for (int i = 0; i < n; i++) {
+            clave[i] = Character.toLowerCase(palabra[i]);
+        }
+    }
+
+    private void anexarLetraPalabra(char c) {
+        if (longitudPalabra == palabra.length) {
+            palabra = Arrays.copyOf(palabra, longitudPalabra << 1);
+        }
+        palabra[longitudPalabra++] = c;
+    }
+
+    /**
+     * Espeja e invierte en el propio búfer de celdas la línea que empieza en {@link #inicioLinea}.
+     */
+    private void espejarLinea() {
+        int izquierda = inicioLinea;
+        int derecha = longitud - 1;
+        while (izquierda < derecha) {
+            byte temporal = (byte) CeldasBraille.espejarMascara(celdas[izquierda] & 0xFF);
+            celdas[izquierda++] = (byte) CeldasBraille.espejarMascara(celdas[derecha] & 0xFF);
+            celdas[derecha--] = temporal;
+        }
+        if (izquierda == derecha) {
+            celdas[izquierda] = (byte) CeldasBraille.espejarMascara(celdas[izquierda] & 0xFF);
+        }
+    }
+
+    private void anexarCelda(int mascara) {
+        if (longitud == celdas.length) {
+            celdas = Arrays.copyOf(celdas, longitud << 1);
+        }
+        celdas[longitud++] = (byte) mascara;
+    }
+
+    private void anexarSalto() {
+        if (numSaltos == saltos.length) {
+            saltos = Arrays.copyOf(saltos, numSaltos << 1);
+        }
+        saltos[numSaltos++] = longitud;
+    }
+
+    private void anexarCaracter(char c) {
+        if (longitud == salida.length) {
+            salida = Arrays.copyOf(salida, longitud << 1);
+        }
+        salida[longitud++] = c;
+    }
+}
@@ -0,0 +1,85 @@
+package model;
+
+import util.MapeadorBraille;
+import util.TablaBraille;
+
+/**
+ * Instantánea inmutable de todo lo que una traducción deriva de una {@link TablaBraille}:
+ * la propia tabla, el {@link TransductorBraille} compilado a partir de ella y el
+ * {@link DiccionarioContracciones} que valida sus celdas de grupo contra ella.
+ *
+ * <h2>Recarga en caliente</h2>
+ * <p>La tabla activa se publica en la referencia atómica de {@link MapeadorBraille}.
+ * Cada {@link MotorTraduccion} obtiene al crearse la instantánea de la tabla activa
+ * con {@link #actuales()} y la usa hasta terminar: si entretanto se publica otra
+ * tabla, la traducción en curso conserva la versión con la que empezó y las
+ * siguientes usan la nueva.</p>
+ *
+ * <p>La última instantánea se guarda en un campo volátil y se reutiliza mientras la
+ * tabla activa sea la misma, de modo que el camino de lectura es una comparación de
+ * referencias, sin bloqueos. Si dos hilos detectan a la vez una tabla nueva, ambos
+ * compilan una instantánea equivalente y cualquiera de las dos es correcta.</p>
+ *
+ * <p>{@link #publicar(TablaBraille)} compila la instantánea antes de publicar la
+ * tabla, de modo que una tabla incompatible con el diccionario de contracciones se
+ * rechaza sin llegar a sustituir a la activa.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see MapeadorBraille#publicarTabla(TablaBraille)
+ */
+public final class TablasCompiladas {
+
+    /** Última instantánea compilada; se sustituye cuando cambia la tabla activa. */
+    private static volatile TablasCompiladas ultimas;
+
+    /** Tabla de caracteres de la instantánea. */
+    final TablaBraille tabla;
+
+    /** Transiciones compiladas para {@link #tabla}. */
+    final TransductorBraille transductor;
+
+    /** Contracciones validadas contra {@link #tabla}. */
+    final DiccionarioContracciones contracciones;
+
+    private TablasCompiladas(TablaBraille tabla) {
+        this.tabla = tabla;
+        this.transductor = new TransductorBraille(tabla);
+        this.contracciones = DiccionarioContracciones.predeterminado(tabla);
+    }
+
+    /**
+     * Obtiene la instantánea de la tabla activa, compilándola si la tabla cambió.
+     *
+     * @return Instantánea correspondiente a {@link MapeadorBraille#obtenerTabla()}
+     */
+    static TablasCompiladas actuales() {
+        TablaBraille tabla = MapeadorBraille.obtenerTabla();
+        TablasCompiladas compiladas = ultimas;
+        if (compiladas == null || compiladas.tabla != tabla) {
+            compiladas = new TablasCompiladas(tabla);
+            ultimas = compiladas;
+        }
+        return compiladas;
+    }
+
+    /**
+     * Compila las estructuras derivadas de una tabla y, si son válidas, la publica
+     * como tabla activa.
+     *
+     * @param tabla Nueva tabla
+     * @return Tabla que estaba activa
+     * @throws IllegalArgumentException si la tabla es null o asigna a otra regla una
+     *         celda que usa el diccionario de contracciones; la tabla activa no cambia
+     */
+    public static TablaBraille publicar(TablaBraille tabla) {
+        if (tabla == null) {
+            throw new IllegalArgumentException("La tabla Braille no puede ser nula");
+        }
+        TablasCompiladas compiladas = new TablasCompiladas(tabla);
+        TablaBraille anterior = MapeadorBraille.publicarTabla(tabla);
+        ultimas = compiladas;
+        return anterior;
+    }
+}
@@ -2,6 +2,8 @@ package model;
 
 import util.MapeadorBraille;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Entidad de dominio que representa una traducción Braille.
  *
@@ -21,7 +23,7 @@ import util.MapeadorBraille;
  * <p>Reglas de negocio implementadas:</p>
  * <ul>
  *   <li>Números: Requieren signo especial (⠼) al inicio de secuencia numérica</li>
- *   <li>Mayúsculas: Requieren signo especial (⠠) antes del carácter</li>
+ *   <li>Mayúsculas: Requieren signo especial (⠨) antes del carácter</li>
  *   <li>Espacios: Desactivan el modo número</li>
  *   <li>Normalización: Espacios múltiples se reducen a uno solo</li>
  * </ul>
@@ -47,15 +49,26 @@ public class Traduccion {
     private String textoOriginal;
 
     /**
-     * Texto resultante después de la traducción.
+     * Texto resultante después de la traducción. En las direcciones hacia Braille
+     * se obtiene de {@link #celdasTraducidas} la primera vez que se solicita.
      */
     private String textoTraducido;
 
+    /**
+     * Resultado como máscaras de puntos (solo en las direcciones hacia Braille).
+     */
+    private CeldasBraille celdasTraducidas;
+
     /**
      * Dirección en la que se realizará la traducción.
      */
     private DireccionTraduccion direccion;
 
+    /**
+     * Versión de la tabla Braille con la que se ejecutó la traducción.
+     */
+    private String versionTabla;
+
     /**
      * Estado actual de la traducción.
      */
@@ -127,7 +140,7 @@ public class Traduccion {
     /**
      * Ejecuta la traducción aplicando todas las reglas de negocio.
      *
-     * <p>Proceso de ejecución:</p>
+     * <p>Proceso de ejecución (una sola pasada sobre el texto, ver {@link MotorTraduccion}):</p>
      * <ol>
      *   <li>Limpia espacios al inicio y final del texto</li>
      *   <li>Normaliza espacios múltiples a un solo espacio</li>
@@ -136,244 +149,86 @@ public class Traduccion {
      *   <li>Actualiza el estado a COMPLETADA o FALLIDA</li>
      * </ol>
      *
+     * <p>Los documentos grandes se reparten entre los hilos de
+     * {@link ForkJoinPool#commonPool()}; ver {@link #ejecutar(ForkJoinPool)}.</p>
+     *
      * @throws IllegalStateException si la traducción ya fue ejecutada
      * @throws RuntimeException si ocurre un error durante la traducción
      */
     public void ejecutar() {
-        if (this.estado == EstadoTraduccion.COMPLETADA) {
-            throw new IllegalStateException("La traducción ya fue completada");
-        }
-
-        try {
-            // Limpiar espacios al inicio y final (común cuando se copia/pega)
-            String textoLimpio = textoOriginal.trim();
-
-            // Normalizar espacios múltiples a un solo espacio, preservando saltos de línea
-            // Reemplaza grupos de espacios, tabs, carriage return y form feed por un espacio, NO toca '\n'
-            textoLimpio = textoLimpio.replaceAll("[ \\t\\f\\r]+", " ");
-
-            // Validar según la dirección
-            if (direccion == DireccionTraduccion.ESPANOL_A_BRAILLE) {
-                validarTextoEspanol(textoLimpio);
-                this.textoTraducido = traducirEspanolABraille(textoLimpio);
-            } else if (direccion == DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO) {
-                validarTextoEspanol(textoLimpio);
-                String brailleNormal = traducirEspanolABraille(textoLimpio);
-                this.textoTraducido = MapeadorBraille.espejarBraille(brailleNormal);
-            } else {
-                validarTextoBraille(textoLimpio);
-                this.textoTraducido = traducirBrailleAEspanol(textoLimpio);
-            }
-
-            this.estado = EstadoTraduccion.COMPLETADA;
-
-        } catch (Exception e) {
-            this.estado = EstadoTraduccion.FALLIDA;
-            throw new RuntimeException("Error al ejecutar la traducción: " + e.getMessage(), e);
-        }
+        ejecutar(ForkJoinPool.commonPool());
     }
 
     /**
-     * Valida que el texto contenga solo caracteres soportados en español.
+     * Ejecuta la traducción usando los hilos de un pool concreto para los textos grandes.
      *
-     * <p>Caracteres soportados incluyen:</p>
-     * <ul>
-     *   <li>Letras: a-z, A-Z, ñ, Ñ</li>
-     *   <li>Acentuadas: á, é, í, ó, ú, ü y sus mayúsculas</li>
-     *   <li>Números: 0-9</li>
-     *   <li>Puntuación: . , ; : ? ! - ( ) "</li>
-     *   <li>Espacio</li>
-     * </ul>
+     * <p>Los textos de al menos {@value TraductorParalelo#UMBRAL_PARALELO} caracteres se
+     * dividen en tramos que se traducen en paralelo ({@link TraductorParalelo}); los demás,
+     * o cualquier texto si el pool tiene un solo hilo, se traducen en el hilo que llama.
+     * El resultado es el mismo en ambos casos.</p>
      *
-     * @param texto Texto a validar
-     * @throws IllegalArgumentException si el texto contiene caracteres no soportados
+     * @param pool Pool que ejecuta los tramos de los textos grandes
+     * @throws IllegalStateException si la traducción ya fue ejecutada
+     * @throws RuntimeException si ocurre un error durante la traducción
      */
-    private void validarTextoEspanol(String texto) {
-        for (char c : texto.toCharArray()) {
-            // Permitir saltos de línea sin validación de mapeo
-            if (c == '\n') continue;
-            if (!util.MapeadorBraille.esCaracterSoportado(c)) {
-                throw new IllegalArgumentException(
-                        "El texto contiene caracteres no soportados: '" + c + "'"
-                );
-            }
+    public void ejecutar(ForkJoinPool pool) {
+        ErrorTraduccion error;
+        try {
+            error = intentarEjecutar(pool);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            this.estado = EstadoTraduccion.FALLIDA;
+            throw new RuntimeException("Error al ejecutar la traducción: " + e.getMessage(), e);
         }
-    }
-
-    /**
-     * Valida que el texto contenga solo caracteres Braille válidos.
-     *
-     * <p>Los caracteres Braille válidos están en el rango Unicode U+2800 a U+28FF.</p>
-     *
-     * @param texto Texto a validar
-     * @throws IllegalArgumentException si el texto contiene caracteres no Braille
-     */
-    private void validarTextoBraille(String texto) {
-        for (char c : texto.toCharArray()) {
-            if (!MapeadorBraille.esCaracterBraille(c)) {
-                throw new IllegalArgumentException(
-                        "El texto contiene caracteres que no son Braille válido"
-                );
-            }
+        if (error != null) {
+            throw new RuntimeException("Error al ejecutar la traducción: " + error.getMensaje(), error.aExcepcion());
         }
     }
 
     /**
-     * Traduce texto en español a representación Braille.
+     * Ejecuta la traducción informando los errores de la entrada sin lanzar excepciones.
      *
-     * <p>Reglas de conversión aplicadas:</p>
-     * <ul>
-     *   <li>Números: Se antecede ⠼ al inicio de una secuencia numérica</li>
-     *   <li>Mayúsculas: Se antecede ⠠ antes de cada letra mayúscula</li>
-     *   <li>Espacios: Desactivan el modo número y se representan con ⠀</li>
-     *   <li>Puntuación: Cada signo tiene su representación específica</li>
-     *   <li>Letras: Se convierten a su equivalente Braille manteniendo minúsculas</li>
-     * </ul>
+     * <p>Equivale a {@link #ejecutar()}, pero un carácter no soportado no lanza: se devuelve
+     * como {@link ErrorTraduccion}, con el carácter y su posición en el texto original, y
+     * la traducción queda en estado FALLIDA.</p>
      *
-     * @param textoEspanol Texto en español a traducir
-     * @return Representación del texto en Braille Unicode
+     * @return null si la traducción se completó, o el error de la entrada
+     * @throws IllegalStateException si la traducción ya fue ejecutada
      */
-    private String traducirEspanolABraille(String textoEspanol) {
-        StringBuilder resultadoBraille = new StringBuilder();
-        boolean enModoNumero = false;
-
-        for (int i = 0; i < textoEspanol.length(); i++) {
-            char caracterActual = textoEspanol.charAt(i);
-
-            // Preservar saltos de línea y salir de modo numérico
-            if (caracterActual == '\n') {
-                resultadoBraille.append('\n');
-                enModoNumero = false;
-                continue;
-            }
-
-            // 1) Dígitos → activan modo numérico y usan prefijo de número
-            if (Character.isDigit(caracterActual)) {
-                if (!enModoNumero) {
-                    resultadoBraille.append(util.MapeadorBraille.obtenerSignoNumero());
-                    enModoNumero = true;
-                }
-                String numeroBraille = util.MapeadorBraille.obtenerBrailleParaNumero(caracterActual);
-                resultadoBraille.append(numeroBraille != null ? numeroBraille : "?");
-                continue;
-            }
-
-            // 2) Comas dentro del número NO rompen modo numérico
-            if (enModoNumero && caracterActual == ',') {
-                String comaBraille = util.MapeadorBraille.obtenerBrailleParaPuntuacion(caracterActual);
-                resultadoBraille.append(comaBraille != null ? comaBraille : "?");
-                continue;
-            }
-
-            // 3) Si aparece algo que NO es dígito ni coma → cerrar modo numérico
-            if (enModoNumero && !Character.isDigit(caracterActual) && caracterActual != ',') {
-                enModoNumero = false;
-            }
-
-            // Espacio: se mapea y de forma natural mantiene fuera del modo numérico
-            if (caracterActual == ' ') {
-                String espacioBraille = util.MapeadorBraille.obtenerBrailleParaLetra(' ');
-                resultadoBraille.append(espacioBraille != null ? espacioBraille : "?");
-                continue;
-            }
-
-            // 4) Mayúsculas: añadir signo de mayúscula y luego la letra en minúscula
-            if (Character.isLetter(caracterActual) && Character.isUpperCase(caracterActual)) {
-                resultadoBraille.append(util.MapeadorBraille.obtenerSignoMayuscula());
-                char base = Character.toLowerCase(caracterActual);
-                String letraBraille = util.MapeadorBraille.obtenerBrailleParaLetra(base);
-                resultadoBraille.append(letraBraille != null ? letraBraille : "?");
-                continue;
-            }
-
-            // 5) Resto de signos, minúsculas, acentos, espacio: intentar puntuación, si no letra; fallback '?'
-            String puntuacionBraille = util.MapeadorBraille.obtenerBrailleParaPuntuacion(caracterActual);
-            if (puntuacionBraille != null) {
-                resultadoBraille.append(puntuacionBraille);
-                continue;
-            }
-
-            String letraBraille = util.MapeadorBraille.obtenerBrailleParaLetra(caracterActual);
-            resultadoBraille.append(letraBraille != null ? letraBraille : "?");
-        }
-
-        return resultadoBraille.toString();
+    public ErrorTraduccion intentarEjecutar() {
+        return intentarEjecutar(ForkJoinPool.commonPool());
     }
 
     /**
-     * Traduce texto en Braille a español.
+     * Ejecuta la traducción con un pool concreto, informando los errores sin lanzar
+     * excepciones; ver {@link #intentarEjecutar()} y {@link #ejecutar(ForkJoinPool)}.
      *
-     * <p>Reglas de conversión aplicadas:</p>
-     * <ul>
-     *   <li>Signo ⠼: Activa modo número para los siguientes símbolos</li>
-     *   <li>Signo ⠠: Convierte la siguiente letra a mayúscula</li>
-     *   <li>Espacios: Desactivan el modo número</li>
-     *   <li>Puntuación: Se reconoce y convierte a su carácter ASCII</li>
-     *   <li>Letras: Se convierten según el contexto (mayúscula o minúscula)</li>
-     * </ul>
-     *
-     * @param textoBraille Texto en Braille Unicode a traducir
-     * @return Representación del texto en español
+     * @param pool Pool que ejecuta los tramos de los textos grandes
+     * @return null si la traducción se completó, o el error de la entrada
+     * @throws IllegalStateException si la traducción ya fue ejecutada
      */
-    private String traducirBrailleAEspanol(String textoBraille) {
-        StringBuilder resultadoEspanol = new StringBuilder();
-        boolean siguienteMayuscula = false;
-        boolean enModoNumero = false;
-
-        for (int i = 0; i < textoBraille.length(); i++) {
-            char caracterBraille = textoBraille.charAt(i);
-
-            // Regla: detectar signo de mayúscula
-            if (String.valueOf(caracterBraille).equals(MapeadorBraille.obtenerSignoMayuscula())) {
-                siguienteMayuscula = true;
-                continue;
-            }
-
-            // Regla: detectar signo de número
-            if (String.valueOf(caracterBraille).equals(MapeadorBraille.obtenerSignoNumero())) {
-                enModoNumero = true;
-                continue;
-            }
-
-            // Regla: el espacio termina el modo número
-            Character letra = MapeadorBraille.obtenerLetraParaBraille(String.valueOf(caracterBraille));
-            if (letra != null && letra == ' ') {
-                resultadoEspanol.append(' ');
-                enModoNumero = false;
-                siguienteMayuscula = false;
-                continue;
-            }
-
-            // Regla: si estamos en modo número, convertir como número
-            if (enModoNumero) {
-                Character digito = MapeadorBraille.obtenerNumeroParaBraille(String.valueOf(caracterBraille));
-                if (digito != null) {
-                    resultadoEspanol.append(digito);
-                    continue;
-                } else {
-                    enModoNumero = false;
-                }
-            }
-
-            // Intentar convertir puntuación
-            Character puntuacion = MapeadorBraille.obtenerPuntuacionParaBraille(String.valueOf(caracterBraille));
-            if (puntuacion != null) {
-                resultadoEspanol.append(puntuacion);
-                continue;
-            }
+    public ErrorTraduccion intentarEjecutar(ForkJoinPool pool) {
+        if (this.estado == EstadoTraduccion.COMPLETADA) {
+            throw new IllegalStateException("La traducción ya fue completada");
+        }
 
-            // Regla: aplicar mayúscula si está marcada
-            if (letra != null) {
-                if (siguienteMayuscula) {
-                    resultadoEspanol.append(Character.toUpperCase(letra));
-                    siguienteMayuscula = false;
-                } else {
-                    resultadoEspanol.append(letra);
-                }
-            }
+        TablasCompiladas compiladas = TablasCompiladas.actuales();
+        this.versionTabla = compiladas.tabla.getVersion();
+        // Normalizar, validar y traducir en un único recorrido, o por tramos si el texto es grande
+        TraductorParalelo.Resultado resultado = TraductorParalelo.conviene(textoOriginal.length(), pool)
+                ? TraductorParalelo.traducir(compiladas, direccion, textoOriginal, pool)
+                : TraductorParalelo.traducirSecuencial(compiladas, direccion, textoOriginal);
+        if (resultado.error != null) {
+            this.estado = EstadoTraduccion.FALLIDA;
+            return resultado.error;
         }
 
-        return resultadoEspanol.toString();
+        // Hacia Braille las celdas se convierten a Unicode solo cuando se pide el texto
+        this.celdasTraducidas = resultado.celdas;
+        this.textoTraducido = resultado.texto;
+        this.estado = EstadoTraduccion.COMPLETADA;
+        return null;
     }
 
     // --- Getters (sin setters - inmutabilidad después de crear) ---
@@ -401,9 +256,28 @@ public class Traduccion {
         if (estado != EstadoTraduccion.COMPLETADA) {
             throw new IllegalStateException("La traducción no ha sido completada");
         }
+        if (textoTraducido == null) {
+            textoTraducido = celdasTraducidas.aUnicode();
+        }
         return textoTraducido;
     }
 
+    /**
+     * Obtiene el resultado como máscaras de puntos, sin convertirlo a Unicode.
+     *
+     * <p>Permite generar otros formatos de salida (ASCII Braille, imágenes, bytes)
+     * desde la misma representación interna.</p>
+     *
+     * @return Las celdas traducidas, o null si la dirección produce texto en español
+     * @throws IllegalStateException si la traducción no ha sido completada
+     */
+    public CeldasBraille getCeldasTraducidas() {
+        if (estado != EstadoTraduccion.COMPLETADA) {
+            throw new IllegalStateException("La traducción no ha sido completada");
+        }
+        return celdasTraducidas;
+    }
+
     /**
      * Obtiene la dirección de la traducción.
      *
@@ -413,6 +287,20 @@ public class Traduccion {
         return direccion;
     }
 
+    /**
+     * Obtiene la versión de la tabla Braille con la que se ejecutó la traducción.
+     *
+     * <p>La traducción usa de principio a fin la tabla activa al empezar, aunque
+     * entretanto se publique otra, por lo que el resultado corresponde exactamente
+     * a esta versión.</p>
+     *
+     * @return La versión de la tabla, o null si la traducción no se ha ejecutado
+     * @see util.TablaBraille#getVersion()
+     */
+    public String getVersionTabla() {
+        return versionTabla;
+    }
+
     /**
      * Obtiene el estado actual de la traducción.
      *
@@ -0,0 +1,160 @@
+package model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Traductor en flujo: consume el texto por fragmentos y escribe la traducción
+ * en un {@link Appendable} a medida que avanza.
+ *
+ * <p>A diferencia de {@link Traduccion}, que necesita el texto completo en un
+ * {@code String} y conserva tanto el original como el resultado, este traductor
+ * mantiene en memoria solo el fragmento actual y la salida aún no volcada. Permite
+ * traducir libros y documentos grandes con memoria constante.</p>
+ *
+ * <h2>Estado entre fragmentos</h2>
+ * <p>El estado de las reglas ({@code enModoNumero}, {@code siguienteMayuscula}) y el
+ * de normalización de espacios se conserva entre fragmentos, por lo que el resultado
+ * es idéntico al de {@link Traduccion#ejecutar()} sin importar dónde se corte el texto.
+ * Esto aplica a las cinco direcciones de {@link DireccionTraduccion}, incluidas las
+ * contraídas; en modo espejo cada línea se retiene hasta su salto de línea, porque
+ * debe invertirse completa.</p>
+ *
+ * <h2>Errores</h2>
+ * <p>Si aparece un carácter no soportado se lanza {@link IllegalArgumentException}
+ * con el mismo mensaje que {@link Traduccion}. La salida de los fragmentos anteriores
+ * ya puede haberse escrito en el destino.</p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * try (Reader origen = Files.newBufferedReader(libro);
+ *      Writer destino = Files.newBufferedWriter(salida)) {
+ *     TraductorFlujo.traducir(origen, destino, DireccionTraduccion.ESPANOL_A_BRAILLE);
+ * }
+ * </pre>
+ *
+ * <p>Cada instancia traduce un único texto y no es thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see Traduccion
+ * @see MotorTraduccion
+ */
+public final class TraductorFlujo {
+
+    /** Tamaño del búfer de lectura usado por {@link #traducir(Reader, Appendable, DireccionTraduccion)}. */
+    private static final int TAMANO_BUFER = 8192;
+
+    /** Motor que conserva el estado entre fragmentos. */
+    private final MotorTraduccion motor;
+
+    /** Destino de la traducción. */
+    private final Appendable destino;
+
+    /** Indica si ya se llamó a {@link #finalizar()}. */
+    private boolean finalizado;
+
+    /**
+     * Crea un traductor en flujo.
+     *
+     * @param direccion Dirección de la traducción (no puede ser null)
+     * @param destino Destino de la salida, normalmente un {@link Writer} (no puede ser null)
+     * @throws IllegalArgumentException si algún parámetro es null
+     */
+    public TraductorFlujo(DireccionTraduccion direccion, Appendable destino) {
+        if (direccion == null) {
+            throw new IllegalArgumentException("La dirección de traducción es obligatoria");
+        }
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino no puede ser nulo");
+        }
+        this.motor = new MotorTraduccion(direccion, TAMANO_BUFER);
+        this.destino = destino;
+    }
+
+    /**
+     * Traduce un fragmento y escribe en el destino la salida que ya es definitiva.
+     *
+     * @param fragmento Siguiente fragmento del texto
+     * @throws IOException si el destino falla al escribir
+     * @throws IllegalStateException si el traductor ya fue finalizado
+     */
+    public void escribir(CharSequence fragmento) throws IOException {
+        verificarAbierto();
+        motor.procesar(fragmento, 0, fragmento.length());
+        motor.volcar(destino);
+    }
+
+    /**
+     * Traduce los caracteres restantes de un {@link CharBuffer} y lo deja consumido.
+     *
+     * @param fragmento Búfer con el siguiente fragmento; su posición avanza hasta el límite
+     * @throws IOException si el destino falla al escribir
+     * @throws IllegalStateException si el traductor ya fue finalizado
+     */
+    public void escribir(CharBuffer fragmento) throws IOException {
+        escribir((CharSequence) fragmento);
+        fragmento.position(fragmento.limit());
+    }
+
+    /**
+     * Termina la traducción: descarta los espacios finales y escribe la salida pendiente.
+     *
+     * <p>No cierra el destino.</p>
+     *
+     * @throws IOException si el destino falla al escribir
+     */
+    public void finalizar() throws IOException {
+        if (finalizado) {
+            return;
+        }
+        finalizado = true;
+        motor.terminar();
+        motor.volcar(destino);
+    }
+
+    /**
+     * Obtiene la versión de la tabla Braille con la que traduce este flujo.
+     *
+     * <p>Se fija al crear el traductor y no cambia aunque se publique otra tabla
+     * mientras el flujo sigue abierto.</p>
+     *
+     * @return La versión de la tabla
+     */
+    public String getVersionTabla() {
+        return motor.versionTabla();
+    }
+
+    /**
+     * Traduce por completo un {@link Reader} hacia un destino usando un búfer fijo.
+     *
+     * <p>No cierra ni el origen ni el destino.</p>
+     *
+     * @param origen Texto a traducir
+     * @param destino Destino de la traducción
+     * @param direccion Dirección de la traducción
+     * @throws IOException si falla la lectura o la escritura
+     * @throws IllegalArgumentException si el texto contiene caracteres no soportados
+     */
+    public static void traducir(Reader origen, Appendable destino, DireccionTraduccion direccion)
+            throws IOException {
+        TraductorFlujo traductor = new TraductorFlujo(direccion, destino);
+        char[] bufer = new char[TAMANO_BUFER];
+        CharBuffer vista = CharBuffer.wrap(bufer);
+        int leidos;
+        while ((leidos = origen.read(bufer)) != -1) {
+            vista.clear().limit(leidos);
+            traductor.escribir(vista);
+        }
+        traductor.finalizar();
+    }
+
+    private void verificarAbierto() {
+        if (finalizado) {
+            throw new IllegalStateException("El traductor ya fue finalizado");
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Traduce documentos grandes repartiendo el texto entre los hilos de un {@link ForkJoinPool}.
+ *
+ * <p>El resultado es idéntico, carácter a carácter, al de traducir el texto completo con
+ * un único {@link MotorTraduccion}. Para conseguirlo el texto solo se corta en puntos
+ * donde el motor secuencial vuelve a su estado inicial:</p>
+ * <ul>
+ *   <li><b>Español → Braille</b>: al comienzo de un carácter visible precedido por un
+ *       espacio o salto de línea. El espacio cierra el modo número, el indicador de
+ *       mayúscula y la palabra contraída en curso</li>
+ *   <li><b>Braille → español</b>: al comienzo de una celda precedida por la celda vacía
+ *       (⠀), que el transductor lee como espacio y produce el mismo efecto</li>
+ * </ul>
+ * <p>Cada tramo se traduce con su propio motor sobre la misma instantánea de la tabla
+ * ({@link TablasCompiladas}), y los espacios al final de un tramo se traducen como si el
+ * texto continuara ({@link MotorTraduccion#cerrarTramo()}). Como comprobación adicional,
+ * cada motor debe terminar su tramo en estado inicial; si alguno no lo hace (por ejemplo,
+ * con una tabla cuyas reglas mantengan el modo número tras un espacio) el texto se
+ * vuelve a traducir de forma secuencial.</p>
+ *
+ * <h2>Modo espejo</h2>
+ * <p>Los tramos se traducen en dirección normal y las celdas unidas se espejan al final
+ * con {@link CeldasBraille#espejar()}, porque una línea puede repartirse entre varios
+ * tramos y debe invertirse completa.</p>
+ *
+ * <h2>Errores</h2>
+ * <p>Los errores se devuelven como {@link ErrorTraduccion}, sin lanzar excepciones. Si
+ * varios tramos contienen caracteres no soportados se devuelve el del primero, con la
+ * posición referida al texto completo: es el mismo que encontraría la traducción
+ * secuencial.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see Traduccion#intentarEjecutar(ForkJoinPool)
+ * @see MotorTraduccion
+ */
+final class TraductorParalelo {
+
+    /** Longitud mínima del texto para repartirlo entre hilos. */
+    static final int UMBRAL_PARALELO = 1 << 17;
+
+    /** Longitud mínima de cada tramo, para que el reparto compense su coste. */
+    static final int TAMANO_MINIMO_TRAMO = 1 << 15;
+
+    /** Tramos por hilo, para equilibrar tramos que acaban con longitudes distintas. */
+    private static final int TRAMOS_POR_HILO = 4;
+
+    /** Caracteres que se examinan tras un corte nominal buscando un punto seguro. */
+    private static final int BUSQUEDA_MAXIMA_CORTE = 1 << 12;
+
+    private TraductorParalelo() {
+    }
+
+    /**
+     * Indica si conviene repartir un texto entre los hilos del pool.
+     *
+     * @param longitud Longitud del texto
+     * @param pool Pool que ejecutaría los tramos
+     * @return true si el texto es grande y el pool tiene más de un hilo
+     */
+    static boolean conviene(int longitud, ForkJoinPool pool) {
+        return longitud >= UMBRAL_PARALELO && pool.getParallelism() > 1;
+    }
+
+    /**
+     * Traduce un texto en cualquier dirección.
+     *
+     * @param compiladas Instantánea de la tabla que usan todos los tramos
+     * @param direccion Dirección de la traducción
+     * @param texto Texto completo
+     * @param pool Pool que ejecuta los tramos
+     * @return Celdas (hacia Braille) o texto (hacia español) traducidos, o el primer error
+     */
+    static Resultado traducir(TablasCompiladas compiladas, DireccionTraduccion direccion,
+                              String texto, ForkJoinPool pool) {
+        boolean espejo = direccion == DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO;
+        DireccionTraduccion direccionTramos = espejo ? DireccionTraduccion.ESPANOL_A_BRAILLE : direccion;
+        int partes = Math.min(pool.getParallelism() * TRAMOS_POR_HILO, texto.length() / TAMANO_MINIMO_TRAMO);
+        int[] cortes = cortes(texto, direccion.esHaciaBraille(), Math.max(partes, 1));
+        TareaTramos tarea = new TareaTramos(compiladas, direccionTramos, texto, cortes, 0, cortes.length - 1);
+        pool.invoke(tarea);
+
+        int tramos = tarea.resultados.length;
+        for (int t = 0; t < tramos; t++) {
+            if (tarea.errores[t] != null) {
+                return new Resultado(null, null, tarea.errores[t].desplazar(cortes[t]));
+            }
+            if (t < tramos - 1 && !tarea.iniciales[t]) {
+                return traducirSecuencial(compiladas, direccion, texto);
+            }
+        }
+
+        if (direccion.esHaciaBraille()) {
+            CeldasBraille celdas = CeldasBraille.concatenar(
+                    Arrays.copyOf(tarea.resultados, tramos, CeldasBraille[].class));
+            return new Resultado(espejo ? celdas.espejar() : celdas, null, null);
+        }
+        StringBuilder resultado = new StringBuilder(texto.length());
+        for (Object parte : tarea.resultados) {
+            resultado.append((String) parte);
+        }
+        return new Resultado(null, resultado.toString(), null);
+    }
+
+    /**
+     * Traduce el texto completo con un único motor.
+     */
+    static Resultado traducirSecuencial(TablasCompiladas compiladas, DireccionTraduccion direccion, String texto) {
+        MotorTraduccion motor = new MotorTraduccion(compiladas, direccion, texto.length());
+        if (!motor.avanzar(texto, 0, texto.length())) {
+            return new Resultado(null, null, motor.error());
+        }
+        return direccion.esHaciaBraille()
+                ? new Resultado(motor.finalizarCeldas(), null, null)
+                : new Resultado(null, motor.finalizar(), null);
+    }
+
+    /**
+     * Calcula los límites de los tramos: el texto se divide en partes casi iguales y
+     * cada corte se desplaza hacia delante hasta el siguiente punto seguro. Si no hay
+     * ninguno cerca, el corte se omite y el tramo anterior se alarga.
+     *
+     * @param texto Texto completo
+     * @param haciaBraille Dirección de la traducción
+     * @param partes Cantidad deseada de tramos
+     * @return Índices de corte crecientes, empezando en 0 y terminando en la longitud del texto
+     */
+    static int[] cortes(String texto, boolean haciaBraille, int partes) {
+        int longitud = texto.length();
+        int[] cortes = new int[partes + 1];
+        int cantidad = 1;
+        for (int k = 1; k < partes; k++) {
+            int desde = Math.max((int) ((long) longitud * k / partes), cortes[cantidad - 1] + 1);
+            int limite = Math.min(longitud, desde + BUSQUEDA_MAXIMA_CORTE);
+            for (int p = desde; p < limite; p++) {
+                if (esCorteSeguro(texto, p, haciaBraille)) {
+                    cortes[cantidad++] = p;
+                    break;
+                }
+            }
+        }
+        cortes[cantidad++] = longitud;
+        return Arrays.copyOf(cortes, cantidad);
+    }
+
+    /**
+     * @return true si el tramo puede empezar en {@code p} sin arrastrar estado del anterior
+     */
+    private static boolean esCorteSeguro(String texto, int p, boolean haciaBraille) {
+        if (texto.charAt(p) <= ' ') {
+            return false;
+        }
+        char previo = texto.charAt(p - 1);
+        return haciaBraille ? previo <= ' ' : previo == '⠀';
+    }
+
+    /**
+     * Resultado de una traducción: celdas o texto si tuvo éxito, o el error.
+     */
+    static final class Resultado {
+
+        /** Celdas traducidas (direcciones hacia Braille), o null. */
+        final CeldasBraille celdas;
+
+        /** Texto traducido (direcciones hacia español), o null. */
+        final String texto;
+
+        /** Primer error del texto, o null si la traducción tuvo éxito. */
+        final ErrorTraduccion error;
+
+        Resultado(CeldasBraille celdas, String texto, ErrorTraduccion error) {
+            this.celdas = celdas;
+            this.texto = texto;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Divide recursivamente el intervalo de tramos hasta traducir cada uno por separado.
+     * Todas las subtareas comparten los arreglos de resultados, cada una en sus posiciones.
+     */
+    private static final class TareaTramos extends RecursiveAction {
+
+        private final TablasCompiladas compiladas;
+        private final DireccionTraduccion direccion;
+        private final String texto;
+        private final int[] cortes;
+        private final int desdeTramo;
+        private final int hastaTramo;
+
+        /** Celdas o texto traducido de cada tramo. */
+        final Object[] resultados;
+
+        /** Si cada motor terminó su tramo en estado inicial. */
+        final boolean[] iniciales;
+
+        /** Error de cada tramo, con la posición relativa al tramo, o null. */
+        final ErrorTraduccion[] errores;
+
+        TareaTramos(TablasCompiladas compiladas, DireccionTraduccion direccion, String texto,
+                    int[] cortes, int desdeTramo, int hastaTramo) {
+            this(compiladas, direccion, texto, cortes, desdeTramo, hastaTramo,
+                    new Object[cortes.length - 1], new boolean[cortes.length - 1],
+                    new ErrorTraduccion[cortes.length - 1]);
+        }
+
+        private TareaTramos(TablasCompiladas compiladas, DireccionTraduccion direccion, String texto,
+                            int[] cortes, int desdeTramo, int hastaTramo, Object[] resultados,
+                            boolean[] iniciales, ErrorTraduccion[] errores) {
+            this.compiladas = compiladas;
+            this.direccion = direccion;
+            this.texto = texto;
+            this.cortes = cortes;
+            this.desdeTramo = desdeTramo;
+            this.hastaTramo = hastaTramo;
+            this.resultados = resultados;
+            this.iniciales = iniciales;
+            this.errores = errores;
+        }
+
+        @Override
+        protected void compute() {
+            if (hastaTramo - desdeTramo == 1) {
+                traducirTramo(desdeTramo);
+                return;
+            }
+            int medio = (desdeTramo + hastaTramo) >>> 1;
+            invokeAll(subtarea(desdeTramo, medio), subtarea(medio, hastaTramo));
+        }
+
+        private TareaTramos subtarea(int desde, int hasta) {
+            return new TareaTramos(compiladas, direccion, texto, cortes, desde, hasta,
+                    resultados, iniciales, errores);
+        }
+
+        private void traducirTramo(int t) {
+            int desde = cortes[t];
+            int hasta = cortes[t + 1];
+            MotorTraduccion motor = new MotorTraduccion(compiladas, direccion, hasta - desde);
+            boolean correcto = motor.avanzar(texto, desde, hasta);
+            if (correcto && t < resultados.length - 1) {
+                correcto = motor.cerrarTramo();
+                iniciales[t] = motor.enEstadoInicial();
+            }
+            if (!correcto) {
+                errores[t] = motor.error();
+                return;
+            }
+            resultados[t] = direccion.esHaciaBraille() ? motor.finalizarCeldas() : motor.finalizar();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package model;
+
+import util.MapeadorBraille;
+import util.TablaBraille;
+
+/**
+ * Transductor de estados finitos compilado a partir de una {@link TablaBraille}
+ * y de las reglas de número, coma, mayúscula y espacio.
+ *
+ * <p>Las reglas se escriben una sola vez como funciones de transición interpretadas
+ * ({@link #reglaEspanolABraille(int, char)} y {@link #reglaBrailleAEspanol(int, int)}).
+ * Al crear el transductor se evalúan para cada par estado × carácter y el resultado se
+ * guarda en tablas planas; el motor de traducción solo hace una búsqueda por carácter,
+ * sin llamadas a {@code Character.isDigit}, {@code isLetter} o {@code isUpperCase}.</p>
+ *
+ * <h2>Estados</h2>
+ * <ul>
+ *   <li><b>{@link #ESTADO_INICIAL}</b>: sin modo número ni mayúscula pendiente</li>
+ *   <li><b>{@link #ESTADO_NUMERO}</b>: bit de modo número (ambas direcciones)</li>
+ *   <li><b>{@link #ESTADO_MAYUSCULA}</b>: bit de mayúscula pendiente (solo Braille → español)</li>
+ * </ul>
+ *
+ * <h2>Formato de las transiciones</h2>
+ * <pre>{@code
+ * Español → Braille (long), indexada por estado * 256 + código Latin-1:
+ *   bits  0-7   máscara de puntos de la primera celda de salida
+ *   bits 16-23  máscara de puntos de la segunda celda de salida
+ *   bit  32     VALIDA (el carácter está soportado)
+ *   bit  33     SALTO_LINEA (no produce celdas)
+ *   bits 34-35  cantidad de celdas de salida (0-2)
+ *   bit  36     estado siguiente
+ *
+ * Braille → español (int), indexada por estado * 256 + máscara de la celda:
+ *   bits  0-15  carácter de salida
+ *   bit  16     CON_SALIDA
+ *   bits 17-18  estado siguiente
+ * }</pre>
+ *
+ * <p>Los caracteres fuera de Latin-1 (por ejemplo el signo Kelvin, que se
+ * escribe como 'k') no tienen fila en la tabla y se resuelven con la regla
+ * interpretada, que produce exactamente el mismo resultado.</p>
+ *
+ * <p>Cada instancia corresponde a una sola tabla y sus transiciones son inmutables
+ * después de construirla, por lo que es thread-safe. Al publicarse una tabla nueva
+ * se compila otro transductor (ver {@link TablasCompiladas}).</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see MotorTraduccion
+ */
+final class TransductorBraille {
+
+    /** Estado sin modo número ni mayúscula pendiente. */
+    static final int ESTADO_INICIAL = 0;
+
+    /** Bit de estado: modo número activo. */
+    static final int ESTADO_NUMERO = 1;
+
+    /** Bit de estado: la siguiente letra va en mayúscula (Braille → español). */
+    static final int ESTADO_MAYUSCULA = 2;
+
+    /** Transición español → Braille: el carácter está soportado. */
+    static final long VALIDA = 1L << 32;
+
+    /** Transición español → Braille: el carácter es un salto de línea. */
+    static final long SALTO_LINEA = 1L << 33;
+
+    /** Transición Braille → español: la celda produce un carácter. */
+    static final int CON_SALIDA = 1 << 16;
+
+    private static final int DESPLAZAMIENTO_CANTIDAD = 34;
+    private static final int DESPLAZAMIENTO_ESTADO_ESPANOL = 36;
+    private static final int DESPLAZAMIENTO_ESTADO_BRAILLE = 17;
+
+    /** Cantidad de columnas por estado (códigos Latin-1 o patrones Braille). */
+    private static final int COLUMNAS = 256;
+
+    private static final char INICIO_BLOQUE_BRAILLE = '⠀';
+
+    /** Tabla de caracteres de la que se derivan las reglas. */
+    private final TablaBraille tabla;
+
+    /** Transiciones español → Braille para los estados {@code 0} y {@link #ESTADO_NUMERO}. */
+    private final long[] tablaEspanolABraille = new long[2 * COLUMNAS];
+
+    /** Transiciones Braille → español para las cuatro combinaciones de bits de estado. */
+    private final int[] tablaBrailleAEspanol = new int[4 * COLUMNAS];
+
+    /**
+     * Compila las tablas evaluando las reglas interpretadas para cada par estado × carácter.
+     *
+     * @param tabla Tabla de caracteres
+     */
+    TransductorBraille(TablaBraille tabla) {
+        this.tabla = tabla;
+        for (int estado = 0; estado < 2; estado++) {
+            for (int c = 0; c < COLUMNAS; c++) {
+                tablaEspanolABraille[estado * COLUMNAS + c] = reglaEspanolABraille(estado, (char) c);
+            }
+        }
+        for (int estado = 0; estado < 4; estado++) {
+            for (int mascara = 0; mascara < COLUMNAS; mascara++) {
+                tablaBrailleAEspanol[estado * COLUMNAS + mascara] = reglaBrailleAEspanol(estado, mascara);
+            }
+        }
+    }
+
+    /**
+     * Transición compilada español → Braille.
+     *
+     * @param estado Estado actual ({@code 0} o {@link #ESTADO_NUMERO})
+     * @param c Carácter de entrada ya normalizado
+     * @return Transición empaquetada; sin el bit {@link #VALIDA} si el carácter no está soportado
+     */
+    long transicionEspanolABraille(int estado, char c) {
+        return c < COLUMNAS
+                ? tablaEspanolABraille[estado * COLUMNAS + c]
+                : reglaEspanolABraille(estado, c);
+    }
+
+    /**
+     * Transición compilada Braille → español.
+     *
+     * @param estado Estado actual (combinación de bits de estado)
+     * @param mascara Máscara de puntos de la celda (0 a 255)
+     * @return Transición empaquetada
+     */
+    int transicionBrailleAEspanol(int estado, int mascara) {
+        return tablaBrailleAEspanol[estado * COLUMNAS + mascara];
+    }
+
+    /**
+     * Regla interpretada español → Braille, fuente de la tabla compilada.
+     *
+     * <ul>
+     *   <li>Salto de línea: se conserva y cierra el modo número</li>
+     *   <li>Números: Se antecede ⠼ al inicio de una secuencia numérica</li>
+     *   <li>Comas: Dentro de un número no cierran el modo numérico</li>
+     *   <li>Espacios: Desactivan el modo número y se representan con ⠀</li>
+     *   <li>Mayúsculas: Se antecede ⠨ antes de cada letra mayúscula</li>
+     *   <li>Puntuación y letras: Se convierten a su celda equivalente</li>
+     * </ul>
+     *
+     * @param estado Estado actual
+     * @param c Carácter de entrada
+     * @return Transición empaquetada
+     */
+    long reglaEspanolABraille(int estado, char c) {
+        if (c == '\n') {
+            return VALIDA | SALTO_LINEA | ((long) ESTADO_INICIAL << DESPLAZAMIENTO_ESTADO_ESPANOL);
+        }
+        if (!tabla.esCaracterSoportado(c)) {
+            return 0L;
+        }
+        boolean enModoNumero = (estado & ESTADO_NUMERO) != 0;
+
+        // 1) Dígitos → activan modo numérico y usan prefijo de número
+        if (Character.isDigit(c)) {
+            char digito = tabla.celdaParaNumero(c);
+            return enModoNumero
+                    ? VALIDA | salidaEspanol(ESTADO_NUMERO, digito)
+                    : VALIDA | salidaEspanol(ESTADO_NUMERO, tabla.signoNumero(), digito);
+        }
+
+        // 2) Comas dentro del número NO rompen modo numérico
+        if (enModoNumero && c == ',') {
+            return VALIDA | salidaEspanol(ESTADO_NUMERO, tabla.celdaParaPuntuacion(c));
+        }
+
+        // 3) Cualquier otro carácter cierra el modo numérico
+        if (c == ' ') {
+            return VALIDA | salidaEspanol(ESTADO_INICIAL, tabla.celdaParaLetra(' '));
+        }
+
+        // 4) Mayúsculas: signo de mayúscula y luego la letra en minúscula
+        if (Character.isLetter(c) && Character.isUpperCase(c)) {
+            return VALIDA | salidaEspanol(ESTADO_INICIAL, tabla.signoMayuscula(),
+                    tabla.celdaParaLetra(Character.toLowerCase(c)));
+        }
+
+        // 5) Resto: intentar puntuación, si no letra
+        char puntuacion = tabla.celdaParaPuntuacion(c);
+        if (puntuacion != MapeadorBraille.SIN_MAPEO) {
+            return VALIDA | salidaEspanol(ESTADO_INICIAL, puntuacion);
+        }
+        return VALIDA | salidaEspanol(ESTADO_INICIAL, tabla.celdaParaLetra(Character.toLowerCase(c)));
+    }
+
+    /**
+     * Regla interpretada Braille → español, fuente de la tabla compilada.
+     *
+     * <ul>
+     *   <li>Signo ⠨: Convierte la siguiente letra a mayúscula</li>
+     *   <li>Signo ⠼: Activa modo número para los siguientes símbolos</li>
+     *   <li>Espacios: Desactivan el modo número y la mayúscula pendiente</li>
+     *   <li>Puntuación y letras: Se convierten según el contexto</li>
+     * </ul>
+     *
+     * @param estado Estado actual
+     * @param mascara Máscara de puntos de la celda (0 a 255)
+     * @return Transición empaquetada
+     */
+    int reglaBrailleAEspanol(int estado, int mascara) {
+        char celda = CeldasBraille.aUnicode(mascara);
+        if (celda == tabla.signoMayuscula()) {
+            return salidaBraille(estado | ESTADO_MAYUSCULA);
+        }
+        if (celda == tabla.signoNumero()) {
+            return salidaBraille(estado | ESTADO_NUMERO);
+        }
+
+        char letra = tabla.letraParaCelda(celda);
+        if (letra == ' ') {
+            return salidaBraille(ESTADO_INICIAL, ' ');
+        }
+
+        if ((estado & ESTADO_NUMERO) != 0) {
+            char digito = tabla.numeroParaCelda(celda);
+            if (digito != MapeadorBraille.SIN_MAPEO) {
+                return salidaBraille(estado, digito);
+            }
+            estado &= ~ESTADO_NUMERO;
+        }
+
+        char puntuacion = tabla.puntuacionParaCelda(celda);
+        if (puntuacion != MapeadorBraille.SIN_MAPEO) {
+            return salidaBraille(estado, puntuacion);
+        }
+
+        if (letra != MapeadorBraille.SIN_MAPEO) {
+            return (estado & ESTADO_MAYUSCULA) != 0
+                    ? salidaBraille(estado & ~ESTADO_MAYUSCULA, Character.toUpperCase(letra))
+                    : salidaBraille(estado, letra);
+        }
+        return salidaBraille(estado);
+    }
+
+    // --- Acceso a los campos de una transición ---
+
+    /**
+     * @return cantidad de celdas que produce una transición español → Braille (0-2)
+     */
+    static int cantidad(long transicion) {
+        return (int) (transicion >>> DESPLAZAMIENTO_CANTIDAD) & 0x3;
+    }
+
+    /**
+     * @return máscara de la primera celda de salida de una transición español → Braille
+     */
+    static int primera(long transicion) {
+        return (int) transicion & 0xFF;
+    }
+
+    /**
+     * @return máscara de la segunda celda de salida de una transición español → Braille
+     */
+    static int segunda(long transicion) {
+        return (int) (transicion >>> 16) & 0xFF;
+    }
+
+    /**
+     * @return estado siguiente de una transición español → Braille
+     */
+    static int siguienteEstado(long transicion) {
+        return (int) (transicion >>> DESPLAZAMIENTO_ESTADO_ESPANOL) & 0x1;
+    }
+
+    /**
+     * @return carácter de salida de una transición Braille → español
+     */
+    static char salida(int transicion) {
+        return (char) transicion;
+    }
+
+    /**
+     * @return estado siguiente de una transición Braille → español
+     */
+    static int siguienteEstado(int transicion) {
+        return (transicion >>> DESPLAZAMIENTO_ESTADO_BRAILLE) & 0x3;
+    }
+
+    // --- Construcción de transiciones ---
+
+    private static long salidaEspanol(int estado, char unica) {
+        return mascaraDe(unica)
+                | (1L << DESPLAZAMIENTO_CANTIDAD)
+                | ((long) estado << DESPLAZAMIENTO_ESTADO_ESPANOL);
+    }
+
+    private static long salidaEspanol(int estado, char primera, char segunda) {
+        return mascaraDe(primera)
+                | ((long) mascaraDe(segunda) << 16)
+                | (2L << DESPLAZAMIENTO_CANTIDAD)
+                | ((long) estado << DESPLAZAMIENTO_ESTADO_ESPANOL);
+    }
+
+    private static int salidaBraille(int estado) {
+        return estado << DESPLAZAMIENTO_ESTADO_BRAILLE;
+    }
+
+    private static int salidaBraille(int estado, char caracter) {
+        return caracter | CON_SALIDA | (estado << DESPLAZAMIENTO_ESTADO_BRAILLE);
+    }
+
+    /**
+     * Convierte una celda Unicode de la {@link TablaBraille} en máscara.
+     *
+     * <p>Todo carácter que supera {@link TablaBraille#esCaracterSoportado(char)}
+     * tiene celda en la tabla que consultan estas reglas, por lo que aquí nunca
+     * llega {@link MapeadorBraille#SIN_MAPEO}.</p>
+     */
+    private static long mascaraDe(char celda) {
+        if (!MapeadorBraille.esCaracterBraille(celda)) {
+            throw new IllegalStateException("Celda sin mapeo en las tablas Braille");
+        }
+        return celda - INICIO_BLOQUE_BRAILLE;
+    }
+}
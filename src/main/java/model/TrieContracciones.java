@@ -0,0 +1,139 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Trie compilado sobre el alfabeto de letras minúsculas del español, usado por
+ * {@link DiccionarioContracciones}.
+ *
+ * <p>Las transiciones se guardan en una tabla densa {@code int[nodos × símbolos]},
+ * de modo que cada carácter cuesta una única lectura de arreglo sin importar cuántas
+ * claves tenga el diccionario. Buscar una palabra completa es lineal en su longitud,
+ * y la coincidencia más larga desde una posición recorre a lo sumo tantos caracteres
+ * como la clave más larga.</p>
+ *
+ * <p>El trie es inmutable una vez construido y puede compartirse entre hilos.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see DiccionarioContracciones
+ */
+final class TrieContracciones {
+
+    /** Letras que pueden aparecer en las claves, en el orden de su símbolo. */
+    private static final String ALFABETO = "abcdefghijklmnopqrstuvwxyzñáéóúü";
+
+    /** Cantidad de símbolos del alfabeto. */
+    private static final int SIMBOLOS = ALFABETO.length();
+
+    /** Símbolo + 1 de cada carácter Latin-1, o 0 si no pertenece al alfabeto. */
+    private static final byte[] SIMBOLO = new byte[256];
+
+    static {
+        for (int i = 0; i < SIMBOLOS; i++) {
+            SIMBOLO[ALFABETO.charAt(i)] = (byte) (i + 1);
+        }
+    }
+
+    /** Transiciones: hijo de cada nodo por símbolo, o 0 si no existe (la raíz nunca es hija). */
+    private final int[] transiciones;
+
+    /** Valor asociado a cada nodo, o -1 si ninguna clave termina en él. */
+    private final int[] valores;
+
+    /**
+     * Compila las claves; el valor de cada una es su índice en el arreglo.
+     *
+     * @param claves Claves en minúsculas, sin repetir
+     * @throws IllegalArgumentException si una clave está vacía, repetida o usa
+     *         caracteres fuera del alfabeto
+     */
+    TrieContracciones(String[] claves) {
+        int capacidad = 1;
+        for (String clave : claves) {
+            capacidad += clave.length();
+        }
+        int[] hijos = new int[capacidad * SIMBOLOS];
+        int[] finales = new int[capacidad];
+        Arrays.fill(finales, -1);
+        int nodos = 1;
+
+        for (int indice = 0; indice < claves.length; indice++) {
+            String clave = claves[indice];
+            if (clave.isEmpty()) {
+                throw new IllegalArgumentException("Las contracciones no pueden tener claves vacías");
+            }
+            int nodo = 0;
+            for (int i = 0; i < clave.length(); i++) {
+                int simbolo = simbolo(clave.charAt(i));
+                if (simbolo < 0) {
+                    throw new IllegalArgumentException(
+                            "Carácter no permitido en la contracción '" + clave + "': '" + clave.charAt(i) + "'"
+                    );
+                }
+                int posicion = nodo * SIMBOLOS + simbolo;
+                if (hijos[posicion] == 0) {
+                    hijos[posicion] = nodos++;
+                }
+                nodo = hijos[posicion];
+            }
+            if (finales[nodo] >= 0) {
+                throw new IllegalArgumentException("Contracción repetida: '" + clave + "'");
+            }
+            finales[nodo] = indice;
+        }
+
+        this.transiciones = Arrays.copyOf(hijos, nodos * SIMBOLOS);
+        this.valores = Arrays.copyOf(finales, nodos);
+    }
+
+    /**
+     * Busca una clave que ocupe exactamente el tramo indicado.
+     *
+     * @param texto Caracteres a buscar
+     * @param desde Índice inicial (inclusive)
+     * @param hasta Índice final (exclusive)
+     * @return Valor de la clave, o -1 si no existe
+     */
+    int buscar(char[] texto, int desde, int hasta) {
+        int nodo = 0;
+        for (int i = desde; i < hasta; i++) {
+            int simbolo = simbolo(texto[i]);
+            if (simbolo < 0 || (nodo = transiciones[nodo * SIMBOLOS + simbolo]) == 0) {
+                return -1;
+            }
+        }
+        return valores[nodo];
+    }
+
+    /**
+     * Busca la clave más larga que empiece en {@code desde}.
+     *
+     * @param texto Caracteres a buscar
+     * @param desde Índice inicial (inclusive)
+     * @param hasta Límite de la búsqueda (exclusive)
+     * @return {@code (longitud << 32) | valor} de la coincidencia, o 0 si no hay ninguna
+     */
+    long coincidenciaMasLarga(char[] texto, int desde, int hasta) {
+        long mejor = 0L;
+        int nodo = 0;
+        for (int i = desde; i < hasta; i++) {
+            int simbolo = simbolo(texto[i]);
+            if (simbolo < 0 || (nodo = transiciones[nodo * SIMBOLOS + simbolo]) == 0) {
+                break;
+            }
+            if (valores[nodo] >= 0) {
+                mejor = ((long) (i + 1 - desde) << 32) | valores[nodo];
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * @return símbolo del carácter en el alfabeto, o -1 si no pertenece
+     */
+    private static int simbolo(char c) {
+        return c < SIMBOLO.length ? SIMBOLO[c] - 1 : -1;
+    }
+}
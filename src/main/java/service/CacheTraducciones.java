@@ -0,0 +1,533 @@
+package service;
+
+import dto.RespuestaTraduccion;
+import model.DireccionTraduccion;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché acotada en bytes de traducciones exitosas, con política de desalojo
+ * sensible a la frecuencia al estilo W-TinyLFU.
+ *
+ * <p>Las claves son la dirección y el texto de entrada tal como llega en la
+ * solicitud. Cada entrada guarda además la versión de la tabla Braille con la que se
+ * tradujo; si la tabla activa cambia, la entrada deja de servirse y se sustituye en
+ * la siguiente traducción.</p>
+ *
+ * <h2>Política (W-TinyLFU)</h2>
+ * <ul>
+ *   <li><b>Ventana</b> ({@value #PORCENTAJE_VENTANA}% del presupuesto): LRU donde entra
+ *       toda entrada nueva, para no rechazar ráfagas de textos recientes</li>
+ *   <li><b>Principal</b>: LRU segmentada en <i>prueba</i> y <i>protegida</i>
+ *       ({@value #PORCENTAJE_PROTEGIDA}% de la principal). Un acierto en prueba
+ *       promueve la entrada a protegida</li>
+ *   <li><b>Admisión</b>: cuando la ventana se desborda, su entrada más antigua solo
+ *       entra en la principal si su frecuencia estimada supera a la de la víctima que
+ *       desplazaría. Así un recorrido de textos únicos no expulsa a los textos
+ *       frecuentes (menús, carteles, saludos)</li>
+ *   <li><b>Frecuencias</b>: bosquejo Count-Min de 4 filas con contadores saturados en
+ *       15 que se dividen a la mitad periódicamente, para olvidar la popularidad
+ *       antigua</li>
+ * </ul>
+ *
+ * <h2>Concurrencia</h2>
+ * <p>Los datos están en un {@link ConcurrentHashMap}, de modo que una búsqueda no toma
+ * ningún cerrojo. La política se reparte en {@value #SEGMENTOS} segmentos por hash de
+ * la clave, cada uno con su propio cerrojo y su parte del presupuesto. Al leer, la
+ * actualización de frecuencias y del orden LRU se intenta con {@code tryLock} y se
+ * omite si el segmento está ocupado: se pierde precisión en la política, nunca se
+ * bloquea un hilo de lectura. Las escrituras sí esperan al cerrojo de su segmento.
+ * Los contadores de aciertos, fallos y desalojos son {@link LongAdder}.</p>
+ *
+ * <h2>Peso</h2>
+ * <p>El presupuesto se mide en bytes estimados: dos bytes por carácter de los textos
+ * guardados más {@value #SOBRECARGA_ENTRADA} bytes por entrada (nodo, clave, entrada
+ * del mapa y cabeceras de objetos).</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see ServicioTraduccionBraille
+ */
+public final class CacheTraducciones {
+
+    /** Cantidad de segmentos de la política (potencia de dos). */
+    static final int SEGMENTOS = 16;
+
+    /** Bytes estimados por entrada además de los caracteres de sus textos. */
+    static final int SOBRECARGA_ENTRADA = 192;
+
+    /** Porcentaje del presupuesto de cada segmento destinado a la ventana. */
+    private static final int PORCENTAJE_VENTANA = 1;
+
+    /** Porcentaje de la región principal destinado a la zona protegida. */
+    private static final int PORCENTAJE_PROTEGIDA = 80;
+
+    /** Bytes medios por entrada supuestos para dimensionar el bosquejo de frecuencias. */
+    private static final int BYTES_POR_ENTRADA_ESTIMADOS = 256;
+
+    private static final int FUERA = 0;
+    private static final int VENTANA = 1;
+    private static final int PRUEBA = 2;
+    private static final int PROTEGIDA = 3;
+
+    /** Entradas por clave; se modifica solo bajo el cerrojo del segmento de la clave. */
+    private final ConcurrentHashMap<Clave, Nodo> mapa = new ConcurrentHashMap<>();
+
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+
+    private final long capacidadBytes;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    /**
+     * Crea una caché vacía.
+     *
+     * @param capacidadBytes Presupuesto de memoria estimada, en bytes
+     * @throws IllegalArgumentException si el presupuesto no es positivo
+     */
+    public CacheTraducciones(long capacidadBytes) {
+        if (capacidadBytes <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser positiva");
+        }
+        this.capacidadBytes = capacidadBytes;
+        long porSegmento = Math.max(1, capacidadBytes / SEGMENTOS);
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(porSegmento);
+        }
+    }
+
+    /**
+     * Busca una traducción guardada.
+     *
+     * @param direccion Dirección de la traducción
+     * @param texto Texto de entrada, sin normalizar
+     * @param versionTabla Versión de la tabla Braille activa
+     * @return Copia de la respuesta guardada, o null si no está o se tradujo con otra tabla
+     */
+    public RespuestaTraduccion obtener(DireccionTraduccion direccion, String texto, String versionTabla) {
+        Clave clave = new Clave(direccion, texto);
+        Nodo nodo = mapa.get(clave);
+        segmento(clave).registrarAcceso(clave.hash, nodo);
+        if (nodo == null || !nodo.versionTabla.equals(versionTabla)) {
+            fallos.increment();
+            return null;
+        }
+        aciertos.increment();
+        RespuestaTraduccion respuesta = new RespuestaTraduccion(
+                texto, nodo.textoTraducido, nodo.textoEspejo, direccion.toString());
+        respuesta.setVersionTabla(nodo.versionTabla);
+        return respuesta;
+    }
+
+    /**
+     * Guarda una traducción exitosa. Si no cabe en la parte del presupuesto que le
+     * corresponde, no se guarda.
+     *
+     * @param direccion Dirección de la traducción
+     * @param texto Texto de entrada, sin normalizar
+     * @param respuesta Respuesta exitosa; se copian sus textos y su versión de tabla
+     */
+    public void guardar(DireccionTraduccion direccion, String texto, RespuestaTraduccion respuesta) {
+        if (!respuesta.isExito() || respuesta.getVersionTabla() == null) {
+            return;
+        }
+        Clave clave = new Clave(direccion, texto);
+        Nodo nodo = new Nodo(clave, respuesta.getTextoTraducido(), respuesta.getTextoEspejo(),
+                respuesta.getVersionTabla());
+        segmento(clave).agregar(nodo);
+    }
+
+    /**
+     * Elimina todas las entradas sin reiniciar los contadores.
+     */
+    public void vaciar() {
+        for (Segmento segmento : segmentos) {
+            segmento.vaciar();
+        }
+    }
+
+    /**
+     * @return instantánea de los contadores y la ocupación
+     */
+    public Estadisticas estadisticas() {
+        long bytes = 0;
+        for (Segmento segmento : segmentos) {
+            bytes += segmento.pesoTotal();
+        }
+        return new Estadisticas(aciertos.sum(), fallos.sum(), desalojos.sum(), mapa.size(), bytes, capacidadBytes);
+    }
+
+    private Segmento segmento(Clave clave) {
+        return segmentos[clave.hash & (SEGMENTOS - 1)];
+    }
+
+    /**
+     * Estima la memoria que ocupa una entrada.
+     */
+    static long pesar(String texto, String textoTraducido, String textoEspejo) {
+        return SOBRECARGA_ENTRADA + 2L * (texto.length()
+                + (textoTraducido != null ? textoTraducido.length() : 0)
+                + (textoEspejo != null ? textoEspejo.length() : 0));
+    }
+
+    /**
+     * Contadores de uso de la caché en un momento dado.
+     */
+    public static final class Estadisticas {
+
+        private final long aciertos;
+        private final long fallos;
+        private final long desalojos;
+        private final int entradas;
+        private final long bytes;
+        private final long capacidadBytes;
+
+        Estadisticas(long aciertos, long fallos, long desalojos, int entradas, long bytes, long capacidadBytes) {
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            this.desalojos = desalojos;
+            this.entradas = entradas;
+            this.bytes = bytes;
+            this.capacidadBytes = capacidadBytes;
+        }
+
+        /** @return búsquedas que encontraron una traducción válida */
+        public long getAciertos() {
+            return aciertos;
+        }
+
+        /** @return búsquedas sin traducción o con una tabla anterior */
+        public long getFallos() {
+            return fallos;
+        }
+
+        /** @return entradas expulsadas por falta de espacio (o no admitidas) */
+        public long getDesalojos() {
+            return desalojos;
+        }
+
+        /** @return entradas guardadas */
+        public int getEntradas() {
+            return entradas;
+        }
+
+        /** @return bytes estimados ocupados */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /** @return presupuesto en bytes */
+        public long getCapacidadBytes() {
+            return capacidadBytes;
+        }
+
+        /** @return fracción de búsquedas con acierto, entre 0 y 1 */
+        public double getTasaAciertos() {
+            long total = aciertos + fallos;
+            return total == 0 ? 0.0 : (double) aciertos / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "Caché de traducciones: %d aciertos, %d fallos (%.1f%%), %d desalojos, %d entradas, %d/%d bytes",
+                    aciertos, fallos, getTasaAciertos() * 100, desalojos, entradas, bytes, capacidadBytes);
+        }
+    }
+
+    /**
+     * Clave inmutable: dirección y texto de entrada.
+     */
+    private static final class Clave {
+
+        final DireccionTraduccion direccion;
+        final String texto;
+        final int hash;
+
+        Clave(DireccionTraduccion direccion, String texto) {
+            this.direccion = direccion;
+            this.texto = texto;
+            int h = texto.hashCode() * 31 + direccion.ordinal();
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (!(otro instanceof Clave)) {
+                return false;
+            }
+            Clave clave = (Clave) otro;
+            return hash == clave.hash && direccion == clave.direccion && texto.equals(clave.texto);
+        }
+    }
+
+    /**
+     * Entrada de la caché y nodo de la lista LRU de su región.
+     */
+    private static final class Nodo {
+
+        final Clave clave;
+        final String textoTraducido;
+        final String textoEspejo;
+        final String versionTabla;
+        final long peso;
+
+        /** Región actual; solo se lee y escribe bajo el cerrojo del segmento. */
+        int region = FUERA;
+        Nodo anterior;
+        Nodo siguiente;
+
+        Nodo(Clave clave, String textoTraducido, String textoEspejo, String versionTabla) {
+            this.clave = clave;
+            this.textoTraducido = textoTraducido;
+            this.textoEspejo = textoEspejo;
+            this.versionTabla = versionTabla;
+            this.peso = pesar(clave.texto, textoTraducido, textoEspejo);
+        }
+    }
+
+    /**
+     * Lista doblemente enlazada con centinela; la cabeza es la entrada más reciente.
+     */
+    private static final class Lista {
+
+        private final Nodo centinela = new Nodo(new Clave(DireccionTraduccion.ESPANOL_A_BRAILLE, ""), null, null, "");
+        long peso;
+
+        Lista() {
+            centinela.anterior = centinela;
+            centinela.siguiente = centinela;
+        }
+
+        void agregarCabeza(Nodo nodo, int region) {
+            nodo.region = region;
+            nodo.anterior = centinela;
+            nodo.siguiente = centinela.siguiente;
+            centinela.siguiente.anterior = nodo;
+            centinela.siguiente = nodo;
+            peso += nodo.peso;
+        }
+
+        void quitar(Nodo nodo) {
+            nodo.anterior.siguiente = nodo.siguiente;
+            nodo.siguiente.anterior = nodo.anterior;
+            nodo.anterior = null;
+            nodo.siguiente = null;
+            nodo.region = FUERA;
+            peso -= nodo.peso;
+        }
+
+        /** @return entrada menos reciente, o null si la lista está vacía */
+        Nodo cola() {
+            return centinela.anterior != centinela ? centinela.anterior : null;
+        }
+
+        void vaciar() {
+            for (Nodo nodo = cola(); nodo != null; nodo = cola()) {
+                quitar(nodo);
+            }
+        }
+    }
+
+    /**
+     * Parte de la política con su propio cerrojo, presupuesto y bosquejo de frecuencias.
+     */
+    private final class Segmento {
+
+        private final ReentrantLock cerrojo = new ReentrantLock();
+        private final Lista ventana = new Lista();
+        private final Lista prueba = new Lista();
+        private final Lista protegida = new Lista();
+        private final Frecuencias frecuencias;
+        private final long maximoVentana;
+        private final long maximoPrincipal;
+        private final long maximoProtegida;
+
+        Segmento(long capacidad) {
+            this.maximoVentana = Math.max(1, capacidad * PORCENTAJE_VENTANA / 100);
+            this.maximoPrincipal = capacidad - maximoVentana;
+            this.maximoProtegida = maximoPrincipal * PORCENTAJE_PROTEGIDA / 100;
+            this.frecuencias = new Frecuencias(capacidad / BYTES_POR_ENTRADA_ESTIMADOS);
+        }
+
+        /**
+         * Cuenta un acceso y, si la entrada sigue en la caché, la marca como reciente.
+         * No espera si otro hilo tiene el cerrojo.
+         */
+        void registrarAcceso(int hash, Nodo nodo) {
+            if (!cerrojo.tryLock()) {
+                return;
+            }
+            try {
+                frecuencias.incrementar(hash);
+                if (nodo == null) {
+                    return;
+                }
+                switch (nodo.region) {
+                    case VENTANA:
+                        ventana.quitar(nodo);
+                        ventana.agregarCabeza(nodo, VENTANA);
+                        break;
+                    case PRUEBA:
+                        prueba.quitar(nodo);
+                        protegida.agregarCabeza(nodo, PROTEGIDA);
+                        while (protegida.peso > maximoProtegida) {
+                            Nodo degradado = protegida.cola();
+                            protegida.quitar(degradado);
+                            prueba.agregarCabeza(degradado, PRUEBA);
+                        }
+                        break;
+                    case PROTEGIDA:
+                        protegida.quitar(nodo);
+                        protegida.agregarCabeza(nodo, PROTEGIDA);
+                        break;
+                    default:
+                        // desalojada entre la búsqueda y el cerrojo
+                        break;
+                }
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+
+        void agregar(Nodo nodo) {
+            if (nodo.peso > maximoPrincipal) {
+                return;
+            }
+            cerrojo.lock();
+            try {
+                Nodo anterior = mapa.put(nodo.clave, nodo);
+                if (anterior != null) {
+                    listaDe(anterior).quitar(anterior);
+                }
+                ventana.agregarCabeza(nodo, VENTANA);
+                while (ventana.peso > maximoVentana) {
+                    Nodo candidato = ventana.cola();
+                    ventana.quitar(candidato);
+                    admitir(candidato);
+                }
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+
+        /**
+         * Pasa a la región principal una entrada que sale de la ventana si su
+         * frecuencia supera a la de cada víctima que tendría que desplazar.
+         */
+        private void admitir(Nodo candidato) {
+            int frecuenciaCandidato = frecuencias.estimar(candidato.clave.hash);
+            while (prueba.peso + protegida.peso + candidato.peso > maximoPrincipal) {
+                Nodo victima = prueba.cola() != null ? prueba.cola() : protegida.cola();
+                if (victima == null || frecuenciaCandidato <= frecuencias.estimar(victima.clave.hash)) {
+                    desalojar(candidato);
+                    return;
+                }
+                listaDe(victima).quitar(victima);
+                desalojar(victima);
+            }
+            prueba.agregarCabeza(candidato, PRUEBA);
+        }
+
+        private void desalojar(Nodo nodo) {
+            mapa.remove(nodo.clave, nodo);
+            desalojos.increment();
+        }
+
+        private Lista listaDe(Nodo nodo) {
+            return nodo.region == VENTANA ? ventana : nodo.region == PRUEBA ? prueba : protegida;
+        }
+
+        long pesoTotal() {
+            cerrojo.lock();
+            try {
+                return ventana.peso + prueba.peso + protegida.peso;
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+
+        void vaciar() {
+            cerrojo.lock();
+            try {
+                for (Lista lista : new Lista[]{ventana, prueba, protegida}) {
+                    for (Nodo nodo = lista.cola(); nodo != null; nodo = lista.cola()) {
+                        lista.quitar(nodo);
+                        mapa.remove(nodo.clave, nodo);
+                    }
+                }
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+    }
+
+    /**
+     * Bosquejo Count-Min de 4 filas con contadores de 0 a 15 y envejecimiento.
+     * No es thread-safe: se usa bajo el cerrojo de su segmento.
+     */
+    private static final class Frecuencias {
+
+        private static final int FILAS = 4;
+        private static final int MAXIMO = 15;
+        private static final int[] SEMILLAS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[] contadores;
+        private final int bits;
+        private final int limiteMuestras;
+        private int muestras;
+
+        Frecuencias(long entradasEstimadas) {
+            int ancho = 64;
+            while (ancho < entradasEstimadas && ancho < (1 << 20)) {
+                ancho <<= 1;
+            }
+            this.bits = Integer.numberOfTrailingZeros(ancho);
+            this.contadores = new byte[FILAS * ancho];
+            this.limiteMuestras = 10 * ancho;
+        }
+
+        private int indice(int fila, int hash) {
+            return (fila << bits) + ((hash * SEMILLAS[fila]) >>> (32 - bits));
+        }
+
+        void incrementar(int hash) {
+            for (int fila = 0; fila < FILAS; fila++) {
+                int i = indice(fila, hash);
+                if (contadores[i] < MAXIMO) {
+                    contadores[i]++;
+                }
+            }
+            if (++muestras >= limiteMuestras) {
+                envejecer();
+            }
+        }
+
+        int estimar(int hash) {
+            int minimo = MAXIMO;
+            for (int fila = 0; fila < FILAS; fila++) {
+                minimo = Math.min(minimo, contadores[indice(fila, hash)]);
+            }
+            return minimo;
+        }
+
+        /** Divide todos los contadores a la mitad para olvidar la popularidad antigua. */
+        private void envejecer() {
+            for (int i = 0; i < contadores.length; i++) {
+                contadores[i] >>= 1;
+            }
+            muestras >>= 1;
+        }
+    }
+}
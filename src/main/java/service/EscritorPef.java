@@ -0,0 +1,276 @@
+package service;
+
+import model.CeldasBraille;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Escribe una traducción Braille como PEF (Portable Embosser Format), el formato XML
+ * de intercambio con impresoras Braille.
+ *
+ * <p>La traducción se reparte en líneas y páginas como en {@link FormateadorBrf}
+ * ({@link MaquetadorBraille}) y se escribe en la estructura de PEF: volúmenes, una
+ * sección por volumen, páginas y filas de celdas Braille Unicode. Un volumen se cierra
+ * cada {@code paginasPorVolumen} páginas.</p>
+ *
+ * <h2>Flujo</h2>
+ * <p>El XML se escribe con StAX ({@link XMLStreamWriter}) a medida que se completan las
+ * filas, sin construir un árbol DOM: la memoria usada no depende del tamaño del libro ni
+ * de la cantidad de volúmenes, y la salida puede ir directamente a la respuesta HTTP o a
+ * un archivo. Como {@link FormateadorBrf}, recibe Braille Unicode (por ejemplo desde
+ * {@link model.TraductorFlujo}) o las celdas de una {@link model.Traduccion}.</p>
+ *
+ * <h2>Espejo</h2>
+ * <p>Para escritura con punzón y regleta cada fila se escribe espejada después de
+ * maquetarla, como explica {@link MaquetadorBraille}; la traducción que recibe va sin
+ * espejar.</p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * try (Reader origen = Files.newBufferedReader(libro);
+ *      OutputStream destino = Files.newOutputStream(salida)) {
+ *     EscritorPef pef = new EscritorPef(40, 25, true, 50, true, false, "Mi libro", destino);
+ *     TraductorFlujo.traducir(origen, pef, DireccionTraduccion.ESPANOL_A_BRAILLE);
+ *     pef.finalizar();
+ * }
+ * </pre>
+ *
+ * <p>Cada instancia escribe un único documento y no es thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see FormateadorBrf
+ */
+public final class EscritorPef extends MaquetadorBraille implements Flushable {
+
+    /** Espacio de nombres de PEF 2008-1. */
+    public static final String ESPACIO_PEF = "http://www.daisy.org/ns/2008/pef";
+
+    /** Espacio de nombres de Dublin Core, para los metadatos. */
+    private static final String ESPACIO_DC = "http://purl.org/dc/elements/1.1/";
+
+    /** Tipo MIME de PEF. */
+    public static final String TIPO_MIME = "application/x-pef+xml";
+
+    /** Páginas por volumen si no se indica otro valor. */
+    public static final int PAGINAS_POR_VOLUMEN_PREDETERMINADAS = 50;
+
+    private final XMLStreamWriter xml;
+    private final OutputStream salida;
+    private final int paginasPorVolumen;
+    private final boolean dobleCara;
+    private final String titulo;
+
+    /** Fila en Braille Unicode. */
+    private final char[] fila;
+
+    private boolean documentoAbierto;
+    private boolean paginaAbierta;
+    private int paginasEnVolumen;
+    private int volumenes;
+    private boolean cerrado;
+
+    /**
+     * Crea un escritor.
+     *
+     * @param celdasPorLinea Celdas por fila, de 12 a 1000
+     * @param lineasPorPagina Filas por página, de 1 a 1000
+     * @param numerarPaginas Si se escribe el número de cada página en su última fila
+     * @param paginasPorVolumen Páginas de cada volumen, o 0 para un único volumen
+     * @param dobleCara Si los volúmenes se imprimen a doble cara
+     * @param espejo Si cada fila se escribe espejada, para escritura con punzón
+     * @param titulo Título del documento para los metadatos, o null
+     * @param salida Destino del PEF en UTF-8; no se cierra
+     * @throws IllegalArgumentException si las dimensiones están fuera de rango
+     * @throws IOException si no se puede crear el escritor XML
+     */
+    public EscritorPef(int celdasPorLinea, int lineasPorPagina, boolean numerarPaginas, int paginasPorVolumen,
+                       boolean dobleCara, boolean espejo, String titulo, OutputStream salida) throws IOException {
+        super(celdasPorLinea, lineasPorPagina, numerarPaginas, espejo);
+        if (paginasPorVolumen < 0) {
+            throw new IllegalArgumentException("Las páginas por volumen no pueden ser negativas");
+        }
+        try {
+            this.xml = XMLOutputFactory.newFactory().createXMLStreamWriter(salida, "UTF-8");
+        } catch (XMLStreamException e) {
+            throw new IOException("No se pudo crear el escritor PEF", e);
+        }
+        this.salida = salida;
+        this.paginasPorVolumen = paginasPorVolumen;
+        this.dobleCara = dobleCara;
+        this.titulo = titulo;
+        this.fila = new char[celdasPorLinea];
+    }
+
+    /**
+     * Termina el documento: completa la última página y cierra los elementos abiertos.
+     *
+     * <p>No cierra el destino. Llamarlo más de una vez no tiene efecto.</p>
+     *
+     * @throws IOException si el destino falla al escribir
+     */
+    @Override
+    public void finalizar() throws IOException {
+        super.finalizar();
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        try {
+            abrirDocumento();
+            if (volumenes == 0) {
+                // PEF exige al menos una página
+                abrirPagina();
+            }
+            if (paginaAbierta) {
+                cerrarPagina();
+            }
+            if (paginasEnVolumen > 0) {
+                cerrarVolumen();
+            }
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Envía al destino las filas ya escritas, incluidas las que el escritor XML retiene,
+     * y vacía el destino.
+     *
+     * @throws IOException si el destino falla al escribir
+     */
+    @Override
+    public void flush() throws IOException {
+        try {
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        salida.flush();
+    }
+
+    /**
+     * @return Volúmenes empezados hasta ahora
+     */
+    public int getVolumenes() {
+        return volumenes;
+    }
+
+    @Override
+    void escribirLinea(byte[] celdas, int cantidad) throws IOException {
+        for (int i = 0; i < cantidad; i++) {
+            fila[i] = CeldasBraille.aUnicode(celdas[i] & 0xFF);
+        }
+        try {
+            abrirDocumento();
+            abrirPagina();
+            if (cantidad == 0) {
+                xml.writeEmptyElement(ESPACIO_PEF, "row");
+            } else {
+                xml.writeStartElement(ESPACIO_PEF, "row");
+                xml.writeCharacters(fila, 0, cantidad);
+                xml.writeEndElement();
+            }
+            xml.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    void escribirFinPagina() throws IOException {
+        try {
+            abrirDocumento();
+            abrirPagina();
+            cerrarPagina();
+            if (paginasPorVolumen > 0 && paginasEnVolumen == paginasPorVolumen) {
+                cerrarVolumen();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void abrirDocumento() throws XMLStreamException {
+        if (documentoAbierto) {
+            return;
+        }
+        documentoAbierto = true;
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.writeCharacters("\n");
+        xml.setDefaultNamespace(ESPACIO_PEF);
+        xml.writeStartElement(ESPACIO_PEF, "pef");
+        xml.writeDefaultNamespace(ESPACIO_PEF);
+        xml.writeAttribute("version", "2008-1");
+        xml.writeCharacters("\n");
+        xml.writeStartElement(ESPACIO_PEF, "head");
+        xml.writeStartElement(ESPACIO_PEF, "meta");
+        xml.setPrefix("dc", ESPACIO_DC);
+        xml.writeNamespace("dc", ESPACIO_DC);
+        elementoDc("format", TIPO_MIME);
+        elementoDc("identifier", "urn:uuid:" + UUID.randomUUID());
+        if (titulo != null && !titulo.isBlank()) {
+            elementoDc("title", titulo);
+        }
+        elementoDc("date", LocalDate.now().toString());
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+        xml.writeStartElement(ESPACIO_PEF, "body");
+        xml.writeCharacters("\n");
+    }
+
+    private void elementoDc(String nombre, String valor) throws XMLStreamException {
+        xml.writeStartElement(ESPACIO_DC, nombre);
+        xml.writeCharacters(valor);
+        xml.writeEndElement();
+    }
+
+    private void abrirPagina() throws XMLStreamException {
+        if (paginaAbierta) {
+            return;
+        }
+        if (paginasEnVolumen == 0) {
+            xml.writeStartElement(ESPACIO_PEF, "volume");
+            xml.writeAttribute("cols", Integer.toString(celdasPorLinea));
+            xml.writeAttribute("rows", Integer.toString(lineasPorPagina));
+            xml.writeAttribute("rowgap", "0");
+            xml.writeAttribute("duplex", Boolean.toString(dobleCara));
+            xml.writeCharacters("\n");
+            xml.writeStartElement(ESPACIO_PEF, "section");
+            xml.writeCharacters("\n");
+            volumenes++;
+        }
+        xml.writeStartElement(ESPACIO_PEF, "page");
+        xml.writeCharacters("\n");
+        paginaAbierta = true;
+    }
+
+    private void cerrarPagina() throws XMLStreamException {
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+        paginaAbierta = false;
+        paginasEnVolumen++;
+    }
+
+    private void cerrarVolumen() throws XMLStreamException {
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+        paginasEnVolumen = 0;
+    }
+}
@@ -0,0 +1,150 @@
+package service;
+
+import model.CeldasBraille;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Da formato de página a una traducción Braille y la escribe en Braille Ready Format
+ * (BRF, ASCII Braille norteamericano), listo para enviar a una impresora Braille.
+ *
+ * <p>La traducción es un texto Braille con saltos de línea de longitud libre; las
+ * impresoras necesitan un número fijo de celdas por línea y de líneas por página. Este
+ * formateador:</p>
+ * <ul>
+ *   <li>Corta las líneas por palabras y numera las páginas como {@link MaquetadorBraille}
+ *       (en ASCII Braille, el número de página es {@code #} seguido de las cifras,
+ *       {@code A} = 1 … {@code J} = 0)</li>
+ *   <li>Separa las líneas con {@code CR LF} y termina cada página con un salto de página
+ *       ({@code FF})</li>
+ *   <li>Opcionalmente espeja cada línea ya cortada, para escritura con punzón</li>
+ * </ul>
+ *
+ * <h2>Flujo</h2>
+ * <p>Es un {@link Appendable} que recibe Braille Unicode, por lo que puede ser el destino
+ * de {@link model.TraductorFlujo}: cada línea se escribe en cuanto está completa y la
+ * memoria usada solo depende del ancho de la línea. Las celdas de una {@link model.Traduccion}
+ * se formatean sin pasar por Unicode con {@link #escribir(CeldasBraille)}.</p>
+ *
+ * <h2>Presupuesto</h2>
+ * <p>Sin destino, el formateador hace la misma maquetación sin escribir nada y solo
+ * cuenta las páginas ({@link #contarPaginas}), de modo que se conoce el tamaño de un
+ * trabajo antes de imprimirlo, en una sola pasada y sin construir la salida.</p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * try (Reader origen = Files.newBufferedReader(libro);
+ *      Writer destino = Files.newBufferedWriter(salida, StandardCharsets.US_ASCII)) {
+ *     FormateadorBrf brf = new FormateadorBrf(40, 25, true, destino);
+ *     TraductorFlujo.traducir(origen, brf, DireccionTraduccion.ESPANOL_A_BRAILLE);
+ *     brf.finalizar();
+ * }
+ * </pre>
+ *
+ * <p>{@link #finalizar()} completa la última página pero no cierra el destino. Cada
+ * instancia formatea un único documento y no es thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see CeldasBraille#aAsciiBraille(int)
+ * @see model.TraductorFlujo
+ * @see EscritorPef
+ */
+public final class FormateadorBrf extends MaquetadorBraille {
+
+    /** Celdas por línea de una página Braille estándar. */
+    public static final int CELDAS_POR_LINEA_PREDETERMINADAS = 40;
+
+    /** Líneas por página de una página Braille estándar. */
+    public static final int LINEAS_POR_PAGINA_PREDETERMINADAS = 25;
+
+    private static final char[] FIN_LINEA = {'\r', '\n'};
+
+    /** Destino de la salida; null si solo se cuentan las páginas. */
+    private final Appendable destino;
+
+    /** Línea en ASCII Braille. */
+    private final char[] ascii;
+
+    /**
+     * Crea un formateador.
+     *
+     * @param celdasPorLinea Celdas por línea, de 12 a 1000
+     * @param lineasPorPagina Líneas por página, de 1 a 1000
+     * @param numerarPaginas Si se escribe el número de cada página en su última línea
+     * @param destino Destino del BRF, o null para solo contar páginas
+     * @throws IllegalArgumentException si las dimensiones están fuera de rango
+     */
+    public FormateadorBrf(int celdasPorLinea, int lineasPorPagina, boolean numerarPaginas, Appendable destino) {
+        this(celdasPorLinea, lineasPorPagina, numerarPaginas, false, destino);
+    }
+
+    /**
+     * Crea un formateador que puede espejar cada línea.
+     *
+     * @param celdasPorLinea Celdas por línea, de 12 a 1000
+     * @param lineasPorPagina Líneas por página, de 1 a 1000
+     * @param numerarPaginas Si se escribe el número de cada página en su última línea
+     * @param espejo Si cada línea se escribe espejada, para escritura con punzón; la
+     *               traducción que recibe va sin espejar
+     * @param destino Destino del BRF, o null para solo contar páginas
+     * @throws IllegalArgumentException si las dimensiones están fuera de rango
+     */
+    public FormateadorBrf(int celdasPorLinea, int lineasPorPagina, boolean numerarPaginas, boolean espejo,
+                          Appendable destino) {
+        super(celdasPorLinea, lineasPorPagina, numerarPaginas, espejo);
+        this.destino = destino;
+        this.ascii = new char[celdasPorLinea];
+    }
+
+    /**
+     * Cuenta las páginas que ocuparía una traducción, sin generar la salida.
+     *
+     * @param celdas Celdas traducidas
+     * @param celdasPorLinea Celdas por línea
+     * @param lineasPorPagina Líneas por página
+     * @param numerarPaginas Si se numeran las páginas
+     * @return Cantidad de páginas
+     */
+    public static int contarPaginas(CeldasBraille celdas, int celdasPorLinea, int lineasPorPagina,
+                                    boolean numerarPaginas) {
+        FormateadorBrf contador = new FormateadorBrf(celdasPorLinea, lineasPorPagina, numerarPaginas, null);
+        try {
+            contador.escribir(celdas);
+            contador.finalizar();
+        } catch (IOException e) {
+            // Sin destino no se escribe nada
+            throw new IllegalStateException(e);
+        }
+        return contador.getPaginas();
+    }
+
+    @Override
+    void escribirLinea(byte[] celdas, int cantidad) throws IOException {
+        if (destino == null) {
+            return;
+        }
+        for (int i = 0; i < cantidad; i++) {
+            ascii[i] = CeldasBraille.aAsciiBraille(celdas[i]);
+        }
+        if (destino instanceof Writer) {
+            Writer escritor = (Writer) destino;
+            escritor.write(ascii, 0, cantidad);
+            escritor.write(FIN_LINEA);
+        } else {
+            for (int i = 0; i < cantidad; i++) {
+                destino.append(ascii[i]);
+            }
+            destino.append("\r\n");
+        }
+    }
+
+    @Override
+    void escribirFinPagina() throws IOException {
+        if (destino != null) {
+            destino.append('\f');
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package service;
+
+import model.CeldasBraille;
+
+import java.io.IOException;
+
+/**
+ * Reparte una traducción Braille en líneas y páginas de tamaño fijo, para los formatos
+ * de impresión ({@link FormateadorBrf}, {@link EscritorPef}).
+ *
+ * <p>Corta las líneas por palabras (grupos de celdas separados por celdas vacías), sin
+ * dejar espacios al principio de la línea siguiente; una palabra más larga que una
+ * línea se parte donde se acaba la línea. Conserva los saltos de línea, las líneas
+ * vacías y la sangría de cada párrafo. Opcionalmente numera las páginas en Braille
+ * (signo de número ⠼ seguido de las cifras, ⠁ = 1 … ⠚ = 0) en el margen derecho de la
+ * última línea, separado del texto por al menos tres celdas vacías.</p>
+ *
+ * <p>En espejo, para escritura con punzón y regleta, cada línea se espeja después de
+ * maquetarla: completa hasta el ancho de la página, invertida y con las columnas de
+ * cada celda intercambiadas ({@link CeldasBraille#espejarMascara(int)}), de modo que al
+ * dar la vuelta a la hoja el texto queda alineado a la izquierda y los cortes de línea
+ * son los mismos que sin espejo. Por eso el espejo se pide aquí y no espejando antes
+ * la traducción con {@link util.MapeadorBraille#espejarBraille(String)}: una línea
+ * espejada antes de cortarla quedaría repartida al revés.</p>
+ *
+ * <p>Recibe Braille Unicode como {@link Appendable}, por lo que puede ser el destino de
+ * {@link model.TraductorFlujo}, o celdas ya traducidas con {@link #escribir(CeldasBraille)}.
+ * Cada línea se entrega a la subclase como máscaras de puntos en cuanto está completa;
+ * la memoria usada solo depende del ancho de la línea.</p>
+ *
+ * <p>Cada instancia maqueta un único documento y no es thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ */
+abstract class MaquetadorBraille implements Appendable {
+
+    /** Menor ancho aceptado: deja sitio al número de página en la última línea. */
+    static final int CELDAS_POR_LINEA_MINIMAS = 12;
+
+    /** Mayor ancho y mayor número de líneas aceptados. */
+    static final int MAXIMO = 1000;
+
+    /** Celdas vacías mínimas entre el texto y el número de página. */
+    private static final int SEPARACION_NUMERO = 3;
+
+    /** Signo de número (puntos 3-4-5-6). */
+    private static final byte SIGNO_NUMERO = 0x3C;
+
+    /** Cifras 0 a 9: letras a-j tras el signo de número. */
+    private static final byte[] CIFRAS = {0x1A, 0x01, 0x03, 0x09, 0x19, 0x11, 0x0B, 0x1B, 0x13, 0x0A};
+
+    /** Celdas por línea. */
+    final int celdasPorLinea;
+
+    /** Líneas por página. */
+    final int lineasPorPagina;
+
+    private final boolean numerarPaginas;
+
+    /** Línea en construcción, como máscaras de puntos. */
+    private final byte[] linea;
+
+    /** Línea espejada que se entrega; null si no se espeja. */
+    private final byte[] lineaEspejo;
+
+    /** Celdas ocupadas de la línea en construcción. */
+    private int columna;
+
+    /** Palabra en curso, aún sin colocar (máscaras distintas de 0). */
+    private final byte[] palabra;
+    private int largoPalabra;
+
+    /** Celdas vacías vistas antes de la palabra en curso. */
+    private int espacios;
+
+    /** Indica si la línea en construcción es el principio de una línea de la traducción. */
+    private boolean inicioParrafo = true;
+
+    /** Línea de la página actual, desde 0. */
+    private int lineaEnPagina;
+
+    /** Páginas completas ya entregadas. */
+    private int paginas;
+
+    private boolean finalizado;
+
+    /**
+     * @param celdasPorLinea Celdas por línea, de {@value #CELDAS_POR_LINEA_MINIMAS} a {@value #MAXIMO}
+     * @param lineasPorPagina Líneas por página, de 1 a {@value #MAXIMO}
+     * @param numerarPaginas Si se escribe el número de cada página en su última línea
+     * @param espejo Si cada línea se entrega espejada, para escritura con punzón
+     * @throws IllegalArgumentException si las dimensiones están fuera de rango
+     */
+    MaquetadorBraille(int celdasPorLinea, int lineasPorPagina, boolean numerarPaginas, boolean espejo) {
+        if (celdasPorLinea < CELDAS_POR_LINEA_MINIMAS || celdasPorLinea > MAXIMO) {
+            throw new IllegalArgumentException("Las celdas por línea deben estar entre "
+                    + CELDAS_POR_LINEA_MINIMAS + " y " + MAXIMO);
+        }
+        if (lineasPorPagina < 1 || lineasPorPagina > MAXIMO) {
+            throw new IllegalArgumentException("Las líneas por página deben estar entre 1 y " + MAXIMO);
+        }
+        this.celdasPorLinea = celdasPorLinea;
+        this.lineasPorPagina = lineasPorPagina;
+        this.numerarPaginas = numerarPaginas;
+        this.linea = new byte[celdasPorLinea];
+        this.palabra = new byte[celdasPorLinea];
+        this.lineaEspejo = espejo ? new byte[celdasPorLinea] : null;
+    }
+
+    /**
+     * Entrega una línea completa.
+     *
+     * @param celdas Máscaras de la línea; el arreglo se reutiliza tras la llamada
+     * @param cantidad Celdas de la línea, sin espacios finales salvo antes del número de
+     *                 página; en espejo, siempre el ancho completo
+     * @throws IOException si el destino falla al escribir
+     */
+    abstract void escribirLinea(byte[] celdas, int cantidad) throws IOException;
+
+    /**
+     * Indica que la página actual terminó; la siguiente línea será de otra página.
+     *
+     * @throws IOException si el destino falla al escribir
+     */
+    abstract void escribirFinPagina() throws IOException;
+
+    /**
+     * Añade celdas ya traducidas al documento.
+     *
+     * @param celdas Celdas a añadir
+     * @throws IOException si el destino falla al escribir
+     * @throws IllegalStateException si ya se finalizó el documento
+     */
+    public void escribir(CeldasBraille celdas) throws IOException {
+        int siguienteSalto = 0;
+        int saltos = celdas.numeroSaltos();
+        for (int i = 0; i < celdas.longitud(); i++) {
+            while (siguienteSalto < saltos && celdas.posicionSalto(siguienteSalto) == i) {
+                saltoLinea();
+                siguienteSalto++;
+            }
+            celda(celdas.mascara(i));
+        }
+        for (; siguienteSalto < saltos; siguienteSalto++) {
+            saltoLinea();
+        }
+    }
+
+    /**
+     * Añade Braille Unicode (U+2800 a U+28FF) con saltos de línea.
+     *
+     * @throws IllegalArgumentException si aparece otro carácter
+     * @throws IllegalStateException si ya se finalizó el documento
+     */
+    @Override
+    public Appendable append(CharSequence texto) throws IOException {
+        return append(texto, 0, texto.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence texto, int inicio, int fin) throws IOException {
+        for (int i = inicio; i < fin; i++) {
+            append(texto.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        if (c >= '⠀' && c <= '⣿') {
+            celda(c - '⠀');
+        } else if (c == '\n') {
+            saltoLinea();
+        } else if (c != '\r') {
+            throw new IllegalArgumentException("Carácter no Braille en la traducción: U+"
+                    + String.format("%04X", (int) c));
+        }
+        return this;
+    }
+
+    /**
+     * Termina el documento: coloca la última palabra y completa la última página.
+     *
+     * <p>Llamarlo más de una vez no tiene efecto.</p>
+     *
+     * @throws IOException si el destino falla al escribir
+     */
+    public void finalizar() throws IOException {
+        if (finalizado) {
+            return;
+        }
+        colocarPalabra();
+        if (columna > 0 || lineaEnPagina > 0) {
+            if (numerarPaginas) {
+                // El número va en la última línea: se completa la página con líneas vacías
+                do {
+                    terminarLinea();
+                } while (lineaEnPagina != 0);
+            } else {
+                if (columna > 0) {
+                    terminarLinea();
+                }
+                if (lineaEnPagina != 0) {
+                    terminarPagina();
+                }
+            }
+        }
+        finalizado = true;
+    }
+
+    /**
+     * @return Páginas completas hasta ahora; tras {@link #finalizar()}, el total del documento
+     */
+    public int getPaginas() {
+        return paginas;
+    }
+
+    private void celda(int mascara) throws IOException {
+        if (finalizado) {
+            throw new IllegalStateException("El documento ya fue finalizado");
+        }
+        if (mascara == 0) {
+            colocarPalabra();
+            espacios++;
+            return;
+        }
+        if (largoPalabra == palabra.length) {
+            // Más larga que cualquier línea: se coloca lo que hay y sigue sin espacio
+            colocarPalabra();
+        }
+        palabra[largoPalabra++] = (byte) mascara;
+    }
+
+    private void saltoLinea() throws IOException {
+        if (finalizado) {
+            throw new IllegalStateException("El documento ya fue finalizado");
+        }
+        colocarPalabra();
+        // Los espacios al final de la línea se descartan
+        espacios = 0;
+        terminarLinea();
+        inicioParrafo = true;
+    }
+
+    /**
+     * Coloca la palabra en curso en la línea, precedida de sus espacios, o en la línea
+     * siguiente si no cabe. Los espacios solo se conservan dentro de una línea o como
+     * sangría al principio de un párrafo.
+     */
+    private void colocarPalabra() throws IOException {
+        if (largoPalabra == 0) {
+            return;
+        }
+        if (columna == 0 && !inicioParrafo) {
+            // Línea de continuación: sin espacios iniciales
+            espacios = 0;
+        }
+        if (columna + espacios + largoPalabra > anchoLinea()) {
+            if (columna > 0) {
+                terminarLinea();
+                espacios = 0;
+            } else if (espacios + largoPalabra > anchoLinea()) {
+                espacios = 0;
+            }
+        }
+        for (; espacios > 0; espacios--) {
+            linea[columna++] = 0;
+        }
+        int colocadas = 0;
+        while (colocadas < largoPalabra) {
+            int cantidad = Math.min(largoPalabra - colocadas, anchoLinea() - columna);
+            if (cantidad <= 0) {
+                terminarLinea();
+                continue;
+            }
+            System.arraycopy(palabra, colocadas, linea, columna, cantidad);
+            columna += cantidad;
+            colocadas += cantidad;
+        }
+        largoPalabra = 0;
+        inicioParrafo = false;
+    }
+
+    /**
+     * @return celdas disponibles para texto en la línea actual
+     */
+    private int anchoLinea() {
+        if (numerarPaginas && lineaEnPagina == lineasPorPagina - 1) {
+            return celdasPorLinea - SEPARACION_NUMERO - largoNumero(paginas + 1);
+        }
+        return celdasPorLinea;
+    }
+
+    private void terminarLinea() throws IOException {
+        boolean ultima = lineaEnPagina == lineasPorPagina - 1;
+        if (ultima && numerarPaginas) {
+            int numero = paginas + 1;
+            int largo = largoNumero(numero);
+            while (columna < celdasPorLinea - largo) {
+                linea[columna++] = 0;
+            }
+            linea[columna++] = SIGNO_NUMERO;
+            for (int i = largo - 1; i > 0; i--) {
+                linea[columna + i - 1] = CIFRAS[numero % 10];
+                numero /= 10;
+            }
+            columna += largo - 1;
+        }
+        if (lineaEspejo != null) {
+            for (int i = 0; i < celdasPorLinea; i++) {
+                int mascara = i < columna ? linea[i] & 0xFF : 0;
+                lineaEspejo[celdasPorLinea - 1 - i] = (byte) CeldasBraille.espejarMascara(mascara);
+            }
+            escribirLinea(lineaEspejo, celdasPorLinea);
+        } else {
+            escribirLinea(linea, columna);
+        }
+        columna = 0;
+        inicioParrafo = false;
+        if (ultima) {
+            terminarPagina();
+        } else {
+            lineaEnPagina++;
+        }
+    }
+
+    private void terminarPagina() throws IOException {
+        escribirFinPagina();
+        paginas++;
+        lineaEnPagina = 0;
+    }
+
+    /**
+     * @return celdas del número de página, con el signo de número
+     */
+    private static int largoNumero(int numero) {
+        return 1 + Integer.toString(numero).length();
+    }
+}
@@ -0,0 +1,180 @@
+package service;
+
+import dto.RespuestaTraduccion;
+import dto.SolicitudTraduccion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Traduce lotes de solicitudes en paralelo sobre un pool de hilos acotado.
+ *
+ * <p>Cada elemento del lote se procesa exactamente igual que una petición individual,
+ * con {@link ServicioTraduccionBraille#procesarTraduccion(SolicitudTraduccion)}, por lo
+ * que el resultado de un lote coincide con el de enviar las solicitudes una a una y
+ * los errores quedan en la {@link RespuestaTraduccion} del elemento que los produjo,
+ * sin afectar al resto.</p>
+ *
+ * <h2>Reparto del Trabajo</h2>
+ * <ul>
+ *   <li>Los lotes de menos de {@link #TAMANO_MINIMO_PARTE} elementos se traducen en el
+ *       hilo que llama, sin coste de coordinación</li>
+ *   <li>Los demás se dividen en tramos contiguos de al menos
+ *       {@link #TAMANO_MINIMO_PARTE} elementos (los textos suelen ser cortos y una tarea
+ *       por elemento costaría más que la traducción). El hilo que llama procesa el
+ *       último tramo mientras el pool procesa los demás</li>
+ *   <li>Cada tramo escribe en sus propias posiciones del arreglo de resultados, que
+ *       conserva así el orden de la entrada</li>
+ * </ul>
+ *
+ * <h2>Límites</h2>
+ * <p>El pool tiene un número fijo de hilos y una cola acotada. Si la cola se llena,
+ * el tramo lo ejecuta el propio hilo que llama ({@link ThreadPoolExecutor.CallerRunsPolicy}),
+ * lo que frena a los clientes en lugar de acumular trabajo sin límite.</p>
+ *
+ * <p>La clase es thread-safe; una instancia se comparte entre todas las peticiones y
+ * debe cerrarse con {@link #close()} al detener la aplicación.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see ServicioTraduccionBraille
+ */
+public class ProcesadorLotes implements AutoCloseable {
+
+    /** Cantidad mínima de elementos por tarea enviada al pool. */
+    static final int TAMANO_MINIMO_PARTE = 32;
+
+    /** Tramos por hilo, para repartir mejor textos de longitud desigual. */
+    private static final int PARTES_POR_HILO = 4;
+
+    /** Servicio que traduce cada elemento. */
+    private final ServicioTraduccionBraille servicio;
+
+    /** Pool acotado que procesa los tramos. */
+    private final ThreadPoolExecutor pool;
+
+    /** Cantidad de hilos del pool. */
+    private final int hilos;
+
+    /**
+     * Crea un procesador con su propio pool de hilos.
+     *
+     * @param servicio Servicio que traduce cada elemento
+     * @param hilos Cantidad de hilos del pool (al menos 1)
+     * @param capacidadCola Tramos que pueden esperar en cola antes de ejecutarse en el hilo que llama
+     * @throws IllegalArgumentException si el servicio es null o los tamaños no son positivos
+     */
+    public ProcesadorLotes(ServicioTraduccionBraille servicio, int hilos, int capacidadCola) {
+        if (servicio == null) {
+            throw new IllegalArgumentException("El servicio de traducción es obligatorio");
+        }
+        if (hilos < 1 || capacidadCola < 1) {
+            throw new IllegalArgumentException("El pool de lotes necesita al menos un hilo y una posición en cola");
+        }
+        this.servicio = servicio;
+        this.hilos = hilos;
+        this.pool = new ThreadPoolExecutor(hilos, hilos, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), new FabricaHilos(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Traduce un lote de solicitudes.
+     *
+     * @param solicitudes Solicitudes a traducir; los elementos null producen una respuesta de error
+     * @return Una respuesta por solicitud, en el mismo orden
+     * @throws IllegalArgumentException si la lista es null
+     */
+    public List<RespuestaTraduccion> procesar(List<SolicitudTraduccion> solicitudes) {
+        if (solicitudes == null) {
+            throw new IllegalArgumentException("El lote no puede ser nulo");
+        }
+        int cantidad = solicitudes.size();
+        RespuestaTraduccion[] respuestas = new RespuestaTraduccion[cantidad];
+        int partes = Math.min(hilos * PARTES_POR_HILO, cantidad / TAMANO_MINIMO_PARTE);
+        if (partes <= 1) {
+            procesarTramo(solicitudes, respuestas, 0, cantidad);
+            return Arrays.asList(respuestas);
+        }
+
+        List<Future<?>> pendientes = new ArrayList<>(partes - 1);
+        for (int parte = 0; parte < partes - 1; parte++) {
+            int desde = limite(parte, partes, cantidad);
+            int hasta = limite(parte + 1, partes, cantidad);
+            pendientes.add(pool.submit(() -> procesarTramo(solicitudes, respuestas, desde, hasta)));
+        }
+        procesarTramo(solicitudes, respuestas, limite(partes - 1, partes, cantidad), cantidad);
+        esperar(pendientes, respuestas);
+        return Arrays.asList(respuestas);
+    }
+
+    /**
+     * @return primer índice del tramo {@code parte} de {@code partes} tramos casi iguales
+     */
+    private static int limite(int parte, int partes, int cantidad) {
+        return (int) ((long) cantidad * parte / partes);
+    }
+
+    private void procesarTramo(List<SolicitudTraduccion> solicitudes, RespuestaTraduccion[] respuestas,
+                               int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            respuestas[i] = servicio.procesarTraduccion(solicitudes.get(i));
+        }
+    }
+
+    /**
+     * Espera a que terminen los tramos enviados al pool. Si el hilo se interrumpe, los
+     * tramos sin terminar se cancelan y sus elementos se responden con error.
+     */
+    private void esperar(List<Future<?>> pendientes, RespuestaTraduccion[] respuestas) {
+        for (Future<?> pendiente : pendientes) {
+            try {
+                pendiente.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendientes.forEach(tarea -> tarea.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                // procesarTraduccion no lanza excepciones; los huecos se completan abajo
+            }
+        }
+        for (int i = 0; i < respuestas.length; i++) {
+            if (respuestas[i] == null) {
+                respuestas[i] = new RespuestaTraduccion(false, "La traducción del lote fue interrumpida");
+            }
+        }
+    }
+
+    /**
+     * Detiene el pool; los tramos en curso terminan.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Crea hilos daemon con nombre reconocible en los volcados de hilos.
+     */
+    private static final class FabricaHilos implements ThreadFactory {
+
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarea) {
+            Thread hilo = new Thread(tarea, "traduccion-lote-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        }
+    }
+}
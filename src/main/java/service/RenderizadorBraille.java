@@ -0,0 +1,399 @@
+package service;
+
+import model.CeldasBraille;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Dibuja celdas Braille como imagen PNG o SVG en el servidor.
+ *
+ * <p>Hasta ahora el PNG se generaba en el navegador, de modo que los clientes de la
+ * API no podían obtener imágenes y los dispositivos modestos sufrían con textos
+ * largos. Aquí la imagen se construye a partir de las máscaras de puntos
+ * ({@link CeldasBraille}), sin tipografías, con las proporciones de la signografía
+ * estándar: el diámetro del punto es la unidad, los puntos de una celda están a 1,75
+ * diámetros, las celdas a 4,2 y las líneas a 7.</p>
+ *
+ * <h2>PNG</h2>
+ * <ul>
+ *   <li>Para cada tamaño de punto se dibujan una sola vez los 256 glifos posibles, con
+ *       bordes suavizados, en escala de grises de un byte por píxel, y se guardan en una
+ *       caché compartida ({@link Glifos})</li>
+ *   <li>La imagen es una única trama de grises; cada celda se copia de su glifo fila a
+ *       fila con {@link System#arraycopy}, sin dibujar círculos ni pasar por Java2D. Las
+ *       celdas vacías no se copian</li>
+ *   <li>Los documentos grandes se dibujan en paralelo por bandas de líneas, cada una en
+ *       sus propias filas de la trama</li>
+ *   <li>La imagen se codifica directamente en el flujo de salida</li>
+ * </ul>
+ *
+ * <h2>SVG</h2>
+ * <p>Los glifos usados se definen una vez como {@code <symbol>} y cada celda es un
+ * {@code <use>} que lo referencia. El documento se escribe en flujo, línea a línea.
+ * Las definiciones de los 256 glifos de cada tamaño también se guardan en caché.</p>
+ *
+ * <p>El espejo no se trata aparte: se dibujan las celdas ya espejadas
+ * ({@link CeldasBraille#espejar()} o la dirección {@code ESPANOL_A_BRAILLE_ESPEJO}).</p>
+ *
+ * <p>La clase es thread-safe.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see servlet.ControladorImagen
+ */
+public final class RenderizadorBraille {
+
+    /** Diámetro mínimo del punto, en píxeles. */
+    public static final int PUNTO_MINIMO = 2;
+
+    /** Diámetro máximo del punto, en píxeles; acota también el tamaño de la caché. */
+    public static final int PUNTO_MAXIMO = 20;
+
+    /** Diámetro del punto si no se indica otro. */
+    public static final int PUNTO_PREDETERMINADO = 6;
+
+    /** Píxeles máximos de una imagen PNG (un byte por píxel). */
+    static final long PIXELES_MAXIMOS = 64L << 20;
+
+    /** Celdas a partir de las cuales la trama se dibuja en paralelo. */
+    static final int UMBRAL_PARALELO = 1 << 14;
+
+    /** Celdas mínimas por banda en el dibujo paralelo. */
+    private static final int CELDAS_MINIMAS_BANDA = 1 << 12;
+
+    /** Submuestras por eje para suavizar el borde de los puntos. */
+    private static final int SUBMUESTRAS = 4;
+
+    /** Glifos de cada tamaño de punto ya dibujados. */
+    private static final ConcurrentHashMap<Integer, Glifos> CACHE = new ConcurrentHashMap<>();
+
+    private RenderizadorBraille() {
+    }
+
+    /**
+     * Obtiene los glifos de un tamaño de punto, dibujándolos la primera vez.
+     *
+     * @param tamanoPunto Diámetro del punto en píxeles
+     * @return Los 256 glifos y la geometría de ese tamaño
+     * @throws IllegalArgumentException si el tamaño está fuera de rango
+     */
+    static Glifos glifos(int tamanoPunto) {
+        if (tamanoPunto < PUNTO_MINIMO || tamanoPunto > PUNTO_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño del punto debe estar entre "
+                    + PUNTO_MINIMO + " y " + PUNTO_MAXIMO + " píxeles");
+        }
+        return CACHE.computeIfAbsent(tamanoPunto, Glifos::new);
+    }
+
+    /**
+     * Dibuja las celdas en una imagen en escala de grises.
+     *
+     * @param celdas Celdas a dibujar
+     * @param tamanoPunto Diámetro del punto en píxeles
+     * @param pool Pool para dibujar por bandas los documentos grandes
+     * @return Imagen con fondo blanco y puntos negros
+     * @throws IllegalArgumentException si el tamaño está fuera de rango o la imagen
+     *         superaría {@link #PIXELES_MAXIMOS}
+     */
+    public static BufferedImage renderizar(CeldasBraille celdas, int tamanoPunto, ForkJoinPool pool) {
+        Glifos glifos = glifos(tamanoPunto);
+        int[] inicios = iniciosLinea(celdas);
+        int ancho = glifos.ancho(maximoCeldas(inicios));
+        int alto = glifos.alto(inicios.length - 1);
+        if ((long) ancho * alto > PIXELES_MAXIMOS) {
+            throw new IllegalArgumentException("La imagen superaría " + PIXELES_MAXIMOS
+                    + " píxeles; reduzca el texto o el tamaño del punto");
+        }
+
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] trama = ((DataBufferByte) imagen.getRaster().getDataBuffer()).getData();
+        TareaBandas tarea = new TareaBandas(celdas, inicios, glifos, trama, ancho, 0, inicios.length - 1);
+        if (celdas.longitud() >= UMBRAL_PARALELO && pool.getParallelism() > 1) {
+            pool.invoke(tarea);
+        } else {
+            tarea.dibujar();
+        }
+        return imagen;
+    }
+
+    /**
+     * Escribe como PNG una imagen obtenida con {@link #renderizar}.
+     *
+     * @param imagen Imagen a codificar
+     * @param salida Destino del PNG; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public static void escribirPng(BufferedImage imagen, OutputStream salida) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("png").next();
+        try (ImageOutputStream flujo = new MemoryCacheImageOutputStream(salida)) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            if (parametros.canWriteCompressed()) {
+                // Imágenes de dos tonos casi uniformes: compresión rápida
+                parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                parametros.setCompressionQuality(0.75f);
+            }
+            escritor.setOutput(flujo);
+            escritor.write(null, new IIOImage(imagen, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+    }
+
+    /**
+     * Escribe las celdas como SVG, en flujo.
+     *
+     * @param celdas Celdas a dibujar
+     * @param tamanoPunto Diámetro del punto en píxeles (unidades del SVG)
+     * @param destino Destino del SVG; no se cierra
+     * @throws IOException si falla la escritura
+     */
+    public static void escribirSvg(CeldasBraille celdas, int tamanoPunto, Writer destino) throws IOException {
+        Glifos glifos = glifos(tamanoPunto);
+        int[] inicios = iniciosLinea(celdas);
+        int ancho = glifos.ancho(maximoCeldas(inicios));
+        int alto = glifos.alto(inicios.length - 1);
+
+        boolean[] usados = new boolean[256];
+        for (int i = 0; i < celdas.longitud(); i++) {
+            usados[celdas.mascara(i)] = true;
+        }
+        destino.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<svg xmlns=\"http://www.w3.org/2000/svg\" "
+                + "xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"" + ancho + "\" height=\"" + alto
+                + "\" viewBox=\"0 0 " + ancho + " " + alto + "\">\n<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>\n<defs>\n");
+        for (int mascara = 1; mascara < 256; mascara++) {
+            if (usados[mascara]) {
+                destino.write(glifos.simbolo(mascara));
+            }
+        }
+        destino.write("</defs>\n");
+
+        StringBuilder linea = new StringBuilder(256);
+        for (int l = 0; l + 1 < inicios.length; l++) {
+            linea.setLength(0);
+            int y = glifos.margen + l * glifos.avanceLinea;
+            for (int i = inicios[l]; i < inicios[l + 1]; i++) {
+                int mascara = celdas.mascara(i);
+                if (mascara != 0) {
+                    linea.append("<use xlink:href=\"#c").append(Integer.toHexString(mascara))
+                            .append("\" x=\"").append(glifos.margen + (i - inicios[l]) * glifos.avanceCelda)
+                            .append("\" y=\"").append(y).append("\"/>");
+                }
+            }
+            if (linea.length() > 0) {
+                destino.append(linea).append('\n');
+            }
+        }
+        destino.write("</svg>\n");
+    }
+
+    /**
+     * @return índice de la primera celda de cada línea y, al final, la cantidad de celdas
+     */
+    private static int[] iniciosLinea(CeldasBraille celdas) {
+        int lineas = celdas.numeroSaltos() + 1;
+        int[] inicios = new int[lineas + 1];
+        for (int k = 1; k < lineas; k++) {
+            inicios[k] = celdas.posicionSalto(k - 1);
+        }
+        inicios[lineas] = celdas.longitud();
+        return inicios;
+    }
+
+    private static int maximoCeldas(int[] inicios) {
+        int maximo = 0;
+        for (int l = 0; l + 1 < inicios.length; l++) {
+            maximo = Math.max(maximo, inicios[l + 1] - inicios[l]);
+        }
+        return maximo;
+    }
+
+    /**
+     * Geometría y glifos pre-dibujados de un tamaño de punto.
+     */
+    static final class Glifos {
+
+        /** Diámetro del punto. */
+        final int diametro;
+
+        /** Distancia entre centros de puntos de la misma celda. */
+        final int paso;
+
+        /** Ancho y alto del glifo: dos columnas y cuatro filas de puntos. */
+        final int anchoGlifo;
+        final int altoGlifo;
+
+        /** Distancia entre celdas consecutivas y entre líneas. */
+        final int avanceCelda;
+        final int avanceLinea;
+
+        /** Margen alrededor del texto. */
+        final int margen;
+
+        /** Píxeles de cada glifo en grises (0 negro, 255 blanco), fila a fila. */
+        private final byte[][] pixeles = new byte[256][];
+
+        /** Definición SVG de cada glifo. */
+        private final String[] simbolos = new String[256];
+
+        Glifos(int diametro) {
+            this.diametro = diametro;
+            this.paso = Math.round(diametro * 1.75f);
+            this.anchoGlifo = paso + diametro;
+            this.altoGlifo = 3 * paso + diametro;
+            this.avanceCelda = Math.max(Math.round(diametro * 4.2f), anchoGlifo + 1);
+            this.avanceLinea = Math.max(Math.round(diametro * 7f), altoGlifo + (diametro + 1) / 2);
+            this.margen = avanceCelda;
+
+            byte[] punto = dibujarPunto(diametro);
+            for (int mascara = 0; mascara < 256; mascara++) {
+                byte[] glifo = new byte[anchoGlifo * altoGlifo];
+                Arrays.fill(glifo, (byte) 0xFF);
+                StringBuilder simbolo = new StringBuilder("<symbol id=\"c").append(Integer.toHexString(mascara))
+                        .append("\" overflow=\"visible\">");
+                for (int bit = 0; bit < 8; bit++) {
+                    if ((mascara & (1 << bit)) != 0) {
+                        int columna = bit < 3 || bit == 6 ? 0 : 1;
+                        int fila = bit < 6 ? bit % 3 : 3;
+                        estampar(glifo, punto, columna * paso, fila * paso);
+                        float radio = diametro / 2f;
+                        simbolo.append("<circle cx=\"").append(columna * paso + radio)
+                                .append("\" cy=\"").append(fila * paso + radio)
+                                .append("\" r=\"").append(radio).append("\"/>");
+                    }
+                }
+                pixeles[mascara] = glifo;
+                simbolos[mascara] = simbolo.append("</symbol>\n").toString();
+            }
+        }
+
+        /**
+         * @return píxeles de un punto suavizado de {@code diametro} x {@code diametro}
+         */
+        private static byte[] dibujarPunto(int diametro) {
+            byte[] punto = new byte[diametro * diametro];
+            float radio = diametro / 2f;
+            float radio2 = radio * radio;
+            for (int y = 0; y < diametro; y++) {
+                for (int x = 0; x < diametro; x++) {
+                    int dentro = 0;
+                    for (int sy = 0; sy < SUBMUESTRAS; sy++) {
+                        for (int sx = 0; sx < SUBMUESTRAS; sx++) {
+                            float dx = x + (sx + 0.5f) / SUBMUESTRAS - radio;
+                            float dy = y + (sy + 0.5f) / SUBMUESTRAS - radio;
+                            if (dx * dx + dy * dy <= radio2) {
+                                dentro++;
+                            }
+                        }
+                    }
+                    punto[y * diametro + x] = (byte) (255 - dentro * 255 / (SUBMUESTRAS * SUBMUESTRAS));
+                }
+            }
+            return punto;
+        }
+
+        private void estampar(byte[] glifo, byte[] punto, int x0, int y0) {
+            for (int y = 0; y < diametro; y++) {
+                System.arraycopy(punto, y * diametro, glifo, (y0 + y) * anchoGlifo + x0, diametro);
+            }
+        }
+
+        int ancho(int celdasPorLinea) {
+            return 2 * margen + Math.max(0, celdasPorLinea - 1) * avanceCelda + anchoGlifo;
+        }
+
+        int alto(int lineas) {
+            return 2 * margen + Math.max(0, lineas - 1) * avanceLinea + altoGlifo;
+        }
+
+        byte[] pixeles(int mascara) {
+            return pixeles[mascara];
+        }
+
+        String simbolo(int mascara) {
+            return simbolos[mascara];
+        }
+    }
+
+    /**
+     * Dibuja un intervalo de líneas en sus filas de la trama, dividiéndolo en bandas
+     * mientras tenga suficientes celdas. Las bandas no comparten filas.
+     */
+    private static final class TareaBandas extends RecursiveAction {
+
+        private final CeldasBraille celdas;
+        private final int[] inicios;
+        private final Glifos glifos;
+        private final byte[] trama;
+        private final int ancho;
+        private final int desdeLinea;
+        private final int hastaLinea;
+
+        TareaBandas(CeldasBraille celdas, int[] inicios, Glifos glifos, byte[] trama, int ancho,
+                    int desdeLinea, int hastaLinea) {
+            this.celdas = celdas;
+            this.inicios = inicios;
+            this.glifos = glifos;
+            this.trama = trama;
+            this.ancho = ancho;
+            this.desdeLinea = desdeLinea;
+            this.hastaLinea = hastaLinea;
+        }
+
+        @Override
+        protected void compute() {
+            int cantidad = inicios[hastaLinea] - inicios[desdeLinea];
+            if (hastaLinea - desdeLinea < 2 || cantidad < 2 * CELDAS_MINIMAS_BANDA) {
+                dibujar();
+                return;
+            }
+            int medio = (desdeLinea + hastaLinea) >>> 1;
+            invokeAll(new TareaBandas(celdas, inicios, glifos, trama, ancho, desdeLinea, medio),
+                    new TareaBandas(celdas, inicios, glifos, trama, ancho, medio, hastaLinea));
+        }
+
+        /**
+         * Pinta de blanco las filas de la banda y copia en ellas el glifo de cada celda.
+         * La primera banda incluye el margen superior y la última el inferior.
+         */
+        void dibujar() {
+            int lineas = inicios.length - 1;
+            int filaDesde = desdeLinea == 0 ? 0 : glifos.margen + desdeLinea * glifos.avanceLinea;
+            int filaHasta = hastaLinea == lineas
+                    ? trama.length / ancho
+                    : glifos.margen + hastaLinea * glifos.avanceLinea;
+            Arrays.fill(trama, filaDesde * ancho, filaHasta * ancho, (byte) 0xFF);
+
+            int anchoGlifo = glifos.anchoGlifo;
+            for (int l = desdeLinea; l < hastaLinea; l++) {
+                int y = glifos.margen + l * glifos.avanceLinea;
+                for (int i = inicios[l]; i < inicios[l + 1]; i++) {
+                    int mascara = celdas.mascara(i);
+                    if (mascara == 0) {
+                        continue;
+                    }
+                    byte[] glifo = glifos.pixeles(mascara);
+                    int destino = y * ancho + glifos.margen + (i - inicios[l]) * glifos.avanceCelda;
+                    for (int fila = 0; fila < glifos.altoGlifo; fila++) {
+                        System.arraycopy(glifo, fila * anchoGlifo, trama, destino, anchoGlifo);
+                        destino += ancho;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package service;
 
+import dto.CampoRespuesta;
 import dto.SolicitudTraduccion;
 import dto.RespuestaTraduccion;
+import model.CeldasBraille;
 import model.DireccionTraduccion;
+import model.ErrorTraduccion;
+import model.TablasCompiladas;
 import model.Traduccion;
+import util.MapeadorBraille;
+import util.TablaBraille;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Servicio de aplicación para gestionar traducciones entre español y Braille.
@@ -36,11 +47,26 @@ import model.Traduccion;
  * 1. Recibe SolicitudTraduccion (DTO)
  * 2. Valida datos de entrada
  * 3. Convierte dirección String → Enum
- * 4. Crea instancia de Traduccion (dominio)
- * 5. Ejecuta traducción (delegación al dominio)
- * 6. Convierte resultado a RespuestaTraduccion (DTO)
- * 7. Maneja excepciones y retorna respuesta
+ * 4. Si la caché tiene el texto traducido con la tabla activa, lo retorna
+ * 5. Crea instancia de Traduccion (dominio)
+ * 6. Ejecuta traducción (delegación al dominio)
+ * 7. Convierte resultado a RespuestaTraduccion (DTO) y lo guarda en la caché
+ * 8. Deja solo los campos pedidos en la solicitud (calculando el espejo si se pidió)
+ * 9. Maneja excepciones y retorna respuesta
  * }</pre>
+ *
+ * <h2>Errores sin Excepciones</h2>
+ * <p>Los errores de la entrada (validación, dirección, campos y caracteres no soportados)
+ * no se lanzan: el dominio los devuelve como {@link ErrorTraduccion} y el servicio los
+ * convierte en una respuesta con {@code codigoError} y, si el error es de un carácter,
+ * {@code caracterError} y {@code posicionError}. Solo los errores inesperados pasan por
+ * excepciones.</p>
+ * 
+ * <h2>Caché de Resultados</h2>
+ * <p>Las traducciones exitosas se guardan en una {@link CacheTraducciones} acotada
+ * en bytes y con desalojo por frecuencia, compartida por defecto entre todas las
+ * instancias del servicio. Cada acierto devuelve una respuesta nueva, de modo que
+ * el llamador puede modificarla sin afectar a la caché.</p>
  * 
  * <h2>Ejemplo de Uso</h2>
  * <pre>{@code
@@ -66,6 +92,46 @@ import model.Traduccion;
  */
 public class ServicioTraduccionBraille {
 
+    /**
+     * Propiedad del sistema con el presupuesto en bytes de la caché compartida;
+     * {@code 0} la desactiva.
+     */
+    public static final String PROPIEDAD_CACHE = "braille.cache.bytes";
+
+    /** Presupuesto predeterminado de la caché compartida: 32 MiB. */
+    public static final long CAPACIDAD_CACHE_PREDETERMINADA = 32L << 20;
+
+    /**
+     * Caché compartida por todos los servicios creados con el constructor por defecto,
+     * de modo que los distintos servlets aprovechan las mismas traducciones.
+     */
+    private static final CacheTraducciones CACHE_COMPARTIDA = crearCacheCompartida();
+
+    /** Caché de resultados, o null si está desactivada. */
+    private final CacheTraducciones cache;
+
+    /**
+     * Crea un servicio que usa la caché compartida (si no está desactivada con
+     * {@link #PROPIEDAD_CACHE}).
+     */
+    public ServicioTraduccionBraille() {
+        this(CACHE_COMPARTIDA);
+    }
+
+    /**
+     * Crea un servicio con una caché propia.
+     *
+     * @param cache Caché de resultados, o null para traducir siempre
+     */
+    public ServicioTraduccionBraille(CacheTraducciones cache) {
+        this.cache = cache;
+    }
+
+    private static CacheTraducciones crearCacheCompartida() {
+        long capacidad = Long.getLong(PROPIEDAD_CACHE, CAPACIDAD_CACHE_PREDETERMINADA);
+        return capacidad > 0 ? new CacheTraducciones(capacidad) : null;
+    }
+
     /**
      * Procesa una solicitud de traducción completa de principio a fin.
      * 
@@ -85,10 +151,10 @@ public class ServicioTraduccionBraille {
      * 
      * <h3>Manejo de Errores</h3>
      * <ul>
-     *   <li><b>Errores de validación</b>: Retorna RespuestaTraduccion con exito=false
-     *       y mensaje específico del error de validación</li>
-     *   <li><b>Errores de dominio</b>: Captura excepciones del modelo de dominio
-     *       y las convierte en respuestas de error</li>
+     *   <li><b>Errores de validación</b>: Retorna RespuestaTraduccion con exito=false,
+     *       mensaje específico y código del error, sin lanzar excepciones</li>
+     *   <li><b>Errores de dominio</b>: El modelo los devuelve como {@link ErrorTraduccion}
+     *       y se convierten en respuestas de error con el carácter y su posición</li>
      *   <li><b>Errores inesperados</b>: Captura cualquier excepción no prevista
      *       y retorna mensaje genérico de error</li>
      * </ul>
@@ -104,14 +170,40 @@ public class ServicioTraduccionBraille {
     public RespuestaTraduccion procesarTraduccion(SolicitudTraduccion solicitud) {
         try {
             // Validar DTO de entrada
-            validarSolicitud(solicitud);
+            ErrorTraduccion error = validar(solicitud);
+            if (error != null) {
+                return respuestaError(error);
+            }
 
             // Convertir dirección de String a Enum
             DireccionTraduccion direccion = parsearDireccion(solicitud.getDireccion());
+            Set<CampoRespuesta> campos = CampoRespuesta.predeterminados();
+            if (solicitud.getCampos() != null) {
+                campos = EnumSet.noneOf(CampoRespuesta.class);
+                for (String nombre : solicitud.getCampos()) {
+                    CampoRespuesta campo = CampoRespuesta.buscar(nombre);
+                    if (campo == null) {
+                        return respuestaError(ErrorTraduccion.de(ErrorTraduccion.Codigo.CAMPO_DESCONOCIDO, nombre));
+                    }
+                    campos.add(campo);
+                }
+            }
+
+            // Reutilizar una traducción previa del mismo texto con la misma tabla
+            if (cache != null) {
+                RespuestaTraduccion guardada = cache.obtener(direccion, solicitud.getTexto(),
+                        MapeadorBraille.obtenerTabla().getVersion());
+                if (guardada != null) {
+                    return aplicarCampos(guardada, direccion, campos, null);
+                }
+            }
 
             // Crear y ejecutar la traducción (dominio)
             Traduccion traduccion = Traduccion.crear(solicitud.getTexto(), direccion);
-            traduccion.ejecutar();
+            error = traduccion.intentarEjecutar();
+            if (error != null) {
+                return respuestaError(error);
+            }
 
             // Convertir resultado del dominio a DTO de respuesta
             RespuestaTraduccion respuesta = new RespuestaTraduccion(
@@ -119,17 +211,14 @@ public class ServicioTraduccionBraille {
                     traduccion.getTextoTraducido(),
                     traduccion.getDireccion().toString()
             );
+            respuesta.setVersionTabla(traduccion.getVersionTabla());
 
-            // Si es traducción a Braille, incluir la versión en espejo para comparación
-            if (direccion == DireccionTraduccion.ESPANOL_A_BRAILLE) {
-                respuesta.setTextoEspejo(util.MapeadorBraille.espejarBraille(traduccion.getTextoTraducido()));
+            // La caché guarda solo el resultado; el espejo se deriva de él si se pide
+            if (cache != null) {
+                cache.guardar(direccion, solicitud.getTexto(), respuesta);
             }
 
-            return respuesta;
-
-        } catch (IllegalArgumentException e) {
-            // Error de validación
-            return new RespuestaTraduccion(false, e.getMessage());
+            return aplicarCampos(respuesta, direccion, campos, traduccion.getCeldasTraducidas());
 
         } catch (Exception e) {
             // Error inesperado
@@ -137,6 +226,137 @@ public class ServicioTraduccionBraille {
         }
     }
 
+    /**
+     * Traduce una solicitud hacia Braille y devuelve sus celdas, para los controladores
+     * que no responden con texto (celdas en binario, imágenes).
+     *
+     * <p>Aplica las mismas validaciones que {@link #procesarTraduccion}, rechaza las
+     * direcciones que producen español y no usa la caché, que solo guarda texto.</p>
+     *
+     * @param solicitud DTO de entrada; puede ser null
+     * @return Las celdas y la versión de la tabla usada, o la respuesta de error
+     */
+    public TraduccionCeldas traducirCeldas(SolicitudTraduccion solicitud) {
+        ErrorTraduccion error = validar(solicitud);
+        if (error != null) {
+            return new TraduccionCeldas(null, null, respuestaError(error));
+        }
+        DireccionTraduccion direccion = parsearDireccion(solicitud.getDireccion());
+        if (!direccion.esHaciaBraille()) {
+            return new TraduccionCeldas(null, null, respuestaError(
+                    ErrorTraduccion.de(ErrorTraduccion.Codigo.DIRECCION_SIN_CELDAS, solicitud.getDireccion())));
+        }
+        Traduccion traduccion = Traduccion.crear(solicitud.getTexto(), direccion);
+        error = traduccion.intentarEjecutar();
+        if (error != null) {
+            return new TraduccionCeldas(null, null, respuestaError(error));
+        }
+        return new TraduccionCeldas(traduccion.getCeldasTraducidas(), traduccion.getVersionTabla(), null);
+    }
+
+    /**
+     * Convierte un error de la entrada en una respuesta de error estructurada.
+     *
+     * @param error Error devuelto por la validación o por el dominio
+     * @return Respuesta con exito=false, mensaje, código y, si corresponde, carácter y posición
+     */
+    public static RespuestaTraduccion respuestaError(ErrorTraduccion error) {
+        RespuestaTraduccion respuesta = new RespuestaTraduccion(false, error.getMensaje());
+        respuesta.setCodigoError(error.getCodigo().name());
+        if (error.tieneCaracter()) {
+            respuesta.setCaracterError(String.valueOf(error.getCaracter()));
+            respuesta.setPosicionError(error.getPosicion());
+        }
+        return respuesta;
+    }
+
+    /**
+     * Deja en la respuesta solo los campos solicitados y calcula el espejo si se pidió.
+     *
+     * <p>Si es traducción a Braille ({@code ESPANOL_A_BRAILLE}) y se pide
+     * {@code textoEspejo}, se incluye la versión en espejo para comparación. Es el único
+     * campo que cuesta calcular, por lo que solo se calcula cuando se pide. Lo mismo
+     * ocurre con {@code celdas} en las direcciones hacia Braille: se codifican las celdas
+     * de la traducción y, si la respuesta viene de la caché, las del texto traducido.</p>
+     *
+     * @param respuesta Respuesta completa (sin espejo), que se modifica
+     * @param direccion Dirección de la traducción
+     * @param campos Campos solicitados
+     * @param celdas Celdas de la traducción recién hecha, o null si la respuesta viene de la caché
+     * @return La misma respuesta
+     */
+    private RespuestaTraduccion aplicarCampos(RespuestaTraduccion respuesta, DireccionTraduccion direccion,
+                                              Set<CampoRespuesta> campos, CeldasBraille celdas) {
+        respuesta.setVersionTablaUsada(respuesta.getVersionTabla());
+        if (campos.contains(CampoRespuesta.TEXTO_ESPEJO) && direccion == DireccionTraduccion.ESPANOL_A_BRAILLE) {
+            respuesta.setTextoEspejo(MapeadorBraille.espejarBraille(respuesta.getTextoTraducido()));
+        }
+        if (campos.contains(CampoRespuesta.CELDAS) && direccion.esHaciaBraille()) {
+            if (celdas == null) {
+                celdas = CeldasBraille.desdeUnicode(respuesta.getTextoTraducido());
+            }
+            byte[] binario = celdas.aBinario();
+            respuesta.setCeldas(Base64.getEncoder().encodeToString(binario));
+        }
+        if (!campos.contains(CampoRespuesta.TEXTO_ORIGINAL)) {
+            respuesta.setTextoOriginal(null);
+        }
+        if (!campos.contains(CampoRespuesta.TEXTO_TRADUCIDO)) {
+            respuesta.setTextoTraducido(null);
+        }
+        if (!campos.contains(CampoRespuesta.DIRECCION)) {
+            respuesta.setDireccion(null);
+        }
+        if (!campos.contains(CampoRespuesta.VERSION_TABLA)) {
+            respuesta.setVersionTabla(null);
+        }
+        return respuesta;
+    }
+
+    /**
+     * Obtiene los contadores de la caché de resultados.
+     *
+     * @return Estadísticas de la caché, o null si está desactivada
+     */
+    public CacheTraducciones.Estadisticas obtenerEstadisticasCache() {
+        return cache != null ? cache.estadisticas() : null;
+    }
+
+    /**
+     * Vuelve a leer la tabla Braille configurada y la publica como tabla activa.
+     *
+     * <p>La sustitución es atómica: las traducciones en curso terminan con la tabla
+     * anterior y las siguientes usan la nueva. Si la tabla no puede leerse o no es
+     * válida, la tabla activa no cambia.</p>
+     *
+     * @return La tabla publicada
+     * @throws IOException si el archivo de tabla no puede leerse
+     * @throws IllegalArgumentException si la tabla tiene errores de formato o es
+     *         incompatible con las contracciones
+     */
+    public TablaBraille recargarTabla() throws IOException {
+        TablaBraille tabla = MapeadorBraille.cargarTablaConfigurada();
+        TablasCompiladas.publicar(tabla);
+        return tabla;
+    }
+
+    /**
+     * Valida una solicitud sin traducirla: datos obligatorios y dirección.
+     *
+     * <p>Permite a los controladores que no responden con {@link RespuestaTraduccion}
+     * aplicar las mismas reglas de entrada; {@link #traducirCeldas} la usa.</p>
+     *
+     * @param solicitud DTO de entrada a validar
+     * @return null si la solicitud es válida, o el error
+     */
+    public ErrorTraduccion validar(SolicitudTraduccion solicitud) {
+        ErrorTraduccion error = validarSolicitud(solicitud);
+        if (error == null && parsearDireccion(solicitud.getDireccion()) == null) {
+            error = ErrorTraduccion.de(ErrorTraduccion.Codigo.DIRECCION_INVALIDA, solicitud.getDireccion());
+        }
+        return error;
+    }
+
     /**
      * Valida que la solicitud de traducción contenga todos los datos necesarios y válidos.
      * 
@@ -151,21 +371,21 @@ public class ServicioTraduccionBraille {
      * para garantizar que los datos de entrada sean consistentes y seguros.</p>
      * 
      * @param solicitud DTO de entrada a validar
-     * @throws IllegalArgumentException si alguna validación falla, con un mensaje
-     *         específico indicando qué campo es inválido
+     * @return null si la solicitud es válida, o el error indicando qué campo es inválido
      */
-    private void validarSolicitud(SolicitudTraduccion solicitud) {
+    private ErrorTraduccion validarSolicitud(SolicitudTraduccion solicitud) {
         if (solicitud == null) {
-            throw new IllegalArgumentException("La solicitud no puede ser nula");
+            return ErrorTraduccion.de(ErrorTraduccion.Codigo.SOLICITUD_NULA, null);
         }
 
         if (solicitud.getTexto() == null || solicitud.getTexto().trim().isEmpty()) {
-            throw new IllegalArgumentException("El texto no puede estar vacío");
+            return ErrorTraduccion.de(ErrorTraduccion.Codigo.TEXTO_VACIO, null);
         }
 
         if (solicitud.getDireccion() == null || solicitud.getDireccion().trim().isEmpty()) {
-            throw new IllegalArgumentException("La dirección es obligatoria");
+            return ErrorTraduccion.de(ErrorTraduccion.Codigo.DIRECCION_OBLIGATORIA, null);
         }
+        return null;
     }
 
     /**
@@ -179,6 +399,9 @@ public class ServicioTraduccionBraille {
      * <ul>
      *   <li><code>"ESPANOL_A_BRAILLE"</code> → {@link DireccionTraduccion#ESPANOL_A_BRAILLE}</li>
      *   <li><code>"BRAILLE_A_ESPANOL"</code> → {@link DireccionTraduccion#BRAILLE_A_ESPANOL}</li>
+     *   <li><code>"ESPANOL_A_BRAILLE_ESPEJO"</code> → {@link DireccionTraduccion#ESPANOL_A_BRAILLE_ESPEJO}</li>
+     *   <li><code>"ESPANOL_A_BRAILLE_CONTRAIDO"</code> → {@link DireccionTraduccion#ESPANOL_A_BRAILLE_CONTRAIDO}</li>
+     *   <li><code>"BRAILLE_CONTRAIDO_A_ESPANOL"</code> → {@link DireccionTraduccion#BRAILLE_CONTRAIDO_A_ESPANOL}</li>
      * </ul>
      * 
      * <p>La conversión distingue mayúsculas/minúsculas y debe coincidir exactamente
@@ -186,18 +409,46 @@ public class ServicioTraduccionBraille {
      * 
      * @param direccionStr representación en texto de la dirección, debe coincidir
      *                     exactamente con uno de los valores del enum
-     * @return el valor enum correspondiente a la cadena de entrada
-     * @throws IllegalArgumentException si direccionStr no coincide con ningún valor
-     *         válido del enum DireccionTraduccion. El mensaje de error incluye los
-     *         valores aceptados.
+     * @return el valor enum correspondiente a la cadena de entrada, o null si
+     *         direccionStr no coincide con ningún valor del enum DireccionTraduccion
      */
     private DireccionTraduccion parsearDireccion(String direccionStr) {
-        try {
-            return DireccionTraduccion.valueOf(direccionStr);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(
-                    "Dirección inválida. Use 'ESPANOL_A_BRAILLE', 'BRAILLE_A_ESPANOL' o 'ESPANOL_A_BRAILLE_ESPEJO'"
-            );
+        for (DireccionTraduccion direccion : DireccionTraduccion.values()) {
+            if (direccion.name().equals(direccionStr)) {
+                return direccion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resultado de {@link #traducirCeldas}: las celdas o el error, nunca ambos.
+     */
+    public static final class TraduccionCeldas {
+
+        private final CeldasBraille celdas;
+        private final String versionTabla;
+        private final RespuestaTraduccion error;
+
+        TraduccionCeldas(CeldasBraille celdas, String versionTabla, RespuestaTraduccion error) {
+            this.celdas = celdas;
+            this.versionTabla = versionTabla;
+            this.error = error;
+        }
+
+        /** @return celdas traducidas, o null si hubo error */
+        public CeldasBraille getCeldas() {
+            return celdas;
+        }
+
+        /** @return versión de la tabla usada, o null si hubo error */
+        public String getVersionTabla() {
+            return versionTabla;
+        }
+
+        /** @return respuesta de error lista para enviar, o null si la traducción se hizo */
+        public RespuestaTraduccion getError() {
+            return error;
         }
     }
-}
\ No newline at end of file
+}
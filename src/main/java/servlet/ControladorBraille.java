@@ -1,17 +1,46 @@
 package servlet;
 
-import com.google.gson.Gson;
+import dto.CodecJson;
 import dto.SolicitudTraduccion;
 import dto.RespuestaTraduccion;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import service.ServicioTraduccionBraille;
+import util.MapeadorBraille;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Controlador REST para el sistema de traducción español-Braille.
@@ -24,7 +53,7 @@ import java.io.IOException;
  * <h2>Arquitectura REST</h2>
  * <ul>
  *   <li><b>Endpoint</b>: {@code /api/traducir}</li>
- *   <li><b>Método HTTP</b>: POST (único método soportado para traducción)</li>
+ *   <li><b>Método HTTP</b>: POST, o GET con el texto en la URL (cacheable)</li>
  *   <li><b>Content-Type</b>: application/json; charset=UTF-8</li>
  *   <li><b>Formato de entrada</b>: JSON → {@link SolicitudTraduccion}</li>
  *   <li><b>Formato de salida</b>: JSON → {@link RespuestaTraduccion}</li>
@@ -48,15 +77,26 @@ import java.io.IOException;
  * <h2>Flujo de Procesamiento</h2>
  * <pre>{@code
  * 1. Cliente envía POST a /api/traducir con JSON
- * 2. Servlet lee cuerpo HTTP completo
- * 3. Deserializa JSON → SolicitudTraduccion (Gson)
- * 4. Valida que JSON no sea vacío o malformado
- * 5. Delega a servicioTraduccion.procesarTraduccion()
- * 6. Recibe RespuestaTraduccion del servicio
- * 7. Serializa RespuestaTraduccion → JSON (Gson)
+ * 2. Servlet pasa la petición a modo asíncrono y libera el hilo del contenedor
+ * 3. Lee el cuerpo sin bloquear a medida que llega (ReadListener)
+ * 4. En el ejecutor de traducción: deserializa JSON → SolicitudTraduccion (CodecJson)
+ * 5. Valida que JSON no sea vacío o malformado
+ * 6. Delega a servicioTraduccion.procesarTraduccion()
+ * 7. Serializa RespuestaTraduccion → JSON (CodecJson)
  * 8. Configura código HTTP (200 OK o 400 Bad Request)
- * 9. Envía respuesta JSON al cliente
+ * 9. Envía la respuesta sin bloquear a medida que el cliente la acepta (WriteListener)
  * }</pre>
+ *
+ * <h2>Procesamiento Asíncrono</h2>
+ * <p>Ningún hilo queda bloqueado esperando a un cliente lento: el contenedor solo
+ * interviene cuando hay datos que leer o espacio para escribir, y la traducción se
+ * ejecuta en un pool propio de {@code hilosTraduccion} hilos (por defecto uno por
+ * procesador, porque traducir usa CPU y no espera E/S). Así el número de conexiones
+ * simultáneas no está limitado por el pool de hilos del contenedor. Si la cola del
+ * pool está llena, la petición se rechaza con 503 en lugar de acumular trabajo. Una
+ * petición que no termina en {@code tiempoLimiteMs} milisegundos recibe un 503 en JSON;
+ * su traducción se cancela si aún esperaba en la cola y, si ya estaba en curso, termina
+ * y su resultado se descarta.</p>
  * 
  * <h2>Formato de Request JSON</h2>
  * <pre>{@code
@@ -73,6 +113,7 @@ import java.io.IOException;
  *   "textoOriginal": "Hola mundo",
  *   "textoTraducido": "⠠⠓⠕⠇⠁ ⠍⠥⠝⠙⠕",
  *   "direccion": "ESPANOL_A_BRAILLE",
+ *   "versionTabla": "espanol-aa0413af9cb51cfc",
  *   "error": null
  * }
  * }</pre>
@@ -92,8 +133,12 @@ import java.io.IOException;
  * <ul>
  *   <li><b>200 OK</b>: Traducción exitosa</li>
  *   <li><b>400 Bad Request</b>: Error de validación o JSON malformado</li>
- *   <li><b>405 Method Not Allowed</b>: Método HTTP no soportado (GET, DELETE, etc.)</li>
+ *   <li><b>304 Not Modified</b>: GET con {@code If-None-Match} igual al ETag vigente</li>
+ *   <li><b>405 Method Not Allowed</b>: Método HTTP no soportado (DELETE, etc.)</li>
+ *   <li><b>413 Payload Too Large</b>: El cuerpo del POST supera {@code tamanoMaximoCuerpo} bytes</li>
  *   <li><b>500 Internal Server Error</b>: Error inesperado del servidor</li>
+ *   <li><b>503 Service Unavailable</b>: El pool de traducción está saturado o la
+ *       petición superó el tiempo límite</li>
  * </ul>
  * 
  * <h2>Ejemplo de Petición con cURL</h2>
@@ -103,17 +148,39 @@ import java.io.IOException;
  *   -d '{"texto":"Hola mundo","direccion":"ESPANOL_A_BRAILLE"}'
  * }</pre>
  * 
+ * <h2>GET y Caché HTTP</h2>
+ * <p>La traducción es una función pura del texto, la dirección, los campos pedidos y la
+ * tabla Braille. Por eso {@code GET /api/traducir?texto=...&direccion=...&campos=a,b}
+ * devuelve la misma respuesta que el POST equivalente con un ETag fuerte, calculado a
+ * partir de un SHA-256 de esos datos y de la
+ * {@linkplain util.TablaBraille#getVersion() versión de la tabla} con la que se tradujo,
+ * y con {@code Cache-Control: public, max-age=segundosCache} (parámetro de inicio, por
+ * defecto {@value #SEGUNDOS_CACHE_PREDETERMINADO}). Si la petición trae
+ * {@code If-None-Match} con el ETag de la tabla vigente se responde 304 sin traducir ni
+ * leer la caché de resultados, de modo que un proxy inverso o el navegador absorben las
+ * repeticiones. Recargar otra tabla cambia todos los ETag; como el de la respuesta se
+ * calcula después de traducir, una recarga durante la traducción no lo deja asociado a
+ * la tabla equivocada. Las respuestas de error no llevan validadores.</p>
+ *
  * <h2>Inyección de Dependencias</h2>
  * <p>El servlet utiliza inyección manual de dependencias en el método {@link #init()}.
  * Las dependencias son:</p>
  * <ul>
  *   <li>{@link ServicioTraduccionBraille} - Servicio de aplicación</li>
- *   <li>{@link Gson} - Biblioteca de serialización/deserialización JSON</li>
+ *   <li>{@link CodecJson} - Lectura y escritura JSON en flujo, sin reflexión</li>
  * </ul>
  * 
  * <p>En una aplicación empresarial, se podría reemplazar con un framework de DI
  * como Spring, CDI o Guice.</p>
  * 
+ * <h2>Recarga de la Tabla Braille</h2>
+ * <p>Si la tabla se lee de un archivo ({@code -Dbraille.tabla=...}), un hilo en
+ * segundo plano comprueba su fecha de modificación cada
+ * {@value #INTERVALO_RECARGA_PREDETERMINADO} segundos (parámetro de inicio
+ * {@code intervaloRecargaTabla}; {@code 0} lo desactiva) y, si cambió, la recarga y
+ * la publica sin reiniciar el servlet. Una tabla con errores se registra en el log
+ * y la anterior sigue activa.</p>
+ * 
  * @author Sistema de Traducción Braille
  * @version 1.0
  * @since 1.0
@@ -121,14 +188,54 @@ import java.io.IOException;
  * @see SolicitudTraduccion
  * @see RespuestaTraduccion
  */
-@WebServlet(name = "ControladorBraille", urlPatterns = {"/api/traducir"})
+@WebServlet(name = "ControladorBraille", urlPatterns = {"/api/traducir"}, asyncSupported = true)
 public class ControladorBraille extends HttpServlet {
 
     /** Servicio de aplicación para procesar traducciones */
     private ServicioTraduccionBraille servicioTraduccion;
     
-    /** Biblioteca Gson para serialización/deserialización JSON */
-    private Gson gson;
+
+    /** Segundos entre comprobaciones del archivo de tabla si no se configura otro valor */
+    static final int INTERVALO_RECARGA_PREDETERMINADO = 5;
+
+    /** Hilo que vigila el archivo de tabla, o null si la tabla viene del classpath */
+    private ScheduledExecutorService vigilanteTabla;
+
+    /** Fecha de modificación del archivo de tabla publicado */
+    private FileTime modificacionTabla;
+
+    /** Milisegundos que puede durar una petición asíncrona si no se configura otro valor */
+    static final int TIEMPO_LIMITE_PREDETERMINADO = 30_000;
+
+    /** Traducciones que pueden esperar en cola por cada hilo del pool */
+    private static final int COLA_POR_HILO = 64;
+
+    /** Bytes que se leen o escriben en cada llamada al flujo de la petición */
+    private static final int TAMANO_BLOQUE = 8192;
+
+    /** Bytes que puede ocupar el cuerpo de un POST si no se configura otro valor */
+    static final int TAMANO_MAXIMO_CUERPO_PREDETERMINADO = 16 << 20;
+
+    /** Pool en el que se traducen las peticiones, fuera de los hilos del contenedor */
+    private ExecutorService ejecutorTraduccion;
+
+    /** Bytes que puede ocupar el cuerpo de un POST */
+    private int tamanoMaximoCuerpo;
+
+    /** Milisegundos antes de responder 503 a una petición asíncrona y cancelar su traducción */
+    private long tiempoLimite;
+
+    /** Segundos que un cliente o proxy puede reutilizar una respuesta GET si no se configura otro valor */
+    static final int SEGUNDOS_CACHE_PREDETERMINADO = 300;
+
+    /**
+     * Versión del formato JSON de las respuestas, incluida en el ETag para que un cambio
+     * en la serialización invalide las copias guardadas.
+     */
+    private static final String FORMATO_RESPUESTA = "1";
+
+    /** Valor de {@code Cache-Control} de las respuestas GET exitosas */
+    private String controlCache;
 
     /**
      * Inicializa el servlet y sus dependencias.
@@ -138,26 +245,142 @@ public class ControladorBraille extends HttpServlet {
      * de dependencias creando instancias de:</p>
      * <ul>
      *   <li>{@link ServicioTraduccionBraille} - Servicio de negocio</li>
-     *   <li>{@link Gson} - Procesador JSON con configuración por defecto</li>
+     *   <li>Pool de hilos en el que se ejecutan las traducciones</li>
      * </ul>
+     *
+     * <p>También fuerza la carga de la tabla Braille y registra en el log del
+     * contenedor su origen y tiempo de compilación.</p>
      * 
      * @throws ServletException si ocurre un error durante la inicialización
+     *         o la tabla Braille no puede cargarse
      */
     @Override
     public void init() throws ServletException {
         super.init();
         // Inyección manual de dependencias (se puede mejorar con DI framework)
         this.servicioTraduccion = new ServicioTraduccionBraille();
-        this.gson = new Gson();
+
+        // Compilar la tabla al arrancar y no en la primera petición
+        try {
+            log(MapeadorBraille.obtenerTabla().informe());
+        } catch (ExceptionInInitializerError e) {
+            throw new ServletException("No se pudo cargar la tabla Braille", e.getCause());
+        }
+        iniciarVigilanteTabla();
+        iniciarEjecutorTraduccion();
+        this.controlCache = "public, max-age=" + parametroPositivo("segundosCache", SEGUNDOS_CACHE_PREDETERMINADO);
     }
 
     /**
-     * Maneja peticiones HTTP GET.
-     * 
-     * <p>El método GET no está soportado para este endpoint, ya que la traducción
-     * requiere envío de datos en el cuerpo de la petición (JSON). Retorna un
-     * código 405 Method Not Allowed.</p>
-     * 
+     * Detiene el pool de traducción y el hilo que vigila el archivo de tabla, y
+     * registra el uso de la caché.
+     */
+    @Override
+    public void destroy() {
+        if (ejecutorTraduccion != null) {
+            ejecutorTraduccion.shutdown();
+        }
+        if (vigilanteTabla != null) {
+            vigilanteTabla.shutdownNow();
+        }
+        if (servicioTraduccion != null && servicioTraduccion.obtenerEstadisticasCache() != null) {
+            log(servicioTraduccion.obtenerEstadisticasCache().toString());
+        }
+        super.destroy();
+    }
+
+    /**
+     * Programa la comprobación periódica del archivo de tabla, si lo hay.
+     */
+    private void iniciarVigilanteTabla() throws ServletException {
+        Path archivo = MapeadorBraille.obtenerArchivoTabla();
+        String parametro = getInitParameter("intervaloRecargaTabla");
+        int intervalo;
+        try {
+            intervalo = parametro != null ? Integer.parseInt(parametro.trim()) : INTERVALO_RECARGA_PREDETERMINADO;
+        } catch (NumberFormatException e) {
+            throw new ServletException("intervaloRecargaTabla no es un número: " + parametro, e);
+        }
+        if (archivo == null || intervalo <= 0) {
+            return;
+        }
+        try {
+            modificacionTabla = Files.getLastModifiedTime(archivo);
+        } catch (IOException e) {
+            log("No se pudo leer la fecha del archivo de tabla " + archivo, e);
+        }
+        vigilanteTabla = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "vigilante-tabla-braille");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        vigilanteTabla.scheduleWithFixedDelay(() -> comprobarTabla(archivo),
+                intervalo, intervalo, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Crea el pool acotado que ejecuta las traducciones.
+     */
+    private void iniciarEjecutorTraduccion() throws ServletException {
+        int hilos = parametroPositivo("hilosTraduccion", Runtime.getRuntime().availableProcessors());
+        this.tiempoLimite = parametroPositivo("tiempoLimiteMs", TIEMPO_LIMITE_PREDETERMINADO);
+        this.tamanoMaximoCuerpo = parametroPositivo("tamanoMaximoCuerpo", TAMANO_MAXIMO_CUERPO_PREDETERMINADO);
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(hilos, hilos, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(hilos * COLA_POR_HILO), tarea -> {
+                    Thread hilo = new Thread(tarea, "traduccion-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.ejecutorTraduccion = pool;
+    }
+
+    private int parametroPositivo(String nombre, int predeterminado) throws ServletException {
+        String valor = getInitParameter(nombre);
+        if (valor == null) {
+            return predeterminado;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero > 0) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // se informa abajo
+        }
+        throw new ServletException("El parámetro " + nombre + " debe ser un entero positivo: " + valor);
+    }
+
+    /**
+     * Recarga la tabla si el archivo cambió desde la última publicación.
+     *
+     * <p>Los errores se registran y no detienen la vigilancia; la tabla activa solo
+     * cambia si la nueva se compila sin errores.</p>
+     */
+    private void comprobarTabla(Path archivo) {
+        try {
+            FileTime modificacion = Files.getLastModifiedTime(archivo);
+            if (modificacion.equals(modificacionTabla)) {
+                return;
+            }
+            modificacionTabla = modificacion;
+            log("Tabla recargada. " + servicioTraduccion.recargarTabla().informe());
+        } catch (IOException | RuntimeException e) {
+            log("No se pudo recargar la tabla Braille; se mantiene la versión "
+                    + MapeadorBraille.obtenerTabla().getVersion(), e);
+        }
+    }
+
+    /**
+     * Maneja peticiones HTTP GET con el texto y la dirección en la URL.
+     *
+     * <p>Parámetros: {@code texto}, {@code direccion} y, opcionalmente, {@code campos}
+     * separados por comas. Si la solicitud es válida se calcula su ETag; cuando coincide
+     * con {@code If-None-Match} se responde 304 en el hilo del contenedor. En otro caso
+     * la traducción sigue el mismo camino asíncrono que el POST y la respuesta exitosa
+     * lleva {@code ETag} y {@code Cache-Control}.</p>
+     *
      * @param req objeto HttpServletRequest con la petición del cliente
      * @param resp objeto HttpServletResponse para enviar la respuesta
      * @throws ServletException si ocurre un error de servlet
@@ -167,8 +390,88 @@ public class ControladorBraille extends HttpServlet {
     protected void doGet(HttpServletRequest req, HttpServletResponse resp)
             throws ServletException, IOException {
         configurarRespuesta(resp);
-        enviarRespuestaError(resp, HttpServletResponse.SC_METHOD_NOT_ALLOWED,
-                "Método GET no soportado. Use POST para traducir");
+        SolicitudTraduccion solicitud = new SolicitudTraduccion(req.getParameter("texto"), req.getParameter("direccion"));
+        String campos = req.getParameter("campos");
+        if (campos != null) {
+            solicitud.setCampos(campos.isEmpty() ? List.of() : Arrays.asList(campos.split(",", -1)));
+        }
+
+        boolean valida = servicioTraduccion.validar(solicitud) == null;
+        String condicion = req.getHeader("If-None-Match");
+        if (valida && condicion != null) {
+            String etag = calcularEtag(MapeadorBraille.obtenerTabla().getVersion(), solicitud);
+            if (coincideEtag(condicion, etag)) {
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                resp.setHeader("ETag", etag);
+                resp.setHeader("Cache-Control", controlCache);
+                return;
+            }
+        }
+
+        PeticionAsincrona peticion = new PeticionAsincrona(req.startAsync(req, resp));
+        try {
+            peticion.ejecutar(() -> traducir(peticion, solicitud, valida));
+        } catch (RejectedExecutionException e) {
+            enviarRespuesta(peticion, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    new RespuestaTraduccion(false, "Servidor ocupado, intente de nuevo en unos segundos"));
+        }
+    }
+
+    /**
+     * Calcula el ETag fuerte de una solicitud: la versión de la tabla y un SHA-256 de la
+     * dirección, los campos pedidos y el texto. Dos solicitudes con el mismo ETag producen
+     * exactamente la misma respuesta.
+     *
+     * @param versionTabla versión de la tabla Braille activa
+     * @param solicitud solicitud ya validada
+     * @return ETag entre comillas, listo para la cabecera
+     */
+    static String calcularEtag(String versionTabla, SolicitudTraduccion solicitud) {
+        MessageDigest resumen;
+        try {
+            resumen = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todas las JVM deben incluir SHA-256
+            throw new IllegalStateException(e);
+        }
+        resumen.update((FORMATO_RESPUESTA + '\0' + solicitud.getDireccion() + '\0').getBytes(StandardCharsets.UTF_8));
+        if (solicitud.getCampos() != null) {
+            for (String campo : solicitud.getCampos()) {
+                // Con la longitud delante, ["a,b"] y ["a", "b"] no producen el mismo resumen
+                resumen.update((campo.length() + ":" + campo).getBytes(StandardCharsets.UTF_8));
+            }
+        } else {
+            resumen.update((byte) 1);
+        }
+        resumen.update((byte) 0);
+        resumen.update(solicitud.getTexto().getBytes(StandardCharsets.UTF_8));
+        byte[] huella = Arrays.copyOf(resumen.digest(), 16);
+        return '"' + versionTabla + '-' + HexFormat.of().formatHex(huella) + '"';
+    }
+
+    /**
+     * Compara una cabecera {@code If-None-Match} con un ETag. Como indica el RFC 9110,
+     * la comparación es débil (se ignora el prefijo {@code W/}) y {@code *} coincide
+     * con cualquier representación.
+     *
+     * @param cabecera valor de {@code If-None-Match}, o null
+     * @param etag ETag vigente
+     * @return true si el cliente ya tiene esta respuesta
+     */
+    static boolean coincideEtag(String cabecera, String etag) {
+        if (cabecera == null) {
+            return false;
+        }
+        for (String candidato : cabecera.split(",")) {
+            candidato = candidato.trim();
+            if (candidato.startsWith("W/")) {
+                candidato = candidato.substring(2);
+            }
+            if (candidato.equals(etag) || candidato.equals("*")) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -181,7 +484,11 @@ public class ControladorBraille extends HttpServlet {
      * <h3>Proceso</h3>
      * <ol>
      *   <li>Configura headers de respuesta (Content-Type: application/json)</li>
-     *   <li>Delega a {@link #manejarTraduccion(HttpServletRequest, HttpServletResponse)}</li>
+     *   <li>Responde 413 si {@code Content-Length} supera {@code tamanoMaximoCuerpo}</li>
+     *   <li>Pasa la petición a modo asíncrono y registra un {@link ReadListener} que
+     *       acumula el cuerpo; el hilo del contenedor vuelve al pool de inmediato</li>
+     *   <li>Con el cuerpo completo, envía {@link #manejarTraduccion(PeticionAsincrona, InputStream, String)}
+     *       al pool de traducción</li>
      * </ol>
      * 
      * @param req objeto HttpServletRequest con la petición del cliente, debe contener
@@ -194,7 +501,14 @@ public class ControladorBraille extends HttpServlet {
     protected void doPost(HttpServletRequest req, HttpServletResponse resp)
             throws ServletException, IOException {
         configurarRespuesta(resp);
-        manejarTraduccion(req, resp);
+        if (req.getContentLengthLong() > tamanoMaximoCuerpo) {
+            enviarRespuestaError(resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "El cuerpo supera el máximo de " + tamanoMaximoCuerpo + " bytes");
+            return;
+        }
+        PeticionAsincrona peticion = new PeticionAsincrona(req.startAsync(req, resp));
+        ServletInputStream entrada = req.getInputStream();
+        entrada.setReadListener(new LectorCuerpo(peticion, entrada, req.getCharacterEncoding()));
     }
 
     /**
@@ -240,123 +554,130 @@ public class ControladorBraille extends HttpServlet {
      * <p>Este método implementa el patrón de flujo:</p>
      * <pre>Deserializar → Validar → Delegar → Serializar</pre>
      * 
+     * <p>Se ejecuta en el pool de traducción, con el cuerpo ya leído por completo.</p>
+     * 
      * <h3>Pasos Detallados</h3>
      * <ol>
-     *   <li>Deserializar JSON a {@link SolicitudTraduccion} usando Gson</li>
+     *   <li>Deserializar JSON a {@link SolicitudTraduccion} usando {@link CodecJson}</li>
      *   <li>Validar que el JSON no sea nulo o vacío (validación de formato)</li>
      *   <li>Delegar procesamiento a {@link ServicioTraduccionBraille#procesarTraduccion(SolicitudTraduccion)}</li>
      *   <li>Recibir {@link RespuestaTraduccion} del servicio</li>
-     *   <li>Serializar respuesta a JSON y enviar al cliente</li>
+     *   <li>Serializar respuesta a JSON y enviarla sin bloquear</li>
      *   <li>En caso de excepción, capturar y enviar respuesta de error HTTP 500</li>
      * </ol>
      * 
      * <h3>Manejo de Errores</h3>
      * <ul>
-     *   <li><b>JSON vacío o nulo</b>: HTTP 400 Bad Request</li>
+     *   <li><b>JSON vacío, nulo o malformado</b>: HTTP 400 Bad Request</li>
      *   <li><b>Error de validación de negocio</b>: HTTP 400 Bad Request (manejado por servicio)</li>
      *   <li><b>Excepción no esperada</b>: HTTP 500 Internal Server Error</li>
      * </ul>
      * 
-     * @param req objeto HttpServletRequest con el JSON de entrada en el cuerpo
-     * @param resp objeto HttpServletResponse para enviar la respuesta JSON
-     * @throws IOException si ocurre un error al leer o escribir datos
+     * @param peticion petición asíncrona
+     * @param cuerpoJson cuerpo completo de la petición
+     * @param codificacion codificación declarada del cuerpo, o null para UTF-8
      */
-    private void manejarTraduccion(HttpServletRequest req, HttpServletResponse resp)
-            throws IOException {
+    private void manejarTraduccion(PeticionAsincrona peticion, InputStream cuerpoJson, String codificacion) {
+        SolicitudTraduccion solicitud;
         try {
             // 1. Deserializar DTO de entrada
-            SolicitudTraduccion solicitud = deserializarSolicitud(req);
+            try {
+                solicitud = CodecJson.leerSolicitud(cuerpoJson, codificacion);
+            } catch (IllegalArgumentException e) {
+                enviarRespuesta(peticion, HttpServletResponse.SC_BAD_REQUEST,
+                        new RespuestaTraduccion(false, e.getMessage()));
+                return;
+            }
 
             // 2. Validación básica del controlador (solo formato)
             if (solicitud == null) {
-                enviarRespuestaError(resp, HttpServletResponse.SC_BAD_REQUEST,
-                        "JSON inválido o vacío");
+                enviarRespuesta(peticion, HttpServletResponse.SC_BAD_REQUEST,
+                        new RespuestaTraduccion(false, "JSON inválido o vacío"));
                 return;
             }
 
-            // 3. Delegar al servicio (inversión de dependencia)
-            RespuestaTraduccion respuesta = servicioTraduccion.procesarTraduccion(solicitud);
-
-            // 4. Serializar y enviar respuesta
-            enviarRespuesta(resp, respuesta);
-
         } catch (Exception e) {
             // Manejo de errores no esperados
-            enviarRespuestaError(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-                    "Error interno del servidor: " + e.getMessage());
+            enviarRespuesta(peticion, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    new RespuestaTraduccion(false, "Error interno del servidor: " + e.getMessage()));
+            return;
         }
+
+        // 3. Delegar al servicio (inversión de dependencia)
+        traducir(peticion, solicitud, false);
     }
 
     /**
-     * Deserializa el cuerpo de la petición HTTP (JSON) a un objeto {@link SolicitudTraduccion}.
-     * 
-     * <p>Lee el cuerpo completo de la petición línea por línea y utiliza Gson
-     * para convertir el JSON a un POJO. Maneja el cierre automático del BufferedReader
-     * mediante try-with-resources.</p>
-     * 
-     * <h3>Proceso de Lectura</h3>
-     * <ol>
-     *   <li>Obtiene BufferedReader del request</li>
-     *   <li>Lee todas las líneas del cuerpo</li>
-     *   <li>Concatena líneas en un StringBuilder</li>
-     *   <li>Si el cuerpo está vacío, retorna null</li>
-     *   <li>Deserializa JSON usando Gson</li>
-     * </ol>
-     * 
-     * @param req objeto HttpServletRequest del cual leer el cuerpo JSON
-     * @return objeto SolicitudTraduccion deserializado, o null si el cuerpo está vacío
-     * @throws IOException si ocurre un error al leer el cuerpo de la petición
+     * Traduce una solicitud ya leída y envía la respuesta, con código HTTP según el
+     * resultado. Se ejecuta en el pool de traducción.
+     *
+     * @param peticion petición asíncrona
+     * @param solicitud solicitud a traducir
+     * @param validadores si la respuesta exitosa lleva {@code ETag} y {@code Cache-Control}
+     *                    (peticiones GET válidas)
      */
-    private SolicitudTraduccion deserializarSolicitud(HttpServletRequest req) throws IOException {
-        StringBuilder cuerpoJson = new StringBuilder();
-        String linea;
-
-        try (BufferedReader reader = req.getReader()) {
-            while ((linea = reader.readLine()) != null) {
-                cuerpoJson.append(linea);
-            }
+    private void traducir(PeticionAsincrona peticion, SolicitudTraduccion solicitud, boolean validadores) {
+        RespuestaTraduccion respuesta;
+        try {
+            respuesta = servicioTraduccion.procesarTraduccion(solicitud);
+        } catch (Exception e) {
+            enviarRespuesta(peticion, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    new RespuestaTraduccion(false, "Error interno del servidor: " + e.getMessage()));
+            return;
         }
 
-        if (cuerpoJson.length() == 0) {
-            return null;
+        // 4. Serializar y enviar respuesta (código HTTP según el resultado)
+        if (respuesta.isExito() && validadores && !peticion.respondida()) {
+            // La versión con la que se tradujo, no la vigente: pudo recargarse entretanto
+            HttpServletResponse resp = (HttpServletResponse) peticion.asincrono.getResponse();
+            resp.setHeader("ETag", calcularEtag(respuesta.getVersionTablaUsada(), solicitud));
+            resp.setHeader("Cache-Control", controlCache);
         }
-
-        return gson.fromJson(cuerpoJson.toString(), SolicitudTraduccion.class);
+        int codigoEstado = respuesta.isExito()
+                ? HttpServletResponse.SC_OK
+                : HttpServletResponse.SC_BAD_REQUEST;
+        enviarRespuesta(peticion, codigoEstado, respuesta);
     }
 
     /**
-     * Envía una respuesta JSON al cliente, tanto para casos de éxito como de error de negocio.
-     * 
-     * <p>Determina automáticamente el código de estado HTTP basándose en el campo
-     * {@code exito} de la respuesta:</p>
-     * <ul>
-     *   <li>Si {@code respuesta.isExito() == true}: HTTP 200 OK</li>
-     *   <li>Si {@code respuesta.isExito() == false}: HTTP 400 Bad Request</li>
-     * </ul>
+     * Envía una respuesta JSON al cliente sin bloquear y completa la petición asíncrona.
      * 
      * <p>El objeto {@link RespuestaTraduccion} se serializa completamente a JSON,
-     * incluyendo todos sus campos (exito, textoOriginal, textoTraducido, direccion, error).</p>
+     * incluyendo todos sus campos (exito, textoOriginal, textoTraducido, direccion, error),
+     * y un {@link WriteListener} lo escribe a medida que el cliente lo acepta.</p>
+     * 
+     * <p>Si la petición ya expiró o el cliente se desconectó, la respuesta se descarta.</p>
      * 
-     * @param resp objeto HttpServletResponse para escribir la respuesta
+     * @param peticion petición asíncrona
+     * @param codigoEstado código de estado HTTP
      * @param respuesta objeto RespuestaTraduccion a serializar y enviar
-     * @throws IOException si ocurre un error al escribir la respuesta
      */
-    private void enviarRespuesta(HttpServletResponse resp, RespuestaTraduccion respuesta)
-            throws IOException {
-        // Determinar código HTTP según el resultado
-        int codigoEstado = respuesta.isExito()
-                ? HttpServletResponse.SC_OK
-                : HttpServletResponse.SC_BAD_REQUEST;
-
-        resp.setStatus(codigoEstado);
-        resp.getWriter().write(gson.toJson(respuesta));
+    private void enviarRespuesta(PeticionAsincrona peticion, int codigoEstado, RespuestaTraduccion respuesta) {
+        if (!peticion.marcarRespondida()) {
+            // Ya se respondió por tiempo límite o error de conexión
+            return;
+        }
+        AsyncContext asincrono = peticion.asincrono;
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream(256);
+            CodecJson.escribir(respuesta, json);
+            byte[] datos = json.toByteArray();
+            HttpServletResponse resp = (HttpServletResponse) asincrono.getResponse();
+            resp.setStatus(codigoEstado);
+            resp.setContentLength(datos.length);
+            ServletOutputStream salida = resp.getOutputStream();
+            salida.setWriteListener(new EscritorRespuesta(asincrono, salida, datos));
+        } catch (IOException | IllegalStateException e) {
+            // La petición expiró o la conexión se cerró mientras se traducía
+            log("No se pudo enviar la respuesta de traducción", e);
+        }
     }
 
     /**
      * Envía una respuesta de error HTTP con un código de estado específico.
      * 
      * <p>Crea un {@link RespuestaTraduccion} de error con {@code exito=false} y
-     * el mensaje de error proporcionado, luego lo serializa a JSON.</p>
+     * el mensaje de error proporcionado, luego lo serializa a JSON con {@link CodecJson}.</p>
      * 
      * <p>Se utiliza para errores HTTP como:</p>
      * <ul>
@@ -374,6 +695,188 @@ public class ControladorBraille extends HttpServlet {
             throws IOException {
         RespuestaTraduccion error = new RespuestaTraduccion(false, mensaje);
         resp.setStatus(codigoEstado);
-        resp.getWriter().write(gson.toJson(error));
+        CodecJson.escribir(error, resp.getOutputStream());
+    }
+
+    /**
+     * Estado de una petición asíncrona: su contexto, la tarea de traducción y si ya se
+     * respondió. Al vencer el tiempo límite cancela la tarea, si aún no empezó, y
+     * responde 503; la respuesta que llegue después de la traducción se descarta.
+     */
+    private final class PeticionAsincrona implements AsyncListener {
+
+        final AsyncContext asincrono;
+        private final AtomicBoolean respondida = new AtomicBoolean();
+        private volatile Future<?> tarea;
+
+        PeticionAsincrona(AsyncContext asincrono) {
+            this.asincrono = asincrono;
+            asincrono.setTimeout(tiempoLimite);
+            asincrono.addListener(this);
+        }
+
+        /**
+         * Envía el trabajo al pool de traducción.
+         *
+         * @throws RejectedExecutionException si la cola del pool está llena
+         */
+        void ejecutar(Runnable trabajo) {
+            tarea = ejecutorTraduccion.submit(trabajo);
+            if (respondida.get()) {
+                // Venció mientras se encolaba
+                tarea.cancel(true);
+            }
+        }
+
+        /**
+         * @return true si esta llamada es la primera en responder a la petición
+         */
+        boolean marcarRespondida() {
+            return respondida.compareAndSet(false, true);
+        }
+
+        boolean respondida() {
+            return respondida.get();
+        }
+
+        private void cancelar() {
+            Future<?> enCurso = tarea;
+            if (enCurso != null) {
+                enCurso.cancel(true);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent evento) throws IOException {
+            cancelar();
+            if (marcarRespondida()) {
+                HttpServletResponse resp = (HttpServletResponse) asincrono.getResponse();
+                resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                CodecJson.escribir(new RespuestaTraduccion(false,
+                        "La traducción superó el tiempo límite de " + tiempoLimite + " ms"), resp.getOutputStream());
+            }
+            asincrono.complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent evento) {
+            respondida.set(true);
+            cancelar();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent evento) {
+            respondida.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent evento) {
+            // Cada petición se pasa a modo asíncrono una sola vez
+        }
+    }
+
+    /**
+     * Acumula el cuerpo de la petición a medida que llega y, cuando está completo,
+     * envía la traducción al pool. El contenedor invoca sus métodos de uno en uno.
+     *
+     * <p>Sin {@code Content-Length} (cuerpo por bloques) el tamaño solo se conoce al
+     * leerlo: en cuanto supera {@code tamanoMaximoCuerpo} se deja de leer y se responde
+     * 413.</p>
+     */
+    private final class LectorCuerpo implements ReadListener {
+
+        private final PeticionAsincrona peticion;
+        private final ServletInputStream entrada;
+        private byte[] cuerpo = new byte[TAMANO_BLOQUE];
+        private int longitud;
+        private final String codificacion;
+        private boolean excedido;
+
+        LectorCuerpo(PeticionAsincrona peticion, ServletInputStream entrada, String codificacion) {
+            this.peticion = peticion;
+            this.entrada = entrada;
+            this.codificacion = codificacion;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            int leidos;
+            while (!excedido && entrada.isReady()) {
+                if (longitud == cuerpo.length) {
+                    cuerpo = Arrays.copyOf(cuerpo, (int) Math.min((long) longitud << 1, tamanoMaximoCuerpo + 1L));
+                }
+                if ((leidos = entrada.read(cuerpo, longitud, cuerpo.length - longitud)) == -1) {
+                    return;
+                }
+                longitud += leidos;
+                if (longitud > tamanoMaximoCuerpo) {
+                    excedido = true;
+                    cuerpo = null;
+                    enviarRespuesta(peticion, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                            new RespuestaTraduccion(false, "El cuerpo supera el máximo de "
+                                    + tamanoMaximoCuerpo + " bytes"));
+                }
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (excedido) {
+                return;
+            }
+            InputStream cuerpoJson = new ByteArrayInputStream(cuerpo, 0, longitud);
+            try {
+                peticion.ejecutar(() -> manejarTraduccion(peticion, cuerpoJson, codificacion));
+            } catch (RejectedExecutionException e) {
+                enviarRespuesta(peticion, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                        new RespuestaTraduccion(false, "Servidor ocupado, intente de nuevo en unos segundos"));
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            log("Error al leer la petición de traducción", error);
+            if (peticion.marcarRespondida()) {
+                peticion.asincrono.complete();
+            }
+        }
+    }
+
+    /**
+     * Escribe la respuesta en bloques mientras el cliente la acepte y completa la
+     * petición al terminar. El contenedor vuelve a invocar {@link #onWritePossible()}
+     * cuando hay espacio.
+     */
+    private final class EscritorRespuesta implements WriteListener {
+
+        private final AsyncContext asincrono;
+        private final ServletOutputStream salida;
+        private final byte[] datos;
+        private int escritos;
+
+        EscritorRespuesta(AsyncContext asincrono, ServletOutputStream salida, byte[] datos) {
+            this.asincrono = asincrono;
+            this.salida = salida;
+            this.datos = datos;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (salida.isReady()) {
+                if (escritos == datos.length) {
+                    asincrono.complete();
+                    return;
+                }
+                int cantidad = Math.min(TAMANO_BLOQUE, datos.length - escritos);
+                salida.write(datos, escritos, cantidad);
+                escritos += cantidad;
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            log("Error al escribir la respuesta de traducción", error);
+            asincrono.complete();
+        }
     }
 }
@@ -0,0 +1,181 @@
+package servlet;
+
+import dto.CodecJson;
+import dto.RespuestaTraduccion;
+import dto.SolicitudTraduccion;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import service.ServicioTraduccionBraille;
+
+import java.io.IOException;
+
+/**
+ * Controlador REST que devuelve la traducción como celdas en binario.
+ *
+ * <p>Pensado para impresoras Braille y líneas Braille, que solo necesitan los puntos:
+ * en lugar de JSON con caracteres Braille Unicode (tres bytes UTF-8 por celda), la
+ * respuesta lleva un byte por celda con su máscara de puntos (punto 1 = bit 0 … punto 8
+ * = bit 7), y cada línea va precedida por su cantidad de celdas en LEB128. El formato
+ * completo está en {@link model.CeldasBraille#aBinario()}; una línea de menos de 128
+ * celdas se decodifica así:</p>
+ * <pre>{@code
+ * int celdas = datos[p++];               // bit alto a 0: longitud de un byte
+ * for (int i = 0; i < celdas; i++) {
+ *     int mascara = datos[p++] & 0xFF;   // puntos activos de la celda
+ * }
+ * }</pre>
+ *
+ * <p>Los clientes JSON pueden pedir el mismo contenido en Base64 en
+ * {@code /api/traducir} con {@code "campos": ["celdas"]}.</p>
+ *
+ * <h2>Arquitectura REST</h2>
+ * <ul>
+ *   <li><b>Endpoint</b>: {@code /api/traducir/celdas}</li>
+ *   <li><b>Método HTTP</b>: POST</li>
+ *   <li><b>Formato de entrada</b>: JSON, la misma solicitud que {@code /api/traducir}</li>
+ *   <li><b>Formato de salida</b>: {@code application/octet-stream}; la versión de la
+ *       tabla usada va en la cabecera {@code X-Version-Tabla}</li>
+ * </ul>
+ *
+ * <h2>Códigos de Estado HTTP</h2>
+ * <ul>
+ *   <li><b>200 OK</b>: Celdas en binario</li>
+ *   <li><b>400 Bad Request</b>: JSON inválido, datos de entrada inválidos, dirección
+ *       que produce español o carácter no soportado; el cuerpo es una
+ *       {@link RespuestaTraduccion} de error en JSON</li>
+ *   <li><b>405 Method Not Allowed</b>: Método HTTP distinto de POST</li>
+ *   <li><b>413 Payload Too Large</b>: El cuerpo del POST supera {@code tamanoMaximoCuerpo}
+ *       bytes (parámetro de inicio, por defecto el mismo que {@code /api/traducir})</li>
+ * </ul>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see model.CeldasBraille#aBinario()
+ * @see ControladorBraille
+ */
+@WebServlet(name = "ControladorCeldas", urlPatterns = {"/api/traducir/celdas"})
+public class ControladorCeldas extends HttpServlet {
+
+    /** Servicio que aplica las mismas validaciones que {@code /api/traducir} */
+    private ServicioTraduccionBraille servicioTraduccion;
+
+    /** Bytes que puede ocupar el cuerpo de un POST */
+    private int tamanoMaximoCuerpo;
+
+    /**
+     * Inicializa el servlet y su servicio.
+     *
+     * @throws ServletException si {@code tamanoMaximoCuerpo} no es un número positivo
+     */
+    @Override
+    public void init() throws ServletException {
+        this.servicioTraduccion = new ServicioTraduccionBraille();
+        this.tamanoMaximoCuerpo = parametroPositivo("tamanoMaximoCuerpo",
+                ControladorBraille.TAMANO_MAXIMO_CUERPO_PREDETERMINADO);
+    }
+
+    private int parametroPositivo(String nombre, int predeterminado) throws ServletException {
+        String valor = getInitParameter(nombre);
+        if (valor == null) {
+            return predeterminado;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero > 0) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // se informa abajo
+        }
+        throw new ServletException("El parámetro " + nombre + " debe ser un entero positivo: " + valor);
+    }
+
+    /**
+     * Traduce la solicitud y escribe las celdas en binario.
+     *
+     * @param req petición con una solicitud JSON en el cuerpo
+     * @param resp respuesta con las celdas, o con un error en JSON
+     * @throws IOException si ocurre un error al leer o escribir
+     */
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        SolicitudTraduccion solicitud = leerSolicitud(req, resp, tamanoMaximoCuerpo);
+        if (solicitud == null) {
+            return;
+        }
+        ServicioTraduccionBraille.TraduccionCeldas traduccion = servicioTraduccion.traducirCeldas(solicitud);
+        if (traduccion.getError() != null) {
+            enviarError(resp, HttpServletResponse.SC_BAD_REQUEST, traduccion.getError());
+            return;
+        }
+
+        byte[] binario = traduccion.getCeldas().aBinario();
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("application/octet-stream");
+        resp.setContentLength(binario.length);
+        resp.setHeader("X-Version-Tabla", traduccion.getVersionTabla());
+        resp.getOutputStream().write(binario);
+    }
+
+    /**
+     * Rechaza GET: la solicitud debe enviarse en el cuerpo de un POST.
+     */
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        enviarError(resp, HttpServletResponse.SC_METHOD_NOT_ALLOWED, new RespuestaTraduccion(false,
+                "Método GET no soportado. Use POST con una solicitud JSON"));
+    }
+
+    /**
+     * Lee la solicitud JSON del cuerpo sin pasar de {@code tamanoMaximo} bytes.
+     *
+     * <p>Compartido con los demás controladores que reciben la solicitud de
+     * {@code /api/traducir} y no responden con JSON, como {@link ControladorImagen}.</p>
+     *
+     * @param req petición con una solicitud JSON en el cuerpo
+     * @param resp respuesta en la que se escribe el error, si lo hay
+     * @param tamanoMaximo bytes que puede ocupar el cuerpo
+     * @return la solicitud, o null si ya se respondió 400 o 413
+     * @throws IOException si ocurre un error al leer o escribir
+     */
+    static SolicitudTraduccion leerSolicitud(HttpServletRequest req, HttpServletResponse resp, int tamanoMaximo)
+            throws IOException {
+        if (req.getContentLengthLong() > tamanoMaximo) {
+            enviarError(resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, new RespuestaTraduccion(false,
+                    "El cuerpo supera el máximo de " + tamanoMaximo + " bytes"));
+            return null;
+        }
+        SolicitudTraduccion solicitud;
+        String error;
+        try (EntradaLimitada entrada = new EntradaLimitada(req.getInputStream(), tamanoMaximo)) {
+            try {
+                solicitud = CodecJson.leerSolicitud(entrada, req.getCharacterEncoding());
+                error = solicitud == null ? "JSON inválido o vacío" : null;
+            } catch (IllegalArgumentException e) {
+                solicitud = null;
+                error = e.getMessage();
+            }
+            if (entrada.excedida()) {
+                enviarError(resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, new RespuestaTraduccion(false,
+                        "El cuerpo supera el máximo de " + tamanoMaximo + " bytes"));
+                return null;
+            }
+        }
+        if (error != null) {
+            enviarError(resp, HttpServletResponse.SC_BAD_REQUEST, new RespuestaTraduccion(false, error));
+        }
+        return solicitud;
+    }
+
+    static void enviarError(HttpServletResponse resp, int codigoEstado, RespuestaTraduccion respuesta)
+            throws IOException {
+        resp.setStatus(codigoEstado);
+        resp.setContentType("application/json; charset=UTF-8");
+        resp.setCharacterEncoding("UTF-8");
+        CodecJson.escribir(respuesta, resp.getOutputStream());
+    }
+}
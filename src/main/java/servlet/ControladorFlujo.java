@@ -0,0 +1,250 @@
+package servlet;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import model.DireccionTraduccion;
+import model.TraductorFlujo;
+import service.EscritorPef;
+import service.FormateadorBrf;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * Controlador REST que traduce documentos grandes en flujo, como texto plano.
+ *
+ * <p>El cuerpo de la petición se lee por bloques y cada bloque se traduce con
+ * {@link TraductorFlujo} en cuanto llega; la traducción se escribe en la respuesta a
+ * medida que es definitiva. Como la respuesta no declara su longitud, el contenedor
+ * la envía con codificación por trozos ({@code Transfer-Encoding: chunked}). El
+ * cliente recibe los primeros bytes sin esperar a que termine la subida, y la memoria
+ * usada no depende del tamaño del documento.</p>
+ *
+ * <p>A diferencia de {@code /api/traducir}, no hay JSON: el texto se envía tal cual, con
+ * sus saltos de línea, y se recibe la traducción tal cual. El resultado es el mismo que
+ * el de {@link model.Traduccion}.</p>
+ *
+ * <p>Con {@code formato=brf} la traducción se entrega paginada para impresoras Braille
+ * ({@link FormateadorBrf}): {@code celdas} por línea (40 por defecto), {@code lineas} por
+ * página (25 por defecto) y {@code numerar=false} para omitir los números de página. Con
+ * {@code soloPaginas=true} no se genera la salida y la respuesta es solo la cantidad de
+ * páginas, para presupuestar un trabajo antes de imprimirlo.</p>
+ *
+ * <p>Con {@code formato=pef} la traducción paginada se entrega como PEF
+ * ({@link EscritorPef}, {@code application/x-pef+xml}), escrito con StAX a medida que se
+ * traduce: además de {@code celdas}, {@code lineas} y {@code numerar}, acepta
+ * {@code volumen} (páginas por volumen, 50 por defecto; 0 para un único volumen),
+ * {@code dobleCara=true} y {@code titulo}.</p>
+ *
+ * <p>En BRF y PEF, con la dirección {@code ESPANOL_A_BRAILLE_ESPEJO} cada fila se espeja
+ * después de cortar las líneas, con el ancho completo de la página.</p>
+ *
+ * <h2>Arquitectura REST</h2>
+ * <ul>
+ *   <li><b>Endpoint</b>: {@code /api/traducir/flujo?direccion=ESPANOL_A_BRAILLE}
+ *       ({@code &formato=brf} o {@code &formato=pef} para salida paginada)</li>
+ *   <li><b>Método HTTP</b>: POST</li>
+ *   <li><b>Formato de entrada</b>: {@code text/plain} (UTF-8 si no se indica otra codificación)</li>
+ *   <li><b>Formato de salida</b>: {@code text/plain; charset=UTF-8}, por trozos; la versión de
+ *       la tabla usada va en la cabecera {@code X-Version-Tabla}</li>
+ * </ul>
+ *
+ * <h2>Ejemplo</h2>
+ * <pre>{@code
+ * curl -X POST -H "Content-Type: text/plain; charset=UTF-8" --data-binary @libro.txt \
+ *   "http://localhost:8080/Braille/api/traducir/flujo?direccion=ESPANOL_A_BRAILLE"
+ * }</pre>
+ *
+ * <h2>Códigos de Estado HTTP</h2>
+ * <ul>
+ *   <li><b>200 OK</b>: La traducción se está enviando</li>
+ *   <li><b>400 Bad Request</b>: Dirección inválida, parámetros de página inválidos, texto
+ *       vacío o carácter no soportado antes de que empiece la respuesta</li>
+ *   <li><b>405 Method Not Allowed</b>: Método HTTP distinto de POST</li>
+ * </ul>
+ * <p>Si el carácter no soportado aparece cuando parte de la traducción ya se envió, el
+ * código 200 no puede cambiarse: la conexión se corta sin el trozo final, de modo que el
+ * cliente detecta una respuesta incompleta, y el error queda en el log.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see TraductorFlujo
+ * @see ControladorBraille
+ */
+@WebServlet(name = "ControladorFlujo", urlPatterns = {"/api/traducir/flujo"})
+public class ControladorFlujo extends HttpServlet {
+
+    /** Caracteres que se leen y traducen en cada paso. */
+    private static final int TAMANO_BLOQUE = 8192;
+
+    /**
+     * Traduce el cuerpo de la petición en flujo.
+     *
+     * @param req petición con el texto en el cuerpo y la dirección en el parámetro {@code direccion}
+     * @param resp respuesta con la traducción en texto plano
+     * @throws IOException si ocurre un error al leer o escribir
+     */
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        DireccionTraduccion direccion;
+        try {
+            String parametro = req.getParameter("direccion");
+            direccion = parametro != null ? DireccionTraduccion.valueOf(parametro) : DireccionTraduccion.ESPANOL_A_BRAILLE;
+        } catch (IllegalArgumentException e) {
+            enviarError(resp, HttpServletResponse.SC_BAD_REQUEST, "Dirección inválida: " + req.getParameter("direccion"));
+            return;
+        }
+        String formato = req.getParameter("formato");
+        boolean brf = "brf".equalsIgnoreCase(formato);
+        boolean pef = "pef".equalsIgnoreCase(formato);
+        if (formato != null && !brf && !pef && !"texto".equalsIgnoreCase(formato)) {
+            enviarError(resp, HttpServletResponse.SC_BAD_REQUEST, "Formato no soportado. Use 'texto', 'brf' o 'pef'");
+            return;
+        }
+        boolean soloPaginas = brf && "true".equalsIgnoreCase(req.getParameter("soloPaginas"));
+        int celdasPorLinea;
+        int lineasPorPagina;
+        int paginasPorVolumen;
+        try {
+            celdasPorLinea = parametroEntero(req, "celdas", FormateadorBrf.CELDAS_POR_LINEA_PREDETERMINADAS);
+            lineasPorPagina = parametroEntero(req, "lineas", FormateadorBrf.LINEAS_POR_PAGINA_PREDETERMINADAS);
+            paginasPorVolumen = parametroEntero(req, "volumen", EscritorPef.PAGINAS_POR_VOLUMEN_PREDETERMINADAS);
+        } catch (NumberFormatException e) {
+            enviarError(resp, HttpServletResponse.SC_BAD_REQUEST,
+                    "Los parámetros 'celdas', 'lineas' y 'volumen' deben ser números enteros");
+            return;
+        }
+        if ((brf || pef) && !direccion.esHaciaBraille()) {
+            enviarError(resp, HttpServletResponse.SC_BAD_REQUEST,
+                    "Los formatos BRF y PEF requieren una dirección hacia Braille");
+            return;
+        }
+        boolean espejo = (brf || pef) && direccion == DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO;
+        if (espejo) {
+            // BRF y PEF espejan cada fila después de cortarla; la traducción va sin espejar
+            direccion = DireccionTraduccion.ESPANOL_A_BRAILLE;
+        }
+        boolean numerar = !"false".equalsIgnoreCase(req.getParameter("numerar"));
+        if (req.getCharacterEncoding() == null) {
+            req.setCharacterEncoding("UTF-8");
+        }
+
+        PrintWriter salida = null;
+        Flushable vaciable;
+        FormateadorBrf formateador = null;
+        EscritorPef escritorPef = null;
+        Appendable destino;
+        try {
+            if (pef) {
+                resp.setContentType(EscritorPef.TIPO_MIME);
+                OutputStream bytes = resp.getOutputStream();
+                escritorPef = new EscritorPef(celdasPorLinea, lineasPorPagina, numerar, paginasPorVolumen,
+                        "true".equalsIgnoreCase(req.getParameter("dobleCara")), espejo, req.getParameter("titulo"), bytes);
+                destino = escritorPef;
+                vaciable = escritorPef;
+            } else {
+                // BRF es ASCII: la misma codificación sirve para ambos formatos
+                resp.setContentType("text/plain; charset=UTF-8");
+                resp.setCharacterEncoding("UTF-8");
+                salida = resp.getWriter();
+                if (brf) {
+                    formateador = new FormateadorBrf(celdasPorLinea, lineasPorPagina, numerar, espejo,
+                            soloPaginas ? null : salida);
+                }
+                destino = formateador != null ? formateador : salida;
+                vaciable = salida;
+            }
+        } catch (IllegalArgumentException e) {
+            resp.reset();
+            enviarError(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        TraductorFlujo traductor = new TraductorFlujo(direccion, destino);
+        resp.setHeader("X-Version-Tabla", traductor.getVersionTabla());
+
+        boolean hayTexto = false;
+        try (Reader entrada = req.getReader()) {
+            char[] bloque = new char[TAMANO_BLOQUE];
+            CharBuffer vista = CharBuffer.wrap(bloque);
+            int leidos;
+            while ((leidos = entrada.read(bloque)) != -1) {
+                hayTexto = hayTexto || contieneTexto(bloque, leidos);
+                vista.clear().limit(leidos);
+                traductor.escribir(vista);
+                if (!entrada.ready()) {
+                    // El cliente aún no envió más: entregar lo traducido hasta ahora
+                    vaciable.flush();
+                }
+            }
+            traductor.finalizar();
+            if (formateador != null) {
+                formateador.finalizar();
+            }
+            if (escritorPef != null) {
+                escritorPef.finalizar();
+            }
+        } catch (IllegalArgumentException e) {
+            abortar(resp, e.getMessage());
+            return;
+        }
+        if (!hayTexto) {
+            abortar(resp, "El texto no puede estar vacío");
+            return;
+        }
+        if (soloPaginas) {
+            salida.print(formateador.getPaginas());
+        }
+        vaciable.flush();
+    }
+
+    /**
+     * Rechaza GET: el texto debe enviarse en el cuerpo de un POST.
+     */
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        enviarError(resp, HttpServletResponse.SC_METHOD_NOT_ALLOWED,
+                "Método GET no soportado. Use POST con el texto en el cuerpo");
+    }
+
+    private static int parametroEntero(HttpServletRequest req, String nombre, int predeterminado) {
+        String valor = req.getParameter(nombre);
+        return valor == null ? predeterminado : Integer.parseInt(valor.trim());
+    }
+
+    private static boolean contieneTexto(char[] bloque, int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            if (bloque[i] > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Informa un error de traducción: con 400 si la respuesta aún no empezó a enviarse o
+     * cortando la conexión si ya se envió parte de ella.
+     */
+    private void abortar(HttpServletResponse resp, String mensaje) throws IOException {
+        if (!resp.isCommitted()) {
+            resp.reset();
+            enviarError(resp, HttpServletResponse.SC_BAD_REQUEST, mensaje);
+            return;
+        }
+        log("Traducción en flujo interrumpida tras enviar parte de la respuesta: " + mensaje);
+        throw new IOException(mensaje);
+    }
+
+    private static void enviarError(HttpServletResponse resp, int codigoEstado, String mensaje) throws IOException {
+        resp.setStatus(codigoEstado);
+        resp.setContentType("text/plain; charset=UTF-8");
+        resp.setCharacterEncoding("UTF-8");
+        resp.getWriter().write(mensaje);
+    }
+}
@@ -0,0 +1,171 @@
+package servlet;
+
+import dto.RespuestaTraduccion;
+import dto.SolicitudTraduccion;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import model.CeldasBraille;
+import service.RenderizadorBraille;
+import service.ServicioTraduccionBraille;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Controlador REST que devuelve la traducción dibujada como imagen PNG o SVG.
+ *
+ * <p>La imagen se genera en el servidor con {@link RenderizadorBraille} a partir de
+ * las máscaras de puntos, de modo que cualquier cliente de la API puede obtenerla y
+ * la página ya no depende de capturar el DOM en el navegador. Para la versión en
+ * espejo (escritura con punzón) se usa la dirección {@code ESPANOL_A_BRAILLE_ESPEJO}.</p>
+ *
+ * <h2>Arquitectura REST</h2>
+ * <ul>
+ *   <li><b>Endpoint</b>: {@code /api/traducir/imagen}</li>
+ *   <li><b>Método HTTP</b>: POST</li>
+ *   <li><b>Formato de entrada</b>: JSON, la misma solicitud que {@code /api/traducir}</li>
+ *   <li><b>Parámetros</b>: {@code formato} ({@code png}, por defecto, o {@code svg}) y
+ *       {@code punto}, diámetro del punto en píxeles (de
+ *       {@value RenderizadorBraille#PUNTO_MINIMO} a {@value RenderizadorBraille#PUNTO_MAXIMO},
+ *       por defecto {@value RenderizadorBraille#PUNTO_PREDETERMINADO})</li>
+ *   <li><b>Formato de salida</b>: {@code image/png} o {@code image/svg+xml}; la versión
+ *       de la tabla usada va en la cabecera {@code X-Version-Tabla}</li>
+ * </ul>
+ *
+ * <h2>Códigos de Estado HTTP</h2>
+ * <ul>
+ *   <li><b>200 OK</b>: Imagen</li>
+ *   <li><b>400 Bad Request</b>: JSON inválido, datos de entrada inválidos, dirección
+ *       que produce español, carácter no soportado, parámetros inválidos o imagen
+ *       demasiado grande; el cuerpo es una {@link RespuestaTraduccion} de error en JSON</li>
+ *   <li><b>405 Method Not Allowed</b>: Método HTTP distinto de POST</li>
+ *   <li><b>413 Payload Too Large</b>: El cuerpo del POST supera {@code tamanoMaximoCuerpo}
+ *       bytes, como en {@link ControladorCeldas}</li>
+ * </ul>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see RenderizadorBraille
+ * @see ControladorCeldas
+ */
+@WebServlet(name = "ControladorImagen", urlPatterns = {"/api/traducir/imagen"})
+public class ControladorImagen extends HttpServlet {
+
+    /** Servicio que aplica las mismas validaciones que {@code /api/traducir} */
+    private ServicioTraduccionBraille servicioTraduccion;
+
+    /** Bytes que puede ocupar el cuerpo de un POST */
+    private int tamanoMaximoCuerpo;
+
+    /**
+     * Inicializa el servlet y su servicio.
+     *
+     * @throws ServletException si {@code tamanoMaximoCuerpo} no es un número positivo
+     */
+    @Override
+    public void init() throws ServletException {
+        this.servicioTraduccion = new ServicioTraduccionBraille();
+        this.tamanoMaximoCuerpo = parametroPositivo("tamanoMaximoCuerpo",
+                ControladorBraille.TAMANO_MAXIMO_CUERPO_PREDETERMINADO);
+    }
+
+    private int parametroPositivo(String nombre, int predeterminado) throws ServletException {
+        String valor = getInitParameter(nombre);
+        if (valor == null) {
+            return predeterminado;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero > 0) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // se informa abajo
+        }
+        throw new ServletException("El parámetro " + nombre + " debe ser un entero positivo: " + valor);
+    }
+
+    /**
+     * Traduce la solicitud y escribe la imagen de las celdas.
+     *
+     * @param req petición con una solicitud JSON en el cuerpo
+     * @param resp respuesta con la imagen, o con un error en JSON
+     * @throws IOException si ocurre un error al leer o escribir
+     */
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String formato = req.getParameter("formato");
+        boolean svg = "svg".equalsIgnoreCase(formato);
+        if (formato != null && !svg && !"png".equalsIgnoreCase(formato)) {
+            ControladorCeldas.enviarError(resp, HttpServletResponse.SC_BAD_REQUEST,
+                    new RespuestaTraduccion(false, "Formato no soportado. Use 'png' o 'svg'"));
+            return;
+        }
+        int punto;
+        try {
+            String valor = req.getParameter("punto");
+            punto = valor == null ? RenderizadorBraille.PUNTO_PREDETERMINADO : Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            ControladorCeldas.enviarError(resp, HttpServletResponse.SC_BAD_REQUEST,
+                    new RespuestaTraduccion(false, "El parámetro 'punto' debe ser un número entero"));
+            return;
+        }
+        if (punto < RenderizadorBraille.PUNTO_MINIMO || punto > RenderizadorBraille.PUNTO_MAXIMO) {
+            ControladorCeldas.enviarError(resp, HttpServletResponse.SC_BAD_REQUEST,
+                    new RespuestaTraduccion(false, "El parámetro 'punto' debe estar entre "
+                            + RenderizadorBraille.PUNTO_MINIMO + " y " + RenderizadorBraille.PUNTO_MAXIMO));
+            return;
+        }
+
+        SolicitudTraduccion solicitud = ControladorCeldas.leerSolicitud(req, resp, tamanoMaximoCuerpo);
+        if (solicitud == null) {
+            return;
+        }
+        ServicioTraduccionBraille.TraduccionCeldas traduccion = servicioTraduccion.traducirCeldas(solicitud);
+        if (traduccion.getError() != null) {
+            ControladorCeldas.enviarError(resp, HttpServletResponse.SC_BAD_REQUEST, traduccion.getError());
+            return;
+        }
+
+        CeldasBraille celdas = traduccion.getCeldas();
+        if (svg) {
+            resp.setStatus(HttpServletResponse.SC_OK);
+            resp.setContentType("image/svg+xml; charset=UTF-8");
+            resp.setHeader("X-Version-Tabla", traduccion.getVersionTabla());
+            Writer destino = new BufferedWriter(new OutputStreamWriter(resp.getOutputStream(), StandardCharsets.UTF_8));
+            RenderizadorBraille.escribirSvg(celdas, punto, destino);
+            destino.flush();
+            return;
+        }
+
+        try {
+            // Se dibuja antes de escribir nada para poder responder con un error si no cabe
+            BufferedImage imagen = RenderizadorBraille.renderizar(celdas, punto, ForkJoinPool.commonPool());
+            resp.setStatus(HttpServletResponse.SC_OK);
+            resp.setContentType("image/png");
+            resp.setHeader("X-Version-Tabla", traduccion.getVersionTabla());
+            RenderizadorBraille.escribirPng(imagen, resp.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            ControladorCeldas.enviarError(resp, HttpServletResponse.SC_BAD_REQUEST,
+                    new RespuestaTraduccion(false, e.getMessage()));
+        }
+    }
+
+    /**
+     * Rechaza GET: la solicitud debe enviarse en el cuerpo de un POST.
+     */
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        ControladorCeldas.enviarError(resp, HttpServletResponse.SC_METHOD_NOT_ALLOWED,
+                new RespuestaTraduccion(false, "Método GET no soportado. Use POST con una solicitud JSON"));
+    }
+}
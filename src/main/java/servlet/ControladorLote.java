@@ -0,0 +1,205 @@
+package servlet;
+
+import dto.CodecJson;
+import dto.RespuestaTraduccion;
+import dto.SolicitudTraduccion;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import service.ProcesadorLotes;
+import service.ServicioTraduccionBraille;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Controlador REST para traducir muchos textos en una sola petición.
+ *
+ * <p>Pensado para clientes que traducen miles de textos cortos (etiquetas de
+ * interfaz, nombres de productos): en lugar de una petición, un análisis JSON y una
+ * respuesta por texto, envían un arreglo de solicitudes y reciben un arreglo de
+ * respuestas. Los elementos se traducen en paralelo con {@link ProcesadorLotes}.</p>
+ *
+ * <h2>Arquitectura REST</h2>
+ * <ul>
+ *   <li><b>Endpoint</b>: {@code /api/traducir/lote}</li>
+ *   <li><b>Método HTTP</b>: POST</li>
+ *   <li><b>Formato de entrada</b>: arreglo JSON de {@link SolicitudTraduccion}</li>
+ *   <li><b>Formato de salida</b>: arreglo JSON de {@link RespuestaTraduccion}, uno por
+ *       elemento y en el mismo orden</li>
+ * </ul>
+ *
+ * <h2>Ejemplo</h2>
+ * <pre>{@code
+ * POST /api/traducir/lote
+ * [
+ *   {"texto": "Inicio", "direccion": "ESPANOL_A_BRAILLE"},
+ *   {"texto": "",       "direccion": "ESPANOL_A_BRAILLE"}
+ * ]
+ *
+ * 200 OK
+ * [
+ *   {"exito": true,  "textoOriginal": "Inicio", "textoTraducido": "⠨⠊⠝⠊⠉⠊⠕", ...},
+ *   {"exito": false, "error": "El texto no puede estar vacío"}
+ * ]
+ * }</pre>
+ *
+ * <h2>Códigos de Estado HTTP</h2>
+ * <ul>
+ *   <li><b>200 OK</b>: El lote se procesó; cada elemento indica su propio éxito o error</li>
+ *   <li><b>400 Bad Request</b>: El cuerpo está vacío o no es un arreglo JSON válido</li>
+ *   <li><b>405 Method Not Allowed</b>: Método HTTP distinto de POST</li>
+ *   <li><b>413 Payload Too Large</b>: El lote supera el máximo de elementos o el cuerpo
+ *       supera el máximo de bytes</li>
+ * </ul>
+ *
+ * <h2>Configuración</h2>
+ * <p>Parámetros de inicio del servlet: {@code hilosLote} (hilos del pool, por defecto
+ * uno por procesador), {@code maximoLote} (elementos por petición, por defecto
+ * {@value #MAXIMO_LOTE_PREDETERMINADO}) y {@code tamanoMaximoCuerpo} (bytes del cuerpo,
+ * por defecto los mismos que {@code /api/traducir}).</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see ProcesadorLotes
+ * @see ControladorBraille
+ */
+@WebServlet(name = "ControladorLote", urlPatterns = {"/api/traducir/lote"})
+public class ControladorLote extends HttpServlet {
+
+    /** Máximo de elementos por lote si no se configura otro valor */
+    static final int MAXIMO_LOTE_PREDETERMINADO = 10_000;
+
+    /** Tramos que pueden esperar en cola por cada hilo del pool */
+    private static final int COLA_POR_HILO = 16;
+
+    /** Procesador paralelo compartido por todas las peticiones */
+    private ProcesadorLotes procesadorLotes;
+
+    /** Máximo de elementos aceptados en un lote */
+    private int maximoLote;
+
+    /** Bytes que puede ocupar el cuerpo de un POST */
+    private int tamanoMaximoCuerpo;
+
+    /**
+     * Inicializa el servlet, su servicio y el pool de hilos de los lotes.
+     *
+     * @throws ServletException si los parámetros de inicio no son números positivos
+     */
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        int hilos = parametroPositivo("hilosLote", Runtime.getRuntime().availableProcessors());
+        this.maximoLote = parametroPositivo("maximoLote", MAXIMO_LOTE_PREDETERMINADO);
+        this.tamanoMaximoCuerpo = parametroPositivo("tamanoMaximoCuerpo",
+                ControladorBraille.TAMANO_MAXIMO_CUERPO_PREDETERMINADO);
+        this.procesadorLotes = new ProcesadorLotes(new ServicioTraduccionBraille(), hilos, hilos * COLA_POR_HILO);
+    }
+
+    /**
+     * Detiene el pool de hilos de los lotes.
+     */
+    @Override
+    public void destroy() {
+        if (procesadorLotes != null) {
+            procesadorLotes.close();
+        }
+        super.destroy();
+    }
+
+    private int parametroPositivo(String nombre, int predeterminado) throws ServletException {
+        String valor = getInitParameter(nombre);
+        if (valor == null) {
+            return predeterminado;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero > 0) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // se informa abajo
+        }
+        throw new ServletException("El parámetro " + nombre + " debe ser un entero positivo: " + valor);
+    }
+
+    /**
+     * Traduce un lote de solicitudes.
+     *
+     * <p>El arreglo se deserializa directamente desde el cuerpo de la petición y la
+     * respuesta se escribe directamente en la salida con {@link CodecJson}, sin copias
+     * intermedias del JSON. El cuerpo se lee como mucho hasta {@code tamanoMaximoCuerpo}
+     * bytes y el arreglo solo hasta el primer elemento que pasa de {@code maximoLote}:
+     * un lote demasiado grande se rechaza sin deserializarlo entero.</p>
+     *
+     * @param req petición con un arreglo JSON de solicitudes en el cuerpo
+     * @param resp respuesta con un arreglo JSON de resultados
+     * @throws IOException si ocurre un error al leer o escribir
+     */
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType("application/json; charset=UTF-8");
+        resp.setCharacterEncoding("UTF-8");
+
+        if (req.getContentLengthLong() > tamanoMaximoCuerpo) {
+            enviarRespuestaError(resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "El cuerpo supera el máximo de " + tamanoMaximoCuerpo + " bytes");
+            return;
+        }
+        SolicitudTraduccion[] solicitudes;
+        String error = null;
+        try (EntradaLimitada entrada = new EntradaLimitada(req.getInputStream(), tamanoMaximoCuerpo)) {
+            try {
+                solicitudes = CodecJson.leerSolicitudes(entrada, req.getCharacterEncoding(), maximoLote);
+            } catch (IllegalArgumentException e) {
+                solicitudes = null;
+                error = "Se esperaba un arreglo JSON de solicitudes: " + e.getMessage();
+            }
+            if (entrada.excedida()) {
+                // El JSON cortado en el máximo no es un error del cliente sino del tamaño
+                enviarRespuestaError(resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                        "El cuerpo supera el máximo de " + tamanoMaximoCuerpo + " bytes");
+                return;
+            }
+        }
+        if (error != null) {
+            enviarRespuestaError(resp, HttpServletResponse.SC_BAD_REQUEST, error);
+            return;
+        }
+        if (solicitudes == null) {
+            enviarRespuestaError(resp, HttpServletResponse.SC_BAD_REQUEST, "JSON inválido o vacío");
+            return;
+        }
+        if (solicitudes.length > maximoLote) {
+            enviarRespuestaError(resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "El lote supera el máximo de " + maximoLote + " elementos");
+            return;
+        }
+
+        List<RespuestaTraduccion> respuestas = procesadorLotes.procesar(Arrays.asList(solicitudes));
+        resp.setStatus(HttpServletResponse.SC_OK);
+        CodecJson.escribir(respuestas, resp.getOutputStream());
+    }
+
+    /**
+     * Rechaza GET: el lote debe enviarse en el cuerpo de un POST.
+     */
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType("application/json; charset=UTF-8");
+        resp.setCharacterEncoding("UTF-8");
+        enviarRespuestaError(resp, HttpServletResponse.SC_METHOD_NOT_ALLOWED,
+                "Método GET no soportado. Use POST con un arreglo de solicitudes");
+    }
+
+    private void enviarRespuestaError(HttpServletResponse resp, int codigoEstado, String mensaje)
+            throws IOException {
+        resp.setStatus(codigoEstado);
+        CodecJson.escribir(new RespuestaTraduccion(false, mensaje), resp.getOutputStream());
+    }
+}
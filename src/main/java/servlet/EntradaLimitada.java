@@ -0,0 +1,94 @@
+package servlet;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Cuerpo de una petición leído con un máximo de bytes.
+ *
+ * <p>{@code Content-Length} puede faltar (codificación por trozos) o no ser fiable, así
+ * que el máximo también se aplica al leer: al llegar a él la entrada termina como si el
+ * cuerpo acabara ahí y, si quedaban datos, {@link #excedida()} lo indica. El JSON
+ * cortado falla al analizarse; el controlador consulta {@link #excedida()} antes de
+ * informar el error para responder 413 en lugar de 400.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see ControladorBraille
+ */
+final class EntradaLimitada extends FilterInputStream {
+
+    private long restantes;
+
+    private boolean excedida;
+
+    /**
+     * @param entrada Cuerpo de la petición
+     * @param maximo Bytes que se pueden leer
+     */
+    EntradaLimitada(InputStream entrada, long maximo) {
+        super(entrada);
+        this.restantes = maximo;
+    }
+
+    /**
+     * @return Si el cuerpo tenía más bytes que el máximo
+     */
+    boolean excedida() {
+        return excedida;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (restantes == 0) {
+            comprobarExceso();
+            return -1;
+        }
+        int leido = super.read();
+        if (leido >= 0) {
+            restantes--;
+        }
+        return leido;
+    }
+
+    @Override
+    public int read(byte[] destino, int desde, int cantidad) throws IOException {
+        if (cantidad == 0) {
+            return 0;
+        }
+        if (restantes == 0) {
+            comprobarExceso();
+            return -1;
+        }
+        int leidos = super.read(destino, desde, (int) Math.min(cantidad, restantes));
+        if (leidos > 0) {
+            restantes -= leidos;
+        }
+        return leidos;
+    }
+
+    @Override
+    public long skip(long cantidad) throws IOException {
+        long saltados = super.skip(Math.min(cantidad, restantes));
+        restantes -= saltados;
+        return saltados;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), restantes);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void comprobarExceso() throws IOException {
+        if (!excedida && in.read() >= 0) {
+            excedida = true;
+        }
+    }
+}
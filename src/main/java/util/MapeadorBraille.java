@@ -1,7 +1,12 @@
 package util;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Clase utilitaria que gestiona los mapeos bidireccionales entre caracteres españoles y Braille.
@@ -35,18 +40,19 @@ import java.util.Map;
  * </ul>
  *
  * <h2>Arquitectura de Mapeos</h2>
- * <p>La clase mantiene 6 mapas estáticos:</p>
+ * <p>Los mapeos no están escritos en el código: se leen de un archivo de tabla
+ * ({@link #TABLA_PREDETERMINADA} en el classpath, o el archivo indicado por la
+ * propiedad del sistema {@link #PROPIEDAD_TABLA}) y se compilan al cargar la clase
+ * en una {@link TablaBraille}:</p>
  * <ul>
- *   <li><b>LETRA_A_BRAILLE</b>: Español minúsculas → Braille (HashMap)</li>
- *   <li><b>NUMERO_A_BRAILLE</b>: Dígitos → Braille (HashMap)</li>
- *   <li><b>PUNTUACION_A_BRAILLE</b>: Signos puntuación → Braille (HashMap)</li>
- *   <li><b>BRAILLE_A_LETRA</b>: Braille → Español minúsculas (HashMap)</li>
- *   <li><b>BRAILLE_A_NUMERO</b>: Braille → Dígitos (HashMap)</li>
- *   <li><b>BRAILLE_A_PUNTUACION</b>: Braille → Signos puntuación (HashMap)</li>
+ *   <li><b>Español → Braille</b> (letras, números, puntuación): hash perfecto de
+ *       un acceso por carácter, sin colisiones ni autoboxing</li>
+ *   <li><b>Braille → español</b>: arreglos {@code char[256]} indexados por {@code c - 0x2800}</li>
  * </ul>
  *
- * <p>Los mapeos inversos se generan automáticamente en el bloque static a partir
- * de los mapeos directos, garantizando consistencia bidireccional.</p>
+ * <p>Las consultas sin mapeo devuelven {@link #SIN_MAPEO}. Los mapeos inversos se
+ * generan a partir de los directos al compilar la tabla, garantizando consistencia
+ * bidireccional; cambiar la tabla no requiere recompilar la aplicación.</p>
  *
  * <h2>Ejemplo de Mapeos</h2>
  * <pre>{@code
@@ -68,20 +74,25 @@ import java.util.Map;
  * Character letra = MapeadorBraille.obtenerLetraParaBraille("⠓"); // 'h'
  * Character numero = MapeadorBraille.obtenerNumeroParaBraille("⠑"); // '5'
  *
+ * // API primitiva char → char (camino caliente, sin objetos temporales)
+ * char celdaH = MapeadorBraille.obtenerCeldaParaLetra('h'); // '⠓'
+ * char letraH = MapeadorBraille.obtenerLetraParaCelda('⠓'); // 'h'
+ *
  * // Validaciones
  * boolean soportado = MapeadorBraille.esCaracterSoportado('ñ'); // true
  * boolean esBraille = MapeadorBraille.esCaracterBraille('⠓'); // true
  * }</pre>
  *
  * <h2>Inmutabilidad y Thread Safety</h2>
- * <p>Todos los mapas son estáticos y se inicializan una sola vez en el bloque static.
- * No se proporcionan métodos para modificarlos, garantizando inmutabilidad. La clase
- * es thread-safe por diseño al no tener estado mutable.</p>
+ * <p>Cada {@link TablaBraille} es inmutable. La tabla activa se publica en una
+ * referencia atómica y puede sustituirse entera en caliente
+ * ({@link #publicarTabla(TablaBraille)}) sin reiniciar la aplicación; nunca se
+ * modifica una tabla ya publicada, por lo que las lecturas no necesitan bloqueos.</p>
  *
  * <h2>Patrones de Diseño</h2>
  * <ul>
  *   <li><b>Utility Class</b>: Todos los miembros son estáticos, no se permite instanciación</li>
- *   <li><b>Flyweight implícito</b>: Los mapas estáticos comparten las instancias de String</li>
+ *   <li><b>Flyweight implícito</b>: Las tablas estáticas se comparten entre todas las traducciones</li>
  *   <li><b>Bidirectional Mapping</b>: Mapeos duales para traducción en ambas direcciones</li>
  * </ul>
  *
@@ -93,180 +104,229 @@ import java.util.Map;
 public class MapeadorBraille {
 
     /**
-     * Símbolo especial Braille (⠼) que indica que el siguiente carácter es un número.
+     * Valor centinela que indica que un carácter no tiene mapeo en una tabla.
+     *
+     * <p>Se usa {@code '\0'} porque no es una letra, dígito, puntuación ni celda
+     * Braille, de modo que nunca colisiona con un valor mapeado real.</p>
+     */
+    public static final char SIN_MAPEO = '\0';
+
+    /**
+     * Primer carácter del bloque Unicode Braille Patterns (U+2800, celda vacía).
+     */
+    private static final char INICIO_BLOQUE_BRAILLE = '⠀';
+
+    /**
+     * Tamaño de la tabla de espejo: 256 patrones Braille (U+2800 a U+28FF).
+     */
+    private static final int TAMANO_TABLA = 256;
+
+    /**
+     * Propiedad del sistema con la ruta de un archivo de tabla que sustituye a la
+     * tabla predeterminada, por ejemplo {@code -Dbraille.tabla=/etc/braille/espanol.tabla}.
+     */
+    public static final String PROPIEDAD_TABLA = "braille.tabla";
+
+    /**
+     * Recurso del classpath con la tabla predeterminada del español.
+     */
+    public static final String TABLA_PREDETERMINADA = "/tablas/espanol.tabla";
+
+    /**
+     * Tabla de traducción activa: letras, números, puntuación y signos especiales
+     * en ambos sentidos.
+     *
+     * <p>Se carga al inicializar la clase desde el archivo indicado por
+     * {@link #PROPIEDAD_TABLA} o, si no se indica, desde {@link #TABLA_PREDETERMINADA},
+     * y puede sustituirse en caliente con {@link #publicarTabla(TablaBraille)}. Las
+     * lecturas son una lectura volátil, sin bloqueos.</p>
+     */
+    private static final AtomicReference<TablaBraille> TABLA = new AtomicReference<>(cargarTablaInicial());
+
+    /**
+     * Tabla de espejo: celda Braille espejada, indexada por {@code celda - 0x2800}.
+     *
+     * <p>Intercambia las columnas de la celda (puntos 1-2-3 ↔ 4-5-6 y 7 ↔ 8).
+     * Precalculada en el bloque static para que el espejo de un texto sea una
+     * sola lectura de tabla por carácter.</p>
+     */
+    private static final char[] TABLA_ESPEJO = new char[TAMANO_TABLA];
+
+    /**
+     * Inicialización estática de la tabla de espejo para las 256 celdas.
+     */
+    static {
+        for (int mascara = 0; mascara < TAMANO_TABLA; mascara++) {
+            int espejo = ((mascara & 0x07) << 3)
+                    | ((mascara >>> 3) & 0x07)
+                    | ((mascara & 0x40) << 1)
+                    | ((mascara >>> 1) & 0x40);
+            TABLA_ESPEJO[mascara] = (char) (INICIO_BLOQUE_BRAILLE + espejo);
+        }
+    }
+
+    /**
+     * Carga la tabla de traducción al inicializar la clase.
      *
-     * <p>En Braille, los números 1-9 y 0 utilizan los mismos patrones que las letras
-     * a-j respectivamente. Para diferenciarlos, los números deben ser precedidos por
-     * este signo numérico. El efecto persiste hasta encontrar un espacio o puntuación.</p>
+     * @return Tabla compilada
+     * @throws IllegalStateException si la tabla no existe o tiene errores de formato
+     */
+    private static TablaBraille cargarTablaInicial() {
+        try {
+            return cargarTablaConfigurada();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("No se pudo cargar la tabla Braille: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lee y compila de nuevo la tabla configurada, sin publicarla.
      *
-     * <p>Unicode: U+283C (puntos 3-4-5-6)</p>
+     * @return Tabla recién compilada
+     * @throws IOException si el archivo o el recurso no puede leerse
+     * @throws IllegalArgumentException si la tabla tiene errores de formato
      */
-    private static final String SIGNO_NUMERO = "⠼";
+    public static TablaBraille cargarTablaConfigurada() throws IOException {
+        Path archivo = obtenerArchivoTabla();
+        return archivo != null
+                ? TablaBraille.cargarArchivo(archivo)
+                : TablaBraille.cargarRecurso(TABLA_PREDETERMINADA);
+    }
 
-    // Símbolo para mayúsculas (Punto 6 en sistema español)
-    private static final String SIGNO_MAYUSCULA = "⠨";
+    /**
+     * @return archivo de tabla indicado en {@link #PROPIEDAD_TABLA}, o null si se usa
+     *         la tabla predeterminada del classpath
+     */
+    public static Path obtenerArchivoTabla() {
+        String ruta = System.getProperty(PROPIEDAD_TABLA);
+        return ruta != null && !ruta.isBlank() ? Path.of(ruta) : null;
+    }
 
     /**
-     * Mapeo de letras minúsculas españolas a sus representaciones Braille Unicode.
+     * Obtiene la tabla de traducción activa, por ejemplo para informar de su
+     * versión, origen y tiempo de compilación.
+     *
+     * <p>Una traducción debe leerla una sola vez al empezar y usar esa instancia
+     * hasta terminar, para no mezclar dos versiones si se publica otra entretanto.</p>
      *
-     * <p>Incluye:</p>
-     * <ul>
-     *   <li>Alfabeto básico: a-z</li>
-     *   <li>Letra ñ (específica del español)</li>
-     *   <li>Vocales acentuadas: á, é, í, ó, ú</li>
-     *   <li>Vocal con diéresis: ü</li>
-     *   <li>Espacio en blanco</li>
-     * </ul>
+     * @return tabla compilada
      */
-    private static final Map<Character, String> LETRA_A_BRAILLE = new HashMap<>();
+    public static TablaBraille obtenerTabla() {
+        return TABLA.get();
+    }
 
     /**
-     * Mapeo de dígitos (0-9) a sus representaciones Braille Unicode.
+     * Sustituye la tabla activa de forma atómica.
+     *
+     * <p>Las traducciones en curso terminan con la tabla con la que empezaron y las
+     * siguientes usan la nueva. Para validar además las estructuras que el modelo
+     * deriva de la tabla antes de publicarla, use
+     * {@link model.TablasCompiladas#publicar(TablaBraille)}.</p>
      *
-     * <p>Los números en Braille usan los mismos patrones que las letras a-j:</p>
-     * <ul>
-     *   <li>1 = a, 2 = b, 3 = c, 4 = d, 5 = e</li>
-     *   <li>6 = f, 7 = g, 8 = h, 9 = i, 0 = j</li>
-     * </ul>
-     * <p>Deben ser precedidos por {@link #SIGNO_NUMERO} para distinguirlos de letras.</p>
+     * @param tabla Nueva tabla (no null)
+     * @return Tabla que estaba activa
+     */
+    public static TablaBraille publicarTabla(TablaBraille tabla) {
+        if (tabla == null) {
+            throw new IllegalArgumentException("La tabla Braille no puede ser nula");
+        }
+        return TABLA.getAndSet(tabla);
+    }
+
+    /**
+     * Convierte un resultado primitivo de tabla en String (API heredada).
+     */
+    private static String comoTexto(char valor) {
+        return valor != SIN_MAPEO ? String.valueOf(valor) : null;
+    }
+
+    /**
+     * Convierte un resultado primitivo de tabla en Character (API heredada).
      */
-    private static final Map<Character, String> NUMERO_A_BRAILLE = new HashMap<>();
+    private static Character comoCaracter(char valor) {
+        return valor != SIN_MAPEO ? valor : null;
+    }
 
     /**
-     * Mapeo de signos de puntuación a sus representaciones Braille Unicode.
+     * Obtiene la celda Braille de una letra española sin crear objetos temporales.
+     *
+     * <p>Convierte automáticamente a minúsculas antes de buscar. Para letras
+     * mayúsculas, el código llamante debe agregar manualmente el prefijo
+     * signo de mayúscula ({@link #obtenerCeldaSignoMayuscula()}).</p>
      *
-     * <p>Incluye los signos más comunes:</p>
-     * <ul>
-     *   <li>Finales de oración: . ? !</li>
-     *   <li>Separadores: , ; :</li>
-     *   <li>Otros: - ( ) "</li>
-     * </ul>
+     * @param letra carácter español (a-z, ñ, vocales acentuadas, espacio)
+     * @return celda Braille Unicode, o {@link #SIN_MAPEO} si el carácter no está mapeado
      */
-    private static final Map<Character, String> PUNTUACION_A_BRAILLE = new HashMap<>();
+    public static char obtenerCeldaParaLetra(char letra) {
+        return TABLA.get().celdaParaLetra(Character.toLowerCase(letra));
+    }
 
     /**
-     * Mapeo inverso: Braille Unicode a letras minúsculas españolas.
+     * Obtiene la celda Braille de un dígito sin crear objetos temporales.
      *
-     * <p>Generado automáticamente invirtiendo {@link #LETRA_A_BRAILLE}
-     * en el bloque static de inicialización.</p>
+     * @param numero dígito del 0 al 9
+     * @return celda Braille Unicode, o {@link #SIN_MAPEO} si no es un dígito
      */
-    private static final Map<String, Character> BRAILLE_A_LETRA = new HashMap<>();
+    public static char obtenerCeldaParaNumero(char numero) {
+        return TABLA.get().celdaParaNumero(numero);
+    }
 
     /**
-     * Mapeo inverso: Braille Unicode a dígitos.
+     * Obtiene la celda Braille de un signo de puntuación sin crear objetos temporales.
      *
-     * <p>Generado automáticamente invirtiendo {@link #NUMERO_A_BRAILLE}
-     * en el bloque static de inicialización.</p>
+     * @param puntuacion signo de puntuación soportado
+     * @return celda Braille Unicode, o {@link #SIN_MAPEO} si el signo no está mapeado
      */
-    private static final Map<String, Character> BRAILLE_A_NUMERO = new HashMap<>();
+    public static char obtenerCeldaParaPuntuacion(char puntuacion) {
+        return TABLA.get().celdaParaPuntuacion(puntuacion);
+    }
 
     /**
-     * Mapeo inverso: Braille Unicode a signos de puntuación.
+     * Obtiene la letra minúscula correspondiente a una celda Braille.
      *
-     * <p>Generado automáticamente invirtiendo {@link #PUNTUACION_A_BRAILLE}
-     * en el bloque static de inicialización.</p>
+     * @param celda carácter Braille Unicode (U+2800 a U+28FF)
+     * @return letra minúscula (o espacio), o {@link #SIN_MAPEO} si la celda no es una letra
      */
-    private static final Map<String, Character> BRAILLE_A_PUNTUACION = new HashMap<>();
+    public static char obtenerLetraParaCelda(char celda) {
+        return TABLA.get().letraParaCelda(celda);
+    }
 
     /**
-     * Inicialización estática de todos los mapeos Braille.
+     * Obtiene el dígito correspondiente a una celda Braille.
      *
-     * <p>Este bloque se ejecuta una sola vez cuando la clase es cargada por
-     * la JVM. Inicializa todos los mapas directos (español → Braille) y
-     * luego genera automáticamente los mapas inversos (Braille → español).</p>
+     * @param celda carácter Braille Unicode sin el prefijo signo de número ({@link #obtenerCeldaSignoNumero()})
+     * @return dígito del 0 al 9, o {@link #SIN_MAPEO} si la celda no es un número
+     */
+    public static char obtenerNumeroParaCelda(char celda) {
+        return TABLA.get().numeroParaCelda(celda);
+    }
+
+    /**
+     * Obtiene el signo de puntuación correspondiente a una celda Braille.
      *
-     * <p>El orden de inicialización es:</p>
-     * <ol>
-     *   <li>Letras a-z y caracteres especiales españoles</li>
-     *   <li>Números 0-9</li>
-     *   <li>Signos de puntuación</li>
-     *   <li>Generación de mapeos inversos</li>
-     * </ol>
+     * @param celda carácter Braille Unicode
+     * @return signo de puntuación, o {@link #SIN_MAPEO} si la celda no es puntuación
      */
-    static {
-        // Inicializar letras (a-z)
-        LETRA_A_BRAILLE.put('a', "⠁");
-        LETRA_A_BRAILLE.put('b', "⠃");
-        LETRA_A_BRAILLE.put('c', "⠉");
-        LETRA_A_BRAILLE.put('d', "⠙");
-        LETRA_A_BRAILLE.put('e', "⠑");
-        LETRA_A_BRAILLE.put('f', "⠋");
-        LETRA_A_BRAILLE.put('g', "⠛");
-        LETRA_A_BRAILLE.put('h', "⠓");
-        LETRA_A_BRAILLE.put('i', "⠊");
-        LETRA_A_BRAILLE.put('j', "⠚");
-        LETRA_A_BRAILLE.put('k', "⠅");
-        LETRA_A_BRAILLE.put('l', "⠇");
-        LETRA_A_BRAILLE.put('m', "⠍");
-        LETRA_A_BRAILLE.put('n', "⠝");
-        LETRA_A_BRAILLE.put('ñ', "⠻");
-        LETRA_A_BRAILLE.put('o', "⠕");
-        LETRA_A_BRAILLE.put('p', "⠏");
-        LETRA_A_BRAILLE.put('q', "⠟");
-        LETRA_A_BRAILLE.put('r', "⠗");
-        LETRA_A_BRAILLE.put('s', "⠎");
-        LETRA_A_BRAILLE.put('t', "⠞");
-        LETRA_A_BRAILLE.put('u', "⠥");
-        LETRA_A_BRAILLE.put('v', "⠧");
-        LETRA_A_BRAILLE.put('w', "⠺");
-        LETRA_A_BRAILLE.put('x', "⠭");
-        LETRA_A_BRAILLE.put('y', "⠽");
-        LETRA_A_BRAILLE.put('z', "⠵");
-
-        // Letras con acento
-        LETRA_A_BRAILLE.put('á', "⠷");
-        LETRA_A_BRAILLE.put('é', "⠮");
-        LETRA_A_BRAILLE.put('í', "⠌");
-        LETRA_A_BRAILLE.put('ó', "⠬");
-        LETRA_A_BRAILLE.put('ú', "⠾");
-        LETRA_A_BRAILLE.put('ü', "⠳");
-
-        // Espacio
-        LETRA_A_BRAILLE.put(' ', "⠀");
-
-        // Números 
-        NUMERO_A_BRAILLE.put('0', "⠚");
-        NUMERO_A_BRAILLE.put('1', "⠁");
-        NUMERO_A_BRAILLE.put('2', "⠃");
-        NUMERO_A_BRAILLE.put('3', "⠉");
-        NUMERO_A_BRAILLE.put('4', "⠙");
-        NUMERO_A_BRAILLE.put('5', "⠑");
-        NUMERO_A_BRAILLE.put('6', "⠋");
-        NUMERO_A_BRAILLE.put('7', "⠛");
-        NUMERO_A_BRAILLE.put('8', "⠓");
-        NUMERO_A_BRAILLE.put('9', "⠊");
-
-        // Puntuación
-        PUNTUACION_A_BRAILLE.put('.', "⠄");
-        PUNTUACION_A_BRAILLE.put(',', "⠂");
-        PUNTUACION_A_BRAILLE.put(';', "⠆");
-        PUNTUACION_A_BRAILLE.put(':', "⠒");
-        PUNTUACION_A_BRAILLE.put('?', "⠢");
-        PUNTUACION_A_BRAILLE.put('¿', "⠢");
-        PUNTUACION_A_BRAILLE.put('!', "⠖");
-        PUNTUACION_A_BRAILLE.put('-', "⠤");
-        PUNTUACION_A_BRAILLE.put('(', "⠣");
-        PUNTUACION_A_BRAILLE.put(')', "⠜");
-        PUNTUACION_A_BRAILLE.put('"', "⠶");
-        PUNTUACION_A_BRAILLE.put('_', "⠤");
-        PUNTUACION_A_BRAILLE.put('+', "⠖");
-        PUNTUACION_A_BRAILLE.put('=', "⠶");
-        PUNTUACION_A_BRAILLE.put('÷', "⠲");
-        PUNTUACION_A_BRAILLE.put('*', "⠦");
-        PUNTUACION_A_BRAILLE.put('/', "⠌");
-        PUNTUACION_A_BRAILLE.put('¡', "⠖");
-        // Crear mapeos inversos
-        for (Map.Entry<Character, String> entry : LETRA_A_BRAILLE.entrySet()) {
-            BRAILLE_A_LETRA.put(entry.getValue(), entry.getKey());
-        }
+    public static char obtenerPuntuacionParaCelda(char celda) {
+        return TABLA.get().puntuacionParaCelda(celda);
+    }
 
-        for (Map.Entry<Character, String> entry : NUMERO_A_BRAILLE.entrySet()) {
-            BRAILLE_A_NUMERO.put(entry.getValue(), entry.getKey());
-        }
+    /**
+     * Obtiene la celda Braille que indica el inicio de un número.
+     *
+     * @return el signo numérico '⠼' (U+283C)
+     */
+    public static char obtenerCeldaSignoNumero() {
+        return TABLA.get().signoNumero();
+    }
 
-        for (Map.Entry<Character, String> entry : PUNTUACION_A_BRAILLE.entrySet()) {
-            BRAILLE_A_PUNTUACION.put(entry.getValue(), entry.getKey());
-        }
+    /**
+     * Obtiene la celda Braille que indica que la siguiente letra es mayúscula.
+     *
+     * @return el signo de mayúscula '⠨' (U+2828)
+     */
+    public static char obtenerCeldaSignoMayuscula() {
+        return TABLA.get().signoMayuscula();
     }
 
     /**
@@ -274,27 +334,29 @@ public class MapeadorBraille {
      *
      * <p>Convierte automáticamente a minúsculas antes de buscar. Para letras
      * mayúsculas, el código llamante debe agregar manualmente el prefijo
-     * {@link #SIGNO_MAYUSCULA}.</p>
+     * signo de mayúscula ({@link #obtenerCeldaSignoMayuscula()}).</p>
      *
      * @param letra carácter español (a-z, ñ, vocales acentuadas, espacio).
      *              Las mayúsculas se convierten automáticamente a minúsculas.
      * @return representación Braille Unicode, o null si el carácter no está mapeado
+     * @see #obtenerCeldaParaLetra(char)
      */
     public static String obtenerBrailleParaLetra(char letra) {
-        return LETRA_A_BRAILLE.get(Character.toLowerCase(letra));
+        return comoTexto(obtenerCeldaParaLetra(letra));
     }
 
     /**
      * Obtiene la representación Braille de un dígito.
      *
      * <p>Retorna solo el patrón Braille del número. El código llamante es
-     * responsable de agregar el prefijo {@link #SIGNO_NUMERO} cuando sea necesario.</p>
+     * responsable de agregar el prefijo signo de número ({@link #obtenerCeldaSignoNumero()}) cuando sea necesario.</p>
      *
      * @param numero dígito del 0 al 9
      * @return representación Braille Unicode del número, o null si no es un dígito
+     * @see #obtenerCeldaParaNumero(char)
      */
     public static String obtenerBrailleParaNumero(char numero) {
-        return NUMERO_A_BRAILLE.get(numero);
+        return comoTexto(obtenerCeldaParaNumero(numero));
     }
 
     /**
@@ -302,9 +364,10 @@ public class MapeadorBraille {
      *
      * @param puntuacion signo de puntuación soportado (. , ; : ? ! - ( ) ")
      * @return representación Braille Unicode, o null si el signo no está mapeado
+     * @see #obtenerCeldaParaPuntuacion(char)
      */
     public static String obtenerBrailleParaPuntuacion(char puntuacion) {
-        return PUNTUACION_A_BRAILLE.get(puntuacion);
+        return comoTexto(obtenerCeldaParaPuntuacion(puntuacion));
     }
 
     /**
@@ -315,23 +378,29 @@ public class MapeadorBraille {
      *
      * @param braille representación Braille Unicode de una letra
      * @return carácter español minúscula, o null si el patrón no es una letra conocida
+     * @see #obtenerLetraParaCelda(char)
      */
     public static Character obtenerLetraParaBraille(String braille) {
-        return BRAILLE_A_LETRA.get(braille);
+        return braille != null && braille.length() == 1
+                ? comoCaracter(obtenerLetraParaCelda(braille.charAt(0)))
+                : null;
     }
 
     /**
      * Obtiene el dígito correspondiente a un patrón Braille numérico.
      *
      * <p>El patrón Braille debe ser el carácter numérico sin el prefijo
-     * {@link #SIGNO_NUMERO}. El código llamante debe gestionar el contexto
+     * signo de número ({@link #obtenerCeldaSignoNumero()}). El código llamante debe gestionar el contexto
      * numérico activado por dicho prefijo.</p>
      *
      * @param braille representación Braille Unicode de un número
      * @return dígito del 0 al 9, o null si el patrón no es un número conocido
+     * @see #obtenerNumeroParaCelda(char)
      */
     public static Character obtenerNumeroParaBraille(String braille) {
-        return BRAILLE_A_NUMERO.get(braille);
+        return braille != null && braille.length() == 1
+                ? comoCaracter(obtenerNumeroParaCelda(braille.charAt(0)))
+                : null;
     }
 
     /**
@@ -339,9 +408,12 @@ public class MapeadorBraille {
      *
      * @param braille representación Braille Unicode de un signo de puntuación
      * @return carácter de puntuación, o null si el patrón no es puntuación conocida
+     * @see #obtenerPuntuacionParaCelda(char)
      */
     public static Character obtenerPuntuacionParaBraille(String braille) {
-        return BRAILLE_A_PUNTUACION.get(braille);
+        return braille != null && braille.length() == 1
+                ? comoCaracter(obtenerPuntuacionParaCelda(braille.charAt(0)))
+                : null;
     }
 
     /**
@@ -350,34 +422,32 @@ public class MapeadorBraille {
      * @return el signo numérico "⠼" (U+283C)
      */
     public static String obtenerSignoNumero() {
-        return SIGNO_NUMERO;
+        return String.valueOf(TABLA.get().signoNumero());
     }
 
     /**
      * Obtiene el símbolo Braille que indica que la siguiente letra es mayúscula.
      *
-     * @return el signo de mayúscula "⠠" (U+2820)
+     * @return el signo de mayúscula "⠨" (U+2828)
      */
     public static String obtenerSignoMayuscula() {
-        return SIGNO_MAYUSCULA;
+        return String.valueOf(TABLA.get().signoMayuscula());
     }
 
     /**
      * Verifica si un carácter español está soportado por el sistema de traducción.
      *
-     * <p>Un carácter está soportado si existe en alguno de los mapeos:
+     * <p>Un carácter está soportado si existe en alguna de las tablas:
      * letras (incluyendo ñ y acentos), números o puntuación.</p>
      *
      * <p>Las mayúsculas se convierten a minúsculas para la verificación,
-     * ya que todas las letras mayúsculas son soportadas mediante el prefijo ⠠.</p>
+     * ya que todas las letras mayúsculas son soportadas mediante el prefijo ⠨.</p>
      *
      * @param c carácter a verificar
      * @return true si el carácter tiene mapeo definido, false en caso contrario
      */
     public static boolean esCaracterSoportado(char c) {
-        return LETRA_A_BRAILLE.containsKey(Character.toLowerCase(c)) ||
-                NUMERO_A_BRAILLE.containsKey(c) ||
-                PUNTUACION_A_BRAILLE.containsKey(c);
+        return TABLA.get().esCaracterSoportado(c);
     }
 
     /**
@@ -396,32 +466,113 @@ public class MapeadorBraille {
         return (c >= '\u2800' && c <= '\u28FF');
     }
 
+    /**
+     * Obtiene la versión espejada de un texto Braille, para escritura con punzón y regleta.
+     *
+     * <p>Cada línea se invierte y cada celda se sustituye por su imagen especular;
+     * los caracteres que no son Braille se conservan. Trabaja sobre un único búfer
+     * de salida: copia el texto, invierte cada línea en su sitio consultando
+     * {@link #TABLA_ESPEJO} y construye el resultado sin divisiones ni objetos
+     * intermedios por línea.</p>
+     *
+     * @param textoBraille texto Braille, con líneas separadas por {@code '\n'}
+     * @return texto espejado, o el mismo valor si es null o vacío
+     */
     public static String espejarBraille(String textoBraille) {
         if (textoBraille == null || textoBraille.isEmpty()) return textoBraille;
-        String[] lineas = textoBraille.split("\n", -1);
-        StringBuilder resultado = new StringBuilder();
-        for (int i = 0; i < lineas.length; i++) {
-            StringBuilder lineaEspejada = new StringBuilder();
-            for (char c : lineas[i].toCharArray()) {
-                lineaEspejada.append(esCaracterBraille(c) ? espejarCaracter(c) : c);
+        char[] bufer = textoBraille.toCharArray();
+        int inicio = 0;
+        for (int i = 0; i <= bufer.length; i++) {
+            if (i == bufer.length || bufer[i] == '\n') {
+                espejarLinea(bufer, inicio, i);
+                inicio = i + 1;
+            }
+        }
+        return new String(bufer);
+    }
+
+    /**
+     * Espeja un texto Braille en streaming, leyendo de un {@link Reader} y escribiendo
+     * en un {@link Appendable}.
+     *
+     * <p>Solo mantiene en memoria la línea en curso: cada línea se emite espejada en
+     * cuanto llega su {@code '\n'} (o el fin de la entrada). El resultado es idéntico
+     * a {@link #espejarBraille(String)} sobre el texto completo. No cierra el origen
+     * ni el destino.</p>
+     *
+     * @param origen texto Braille a leer
+     * @param destino destino de la salida espejada
+     * @throws IOException si falla la lectura o la escritura
+     */
+    public static void espejarBraille(Reader origen, Appendable destino) throws IOException {
+        char[] lectura = new char[8192];
+        char[] linea = new char[256];
+        int longitud = 0;
+        int leidos;
+        while ((leidos = origen.read(lectura)) != -1) {
+            for (int i = 0; i < leidos; i++) {
+                char c = lectura[i];
+                if (c == '\n') {
+                    espejarLinea(linea, 0, longitud);
+                    escribir(destino, linea, longitud);
+                    destino.append('\n');
+                    longitud = 0;
+                } else {
+                    if (longitud == linea.length) {
+                        linea = Arrays.copyOf(linea, longitud << 1);
+                    }
+                    linea[longitud++] = c;
+                }
+            }
+        }
+        espejarLinea(linea, 0, longitud);
+        escribir(destino, linea, longitud);
+    }
+
+    private static void escribir(Appendable destino, char[] bufer, int longitud) throws IOException {
+        if (destino instanceof Writer) {
+            ((Writer) destino).write(bufer, 0, longitud);
+        } else {
+            destino.append(CharBuffer.wrap(bufer, 0, longitud));
+        }
+    }
+
+    /**
+     * Invierte en su sitio el tramo {@code [inicio, fin)} espejando cada celda Braille.
+     *
+     * <p>Los pares sustitutos se mantienen en su orden original, igual que
+     * {@link StringBuilder#reverse()}.</p>
+     */
+    private static void espejarLinea(char[] bufer, int inicio, int fin) {
+        boolean sustitutos = false;
+        for (int i = inicio, j = fin - 1; i <= j; i++, j--) {
+            char izquierda = bufer[i];
+            char derecha = bufer[j];
+            bufer[i] = espejarCelda(derecha);
+            bufer[j] = espejarCelda(izquierda);
+            sustitutos |= Character.isSurrogate(izquierda) | Character.isSurrogate(derecha);
+        }
+        if (sustitutos) {
+            for (int i = inicio; i < fin - 1; i++) {
+                if (Character.isLowSurrogate(bufer[i]) && Character.isHighSurrogate(bufer[i + 1])) {
+                    char bajo = bufer[i];
+                    bufer[i] = bufer[i + 1];
+                    bufer[++i] = bajo;
+                }
             }
-            resultado.append(lineaEspejada.reverse().toString());
-            if (i < lineas.length - 1) resultado.append("\n");
         }
-        return resultado.toString();
     }
 
-    private static char espejarCaracter(char c) {
-        int mask = c - '\u2800';
-        int newMask = 0;
-        if ((mask & 0x01) != 0) newMask |= 0x08;
-        if ((mask & 0x02) != 0) newMask |= 0x10;
-        if ((mask & 0x04) != 0) newMask |= 0x20;
-        if ((mask & 0x08) != 0) newMask |= 0x01;
-        if ((mask & 0x10) != 0) newMask |= 0x02;
-        if ((mask & 0x20) != 0) newMask |= 0x04;
-        if ((mask & 0x40) != 0) newMask |= 0x80;
-        if ((mask & 0x80) != 0) newMask |= 0x40;
-        return (char) ('\u2800' + newMask);
+    /**
+     * Obtiene la imagen especular de una celda Braille (columnas izquierda y derecha intercambiadas).
+     *
+     * <p>Los caracteres que no son Braille se devuelven sin cambios, igual que en
+     * {@link #espejarBraille(String)}.</p>
+     *
+     * @param c carácter a espejar
+     * @return la celda espejada, o el mismo carácter si no pertenece al bloque Braille
+     */
+    public static char espejarCelda(char c) {
+        return esCaracterBraille(c) ? TABLA_ESPEJO[c - INICIO_BLOQUE_BRAILLE] : c;
     }
-}
\ No newline at end of file
+}
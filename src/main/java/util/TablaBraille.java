@@ -0,0 +1,475 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Tabla de traducción Braille compilada a partir de un archivo de tabla.
+ *
+ * <p>El archivo de tabla, en el espíritu de las tablas de liblouis, declara una
+ * regla por línea:</p>
+ * <pre>
+ * # comentario
+ * letra      a 1
+ * letra      \s 0
+ * numero     1 1
+ * puntuacion ? 26
+ * puntuacion ¿ 26 inversa
+ * signo      numero 3456
+ * signo      mayuscula 46
+ * </pre>
+ * <p>Los puntos se escriben como en liblouis (dígitos 1-8 de los puntos elevados,
+ * {@code 0} para la celda vacía). En la columna del carácter se admiten
+ * {@code \s} (espacio), {@code \\} (barra invertida) y {@code \}{@code uXXXX}. Las
+ * letras se declaran en minúscula. Si varios caracteres comparten celda, la lectura
+ * Braille → español usa el marcado {@code inversa} o, si no hay ninguno, el
+ * primero declarado.</p>
+ *
+ * <h2>Compilación</h2>
+ * <p>Al cargarse, cada grupo de reglas se compila en estructuras primitivas
+ * inmutables y sin colisiones:</p>
+ * <ul>
+ *   <li><b>Carácter → celda</b>: {@link TablaCaracteres}, hash perfecto de un
+ *       acceso, válido para cualquier carácter y no solo Latin-1</li>
+ *   <li><b>Celda → carácter</b>: arreglo {@code char[256]} indexado por
+ *       {@code celda - 0x2800}</li>
+ * </ul>
+ * <p>El tiempo de compilación queda registrado y se informa con {@link #informe()}.
+ * El coste de búsqueda no depende del tamaño de la tabla, y el camino por carácter
+ * del motor de traducción usa además sus propias tablas de estados precalculadas.</p>
+ *
+ * <h2>Versión</h2>
+ * <p>Cada tabla lleva una {@linkplain #getVersion() versión} formada por su nombre y
+ * una huella de sus reglas (sin comentarios ni espacios sobrantes). Dos tablas con
+ * las mismas reglas tienen la misma versión, aunque se compilen en otro proceso o
+ * después de un reinicio, de modo que sirve como clave para cachés de resultados.</p>
+ *
+ * <p>Las instancias son inmutables y thread-safe: una tabla es una instantánea que
+ * se publica entera con {@link MapeadorBraille#publicarTabla(TablaBraille)}.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see MapeadorBraille
+ */
+public final class TablaBraille {
+
+    /** Primer carácter del bloque Unicode Braille Patterns. */
+    private static final char INICIO_BLOQUE_BRAILLE = '⠀';
+
+    /** Cantidad de celdas Braille posibles. */
+    private static final int CELDAS = 256;
+
+    /** Valor inicial de la huella FNV-1a de 64 bits. */
+    private static final long HUELLA_INICIAL = 0xcbf29ce484222325L;
+
+    /** Primo de la huella FNV-1a de 64 bits. */
+    private static final long PRIMO_HUELLA = 0x100000001b3L;
+
+    private final String nombre;
+    private final String origen;
+
+    private final TablaCaracteres letraABraille;
+    private final TablaCaracteres numeroABraille;
+    private final TablaCaracteres puntuacionABraille;
+
+    private final char[] brailleALetra;
+    private final char[] brailleANumero;
+    private final char[] brailleAPuntuacion;
+
+    private final char signoNumero;
+    private final char signoMayuscula;
+
+    /** Versión de la tabla: nombre y huella de las reglas. */
+    private final String version;
+
+    /** Duración de la lectura y compilación de la tabla, en nanosegundos. */
+    private final long nanosCompilacion;
+
+    private TablaBraille(String nombre, String origen, Grupo letras, Grupo numeros, Grupo puntuacion,
+                         char signoNumero, char signoMayuscula, long huella, long inicio) {
+        this.nombre = nombre;
+        this.version = nombre + "-" + String.format(Locale.ROOT, "%016x", huella);
+        this.origen = origen;
+        this.letraABraille = letras.directa();
+        this.numeroABraille = numeros.directa();
+        this.puntuacionABraille = puntuacion.directa();
+        this.brailleALetra = letras.inversa;
+        this.brailleANumero = numeros.inversa;
+        this.brailleAPuntuacion = puntuacion.inversa;
+        this.signoNumero = signoNumero;
+        this.signoMayuscula = signoMayuscula;
+        this.nanosCompilacion = System.nanoTime() - inicio;
+    }
+
+    // --- Carga ---
+
+    /**
+     * Carga y compila una tabla del classpath.
+     *
+     * @param recurso Ruta del recurso, por ejemplo {@code /tablas/espanol.tabla}
+     * @return Tabla compilada
+     * @throws IOException si el recurso no existe o no puede leerse
+     * @throws IllegalArgumentException si la tabla tiene errores de formato
+     */
+    public static TablaBraille cargarRecurso(String recurso) throws IOException {
+        InputStream entrada = TablaBraille.class.getResourceAsStream(recurso);
+        if (entrada == null) {
+            throw new IOException("No se encontró la tabla Braille en el classpath: " + recurso);
+        }
+        try (Reader lector = new InputStreamReader(entrada, StandardCharsets.UTF_8)) {
+            return compilar(nombreDe(recurso), "classpath:" + recurso, lector);
+        }
+    }
+
+    /**
+     * Carga y compila una tabla del sistema de archivos.
+     *
+     * @param archivo Archivo de tabla en UTF-8
+     * @return Tabla compilada
+     * @throws IOException si el archivo no puede leerse
+     * @throws IllegalArgumentException si la tabla tiene errores de formato
+     */
+    public static TablaBraille cargarArchivo(Path archivo) throws IOException {
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return compilar(nombreDe(archivo.getFileName().toString()), archivo.toAbsolutePath().toString(), lector);
+        }
+    }
+
+    /**
+     * Lee y compila una tabla.
+     *
+     * @param nombre Nombre de la tabla, usado en los mensajes
+     * @param origen Descripción de su procedencia
+     * @param lector Contenido de la tabla
+     * @return Tabla compilada
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si la tabla tiene errores de formato, con el número de línea
+     */
+    public static TablaBraille compilar(String nombre, String origen, Reader lector) throws IOException {
+        long inicio = System.nanoTime();
+        Grupo letras = new Grupo("letra");
+        Grupo numeros = new Grupo("numero");
+        Grupo puntuacion = new Grupo("puntuacion");
+        char signoNumero = MapeadorBraille.SIN_MAPEO;
+        char signoMayuscula = MapeadorBraille.SIN_MAPEO;
+        long huella = HUELLA_INICIAL;
+
+        BufferedReader lineas = new BufferedReader(lector);
+        String linea;
+        int numeroLinea = 0;
+        while ((linea = lineas.readLine()) != null) {
+            numeroLinea++;
+            String contenido = linea.strip();
+            if (contenido.isEmpty() || contenido.charAt(0) == '#') {
+                continue;
+            }
+            String[] campos = contenido.split("\\s+");
+            huella = acumularHuella(huella, campos);
+            try {
+                switch (campos[0]) {
+                    case "letra":
+                        letras.agregar(campos);
+                        break;
+                    case "numero":
+                        numeros.agregar(campos);
+                        break;
+                    case "puntuacion":
+                        puntuacion.agregar(campos);
+                        break;
+                    case "signo":
+                        if (campos.length != 3) {
+                            throw new IllegalArgumentException("se esperaba 'signo numero|mayuscula <puntos>'");
+                        }
+                        if (campos[1].equals("numero")) {
+                            signoNumero = celda(campos[2]);
+                        } else if (campos[1].equals("mayuscula")) {
+                            signoMayuscula = celda(campos[2]);
+                        } else {
+                            throw new IllegalArgumentException("signo desconocido '" + campos[1] + "'");
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("regla desconocida '" + campos[0] + "'");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Tabla '" + nombre + "', línea " + numeroLinea + ": " + e.getMessage(), e);
+            }
+        }
+
+        if (signoNumero == MapeadorBraille.SIN_MAPEO || signoMayuscula == MapeadorBraille.SIN_MAPEO) {
+            throw new IllegalArgumentException(
+                    "Tabla '" + nombre + "': faltan los signos de número o de mayúscula");
+        }
+        return new TablaBraille(nombre, origen, letras, numeros, puntuacion, signoNumero, signoMayuscula,
+                huella, inicio);
+    }
+
+    /**
+     * Incorpora una regla a la huella FNV-1a, con sus campos separados por un espacio
+     * y terminada en salto de línea.
+     */
+    private static long acumularHuella(long huella, String[] campos) {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                huella = (huella ^ ' ') * PRIMO_HUELLA;
+            }
+            String campo = campos[i];
+            for (int j = 0; j < campo.length(); j++) {
+                huella = (huella ^ campo.charAt(j)) * PRIMO_HUELLA;
+            }
+        }
+        return (huella ^ '\n') * PRIMO_HUELLA;
+    }
+
+    private static String nombreDe(String ruta) {
+        String nombre = ruta.substring(ruta.lastIndexOf('/') + 1);
+        int punto = nombre.lastIndexOf('.');
+        return punto > 0 ? nombre.substring(0, punto) : nombre;
+    }
+
+    /**
+     * Convierte la notación de puntos de liblouis ({@code "1245"}, {@code "0"}) en una celda Unicode.
+     */
+    private static char celda(String puntos) {
+        if (puntos.equals("0")) {
+            return INICIO_BLOQUE_BRAILLE;
+        }
+        int mascara = 0;
+        for (int i = 0; i < puntos.length(); i++) {
+            char punto = puntos.charAt(i);
+            if (punto < '1' || punto > '8' || (mascara & (1 << (punto - '1'))) != 0) {
+                throw new IllegalArgumentException("puntos no válidos '" + puntos + "'");
+            }
+            mascara |= 1 << (punto - '1');
+        }
+        return (char) (INICIO_BLOQUE_BRAILLE + mascara);
+    }
+
+    /**
+     * Interpreta la columna del carácter, con los escapes {@code \s}, {@code \\} y {@code \}{@code uXXXX}.
+     */
+    private static char caracter(String campo) {
+        if (campo.length() == 1) {
+            return campo.charAt(0);
+        }
+        if (campo.equals("\\s")) {
+            return ' ';
+        }
+        if (campo.equals("\\\\")) {
+            return '\\';
+        }
+        if (campo.length() == 6 && campo.startsWith("\\u")) {
+            try {
+                return (char) Integer.parseInt(campo.substring(2), 16);
+            } catch (NumberFormatException e) {
+                // se informa abajo
+            }
+        }
+        throw new IllegalArgumentException("carácter no válido '" + campo + "'");
+    }
+
+    /**
+     * Reglas de un mismo tipo (letras, números o puntuación) durante la lectura.
+     */
+    private static final class Grupo {
+
+        private final String tipo;
+        private char[] claves = new char[64];
+        private char[] celdas = new char[64];
+        private int cantidad;
+        private final char[] inversa = new char[CELDAS];
+        private final boolean[] inversaMarcada = new boolean[CELDAS];
+
+        Grupo(String tipo) {
+            this.tipo = tipo;
+        }
+
+        void agregar(String[] campos) {
+            boolean marcada = campos.length == 4 && campos[3].equals("inversa");
+            if (campos.length != 3 && !marcada) {
+                throw new IllegalArgumentException(
+                        "se esperaba '" + tipo + " <carácter> <puntos> [inversa]'");
+            }
+            char c = caracter(campos[1]);
+            char celda = celda(campos[2]);
+            if (c == MapeadorBraille.SIN_MAPEO) {
+                throw new IllegalArgumentException("carácter no válido '" + campos[1] + "'");
+            }
+            if (tipo.equals("letra") && Character.isUpperCase(c)) {
+                throw new IllegalArgumentException("las letras se declaran en minúscula: '" + c + "'");
+            }
+            for (int i = 0; i < cantidad; i++) {
+                if (claves[i] == c) {
+                    throw new IllegalArgumentException("carácter repetido '" + c + "'");
+                }
+            }
+            if (cantidad == claves.length) {
+                claves = Arrays.copyOf(claves, cantidad << 1);
+                celdas = Arrays.copyOf(celdas, cantidad << 1);
+            }
+            claves[cantidad] = c;
+            celdas[cantidad++] = celda;
+
+            int indice = celda - INICIO_BLOQUE_BRAILLE;
+            if (marcada) {
+                if (inversaMarcada[indice]) {
+                    throw new IllegalArgumentException("la celda ya tiene otra lectura 'inversa'");
+                }
+                inversa[indice] = c;
+                inversaMarcada[indice] = true;
+            } else if (inversa[indice] == MapeadorBraille.SIN_MAPEO) {
+                inversa[indice] = c;
+            }
+        }
+
+        TablaCaracteres directa() {
+            return TablaCaracteres.compilar(claves, celdas, cantidad);
+        }
+    }
+
+    // --- Consultas ---
+
+    /**
+     * @param letra letra en minúscula (o espacio)
+     * @return celda Braille, o {@link MapeadorBraille#SIN_MAPEO}
+     */
+    public char celdaParaLetra(char letra) {
+        return letraABraille.obtener(letra);
+    }
+
+    /**
+     * @param numero dígito
+     * @return celda Braille (sin el signo de número), o {@link MapeadorBraille#SIN_MAPEO}
+     */
+    public char celdaParaNumero(char numero) {
+        return numeroABraille.obtener(numero);
+    }
+
+    /**
+     * @param puntuacion signo de puntuación
+     * @return celda Braille, o {@link MapeadorBraille#SIN_MAPEO}
+     */
+    public char celdaParaPuntuacion(char puntuacion) {
+        return puntuacionABraille.obtener(puntuacion);
+    }
+
+    /**
+     * @param celda celda Braille Unicode
+     * @return letra en minúscula (o espacio), o {@link MapeadorBraille#SIN_MAPEO}
+     */
+    public char letraParaCelda(char celda) {
+        return buscarInversa(brailleALetra, celda);
+    }
+
+    /**
+     * @param celda celda Braille Unicode
+     * @return dígito, o {@link MapeadorBraille#SIN_MAPEO}
+     */
+    public char numeroParaCelda(char celda) {
+        return buscarInversa(brailleANumero, celda);
+    }
+
+    /**
+     * @param celda celda Braille Unicode
+     * @return signo de puntuación, o {@link MapeadorBraille#SIN_MAPEO}
+     */
+    public char puntuacionParaCelda(char celda) {
+        return buscarInversa(brailleAPuntuacion, celda);
+    }
+
+    /**
+     * @param c carácter de entrada (las mayúsculas se comprueban como minúsculas)
+     * @return true si el carácter es una letra, un número o un signo de puntuación de la tabla
+     */
+    public boolean esCaracterSoportado(char c) {
+        return letraABraille.obtener(Character.toLowerCase(c)) != MapeadorBraille.SIN_MAPEO
+                || numeroABraille.obtener(c) != MapeadorBraille.SIN_MAPEO
+                || puntuacionABraille.obtener(c) != MapeadorBraille.SIN_MAPEO;
+    }
+
+    private static char buscarInversa(char[] tabla, char celda) {
+        return celda >= INICIO_BLOQUE_BRAILLE && celda < INICIO_BLOQUE_BRAILLE + CELDAS
+                ? tabla[celda - INICIO_BLOQUE_BRAILLE]
+                : MapeadorBraille.SIN_MAPEO;
+    }
+
+    /**
+     * @return celda del signo de número
+     */
+    public char signoNumero() {
+        return signoNumero;
+    }
+
+    /**
+     * @return celda del signo de mayúscula
+     */
+    public char signoMayuscula() {
+        return signoMayuscula;
+    }
+
+    // --- Información ---
+
+    /**
+     * @return nombre de la tabla (nombre del archivo sin extensión)
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * @return versión de la tabla, por ejemplo {@code espanol-3f0c1a9d2b7e4c15};
+     *         cambia si y solo si cambian sus reglas
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return procedencia de la tabla (recurso del classpath o ruta absoluta)
+     */
+    public String getOrigen() {
+        return origen;
+    }
+
+    /**
+     * @return duración de la lectura y compilación, en nanosegundos
+     */
+    public long getNanosCompilacion() {
+        return nanosCompilacion;
+    }
+
+    /**
+     * @return cantidad total de reglas de caracteres (letras, números y puntuación)
+     */
+    public int cantidadReglas() {
+        return letraABraille.tamano() + numeroABraille.tamano() + puntuacionABraille.tamano();
+    }
+
+    /**
+     * Describe la tabla cargada, su tiempo de compilación y el coste de búsqueda.
+     *
+     * @return informe de una línea, apto para el log del servidor
+     */
+    public String informe() {
+        return String.format(Locale.ROOT,
+                "Tabla Braille '%s' (%s, versión %s): %d reglas compiladas en %.3f ms; búsqueda por hash perfecto "
+                        + "de 1 acceso (capacidades %d/%d/%d) y lectura inversa indexada por celda",
+                nombre, origen, version, cantidadReglas(), nanosCompilacion / 1e6,
+                letraABraille.capacidad(), numeroABraille.capacidad(), puntuacionABraille.capacidad());
+    }
+
+    @Override
+    public String toString() {
+        return informe();
+    }
+}
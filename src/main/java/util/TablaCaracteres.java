@@ -0,0 +1,123 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Tabla inmutable carácter → carácter compilada como hash perfecto.
+ *
+ * <p>Al compilarla se busca un multiplicador que lleve cada clave a una posición
+ * distinta de un arreglo de tamaño potencia de dos:</p>
+ * <pre>{@code
+ *   posicion = (clave * multiplicador) >>> (32 - bits)
+ * }</pre>
+ * <p>Como no hay colisiones, una búsqueda es siempre una multiplicación, un
+ * desplazamiento y una comparación con la clave guardada, sin sondeos ni
+ * objetos, sea cual sea el tamaño de la tabla o el rango de los caracteres.</p>
+ *
+ * <p>La búsqueda del multiplicador usa una semilla fija, de modo que la misma
+ * tabla de entrada produce siempre la misma estructura.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see TablaBraille
+ */
+final class TablaCaracteres {
+
+    /** Intentos de multiplicador antes de duplicar la capacidad. */
+    private static final int INTENTOS_POR_TAMANO = 256;
+
+    /** Claves en su posición; {@link MapeadorBraille#SIN_MAPEO} en las posiciones libres. */
+    private final char[] claves;
+
+    /** Valores en la misma posición que su clave. */
+    private final char[] valores;
+
+    /** Multiplicador (impar) que hace perfecta la función de hash. */
+    private final int multiplicador;
+
+    /** Desplazamiento: 32 menos el número de bits de la capacidad. */
+    private final int desplazamiento;
+
+    /** Cantidad de claves. */
+    private final int tamano;
+
+    private TablaCaracteres(char[] claves, char[] valores, int multiplicador, int desplazamiento, int tamano) {
+        this.claves = claves;
+        this.valores = valores;
+        this.multiplicador = multiplicador;
+        this.desplazamiento = desplazamiento;
+        this.tamano = tamano;
+    }
+
+    /**
+     * Compila una tabla a partir de pares clave → valor.
+     *
+     * @param claves Claves distintas entre sí y distintas de {@link MapeadorBraille#SIN_MAPEO}
+     * @param valores Valor de cada clave
+     * @param cantidad Cantidad de pares válidos
+     * @return Tabla sin colisiones
+     */
+    static TablaCaracteres compilar(char[] claves, char[] valores, int cantidad) {
+        int bits = 1;
+        while ((1 << bits) < cantidad * 2) {
+            bits++;
+        }
+        long semilla = 0x9E3779B97F4A7C15L;
+        while (true) {
+            int capacidad = 1 << bits;
+            int desplazamiento = 32 - bits;
+            char[] posiciones = new char[capacidad];
+            char[] contenido = new char[capacidad];
+            for (int intento = 0; intento < INTENTOS_POR_TAMANO; intento++) {
+                semilla = semilla * 6364136223846793005L + 1442695040888963407L;
+                int multiplicador = (int) (semilla >>> 32) | 1;
+                if (ubicar(claves, valores, cantidad, multiplicador, desplazamiento, posiciones, contenido)) {
+                    return new TablaCaracteres(posiciones, contenido, multiplicador, desplazamiento, cantidad);
+                }
+                Arrays.fill(posiciones, MapeadorBraille.SIN_MAPEO);
+            }
+            bits++;
+        }
+    }
+
+    private static boolean ubicar(char[] claves, char[] valores, int cantidad, int multiplicador,
+                                  int desplazamiento, char[] posiciones, char[] contenido) {
+        for (int i = 0; i < cantidad; i++) {
+            int posicion = (claves[i] * multiplicador) >>> desplazamiento;
+            if (posiciones[posicion] != MapeadorBraille.SIN_MAPEO) {
+                return false;
+            }
+            posiciones[posicion] = claves[i];
+            contenido[posicion] = valores[i];
+        }
+        return true;
+    }
+
+    /**
+     * Busca el valor de una clave.
+     *
+     * @param clave carácter a buscar
+     * @return valor asociado, o {@link MapeadorBraille#SIN_MAPEO} si la clave no existe
+     */
+    char obtener(char clave) {
+        int posicion = (clave * multiplicador) >>> desplazamiento;
+        return claves[posicion] == clave && clave != MapeadorBraille.SIN_MAPEO
+                ? valores[posicion]
+                : MapeadorBraille.SIN_MAPEO;
+    }
+
+    /**
+     * @return cantidad de claves
+     */
+    int tamano() {
+        return tamano;
+    }
+
+    /**
+     * @return tamaño del arreglo de posiciones
+     */
+    int capacidad() {
+        return claves.length;
+    }
+}
@@ -0,0 +1,93 @@
+package websocket;
+
+import model.DocumentoTraducido;
+
+/**
+ * Ediciones del editor recibidas y aún no traducidas, combinadas en un único reemplazo.
+ *
+ * <p>Una ráfaga de pulsaciones llega como muchas ediciones pequeñas; en lugar de
+ * traducir cada una, se combinan en el reemplazo que lleva del texto del documento al
+ * texto que ve el editor: el intervalo que cubre todas las ediciones y su contenido
+ * final. Así una ráfaga cuesta una sola actualización de {@link DocumentoTraducido} y
+ * un solo mensaje al editor.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see SesionEditor
+ */
+final class EdicionPendiente {
+
+    /** Inicio del reemplazo en el texto del documento. */
+    private int desde;
+
+    /** Caracteres del texto del documento que se reemplazan. */
+    private int borrados;
+
+    /** Texto que los reemplaza. */
+    private final StringBuilder insertado;
+
+    EdicionPendiente(int desde, int borrados, String insertado) {
+        this.desde = desde;
+        this.borrados = borrados;
+        this.insertado = new StringBuilder(insertado);
+    }
+
+    /**
+     * Añade una edición expresada sobre el texto que resulta de aplicar las anteriores.
+     *
+     * @param base Documento al que se aplicará el reemplazo combinado
+     * @param desdeNueva Inicio de la edición en el texto editado
+     * @param borradosNueva Caracteres que elimina la edición
+     * @param insertadoNueva Texto que inserta la edición
+     * @throws IllegalArgumentException si la edición sale de los límites del texto editado
+     */
+    void anadir(DocumentoTraducido base, int desdeNueva, int borradosNueva, String insertadoNueva) {
+        int diferencia = insertado.length() - borrados;
+        int longitudEditada = base.longitud() + diferencia;
+        if (desdeNueva < 0 || borradosNueva < 0 || desdeNueva > longitudEditada
+                || borradosNueva > longitudEditada - desdeNueva) {
+            throw new IllegalArgumentException("Edición fuera del documento: desde " + desdeNueva
+                    + ", borrados " + borradosNueva + ", longitud " + longitudEditada);
+        }
+
+        // Intervalo que cubre ambas ediciones, en el texto editado
+        int inicio = Math.min(desde, desdeNueva);
+        int fin = Math.max(desde + insertado.length(), desdeNueva + borradosNueva);
+        StringBuilder ventana = new StringBuilder(fin - inicio - borradosNueva + insertadoNueva.length());
+        for (int p = inicio; p < fin; p++) {
+            if (p < desde) {
+                ventana.append(base.caracterEn(p));
+            } else if (p < desde + insertado.length()) {
+                ventana.append(insertado.charAt(p - desde));
+            } else {
+                ventana.append(base.caracterEn(p - diferencia));
+            }
+        }
+        ventana.replace(desdeNueva - inicio, desdeNueva - inicio + borradosNueva, insertadoNueva);
+
+        desde = inicio;
+        borrados = fin - diferencia - inicio;
+        insertado.setLength(0);
+        insertado.append(ventana);
+    }
+
+    /**
+     * @return longitud del texto tras aplicar el reemplazo a {@code base}
+     */
+    int longitudResultante(DocumentoTraducido base) {
+        return base.longitud() + insertado.length() - borrados;
+    }
+
+    int getDesde() {
+        return desde;
+    }
+
+    int getBorrados() {
+        return borrados;
+    }
+
+    CharSequence getInsertado() {
+        return insertado;
+    }
+}
@@ -0,0 +1,159 @@
+package websocket;
+
+import dto.CodecJson;
+import dto.MensajeEditor;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.OnClose;
+import jakarta.websocket.OnError;
+import jakarta.websocket.OnMessage;
+import jakarta.websocket.OnOpen;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerEndpoint;
+import model.DireccionTraduccion;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Endpoint WebSocket para la vista previa en vivo del editor.
+ *
+ * <p>Con {@code /api/traducir} cada pulsación cuesta una petición HTTP y la traducción
+ * del texto completo. Aquí cada editor mantiene una conexión y una sesión con su
+ * documento ({@link SesionEditor}): envía solo lo que edita y recibe solo la parte de
+ * la traducción que cambió. El servidor vuelve a traducir únicamente la zona de cada
+ * edición ({@link model.DocumentoTraducido}) y combina las pulsaciones que llegan
+ * seguidas en una sola traducción y un solo mensaje.</p>
+ *
+ * <h2>Protocolo</h2>
+ * <ul>
+ *   <li><b>Endpoint</b>: {@code /ws/editor}</li>
+ *   <li><b>Del editor</b>: {@link MensajeEditor} en JSON, {@code abrir} con el texto
+ *       completo y después {@code editar} con cada cambio</li>
+ *   <li><b>Del servidor</b>: {@link dto.CambioEditor} en JSON, el reemplazo que hay que
+ *       aplicar a la traducción anterior, con el error del texto si lo hay</li>
+ *   <li><b>Cierre</b>: un mensaje que no se puede aplicar (JSON inválido, dirección
+ *       desconocida o en espejo, edición fuera del texto) cierra la conexión con el
+ *       motivo; el editor debe reconectar y volver a abrir el documento</li>
+ * </ul>
+ *
+ * <p>El espejo no se traduce aquí: el editor recibe Braille en lectura normal y lo
+ * espeja al mostrarlo.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see SesionEditor
+ * @see RecursosEditor
+ * @see servlet.ControladorBraille
+ */
+@ServerEndpoint("/ws/editor")
+public class EditorBraille {
+
+    private static final Logger LOGGER = Logger.getLogger(EditorBraille.class.getName());
+
+    /** Milisegundos que se esperan tras una edición para combinarla con las siguientes. */
+    static final long RETARDO_COMBINACION_MS = 30;
+
+    /** Tamaño máximo de un mensaje del editor, en caracteres. */
+    private static final int TAMANO_MAXIMO_MENSAJE = 4 * SesionEditor.LONGITUD_MAXIMA;
+
+    /** Estado de la conexión de esta instancia (el contenedor crea una por conexión). */
+    private SesionEditor editor;
+
+    /**
+     * Crea el estado de la sesión al conectar.
+     *
+     * @param sesion Sesión WebSocket
+     */
+    @OnOpen
+    public void conectar(Session sesion) {
+        RecursosEditor recursos = RecursosEditor.activos();
+        editor = new SesionEditor(sesion, recursos.getPlanificador(), recursos.getTraductores(),
+                RETARDO_COMBINACION_MS);
+    }
+
+    /**
+     * Procesa un mensaje del editor.
+     *
+     * @param json Mensaje en JSON
+     * @param sesion Sesión WebSocket
+     */
+    @OnMessage(maxMessageSize = TAMANO_MAXIMO_MENSAJE)
+    public void recibir(String json, Session sesion) {
+        MensajeEditor mensaje;
+        try {
+            mensaje = CodecJson.leerMensajeEditor(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException | IOException e) {
+            cerrar(sesion, e.getMessage());
+            return;
+        }
+        if (mensaje == null || mensaje.getTipo() == null) {
+            cerrar(sesion, "Falta el tipo de mensaje");
+            return;
+        }
+
+        try {
+            switch (mensaje.getTipo()) {
+                case MensajeEditor.ABRIR -> {
+                    DireccionTraduccion direccion = parsearDireccion(mensaje.getDireccion());
+                    if (direccion == null || direccion == DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO) {
+                        cerrar(sesion, "Dirección no admitida por el editor: " + mensaje.getDireccion());
+                        return;
+                    }
+                    String texto = mensaje.getTexto() != null ? mensaje.getTexto() : "";
+                    editor.abrir(direccion, texto, mensaje.getVersion());
+                }
+                case MensajeEditor.EDITAR -> {
+                    String insertado = mensaje.getInsertado() != null ? mensaje.getInsertado() : "";
+                    editor.editar(mensaje.getDesde(), mensaje.getBorrados(), insertado, mensaje.getVersion());
+                }
+                default -> cerrar(sesion, "Tipo de mensaje desconocido");
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            cerrar(sesion, e.getMessage());
+        }
+    }
+
+    /**
+     * Descarta las ediciones pendientes al desconectar.
+     */
+    @OnClose
+    public void desconectar() {
+        if (editor != null) {
+            editor.cerrar();
+        }
+    }
+
+    /**
+     * Registra errores de transporte; el contenedor cierra la sesión a continuación.
+     */
+    @OnError
+    public void error(Session sesion, Throwable causa) {
+        LOGGER.log(Level.FINE, "Error en la sesión del editor " + sesion.getId(), causa);
+    }
+
+    private static DireccionTraduccion parsearDireccion(String direccionStr) {
+        for (DireccionTraduccion direccion : DireccionTraduccion.values()) {
+            if (direccion.name().equals(direccionStr)) {
+                return direccion;
+            }
+        }
+        return null;
+    }
+
+    private void cerrar(Session sesion, String motivo) {
+        editor.cerrar();
+        // El motivo de cierre no puede superar 123 bytes en UTF-8
+        while (motivo.getBytes(StandardCharsets.UTF_8).length > 123) {
+            motivo = motivo.substring(0, motivo.length() - 1);
+        }
+        try {
+            sesion.close(new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, motivo));
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "No se pudo cerrar la sesión del editor", e);
+        }
+    }
+}
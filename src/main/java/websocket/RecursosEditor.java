@@ -0,0 +1,97 @@
+package websocket;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hilos que comparten las sesiones de {@link EditorBraille}, con el ciclo de vida de la
+ * aplicación web.
+ *
+ * <p>El contenedor crea una instancia del endpoint por conexión, así que los hilos no
+ * pueden ser suyos. Se crean al iniciar la aplicación y se detienen al pararla: sin
+ * esto, cada redespliegue dejaría vivos sus hilos y, a través de ellos, el cargador de
+ * clases de la aplicación anterior.</p>
+ * <ul>
+ *   <li><b>Planificador</b>: un hilo que cuenta el retardo de combinación de todas las
+ *       sesiones y solo pasa las traducciones a los traductores</li>
+ *   <li><b>Traductores</b>: un hilo por procesador. Abrir un documento traduce hasta
+ *       {@link SesionEditor#LONGITUD_MAXIMA} caracteres; en un pool propio eso no retrasa
+ *       las ediciones de las demás sesiones ni el retardo de combinación</li>
+ * </ul>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see EditorBraille
+ */
+@WebListener
+public class RecursosEditor implements ServletContextListener {
+
+    /** Recursos de la aplicación en marcha, o null si no está iniciada. */
+    private static volatile RecursosEditor activos;
+
+    private ScheduledExecutorService planificador;
+
+    private ExecutorService traductores;
+
+    /**
+     * Crea los hilos del editor y los publica para las conexiones nuevas.
+     *
+     * @param evento Evento de inicio de la aplicación
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent evento) {
+        planificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "editor-braille-planificador");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        AtomicInteger contador = new AtomicInteger();
+        traductores = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), tarea -> {
+            Thread hilo = new Thread(tarea, "editor-braille-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        activos = this;
+    }
+
+    /**
+     * Detiene los hilos del editor; las traducciones pendientes se descartan.
+     *
+     * @param evento Evento de parada de la aplicación
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent evento) {
+        if (activos == this) {
+            activos = null;
+        }
+        planificador.shutdownNow();
+        traductores.shutdownNow();
+    }
+
+    /**
+     * @return Recursos de la aplicación en marcha
+     * @throws IllegalStateException si la aplicación no está iniciada o se está parando
+     */
+    static RecursosEditor activos() {
+        RecursosEditor recursos = activos;
+        if (recursos == null) {
+            throw new IllegalStateException("El editor no está disponible");
+        }
+        return recursos;
+    }
+
+    ScheduledExecutorService getPlanificador() {
+        return planificador;
+    }
+
+    ExecutorService getTraductores() {
+        return traductores;
+    }
+}
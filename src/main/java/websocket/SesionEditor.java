@@ -0,0 +1,268 @@
+package websocket;
+
+import dto.CambioEditor;
+import dto.CodecJson;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import model.CambioTraduccion;
+import model.DireccionTraduccion;
+import model.DocumentoTraducido;
+import model.ErrorTraduccion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estado de un editor conectado: su documento traducido y las ediciones pendientes.
+ *
+ * <p>Las ediciones se acumulan en una {@link EdicionPendiente} y se traducen como
+ * mucho una vez cada {@code retardoMs} milisegundos desde la primera de la ráfaga.
+ * Además, mientras el cambio anterior no termina de enviarse no se traduce otro: las
+ * ediciones que lleguen entretanto se siguen combinando y salen juntas al terminar el
+ * envío. Así un cliente lento recibe menos mensajes, más grandes, en lugar de
+ * acumularlos en el servidor.</p>
+ *
+ * <p>Los mensajes del editor llegan en un hilo del contenedor. El planificador solo
+ * cuenta el retardo y las traducciones se hacen en el pool de traductores, como mucho
+ * una a la vez por sesión; ambos hilos acceden al estado sincronizados sobre la
+ * instancia. La traducción y el envío se hacen fuera del bloqueo, para que traducir un
+ * documento grande no detenga el hilo del contenedor: mientras se traduce, las
+ * ediciones que llegan se validan contra {@code longitud} y esperan en
+ * {@code enEspera} sin tocar el documento, y se combinan al publicar el cambio.</p>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ * @see EditorBraille
+ */
+final class SesionEditor {
+
+    /** Longitud máxima del texto de un documento. */
+    static final int LONGITUD_MAXIMA = 1 << 20;
+
+    private final Session sesion;
+
+    private final ScheduledExecutorService planificador;
+
+    private final Executor traductores;
+
+    private final long retardoMs;
+
+    /** Documento abierto, o null si el editor aún no envió {@code abrir}. */
+    private DocumentoTraducido documento;
+
+    /** Ediciones recibidas y no traducidas, o null. */
+    private EdicionPendiente pendiente;
+
+    /** Versión de la última edición combinada en {@code pendiente}. */
+    private long version;
+
+    /** Longitud del texto del editor, con todas las ediciones recibidas. */
+    private int longitud;
+
+    /** Documento que se está traduciendo fuera del bloqueo, o null. */
+    private DocumentoTraducido enTraduccion;
+
+    /** Ediciones recibidas mientras se traduce {@code documento}, en orden. */
+    private final List<EdicionRecibida> enEspera = new ArrayList<>();
+
+    /** El próximo cambio empieza un documento nuevo. */
+    private boolean reinicio;
+
+    /** Hay una traducción programada o en curso. */
+    private boolean programado;
+
+    /** Hay un cambio enviándose. */
+    private boolean enviando;
+
+    private boolean cerrada;
+
+    SesionEditor(Session sesion, ScheduledExecutorService planificador, Executor traductores, long retardoMs) {
+        this.sesion = sesion;
+        this.planificador = planificador;
+        this.traductores = traductores;
+        this.retardoMs = retardoMs;
+    }
+
+    /**
+     * Empieza un documento nuevo y descarta las ediciones pendientes del anterior.
+     * Su traducción se envía sin esperar al retardo.
+     *
+     * @param direccion Dirección de la traducción (no espejo)
+     * @param texto Texto completo
+     * @param version Versión del mensaje
+     * @throws IllegalArgumentException si el texto supera {@link #LONGITUD_MAXIMA}
+     */
+    synchronized void abrir(DireccionTraduccion direccion, String texto, long version) {
+        if (texto.length() > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException("El documento supera " + LONGITUD_MAXIMA + " caracteres");
+        }
+        documento = new DocumentoTraducido(direccion);
+        pendiente = new EdicionPendiente(0, 0, texto);
+        enEspera.clear();
+        longitud = texto.length();
+        this.version = version;
+        reinicio = true;
+        programar(0);
+    }
+
+    /**
+     * Añade una edición del editor; se traducirá junto con las que lleguen en el retardo.
+     *
+     * @throws IllegalStateException si no hay documento abierto
+     * @throws IllegalArgumentException si la edición sale del texto o lo hace demasiado largo
+     */
+    synchronized void editar(int desde, int borrados, String insertado, long version) {
+        if (documento == null) {
+            throw new IllegalStateException("Debe abrir un documento antes de editarlo");
+        }
+        if (desde < 0 || borrados < 0 || desde > longitud || borrados > longitud - desde) {
+            throw new IllegalArgumentException("Edición fuera del documento: desde " + desde
+                    + ", borrados " + borrados + ", longitud " + longitud);
+        }
+        int resultante = longitud - borrados + insertado.length();
+        if (resultante > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException("El documento supera " + LONGITUD_MAXIMA + " caracteres");
+        }
+        longitud = resultante;
+        if (documento == enTraduccion) {
+            // El documento se está editando fuera del bloqueo: no se puede leer aún
+            enEspera.add(new EdicionRecibida(desde, borrados, insertado, version));
+        } else {
+            combinar(desde, borrados, insertado, version);
+        }
+        programar(retardoMs);
+    }
+
+    private void combinar(int desde, int borrados, String insertado, long version) {
+        if (pendiente == null) {
+            pendiente = new EdicionPendiente(desde, borrados, insertado);
+        } else {
+            pendiente.anadir(documento, desde, borrados, insertado);
+        }
+        this.version = version;
+    }
+
+    /**
+     * Deja de traducir y enviar; las tareas ya programadas no harán nada.
+     */
+    synchronized void cerrar() {
+        cerrada = true;
+        pendiente = null;
+    }
+
+    private void programar(long retardo) {
+        if (!programado && !enviando && !cerrada) {
+            programado = true;
+            if (retardo == 0) {
+                traductores.execute(this::traducirPendiente);
+            } else {
+                planificador.schedule(() -> traductores.execute(this::traducirPendiente),
+                        retardo, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Aplica las ediciones pendientes al documento y envía el cambio resultante.
+     */
+    void traducirPendiente() {
+        DocumentoTraducido destino;
+        EdicionPendiente edicion;
+        long versionEdicion;
+        synchronized (this) {
+            if (pendiente == null || cerrada) {
+                programado = false;
+                return;
+            }
+            destino = documento;
+            edicion = pendiente;
+            versionEdicion = version;
+            pendiente = null;
+            enTraduccion = destino;
+        }
+        // Sigue programado: nadie más traduce esta sesión ni lee el documento
+        CambioTraduccion cambio = destino.editar(edicion.getDesde(), edicion.getBorrados(),
+                edicion.getInsertado());
+        CambioEditor mensaje;
+        synchronized (this) {
+            programado = false;
+            enTraduccion = null;
+            for (EdicionRecibida recibida : enEspera) {
+                combinar(recibida.desde, recibida.borrados, recibida.insertado, recibida.version);
+            }
+            enEspera.clear();
+            if (cerrada) {
+                return;
+            }
+            if (destino != documento) {
+                // Se abrió otro documento mientras tanto: este cambio ya no le sirve al editor
+                programar(0);
+                return;
+            }
+            mensaje = crearCambio(cambio, versionEdicion);
+            reinicio = false;
+            enviando = true;
+        }
+        sesion.getAsyncRemote().sendText(aJson(mensaje), this::enviado);
+    }
+
+    private CambioEditor crearCambio(CambioTraduccion cambio, long versionEdicion) {
+        CambioEditor mensaje = new CambioEditor(versionEdicion, cambio.getDesde(), cambio.getBorrados(),
+                cambio.getInsertado());
+        mensaje.setReinicio(reinicio);
+        mensaje.setVersionTabla(documento.getVersionTabla());
+        ErrorTraduccion error = documento.getError();
+        if (error != null) {
+            mensaje.setError(error.getMensaje());
+            mensaje.setCodigoError(error.getCodigo().name());
+            mensaje.setPosicionError(error.getPosicion());
+        }
+        return mensaje;
+    }
+
+    private static String aJson(CambioEditor cambio) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(256);
+        try {
+            CodecJson.escribir(cambio, json);
+        } catch (IOException e) {
+            // Un ByteArrayOutputStream no falla al escribir
+            throw new UncheckedIOException(e);
+        }
+        return json.toString(StandardCharsets.UTF_8);
+    }
+
+    private synchronized void enviado(SendResult resultado) {
+        enviando = false;
+        if (!resultado.isOK()) {
+            cerrada = true;
+            return;
+        }
+        if (pendiente != null) {
+            programar(0);
+        }
+    }
+
+    /** Edición recibida mientras se traducía, aún sin combinar. */
+    private static final class EdicionRecibida {
+
+        final int desde;
+        final int borrados;
+        final String insertado;
+        final long version;
+
+        EdicionRecibida(int desde, int borrados, String insertado, long version) {
+            this.desde = desde;
+            this.borrados = borrados;
+            this.insertado = insertado;
+            this.version = version;
+        }
+    }
+}
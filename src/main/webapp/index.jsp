@@ -496,6 +496,8 @@
         <script>
             // Variable global para conservar la última traducción Braille sin que se sobreescriba por mensajes
             let ultimaTraduccionBraille = '';
+            // Texto y dirección de la última traducción a Braille, para pedir su imagen al servidor
+            let ultimaSolicitudBraille = null;
             let streamCamara = null;
             let puntosSeleccionados = new Set();
             let modoMayuscula = false;
@@ -508,18 +510,21 @@
                 actualizarContador();
                 actualizarPlaceholder();
                 actualizarEstadoDescarga();
+                conectarEditor();
 
                 // Event listeners
                 document.getElementById('texto').addEventListener('input', () => {
                     actualizarContador();
                     ultimaTraduccionBraille = '';
                     actualizarEstadoDescarga();
+                    enviarEdicionEditor();
                 });
                 document.querySelectorAll('input[name="direccion"]').forEach(radio => {
                     radio.addEventListener('change', () => {
                         actualizarPlaceholder();
                         ultimaTraduccionBraille = '';
                         actualizarEstadoDescarga();
+                        abrirDocumentoEditor();
                     });
                 });
 
@@ -590,6 +595,7 @@
                 
                 textarea.value += char;
                 actualizarContador();
+                enviarEdicionEditor();
                 limpiarPuntos();
             }
 
@@ -613,6 +619,7 @@
                 const textarea = document.getElementById('texto');
                 textarea.value += String.fromCharCode(0x2800);  // ⠀ (Braille blank/espacio válido)
                 actualizarContador();
+                enviarEdicionEditor();
             }
 
             function limpiarPuntos() {
@@ -796,6 +803,7 @@
                         const textoBraille = data.textoTraducido || '';
                         document.getElementById('textoBraille').textContent = textoBraille;
                         ultimaTraduccionBraille = textoBraille;
+                        ultimaSolicitudBraille = solicitud;
                         actualizarEstadoDescarga();
                         
                         mostrarEstado(null);
@@ -989,7 +997,7 @@
                 return '<%= request.getContextPath() %>/api/traducir';
             }
 
-            function mostrarResultado(texto, tipo, emoji) {
+            function mostrarResultado(texto, tipo, emoji, desplazar = true) {
                 const resultado = document.getElementById('resultado');
                 const resultadoEtiqueta = document.getElementById('resultadoEtiqueta');
                 const resultText = document.getElementById('resultText');
@@ -1015,7 +1023,90 @@
                     resultText.className = 'text-xl font-medium break-words select-all text-gray-900';
                 }
 
-                resultado.scrollIntoView({ behavior: 'smooth', block: 'nearest' });
+                if (desplazar) {
+                    resultado.scrollIntoView({ behavior: 'smooth', block: 'nearest' });
+                }
+            }
+
+            // --- Vista previa en vivo por WebSocket ---
+            // El servidor guarda el documento de esta pestaña; se le envía solo lo que cambia
+            // en el texto y responde solo con la parte de la traducción que cambió.
+            // Sin WebSocket la página sigue funcionando con el botón Traducir.
+
+            let socketEditor = null;
+            let versionEditor = 0;
+            let versionDocumentoEditor = 0;
+            let textoEnviadoEditor = '';
+            let traduccionEditor = '';
+
+            function conectarEditor() {
+                if (!('WebSocket' in window)) return;
+                const protocolo = location.protocol === 'https:' ? 'wss:' : 'ws:';
+                socketEditor = new WebSocket(protocolo + '//' + location.host + '<%= request.getContextPath() %>/ws/editor');
+                socketEditor.onopen = abrirDocumentoEditor;
+                socketEditor.onmessage = evento => aplicarCambioEditor(JSON.parse(evento.data));
+                socketEditor.onclose = () => {
+                    socketEditor = null;
+                    setTimeout(conectarEditor, 5000);
+                };
+            }
+
+            function editorConectado() {
+                return socketEditor !== null && socketEditor.readyState === WebSocket.OPEN;
+            }
+
+            function abrirDocumentoEditor() {
+                if (!editorConectado()) return;
+                textoEnviadoEditor = document.getElementById('texto').value;
+                versionDocumentoEditor = ++versionEditor;
+                socketEditor.send(JSON.stringify({
+                    tipo: 'abrir',
+                    version: versionDocumentoEditor,
+                    direccion: document.querySelector('input[name="direccion"]:checked').value,
+                    texto: textoEnviadoEditor
+                }));
+            }
+
+            function enviarEdicionEditor() {
+                if (!editorConectado()) return;
+                const anterior = textoEnviadoEditor;
+                const texto = document.getElementById('texto').value;
+                let inicio = 0;
+                while (inicio < anterior.length && inicio < texto.length && anterior[inicio] === texto[inicio]) {
+                    inicio++;
+                }
+                let fin = 0;
+                while (fin < anterior.length - inicio && fin < texto.length - inicio
+                        && anterior[anterior.length - 1 - fin] === texto[texto.length - 1 - fin]) {
+                    fin++;
+                }
+                if (inicio === anterior.length && inicio === texto.length) return;
+                textoEnviadoEditor = texto;
+                socketEditor.send(JSON.stringify({
+                    tipo: 'editar',
+                    version: ++versionEditor,
+                    desde: inicio,
+                    borrados: anterior.length - inicio - fin,
+                    insertado: texto.substring(inicio, texto.length - fin)
+                }));
+            }
+
+            function aplicarCambioEditor(cambio) {
+                // Cambios de un documento anterior a la última apertura
+                if (cambio.version < versionDocumentoEditor) return;
+                if (cambio.reinicio) traduccionEditor = '';
+                traduccionEditor = traduccionEditor.substring(0, cambio.desde) + cambio.insertado
+                        + traduccionEditor.substring(cambio.desde + cambio.borrados);
+                if (cambio.error) {
+                    ultimaTraduccionBraille = '';
+                    mostrarResultado(cambio.error, 'error', '❌', false);
+                } else if (traduccionEditor) {
+                    const direccion = document.querySelector('input[name="direccion"]:checked').value;
+                    ultimaTraduccionBraille = direccion.includes('A_BRAILLE') ? traduccionEditor : '';
+                    ultimaSolicitudBraille = { texto: textoEnviadoEditor, direccion: direccion };
+                    mostrarResultado(traduccionEditor, 'success', '', false);
+                }
+                actualizarEstadoDescarga();
             }
 
             async function traducir() {
@@ -1060,6 +1151,7 @@
                         
                         if (direccion.includes('A_BRAILLE')) {
                             ultimaTraduccionBraille = data.textoTraducido || '';
+                            ultimaSolicitudBraille = solicitud;
                         }
                         actualizarEstadoDescarga();
                     } else {
@@ -1087,6 +1179,7 @@
                     document.getElementById('resultadoEtiqueta').classList.add('hidden');
                 }
                 actualizarContador();
+                enviarEdicionEditor();
                 document.getElementById('texto').focus();
                 ultimaTraduccionBraille = '';
                 actualizarEstadoDescarga();
@@ -1154,14 +1247,46 @@
             }
 
             async function descargarBraillePng() {
-                let textoParaExportar = (ultimaTraduccionBraille || '').trim();
                 const modoEspejo = document.getElementById('checkEspejo').checked;
 
-                if (!textoParaExportar) {
+                if (!(ultimaTraduccionBraille || '').trim()) {
                     mostrarResultado('No hay traducción Braille para descargar', 'error', '⚠️');
                     return;
                 }
 
+                // El servidor dibuja la imagen desde los puntos; el espejo solo existe sin contracciones
+                const solicitud = ultimaSolicitudBraille;
+                const direccion = solicitud && (modoEspejo
+                        ? (solicitud.direccion === 'ESPANOL_A_BRAILLE' ? 'ESPANOL_A_BRAILLE_ESPEJO' : null)
+                        : solicitud.direccion);
+                if (direccion) {
+                    setDescargaEnProceso(true);
+                    try {
+                        const response = await fetch('<%= request.getContextPath() %>/api/traducir/imagen?formato=png&punto=12', {
+                            method: 'POST',
+                            headers: { 'Content-Type': 'application/json; charset=UTF-8' },
+                            body: JSON.stringify({ texto: solicitud.texto, direccion: direccion })
+                        });
+                        if (response.ok) {
+                            const enlace = document.createElement('a');
+                            enlace.href = URL.createObjectURL(await response.blob());
+                            enlace.download = modoEspejo ? 'braille-espejo-escritura.png' : 'braille-lectura-normal.png';
+                            enlace.click();
+                            setTimeout(() => URL.revokeObjectURL(enlace.href), 1000);
+                            return;
+                        }
+                    } catch (error) {
+                        console.error('Error descargando PNG del servidor:', error);
+                    } finally {
+                        setDescargaEnProceso(false);
+                    }
+                }
+                await descargarBraillePngLocal(modoEspejo);
+            }
+
+            async function descargarBraillePngLocal(modoEspejo) {
+                let textoParaExportar = ultimaTraduccionBraille.trim();
+
                 if (modoEspejo) {
                     textoParaExportar = espejarBrailleJs(textoParaExportar);
                 }
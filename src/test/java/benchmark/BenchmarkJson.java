@@ -0,0 +1,108 @@
+package benchmark;
+
+import com.google.gson.Gson;
+import dto.CodecJson;
+import dto.RespuestaTraduccion;
+import dto.SolicitudTraduccion;
+import model.DireccionTraduccion;
+import model.Traduccion;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Comparación de rendimiento entre Gson y {@link CodecJson} (no es un test de JUnit).
+ *
+ * <p>Mide, para una petición corta y otra de un documento largo, el camino que seguía
+ * el controlador con Gson (leer el cuerpo, {@code fromJson}, {@code toJson} a un
+ * {@code String} y codificarlo en UTF-8) frente al de {@link CodecJson}, que lee y
+ * escribe bytes directamente. Informa nanosegundos y bytes asignados por operación;
+ * las primeras rondas sirven de calentamiento para el compilador JIT.</p>
+ *
+ * <p>Ejecución, después de {@code mvn test-compile}:</p>
+ * <pre>{@code
+ * java -cp target/classes:target/test-classes:$HOME/.m2/repository/com/google/code/gson/gson/2.10.1/gson-2.10.1.jar \
+ *     benchmark.BenchmarkJson [rondas]
+ * }</pre>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BenchmarkJson {
+
+    private static final Gson GSON = new Gson();
+
+    private BenchmarkJson() {
+    }
+
+    /** Operación medida; devuelve un valor para que el JIT no la elimine. */
+    private interface Operacion {
+        int ejecutar() throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rondas = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        comparar("corto", "Hola mundo, año 2024", rondas, 20_000);
+        comparar("documento", "La canción del niño, 1234. ".repeat(4_000), rondas, 50);
+    }
+
+    private static void comparar(String nombre, String texto, int rondas, int repeticiones) throws IOException {
+        byte[] solicitud = GSON.toJson(new SolicitudTraduccion(texto, "ESPANOL_A_BRAILLE"))
+                .getBytes(StandardCharsets.UTF_8);
+        Traduccion traduccion = Traduccion.crear(texto, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        traduccion.ejecutar();
+        RespuestaTraduccion respuesta = new RespuestaTraduccion(texto, traduccion.getTextoTraducido(),
+                DireccionTraduccion.ESPANOL_A_BRAILLE.name());
+        respuesta.setVersionTabla(traduccion.getVersionTabla());
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(1 << 20);
+
+        medir(nombre + " lectura Gson", rondas, repeticiones, () -> GSON.fromJson(
+                new InputStreamReader(new ByteArrayInputStream(solicitud), StandardCharsets.UTF_8),
+                SolicitudTraduccion.class).getTexto().length());
+        medir(nombre + " lectura CodecJson", rondas, repeticiones,
+                () -> CodecJson.leerSolicitud(new ByteArrayInputStream(solicitud)).getTexto().length());
+        medir(nombre + " escritura Gson", rondas, repeticiones, () -> {
+            salida.reset();
+            Writer escritor = new OutputStreamWriter(salida, StandardCharsets.UTF_8);
+            escritor.write(GSON.toJson(respuesta));
+            escritor.flush();
+            return salida.size();
+        });
+        medir(nombre + " escritura CodecJson", rondas, repeticiones, () -> {
+            salida.reset();
+            CodecJson.escribir(respuesta, salida);
+            return salida.size();
+        });
+    }
+
+    private static void medir(String nombre, int rondas, int repeticiones, Operacion operacion) throws IOException {
+        com.sun.management.ThreadMXBean hilos =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long idHilo = Thread.currentThread().getId();
+        int calentamiento = Math.max(3, rondas / 4);
+        long mejor = Long.MAX_VALUE;
+        long bytesAsignados = 0;
+        int control = 0;
+        for (int ronda = 0; ronda < calentamiento + rondas; ronda++) {
+            long asignadosAntes = hilos.getThreadAllocatedBytes(idHilo);
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                control += operacion.ejecutar();
+            }
+            long duracion = System.nanoTime() - inicio;
+            if (ronda >= calentamiento) {
+                mejor = Math.min(mejor, duracion);
+                bytesAsignados = hilos.getThreadAllocatedBytes(idHilo) - asignadosAntes;
+            }
+        }
+        System.out.printf(Locale.ROOT, "%-32s %,12.0f ns/op  %,12d B/op  (control %d)%n",
+                nombre, (double) mejor / repeticiones, bytesAsignados / repeticiones, control & 0xF);
+    }
+}
@@ -0,0 +1,143 @@
+package benchmark;
+
+import model.DireccionTraduccion;
+import model.Traduccion;
+import util.MapeadorBraille;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Medición de rendimiento de las direcciones de traducción (no es un test de JUnit).
+ *
+ * <p>Genera un texto en español de tamaño fijo con vocabulario frecuente, lo traduce
+ * repetidamente en cada dirección e informa el rendimiento en caracteres de entrada
+ * por segundo, además de las celdas producidas. Las primeras rondas sirven de
+ * calentamiento para el compilador JIT y no se cuentan.</p>
+ *
+ * <p>Las mediciones por dirección usan un solo hilo. Al final se mide la traducción
+ * paralela de documentos grandes con pools de 1, 2, 4... hasta el número de
+ * procesadores, para ver cómo escala con los núcleos disponibles.</p>
+ *
+ * <p>Ejecución, después de {@code mvn test-compile}:</p>
+ * <pre>{@code
+ * java -cp target/classes:target/test-classes benchmark.BenchmarkTraduccion [caracteres] [rondas]
+ * }</pre>
+ *
+ * @author Sistema de Traducción Braille
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BenchmarkTraduccion {
+
+    private static final String[] VOCABULARIO = {
+            "de", "que", "para", "con", "por", "como", "porque", "también", "cuando", "donde",
+            "el", "la", "los", "una", "casa", "canción", "rápidamente", "caminando", "comiendo",
+            "cansado", "Madrid", "España", "año", "niño", "texto", "Braille", "papel", "impresión",
+            "siempre", "entre", "después", "mismo", "gobierno", "ahora", "hablar", "presidente"
+    };
+
+    /** Pool de un hilo: fuerza la traducción secuencial. */
+    private static final ForkJoinPool SECUENCIAL = new ForkJoinPool(1);
+
+    private BenchmarkTraduccion() {
+    }
+
+    public static void main(String[] args) {
+        int caracteres = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        String texto = generarTexto(caracteres);
+
+        String integral = traducir(texto, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        String contraido = traducir(texto, DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO);
+        System.out.printf(Locale.ROOT, "Texto: %d caracteres; Braille integral: %d celdas; contraído: %d celdas (%.1f%%)%n",
+                texto.length(), integral.length(), contraido.length(), 100.0 * contraido.length() / integral.length());
+
+        System.out.println(MapeadorBraille.obtenerTabla().informe());
+        medirBusqueda(texto);
+        medir("ESPANOL_A_BRAILLE", texto, DireccionTraduccion.ESPANOL_A_BRAILLE, rondas);
+        medir("ESPANOL_A_BRAILLE_CONTRAIDO", texto, DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO, rondas);
+        medir("BRAILLE_A_ESPANOL", integral.replace('\n', '⠀'), DireccionTraduccion.BRAILLE_A_ESPANOL, rondas);
+        medir("BRAILLE_CONTRAIDO_A_ESPANOL", contraido.replace('\n', '⠀'),
+                DireccionTraduccion.BRAILLE_CONTRAIDO_A_ESPANOL, rondas);
+
+        int procesadores = Runtime.getRuntime().availableProcessors();
+        for (int hilos = 1; hilos < procesadores * 2; hilos *= 2) {
+            int paralelismo = Math.min(hilos, procesadores);
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            medir("Paralelo " + paralelismo + " hilos (integral)", texto,
+                    DireccionTraduccion.ESPANOL_A_BRAILLE, rondas, pool);
+            medir("Paralelo " + paralelismo + " hilos (contraído)", texto,
+                    DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO, rondas, pool);
+            pool.shutdown();
+        }
+    }
+
+    private static void medir(String nombre, String texto, DireccionTraduccion direccion, int rondas) {
+        medir(nombre, texto, direccion, rondas, SECUENCIAL);
+    }
+
+    private static void medir(String nombre, String texto, DireccionTraduccion direccion, int rondas,
+                              ForkJoinPool pool) {
+        int calentamiento = Math.max(3, rondas / 4);
+        long mejor = Long.MAX_VALUE;
+        long total = 0;
+        for (int i = 0; i < calentamiento + rondas; i++) {
+            long inicio = System.nanoTime();
+            traducir(texto, direccion, pool);
+            long duracion = System.nanoTime() - inicio;
+            if (i >= calentamiento) {
+                total += duracion;
+                mejor = Math.min(mejor, duracion);
+            }
+        }
+        double media = (double) total / rondas;
+        System.out.printf(Locale.ROOT, "%-32s media %8.2f ms  %,15.0f car/s  (mejor %,15.0f car/s)%n",
+                nombre, media / 1e6, texto.length() / (media / 1e9), texto.length() / (mejor / 1e9));
+    }
+
+    /**
+     * Mide el coste de una consulta a la tabla compilada (puntuación, letra y número por carácter).
+     */
+    private static void medirBusqueda(String texto) {
+        char[] caracteres = texto.toCharArray();
+        long mejor = Long.MAX_VALUE;
+        int acumulado = 0;
+        for (int ronda = 0; ronda < 15; ronda++) {
+            long inicio = System.nanoTime();
+            for (char c : caracteres) {
+                acumulado += MapeadorBraille.obtenerCeldaParaPuntuacion(c)
+                        + MapeadorBraille.obtenerCeldaParaLetra(c)
+                        + MapeadorBraille.obtenerCeldaParaNumero(c);
+            }
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+        }
+        System.out.printf(Locale.ROOT, "Búsqueda en tabla: %.2f ns/consulta (control %d)%n",
+                mejor / (3.0 * caracteres.length), acumulado & 0xF);
+    }
+
+    private static String traducir(String texto, DireccionTraduccion direccion) {
+        return traducir(texto, direccion, SECUENCIAL);
+    }
+
+    private static String traducir(String texto, DireccionTraduccion direccion, ForkJoinPool pool) {
+        Traduccion traduccion = Traduccion.crear(texto, direccion);
+        traduccion.ejecutar(pool);
+        return traduccion.getTextoTraducido();
+    }
+
+    private static String generarTexto(int caracteres) {
+        Random aleatorio = new Random(2024);
+        StringBuilder texto = new StringBuilder(caracteres + 32);
+        while (texto.length() < caracteres) {
+            texto.append(VOCABULARIO[aleatorio.nextInt(VOCABULARIO.length)]);
+            int signo = aleatorio.nextInt(20);
+            texto.append(signo == 0 ? ". " : signo == 1 ? ", " : signo == 2 ? "\n" : " ");
+            if (signo == 3) {
+                texto.append(aleatorio.nextInt(1000)).append(' ');
+            }
+        }
+        return texto.toString().trim();
+    }
+}
@@ -0,0 +1,250 @@
+package dto;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CodecJson - JSON en flujo sin reflexión")
+class CodecJsonTest {
+
+    private static final String CARACTERES = "aZ0 ñé¿\"\\/<>&='\n\t\r\u0001\u007f\u2028\u2029⠁⠿⣿😀";
+
+    private final Gson gson = new Gson();
+
+    private static String aleatorio(Random aleatorio) {
+        if (aleatorio.nextInt(5) == 0) {
+            return null;
+        }
+        StringBuilder texto = new StringBuilder();
+        int longitud = aleatorio.nextInt(40);
+        for (int i = 0; i < longitud; i++) {
+            int indice = aleatorio.nextInt(CARACTERES.length());
+            if (Character.isSurrogate(CARACTERES.charAt(indice))) {
+                texto.append("😀");
+            } else {
+                texto.append(CARACTERES.charAt(indice));
+            }
+        }
+        return texto.toString();
+    }
+
+    private static RespuestaTraduccion respuestaAleatoria(Random aleatorio) {
+        RespuestaTraduccion respuesta = new RespuestaTraduccion(aleatorio.nextBoolean());
+        respuesta.setTextoOriginal(aleatorio(aleatorio));
+        respuesta.setTextoTraducido(aleatorio(aleatorio));
+        respuesta.setTextoEspejo(aleatorio(aleatorio));
+        respuesta.setCeldas(aleatorio(aleatorio));
+        respuesta.setDireccion(aleatorio(aleatorio));
+        respuesta.setVersionTabla(aleatorio(aleatorio));
+        respuesta.setError(aleatorio(aleatorio));
+        respuesta.setCodigoError(aleatorio(aleatorio));
+        respuesta.setCaracterError(aleatorio(aleatorio));
+        if (aleatorio.nextBoolean()) {
+            respuesta.setPosicionError(aleatorio.nextInt(200_000) - 1);
+        }
+        return respuesta;
+    }
+
+    private static String escribir(RespuestaTraduccion respuesta) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        CodecJson.escribir(respuesta, salida);
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    /** Entrega un byte por lectura, para cortar secuencias UTF-8 y escapes entre búferes. */
+    private static InputStream lento(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] bufer, int desde, int cantidad) {
+                return super.read(bufer, desde, Math.min(cantidad, 1));
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Debe escribir exactamente lo mismo que Gson")
+    void debeEscribirComoGson() throws IOException {
+        Random aleatorio = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            RespuestaTraduccion respuesta = respuestaAleatoria(aleatorio);
+            assertEquals(gson.toJson(respuesta), escribir(respuesta));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe escribir un lote exactamente igual que Gson, también textos mayores que el búfer")
+    void debeEscribirLoteComoGson() throws IOException {
+        Random aleatorio = new Random(5);
+        List<RespuestaTraduccion> respuestas = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            respuestas.add(respuestaAleatoria(aleatorio));
+        }
+        respuestas.add(new RespuestaTraduccion("x", "⠭".repeat(20_000), "ESPANOL_A_BRAILLE"));
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        CodecJson.escribir(respuestas, salida);
+
+        assertEquals(gson.toJson(respuestas), salida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debe escribir los cambios del editor exactamente igual que Gson")
+    void debeEscribirCambioComoGson() throws IOException {
+        Random aleatorio = new Random(17);
+        for (int i = 0; i < 1000; i++) {
+            CambioEditor cambio = new CambioEditor(aleatorio.nextLong(), aleatorio.nextInt(), aleatorio.nextInt(),
+                    aleatorio(aleatorio));
+            cambio.setReinicio(aleatorio.nextBoolean());
+            cambio.setVersionTabla(aleatorio(aleatorio));
+            cambio.setError(aleatorio(aleatorio));
+            cambio.setCodigoError(aleatorio(aleatorio));
+            if (aleatorio.nextBoolean()) {
+                cambio.setPosicionError(aleatorio.nextInt(200_000));
+            }
+
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+            CodecJson.escribir(cambio, salida);
+            assertEquals(gson.toJson(cambio), salida.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe leer los mensajes del editor como Gson y rechazar números no enteros")
+    void debeLeerMensajeEditorComoGson() throws IOException {
+        Random aleatorio = new Random(23);
+        for (int i = 0; i < 500; i++) {
+            MensajeEditor original = new MensajeEditor();
+            original.setTipo(aleatorio(aleatorio));
+            original.setDireccion(aleatorio(aleatorio));
+            original.setTexto(aleatorio(aleatorio));
+            original.setInsertado(aleatorio(aleatorio));
+            original.setVersion(aleatorio.nextLong());
+            original.setDesde(aleatorio.nextInt());
+            original.setBorrados(aleatorio.nextInt());
+            String json = gson.toJson(original);
+
+            MensajeEditor leido = CodecJson.leerMensajeEditor(lento(json));
+
+            assertEquals(original.getTipo(), leido.getTipo(), json);
+            assertEquals(original.getDireccion(), leido.getDireccion(), json);
+            assertEquals(original.getTexto(), leido.getTexto(), json);
+            assertEquals(original.getInsertado(), leido.getInsertado(), json);
+            assertEquals(original.getVersion(), leido.getVersion(), json);
+            assertEquals(original.getDesde(), leido.getDesde(), json);
+            assertEquals(original.getBorrados(), leido.getBorrados(), json);
+        }
+
+        MensajeEditor nulos = CodecJson.leerMensajeEditor(lento("{\"tipo\":\"editar\",\"desde\":null,\"otro\":[1]}"));
+        assertEquals("editar", nulos.getTipo());
+        assertEquals(0, nulos.getDesde());
+        assertNull(CodecJson.leerMensajeEditor(lento(" ")));
+        for (String json : Arrays.asList("{\"desde\":1.5}", "{\"desde\":1e3}", "{\"desde\":01}",
+                "{\"desde\":2147483648}", "{\"version\":\"3\"}", "{\"desde\":-}")) {
+            assertThrows(IllegalArgumentException.class, () -> CodecJson.leerMensajeEditor(lento(json)), json);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe leer lo que escribe Gson, con cualquier corte de la entrada")
+    void debeLeerComoGson() throws IOException {
+        Random aleatorio = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            SolicitudTraduccion original = new SolicitudTraduccion(aleatorio(aleatorio), aleatorio(aleatorio));
+            String json = gson.toJson(original);
+
+            SolicitudTraduccion leida = CodecJson.leerSolicitud(lento(json));
+
+            assertEquals(original.getTexto(), leida.getTexto(), json);
+            assertEquals(original.getDireccion(), leida.getDireccion(), json);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe ignorar campos desconocidos, espacios y escapes \\u")
+    void debeIgnorarCamposDesconocidos() throws IOException {
+        String json = " {\n \"extra\": {\"a\": [1, -2.5e3, true, null, {}]},\t\"texto\" : \"\\u00d1o\\u00f1o\\n\","
+                + " \"otro\": [], \"direccion\": \"ESPANOL_A_BRAILLE\", \"campos\": [\"textoTraducido\" ,\"error\"] } ";
+
+        SolicitudTraduccion solicitud = CodecJson.leerSolicitud(lento(json));
+
+        assertEquals("Ñoño\n", solicitud.getTexto());
+        assertEquals("ESPANOL_A_BRAILLE", solicitud.getDireccion());
+        assertEquals(List.of("textoTraducido", "error"), solicitud.getCampos());
+        assertNull(CodecJson.leerSolicitud(lento("{\"campos\":null}")).getCampos());
+    }
+
+    @Test
+    @DisplayName("Debe leer un cuerpo en la codificación declarada")
+    void debeLeerCodificacionDeclarada() throws IOException {
+        String json = "{\"texto\":\"canción ñandú\",\"direccion\":\"ESPANOL_A_BRAILLE\"}";
+        byte[] latin1 = json.getBytes(StandardCharsets.ISO_8859_1);
+
+        assertEquals("canción ñandú", CodecJson.leerSolicitud(new ByteArrayInputStream(latin1), "ISO-8859-1").getTexto());
+        assertEquals("canción ñandú", CodecJson.leerSolicitudes(
+                new ByteArrayInputStream(("[" + json + "]").getBytes(StandardCharsets.ISO_8859_1)), "windows-1252")[0].getTexto());
+        assertEquals("canción ñandú", CodecJson.leerSolicitud(lento(json), "utf-8").getTexto());
+        assertEquals("canción ñandú", CodecJson.leerSolicitud(lento(json), null).getTexto());
+        assertThrows(IllegalArgumentException.class,
+                () -> CodecJson.leerSolicitud(new ByteArrayInputStream(latin1), "no-existe"));
+    }
+
+    @Test
+    @DisplayName("Debe devolver null con un cuerpo vacío o null")
+    void debeDevolverNullSinContenido() throws IOException {
+        assertNull(CodecJson.leerSolicitud(lento("")));
+        assertNull(CodecJson.leerSolicitud(lento("  \n")));
+        assertNull(CodecJson.leerSolicitud(lento("null")));
+        assertNull(CodecJson.leerSolicitudes(lento("")));
+    }
+
+    @Test
+    @DisplayName("Debe leer un arreglo de solicitudes conservando los elementos null")
+    void debeLeerArreglo() throws IOException {
+        SolicitudTraduccion[] solicitudes = CodecJson.leerSolicitudes(lento(
+                "[{\"texto\":\"Hola\",\"direccion\":\"ESPANOL_A_BRAILLE\"}, null ,{}]"));
+
+        assertEquals(3, solicitudes.length);
+        assertEquals("Hola", solicitudes[0].getTexto());
+        assertNull(solicitudes[1]);
+        assertNull(solicitudes[2].getTexto());
+        assertEquals(0, CodecJson.leerSolicitudes(lento("[ ]")).length);
+    }
+
+    @Test
+    @DisplayName("Debe dejar de leer el arreglo en cuanto pasa del máximo de elementos")
+    void debeCortarArregloEnElMaximo() throws IOException {
+        String elemento = "{\"texto\":\"a\",\"direccion\":\"ESPANOL_A_BRAILLE\"}";
+        assertEquals(2, CodecJson.leerSolicitudes(lento("[" + elemento + "," + elemento + "]"), null, 2).length);
+
+        // El resto no se lee: ni siquiera el JSON mal formado que sigue
+        SolicitudTraduccion[] excedidas = CodecJson.leerSolicitudes(
+                lento("[" + elemento + "," + elemento + "," + elemento + ", x"), null, 2);
+        assertEquals(3, excedidas.length);
+        assertEquals("a", excedidas[2].getTexto());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar JSON mal formado indicando la posición")
+    void debeRechazarJsonInvalido() {
+        for (String json : Arrays.asList("{\"texto\":\"a\"", "{\"texto\" \"a\"}", "{texto:\"a\"}",
+                "{\"texto\":\"a\"} x", "{\"texto\":5}", "{\"texto\":\"\\x\"}", "[1]", "{\"a\":tru}")) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> CodecJson.leerSolicitudes(lento("[" + json + "]")), json);
+            assertTrue(error.getMessage().startsWith("JSON inválido"), error.getMessage());
+            assertTrue(error.getMessage().contains("posición"), error.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> CodecJson.leerSolicitudes(lento("{}")));
+    }
+}
@@ -0,0 +1,320 @@
+package filter;
+
+import dto.CodecJson;
+import dto.SolicitudTraduccion;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.ServicioTraduccionBraille;
+import servlet.ControladorBraille;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FiltroCompresion - gzip y deflate de las respuestas de la API")
+class FiltroCompresionTest {
+
+    private static final byte[] BRAILLE = ("{\"exito\":true,\"textoTraducido\":\""
+            + "⠠⠓⠕⠇⠁⠀⠍⠥⠝⠙⠕⠀".repeat(2_000) + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    private FiltroCompresion filtro;
+
+    /** Respuesta falsa: guarda cabeceras, estado y cada escritura en la salida. */
+    private static final class Destino {
+        final Map<String, String> cabeceras = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        final ByteArrayOutputStream cuerpo = new ByteArrayOutputStream();
+        final List<Integer> escrituras = new ArrayList<>();
+        long longitud = -1;
+        int estado = 200;
+        String tipo = "application/json; charset=UTF-8";
+
+        HttpServletResponse respuesta() {
+            ServletOutputStream salida = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] datos, int desde, int cantidad) {
+                    escrituras.add(cantidad);
+                    cuerpo.write(datos, desde, cantidad);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener escucha) {
+                    try {
+                        escucha.onWritePossible();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+            return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletResponse.class}, (proxy, metodo, args) -> switch (metodo.getName()) {
+                        case "getOutputStream" -> salida;
+                        case "getStatus" -> estado;
+                        case "setStatus" -> estado = (Integer) args[0];
+                        case "isCommitted" -> false;
+                        case "getContentType" -> tipo;
+                        case "setContentType" -> tipo = (String) args[0];
+                        case "getCharacterEncoding" -> "UTF-8";
+                        case "setHeader", "addHeader" -> cabeceras.put((String) args[0], (String) args[1]);
+                        case "getHeader" -> cabeceras.get((String) args[0]);
+                        case "containsHeader" -> cabeceras.containsKey((String) args[0]);
+                        case "setContentLengthLong" -> longitud = (Long) args[0];
+                        case "setContentLength" -> longitud = (Integer) args[0];
+                        default -> null;
+                    });
+        }
+    }
+
+    private static HttpServletRequest peticion(boolean asincrona) {
+        return (HttpServletRequest) Proxy.newProxyInstance(FiltroCompresionTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, metodo, args) -> metodo.getName().equals("isAsyncStarted") ? asincrona : null);
+    }
+
+    @BeforeEach
+    void crearFiltro() throws Exception {
+        filtro = new FiltroCompresion();
+        filtro.init((FilterConfig) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{FilterConfig.class}, (proxy, metodo, args) -> null));
+    }
+
+    @AfterEach
+    void destruirFiltro() {
+        filtro.destroy();
+    }
+
+    private static byte[] leer(InputStream entrada) throws IOException {
+        try (entrada) {
+            return entrada.readAllBytes();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe negociar la codificación según Accept-Encoding y sus pesos")
+    void debeNegociarCodificacion() {
+        assertEquals("gzip", FiltroCompresion.negociar("gzip, deflate, br"));
+        assertEquals("deflate", FiltroCompresion.negociar("deflate"));
+        assertEquals("deflate", FiltroCompresion.negociar("gzip;q=0.5, deflate;q=0.8"));
+        assertEquals("deflate", FiltroCompresion.negociar("gzip;q=0, *"));
+        assertEquals("gzip", FiltroCompresion.negociar("*"));
+        assertNull(FiltroCompresion.negociar("identity"));
+        assertNull(FiltroCompresion.negociar("br, gzip;q=0"));
+        assertNull(FiltroCompresion.negociar(null));
+    }
+
+    @Test
+    @DisplayName("Sin bloqueo debe hacer una escritura por escritura del servlet y cerrar gzip en la última")
+    void debeComprimirConLongitudDeclarada() throws IOException {
+        Destino destino = new Destino();
+        HttpServletResponse real = destino.respuesta();
+        real.setHeader("ETag", "\"espanol-1-abc\"");
+        RespuestaComprimida respuesta = new RespuestaComprimida(peticion(true), real, filtro, "gzip", 1024);
+
+        respuesta.setContentLength(BRAILLE.length);
+        ServletOutputStream salida = respuesta.getOutputStream();
+        int bloques = 0;
+        for (int desde = 0; desde < BRAILLE.length; desde += 8192, bloques++) {
+            salida.write(BRAILLE, desde, Math.min(8192, BRAILLE.length - desde));
+        }
+
+        assertTrue(destino.escrituras.size() <= bloques);
+        assertEquals("gzip", destino.cabeceras.get("Content-Encoding"));
+        assertEquals("W/\"espanol-1-abc\"", destino.cabeceras.get("ETag"));
+        assertEquals(-1, destino.longitud);
+        byte[] comprimido = destino.cuerpo.toByteArray();
+        assertArrayEquals(BRAILLE, leer(new GZIPInputStream(new ByteArrayInputStream(comprimido))));
+        assertTrue(comprimido.length * 20 < BRAILLE.length, "comprimido: " + comprimido.length);
+    }
+
+    @Test
+    @DisplayName("No debe comprimir por debajo del umbral y debe conservar la longitud")
+    void noDebeComprimirRespuestasPequenas() throws IOException {
+        Destino destino = new Destino();
+        RespuestaComprimida respuesta = new RespuestaComprimida(peticion(false), destino.respuesta(), filtro, "gzip", 1024);
+
+        respuesta.setContentLength(5);
+        respuesta.getOutputStream().write("hola!".getBytes(StandardCharsets.UTF_8));
+        respuesta.finalizar();
+
+        assertNull(destino.cabeceras.get("Content-Encoding"));
+        assertEquals(5, destino.longitud);
+        assertEquals("hola!", destino.cuerpo.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Sin longitud debe retener hasta el umbral y luego comprimir en flujo con deflate")
+    void debeComprimirEnFlujo() throws IOException {
+        Destino pequena = new Destino();
+        pequena.tipo = "text/plain; charset=UTF-8";
+        RespuestaComprimida respuesta = new RespuestaComprimida(peticion(false), pequena.respuesta(), filtro, "deflate", 1024);
+        respuesta.getWriter().write("⠓⠕⠇⠁");
+        respuesta.finalizar();
+        assertNull(pequena.cabeceras.get("Content-Encoding"));
+        assertEquals(12, pequena.longitud);
+
+        Destino grande = new Destino();
+        grande.tipo = "text/plain; charset=UTF-8";
+        respuesta = new RespuestaComprimida(peticion(false), grande.respuesta(), filtro, "deflate", 1024);
+        PrintWriter escritor = respuesta.getWriter();
+        String texto = new String(BRAILLE, StandardCharsets.UTF_8);
+        escritor.write(texto, 0, 100);
+        escritor.flush();
+        byte[] parcial = grande.cuerpo.toByteArray();
+        escritor.write(texto, 100, texto.length() - 100);
+        respuesta.finalizar();
+
+        assertEquals("deflate", grande.cabeceras.get("Content-Encoding"));
+        // Tras flush() el cliente ya puede descomprimir lo escrito, aunque el flujo no terminó
+        byte[] inicio = texto.substring(0, 100).getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(inicio, new InflaterInputStream(new ByteArrayInputStream(parcial)).readNBytes(inicio.length));
+        assertArrayEquals(BRAILLE, leer(new InflaterInputStream(new ByteArrayInputStream(grande.cuerpo.toByteArray()))));
+    }
+
+    @Test
+    @DisplayName("No debe comprimir imágenes ya comprimidas")
+    void noDebeComprimirImagenes() throws IOException {
+        Destino destino = new Destino();
+        destino.tipo = "image/png";
+        RespuestaComprimida respuesta = new RespuestaComprimida(peticion(false), destino.respuesta(), filtro, "gzip", 1024);
+
+        respuesta.getOutputStream().write(BRAILLE);
+        respuesta.finalizar();
+
+        assertNull(destino.cabeceras.get("Content-Encoding"));
+        assertArrayEquals(BRAILLE, destino.cuerpo.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Debe comprimir la respuesta asíncrona de ControladorBraille y terminarla al completarse")
+    void debeComprimirRespuestaDelControlador() throws Exception {
+        ControladorBraille controlador = new ControladorBraille();
+        ServletContext contexto = (ServletContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ServletContext.class}, (proxy, metodo, args) -> null);
+        controlador.init((ServletConfig) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ServletConfig.class},
+                (proxy, metodo, args) -> metodo.getName().equals("getServletContext") ? contexto : null));
+        try {
+            SolicitudTraduccion solicitud = new SolicitudTraduccion("Hola mundo. ".repeat(500), "ESPANOL_A_BRAILLE");
+            byte[] cuerpo = ("{\"texto\":\"" + solicitud.getTexto() + "\",\"direccion\":\"ESPANOL_A_BRAILLE\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            ServletInputStream entrada = new ServletInputStream() {
+                private final ByteArrayInputStream datos = new ByteArrayInputStream(cuerpo);
+
+                @Override
+                public int read() {
+                    return datos.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int desde, int cantidad) {
+                    return datos.read(destino, desde, cantidad);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return datos.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener escucha) {
+                    try {
+                        escucha.onDataAvailable();
+                        escucha.onAllDataRead();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+
+            // Contenedor mínimo: los AsyncListener reciben onComplete cuando el servlet completa
+            List<AsyncListener> escuchas = new CopyOnWriteArrayList<>();
+            CountDownLatch completada = new CountDownLatch(1);
+            AsyncContext[] asincrono = new AsyncContext[1];
+            HttpServletRequest peticion = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletRequest.class}, (proxy, metodo, args) -> switch (metodo.getName()) {
+                        case "getMethod" -> "POST";
+                        case "getHeader" -> "Accept-Encoding".equalsIgnoreCase((String) args[0]) ? "gzip" : null;
+                        case "getContentLengthLong" -> (long) cuerpo.length;
+                        case "getContentLength" -> cuerpo.length;
+                        case "getInputStream" -> entrada;
+                        case "isAsyncStarted" -> asincrono[0] != null;
+                        case "getAsyncContext" -> asincrono[0];
+                        case "startAsync" -> asincrono[0] = (AsyncContext) Proxy.newProxyInstance(
+                                getClass().getClassLoader(), new Class<?>[]{AsyncContext.class},
+                                (contextoAsincrono, operacion, parametros) -> switch (operacion.getName()) {
+                                    case "getRequest" -> args[0];
+                                    case "getResponse" -> args[1];
+                                    case "addListener" -> escuchas.add((AsyncListener) parametros[0]);
+                                    case "complete" -> {
+                                        completada.countDown();
+                                        yield null;
+                                    }
+                                    default -> null;
+                                });
+                        default -> null;
+                    });
+            Destino destino = new Destino();
+
+            filtro.doFilter(peticion, destino.respuesta(), controlador::service);
+            assertTrue(completada.await(10, TimeUnit.SECONDS));
+            for (AsyncListener escucha : escuchas) {
+                escucha.onComplete(new AsyncEvent(asincrono[0]));
+            }
+
+            ByteArrayOutputStream esperado = new ByteArrayOutputStream();
+            CodecJson.escribir(new ServicioTraduccionBraille().procesarTraduccion(solicitud), esperado);
+            assertEquals(200, destino.estado);
+            assertEquals("gzip", destino.cabeceras.get("Content-Encoding"));
+            byte[] comprimido = destino.cuerpo.toByteArray();
+            assertEquals(esperado.toString(StandardCharsets.UTF_8),
+                    new String(leer(new GZIPInputStream(new ByteArrayInputStream(comprimido))), StandardCharsets.UTF_8));
+            assertTrue(comprimido.length < esperado.size());
+        } finally {
+            controlador.destroy();
+        }
+    }
+}
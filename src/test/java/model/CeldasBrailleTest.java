@@ -0,0 +1,82 @@
+package model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.MapeadorBraille;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("CeldasBraille - Representación por máscaras de puntos")
+class CeldasBrailleTest {
+
+    @Test
+    @DisplayName("Debe convertir de Unicode a máscaras y volver sin pérdidas")
+    void debeConvertirIdaYVuelta() {
+        String texto = "⠓⠕⠇⠁\n\n⠍⠥⠝⠙⠕\n⣿";
+        CeldasBraille celdas = CeldasBraille.desdeUnicode(texto);
+
+        assertEquals(10, celdas.longitud());
+        assertEquals(3, celdas.numeroSaltos());
+        assertEquals(0x13, celdas.mascara(0));
+        assertEquals(0xFF, celdas.mascara(9));
+        assertEquals(texto, celdas.aUnicode());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar caracteres que no son Braille")
+    void debeRechazarNoBraille() {
+        assertThrows(IllegalArgumentException.class, () -> CeldasBraille.desdeUnicode("⠓a"));
+    }
+
+    @Test
+    @DisplayName("El espejo por máscara debe coincidir con el espejo Unicode para las 256 celdas")
+    void debeEspejarIgualQueMapeador() {
+        for (int mascara = 0; mascara < 256; mascara++) {
+            assertEquals(MapeadorBraille.espejarCelda(CeldasBraille.aUnicode(mascara)),
+                    CeldasBraille.aUnicode(CeldasBraille.espejarMascara(mascara)));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe espejar cada línea igual que MapeadorBraille.espejarBraille")
+    void debeEspejarPorLineas() {
+        String texto = "⠓⠕⠇⠁⠀⠍⠥\n⠼⠁⠃\n\n⠨⠁";
+        assertEquals(MapeadorBraille.espejarBraille(texto),
+                CeldasBraille.desdeUnicode(texto).espejar().aUnicode());
+    }
+
+    @Test
+    @DisplayName("Debe convertir a ASCII Braille norteamericano")
+    void debeConvertirAAsciiBraille() {
+        assertEquals("HOLA MUNDO\n#ABC", CeldasBraille.desdeUnicode("⠓⠕⠇⠁⠀⠍⠥⠝⠙⠕\n⠼⠁⠃⠉").aAsciiBraille());
+    }
+
+    @Test
+    @DisplayName("Debe codificar un byte por celda con la longitud de cada línea y decodificar sin pérdidas")
+    void debeConvertirAlFormatoBinario() {
+        CeldasBraille celdas = CeldasBraille.desdeUnicode("⠓⠁\n\n⣿");
+
+        assertArrayEquals(new byte[]{2, 0x13, 0x01, 0, 1, (byte) 0xFF}, celdas.aBinario());
+        assertEquals(celdas, CeldasBraille.desdeBinario(celdas.aBinario()));
+        assertArrayEquals(new byte[]{0}, CeldasBraille.VACIO.aBinario());
+
+        CeldasBraille larga = CeldasBraille.desdeUnicode("⠁".repeat(300) + "\n" + "⠃".repeat(20_000));
+        byte[] binario = larga.aBinario();
+        assertEquals(20_300 + 2 + 3, binario.length);
+        assertEquals(larga, CeldasBraille.desdeBinario(binario));
+
+        assertThrows(IllegalArgumentException.class, () -> CeldasBraille.desdeBinario(new byte[]{3, 1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> CeldasBraille.desdeBinario(new byte[]{(byte) 0x80}));
+        assertThrows(IllegalArgumentException.class, () -> CeldasBraille.desdeBinario(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Traduccion debe exponer las celdas de las direcciones hacia Braille")
+    void debeExponerCeldasEnTraduccion() {
+        Traduccion traduccion = Traduccion.crear("hola\nmundo", DireccionTraduccion.ESPANOL_A_BRAILLE);
+        traduccion.ejecutar();
+
+        CeldasBraille celdas = traduccion.getCeldasTraducidas();
+        assertEquals(9, celdas.longitud());
+        assertEquals(4, celdas.posicionSalto(0));
+        assertEquals(traduccion.getTextoTraducido(), celdas.aUnicode());
+    }
+}
@@ -0,0 +1,100 @@
+package model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import util.MapeadorBraille;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("DiccionarioContracciones - Braille contraído (grado 2)")
+class DiccionarioContraccionesTest {
+
+    private static String traducir(String texto, DireccionTraduccion direccion) {
+        MotorTraduccion motor = new MotorTraduccion(direccion, texto.length());
+        motor.procesar(texto, 0, texto.length());
+        return motor.finalizar();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "que, ⠟",
+        "Que, ⠨⠟",
+        "porque, ⠏⠟",
+        "QUE, ⠨⠟⠨⠥⠨⠑",
+        "q, ⠰⠟",
+        "rápidamente, ⠗⠷⠏⠊⠙⠁⠩",
+        "canción, ⠉⠁⠝⠡",
+        "comiendo, ⠉⠕⠍⠫"
+    })
+    @DisplayName("Debe contraer palabras completas y grupos por coincidencia más larga")
+    void debeContraer(String texto, String esperado) {
+        assertEquals(esperado, traducir(texto, DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO));
+        assertEquals(texto, traducir(esperado, DireccionTraduccion.BRAILLE_CONTRAIDO_A_ESPANOL));
+    }
+
+    @Test
+    @DisplayName("No debe contraer palabras que siguen a un número")
+    void noDebeContraerTrasNumero() {
+        assertEquals("⠼⠉⠙⠑", traducir("3de", DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO));
+    }
+
+    @Test
+    @DisplayName("Debe producir menos celdas que el Braille integral en un texto corriente")
+    void debeAhorrarCeldas() {
+        String texto = "Después de comer, todo lo que quiero es descansar porque estoy cansado.";
+        String integral = traducir(texto, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        String contraido = traducir(texto, DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO);
+
+        assertTrue(contraido.length() < integral.length() * 0.85, contraido);
+        assertEquals(traducir(integral, DireccionTraduccion.BRAILLE_A_ESPANOL),
+                traducir(contraido, DireccionTraduccion.BRAILLE_CONTRAIDO_A_ESPANOL));
+    }
+
+    @Test
+    @DisplayName("Leer Braille contraído debe dar lo mismo que leer el integral del mismo texto")
+    void debeRetrotraducirComoIntegral() {
+        String[] piezas = {"de", "que", "q", "d", "Que", "DE", "pq", "canción", "mente", "rápidamente",
+                "día", "Índice", "año", "3", "12,5", "1,4", "0,42", "hola", "y", "es", "cantando", "Ética", "ü", "x"};
+        String separadores = "  ,.;:¿?¡!()-\"+*/";
+        Random aleatorio = new Random(11);
+
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder texto = new StringBuilder("a");
+            int piezasTexto = 1 + aleatorio.nextInt(8);
+            for (int k = 0; k < piezasTexto; k++) {
+                if (aleatorio.nextInt(3) > 0) {
+                    char separador = separadores.charAt(aleatorio.nextInt(separadores.length()));
+                    if (separador != ' ' || texto.charAt(texto.length() - 1) != ' ') {
+                        texto.append(separador);
+                    }
+                }
+                texto.append(piezas[aleatorio.nextInt(piezas.length)]);
+            }
+            String integral = traducir(texto.toString(), DireccionTraduccion.ESPANOL_A_BRAILLE);
+            String contraido = traducir(texto.toString(), DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO);
+            assertEquals(traducir(integral, DireccionTraduccion.BRAILLE_A_ESPANOL),
+                    traducir(contraido, DireccionTraduccion.BRAILLE_CONTRAIDO_A_ESPANOL),
+                    "Texto: " + texto);
+        }
+    }
+
+    @Test
+    @DisplayName("El trie debe devolver la clave más larga y rechazar claves inválidas")
+    void debeCompilarTrie() {
+        TrieContracciones trie = new TrieContracciones(new String[]{"en", "ente", "mente"});
+        char[] texto = "mentes".toCharArray();
+
+        assertEquals((5L << 32) | 2, trie.coincidenciaMasLarga(texto, 0, texto.length));
+        assertEquals((4L << 32) | 1, trie.coincidenciaMasLarga(texto, 1, texto.length));
+        assertEquals(0L, trie.coincidenciaMasLarga(texto, 5, texto.length));
+        assertEquals(1, trie.buscar(texto, 1, 5));
+        assertEquals(-1, trie.buscar(texto, 1, 4));
+        assertThrows(IllegalArgumentException.class, () -> new TrieContracciones(new String[]{"a", "a"}));
+        assertThrows(IllegalArgumentException.class, () -> new TrieContracciones(new String[]{"aí"}));
+        assertThrows(IllegalArgumentException.class, () -> new DiccionarioContracciones(MapeadorBraille.obtenerTabla(),
+                new String[0][], new Object[][]{{"ción", 0x01}}));
+    }
+}
@@ -0,0 +1,156 @@
+package model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DocumentoTraducido - Traducción que se actualiza edición a edición")
+class DocumentoTraducidoTest {
+
+    private static final String[] FRAGMENTOS = {
+            "hola", "Mundo", "123", "4,5", "ESPAÑA", "canción", "que", "para", " ", "  ", "\n", " \n ", "\t", ".", "¿sí?"
+    };
+
+    private static String traducir(String texto, DireccionTraduccion direccion) {
+        if (texto.trim().isEmpty()) {
+            return "";
+        }
+        Traduccion traduccion = Traduccion.crear(texto, direccion);
+        traduccion.ejecutar();
+        return traduccion.getTextoTraducido();
+    }
+
+    /** Aplica el cambio a la salida anterior, como hace el editor. */
+    private static String aplicar(String salida, CambioTraduccion cambio) {
+        return salida.substring(0, cambio.getDesde()) + cambio.getInsertado()
+                + salida.substring(cambio.getDesde() + cambio.getBorrados());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DireccionTraduccion.class, names = {"ESPANOL_A_BRAILLE", "ESPANOL_A_BRAILLE_CONTRAIDO"})
+    @DisplayName("Tras cada edición aleatoria la salida debe coincidir con la traducción completa")
+    void debeCoincidirConTraduccionCompleta(DireccionTraduccion direccion) {
+        Random aleatorio = new Random(direccion.ordinal());
+        DocumentoTraducido documento = new DocumentoTraducido(direccion);
+        StringBuilder texto = new StringBuilder();
+        String salidaEditor = "";
+
+        for (int i = 0; i < 1_500; i++) {
+            int desde = aleatorio.nextInt(texto.length() + 1);
+            int borrados = aleatorio.nextInt(4) == 0 ? aleatorio.nextInt(Math.min(12, texto.length() - desde) + 1) : 0;
+            String insertado = aleatorio.nextInt(5) == 0 ? "" : FRAGMENTOS[aleatorio.nextInt(FRAGMENTOS.length)];
+            texto.replace(desde, desde + borrados, insertado);
+
+            CambioTraduccion cambio = documento.editar(desde, borrados, insertado);
+            salidaEditor = aplicar(salidaEditor, cambio);
+
+            String esperado = traducir(texto.toString(), direccion);
+            assertEquals(esperado, documento.getSalida(), "tras la edición " + i);
+            assertEquals(esperado, salidaEditor);
+            assertNull(documento.getError());
+        }
+        assertTrue(documento.numeroTramos() > 1);
+    }
+
+    @Test
+    @DisplayName("Debe traducir en dirección Braille → español")
+    void debeTraducirBrailleAEspanol() {
+        DocumentoTraducido documento = new DocumentoTraducido(DireccionTraduccion.BRAILLE_A_ESPANOL);
+        documento.editar(0, 0, "⠓⠕⠇⠁⠀⠍⠥⠝⠙⠕");
+        CambioTraduccion cambio = documento.editar(0, 0, "⠨");
+
+        assertEquals("Hola mundo", documento.getSalida());
+        assertEquals(0, cambio.getDesde());
+        assertEquals(1, cambio.getBorrados());
+        assertEquals("H", cambio.getInsertado());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DireccionTraduccion.class, names = {"BRAILLE_A_ESPANOL", "BRAILLE_CONTRAIDO_A_ESPANOL"})
+    @DisplayName("Tras cada edición aleatoria en Braille la salida debe coincidir con la traducción completa")
+    void debeCoincidirEnBrailleAEspanol(DireccionTraduccion direccion) {
+        String[] celdas = {"⠓⠕⠇⠁", "⠀", "⠀⠀", "⠼⠁⠃", "⠨⠍", "⠁", "⠣", "⠂", "⠼⠚⠂⠑"};
+        Random aleatorio = new Random(direccion.ordinal());
+        DocumentoTraducido documento = new DocumentoTraducido(direccion);
+        StringBuilder texto = new StringBuilder();
+
+        for (int i = 0; i < 1_500; i++) {
+            int desde = aleatorio.nextInt(texto.length() + 1);
+            int borrados = aleatorio.nextInt(4) == 0 ? aleatorio.nextInt(Math.min(8, texto.length() - desde) + 1) : 0;
+            String insertado = celdas[aleatorio.nextInt(celdas.length)];
+            texto.replace(desde, desde + borrados, insertado);
+            documento.editar(desde, borrados, insertado);
+
+            assertEquals(traducir(texto.toString(), direccion), documento.getSalida(), "tras la edición " + i);
+        }
+        assertTrue(documento.numeroTramos() > 1);
+    }
+
+    @Test
+    @DisplayName("El coste de una edición debe depender de su tamaño y no del documento")
+    void debeTraducirSoloCercaDeLaEdicion() {
+        String parrafo = "El niño tiene 12 años y vive en Madrid, ESPAÑA.\n";
+        String original = parrafo.repeat(4_000);
+        DocumentoTraducido documento = new DocumentoTraducido(DireccionTraduccion.ESPANOL_A_BRAILLE, original);
+        assertEquals(traducir(original, DireccionTraduccion.ESPANOL_A_BRAILLE), documento.getSalida());
+
+        int desde = original.length() / 2 + 9;
+        CambioTraduccion cambio = documento.editar(desde, 0, "a");
+
+        assertTrue(documento.ultimosTraducidos() <= 3 * DocumentoTraducido.TAMANO_MINIMO_TRAMO,
+                "traducidos: " + documento.ultimosTraducidos());
+        assertEquals(0, cambio.getBorrados());
+        assertEquals(1, cambio.getInsertado().length());
+        String editado = original.substring(0, desde) + "a" + original.substring(desde);
+        assertEquals(traducir(editado, DireccionTraduccion.ESPANOL_A_BRAILLE), documento.getSalida());
+    }
+
+    @Test
+    @DisplayName("Debe seguir traduciendo hasta converger si la edición une dos palabras")
+    void debeConvergerTrasUnirPalabras() {
+        String original = ("palabra ".repeat(20) + "12 345 ").repeat(20);
+        DocumentoTraducido documento = new DocumentoTraducido(DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO, original);
+        int espacio = original.indexOf("12 ") + 2;
+
+        documento.editar(espacio, 1, "");
+
+        String editado = original.substring(0, espacio) + original.substring(espacio + 1);
+        assertEquals(traducir(editado, DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO), documento.getSalida());
+        assertEquals(editado, documento.getTexto());
+    }
+
+    @Test
+    @DisplayName("Un carácter no soportado debe informarse con su posición y dejar de hacerlo al corregirlo")
+    void debeInformarYCorregirErrores() {
+        DocumentoTraducido documento = new DocumentoTraducido(DireccionTraduccion.ESPANOL_A_BRAILLE);
+        documento.editar(0, 0, "uno\ndos €\ntres");
+
+        ErrorTraduccion error = documento.getError();
+        assertEquals(ErrorTraduccion.Codigo.CARACTER_NO_SOPORTADO, error.getCodigo());
+        assertEquals('€', error.getCaracter());
+        assertEquals("uno\ndos ".length(), error.getPosicion());
+
+        documento.editar("uno\ndos ".length(), 1, "e");
+        assertNull(documento.getError());
+        assertEquals(traducir("uno\ndos e\ntres", DireccionTraduccion.ESPANOL_A_BRAILLE), documento.getSalida());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar ediciones fuera del texto y el modo espejo")
+    void debeRechazarEdicionesInvalidas() {
+        DocumentoTraducido documento = new DocumentoTraducido(DireccionTraduccion.ESPANOL_A_BRAILLE);
+        documento.editar(0, 0, "hola");
+
+        assertThrows(IllegalArgumentException.class, () -> documento.editar(5, 0, "x"));
+        assertThrows(IllegalArgumentException.class, () -> documento.editar(2, 3, ""));
+        assertThrows(IllegalArgumentException.class, () -> documento.editar(-1, 0, "x"));
+        assertEquals("hola", documento.getTexto());
+        assertThrows(IllegalArgumentException.class,
+                () -> new DocumentoTraducido(DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO));
+    }
+}
@@ -0,0 +1,79 @@
+package model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("MotorTraduccion - Normalización, validación y traducción en una pasada")
+class MotorTraduccionTest {
+
+    private static String traducir(String texto, DireccionTraduccion direccion) {
+        MotorTraduccion motor = new MotorTraduccion(direccion, texto.length());
+        motor.procesar(texto, 0, texto.length());
+        return motor.finalizar();
+    }
+
+    @Test
+    @DisplayName("Debe recortar los extremos y colapsar espacios, tabs, \\r y \\f")
+    void debeNormalizarEspacios() {
+        assertEquals("⠓⠕⠇⠁⠀⠍⠥⠝⠙⠕",
+                traducir("  \t hola \t\f  mundo \r\n ", DireccionTraduccion.ESPANOL_A_BRAILLE));
+    }
+
+    @Test
+    @DisplayName("Debe conservar los saltos de línea interiores sin colapsarlos")
+    void debeConservarSaltosDeLinea() {
+        assertEquals("⠓⠕⠇⠁⠀\n⠀⠍⠥⠝⠙⠕\n\n⠁",
+                traducir("hola\r\n mundo\n\na", DireccionTraduccion.ESPANOL_A_BRAILLE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hola\u0001mundo", "hola €", "a\u000Bb"})
+    @DisplayName("Debe rechazar caracteres no soportados en el interior del texto")
+    void debeRechazarCaracteresInteriores(String texto) {
+        assertThrows(IllegalArgumentException.class,
+                () -> traducir(texto, DireccionTraduccion.ESPANOL_A_BRAILLE));
+    }
+
+    @Test
+    @DisplayName("Debe ignorar caracteres de control en los extremos como hace trim()")
+    void debeIgnorarControlesEnExtremos() {
+        assertEquals("⠁", traducir("\u0001a\u000B", DireccionTraduccion.ESPANOL_A_BRAILLE));
+    }
+
+    @Test
+    @DisplayName("Debe informar el primer carácter no soportado")
+    void debeInformarPrimerError() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> traducir("a € @", DireccionTraduccion.ESPANOL_A_BRAILLE));
+        assertEquals("El texto contiene caracteres no soportados: '€'", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debe espejar cada línea por separado")
+    void debeEspejarPorLinea() {
+        assertEquals("⠘⠈\n⠈⠸⠪⠚",
+                traducir("ab\nhola", DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar espacios en texto Braille")
+    void debeRechazarEspaciosEnBraille() {
+        assertThrows(IllegalArgumentException.class,
+                () -> traducir("⠓⠕ ⠇⠁", DireccionTraduccion.BRAILLE_A_ESPANOL));
+    }
+
+    @Test
+    @DisplayName("Debe dar el mismo resultado al procesar el texto en fragmentos")
+    void debeProcesarEnFragmentos() {
+        String texto = "  Año 2024,5 \t es   Bueno\n ";
+        String completo = traducir(texto, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        for (int corte = 0; corte <= texto.length(); corte++) {
+            MotorTraduccion motor = new MotorTraduccion(DireccionTraduccion.ESPANOL_A_BRAILLE, 0);
+            motor.procesar(texto, 0, corte);
+            motor.procesar(texto, corte, texto.length());
+            assertEquals(completo, motor.finalizar(), "Corte en " + corte);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.MapeadorBraille;
+import util.TablaBraille;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("TablasCompiladas - Recarga en caliente de la tabla Braille")
+class TablasCompiladasTest {
+
+    private final TablaBraille original = MapeadorBraille.obtenerTabla();
+
+    @AfterEach
+    void restaurarTabla() {
+        MapeadorBraille.publicarTabla(original);
+    }
+
+    /** Tabla predeterminada con la regla de una letra sustituida. */
+    private static TablaBraille tablaModificada(String reglaOriginal, String reglaNueva) throws IOException {
+        String contenido;
+        try (InputStream entrada = TablaBraille.class.getResourceAsStream(MapeadorBraille.TABLA_PREDETERMINADA)) {
+            contenido = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(contenido.contains(reglaOriginal));
+        return TablaBraille.compilar("espanol", "prueba",
+                new StringReader(contenido.replace(reglaOriginal, reglaNueva)));
+    }
+
+    private static Traduccion traducir(String texto, DireccionTraduccion direccion) {
+        Traduccion traduccion = Traduccion.crear(texto, direccion);
+        traduccion.ejecutar();
+        return traduccion;
+    }
+
+    @Test
+    @DisplayName("Las traducciones nuevas deben usar la tabla publicada y su versión")
+    void debeUsarTablaPublicada() throws IOException {
+        Traduccion antes = traducir("ñu", DireccionTraduccion.ESPANOL_A_BRAILLE);
+        assertEquals("⠻⠥", antes.getTextoTraducido());
+        assertEquals(original.getVersion(), antes.getVersionTabla());
+
+        TablaBraille nueva = tablaModificada("letra ñ 12456", "letra ñ 1245");
+        assertSame(original, TablasCompiladas.publicar(nueva));
+        assertNotEquals(original.getVersion(), nueva.getVersion());
+
+        Traduccion despues = traducir("ñu", DireccionTraduccion.ESPANOL_A_BRAILLE);
+        assertEquals("⠛⠥", despues.getTextoTraducido());
+        assertEquals(nueva.getVersion(), despues.getVersionTabla());
+    }
+
+    @Test
+    @DisplayName("Una traducción en curso debe terminar con la tabla con la que empezó")
+    void debeConservarTablaEnCurso() throws IOException {
+        StringWriter salida = new StringWriter();
+        TraductorFlujo flujo = new TraductorFlujo(DireccionTraduccion.ESPANOL_A_BRAILLE, salida);
+        flujo.escribir("ñu ");
+
+        TablasCompiladas.publicar(tablaModificada("letra ñ 12456", "letra ñ 1245"));
+        flujo.escribir("ñu");
+        flujo.finalizar();
+
+        assertEquals("⠻⠥⠀⠻⠥", salida.toString());
+        assertEquals(original.getVersion(), flujo.getVersionTabla());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una tabla incompatible sin cambiar la activa")
+    void debeRechazarTablaIncompatible() throws IOException {
+        // ⠡ (puntos 1-6) es la celda del grupo "ción"
+        TablaBraille incompatible = tablaModificada("puntuacion ; 23", "puntuacion ; 16");
+
+        assertThrows(IllegalArgumentException.class, () -> TablasCompiladas.publicar(incompatible));
+        assertSame(original, MapeadorBraille.obtenerTabla());
+    }
+
+    @Test
+    @DisplayName("La versión debe depender solo de las reglas")
+    void debeVersionarPorContenido() throws IOException {
+        assertTrue(original.getVersion().startsWith("espanol-"));
+        assertEquals(original.getVersion(),
+                tablaModificada("letra a 1\n", "letra   a\t1\n# comentario\n").getVersion());
+        assertNotEquals(original.getVersion(), tablaModificada("letra a 1\n", "letra a 2\n").getVersion());
+    }
+}
@@ -0,0 +1,87 @@
+package model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("TraductorFlujo - Traducción por fragmentos")
+class TraductorFlujoTest {
+
+    private static final String TEXTO_ESPANOL = "  ¡Hola Mundo! Año 2024,50 y 7 \t\n  Niño  123\nfin de la canción  ";
+    private static final String TEXTO_BRAILLE = "⠨⠓⠕⠇⠁⠀⠼⠁⠃⠂⠉⠀⠨⠍⠥⠝⠙⠕⠖";
+
+    private static String textoPara(DireccionTraduccion direccion) {
+        return direccion.esHaciaBraille() ? TEXTO_ESPANOL : TEXTO_BRAILLE;
+    }
+
+    private static String traduccionCompleta(String texto, DireccionTraduccion direccion) {
+        Traduccion traduccion = Traduccion.crear(texto, direccion);
+        traduccion.ejecutar();
+        return traduccion.getTextoTraducido();
+    }
+
+    @ParameterizedTest
+    @EnumSource(DireccionTraduccion.class)
+    @DisplayName("Debe coincidir con Traduccion para cualquier tamaño de fragmento")
+    void debeCoincidirConTraduccionCompleta(DireccionTraduccion direccion) throws IOException {
+        String texto = textoPara(direccion);
+        String esperado = traduccionCompleta(texto, direccion);
+
+        for (int tamano = 1; tamano <= texto.length(); tamano++) {
+            StringBuilder destino = new StringBuilder();
+            TraductorFlujo traductor = new TraductorFlujo(direccion, destino);
+            for (int i = 0; i < texto.length(); i += tamano) {
+                traductor.escribir(CharBuffer.wrap(texto, i, Math.min(texto.length(), i + tamano)));
+            }
+            traductor.finalizar();
+            assertEquals(esperado, destino.toString(), "Fragmentos de tamaño " + tamano);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DireccionTraduccion.class)
+    @DisplayName("Debe traducir desde un Reader que entrega pocos caracteres por lectura")
+    void debeTraducirDesdeReader(DireccionTraduccion direccion) throws IOException {
+        String texto = textoPara(direccion);
+        Reader lectorLento = new StringReader(texto) {
+            @Override
+            public int read(char[] bufer, int desde, int cantidad) throws IOException {
+                return super.read(bufer, desde, Math.min(cantidad, 3));
+            }
+        };
+        StringWriter destino = new StringWriter();
+
+        TraductorFlujo.traducir(lectorLento, destino, direccion);
+
+        assertEquals(traduccionCompleta(texto, direccion), destino.toString());
+    }
+
+    @Test
+    @DisplayName("En modo espejo debe retener solo la línea en curso")
+    void debeVolcarLineasCompletasEnEspejo() throws IOException {
+        StringBuilder destino = new StringBuilder();
+        TraductorFlujo traductor = new TraductorFlujo(DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO, destino);
+
+        traductor.escribir("ab\nho");
+        assertEquals("⠘⠈\n", destino.toString());
+
+        traductor.escribir("la");
+        traductor.finalizar();
+        assertEquals("⠘⠈\n⠈⠸⠪⠚", destino.toString());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar fragmentos después de finalizar")
+    void debeRechazarDespuesDeFinalizar() throws IOException {
+        TraductorFlujo traductor = new TraductorFlujo(DireccionTraduccion.ESPANOL_A_BRAILLE, new StringBuilder());
+        traductor.finalizar();
+        assertThrows(IllegalStateException.class, () -> traductor.escribir("hola"));
+    }
+}
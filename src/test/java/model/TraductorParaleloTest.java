@@ -0,0 +1,135 @@
+package model;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TraductorParalelo - Traducción paralela de documentos grandes")
+class TraductorParaleloTest {
+
+    private static final String[] PALABRAS = {
+            "de", "que", "para", "con", "porque", "también", "canción", "rápidamente", "Madrid",
+            "ESPAÑA", "niño", "Braille", "año", "x", "a", "y", "mismo", "ahora", "¿qué?", "¡hola!"
+    };
+
+    private static ForkJoinPool secuencial;
+    private static ForkJoinPool paralelo;
+
+    @BeforeAll
+    static void crearPools() {
+        secuencial = new ForkJoinPool(1);
+        paralelo = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void cerrarPools() {
+        secuencial.shutdown();
+        paralelo.shutdown();
+    }
+
+    /**
+     * Texto grande con números, decimales, mayúsculas y espacios de todo tipo, para que
+     * los cortes caigan en situaciones variadas.
+     */
+    private static String generarEspanol(long semilla) {
+        Random aleatorio = new Random(semilla);
+        StringBuilder texto = new StringBuilder(TraductorParalelo.UMBRAL_PARALELO * 2 + 64);
+        texto.append(" \t ");
+        while (texto.length() < TraductorParalelo.UMBRAL_PARALELO * 2) {
+            switch (aleatorio.nextInt(8)) {
+                case 0 -> texto.append(aleatorio.nextInt(100_000));
+                case 1 -> texto.append(aleatorio.nextInt(100)).append(',').append(aleatorio.nextInt(100));
+                default -> texto.append(PALABRAS[aleatorio.nextInt(PALABRAS.length)]);
+            }
+            switch (aleatorio.nextInt(10)) {
+                case 0 -> texto.append("\n");
+                case 1 -> texto.append(" \t  ");
+                case 2 -> texto.append(". ");
+                case 3 -> texto.append(" \n\r\n ");
+                default -> texto.append(' ');
+            }
+        }
+        return texto.append("  \n").toString();
+    }
+
+    private static String textoPara(DireccionTraduccion direccion) {
+        String espanol = generarEspanol(direccion.ordinal());
+        if (direccion.esHaciaBraille()) {
+            return espanol;
+        }
+        DireccionTraduccion haciaBraille = direccion.esContraida()
+                ? DireccionTraduccion.ESPANOL_A_BRAILLE_CONTRAIDO
+                : DireccionTraduccion.ESPANOL_A_BRAILLE;
+        return traducir(espanol, haciaBraille, secuencial).replace('\n', '⠀');
+    }
+
+    private static String traducir(String texto, DireccionTraduccion direccion, ForkJoinPool pool) {
+        Traduccion traduccion = Traduccion.crear(texto, direccion);
+        traduccion.ejecutar(pool);
+        return traduccion.getTextoTraducido();
+    }
+
+    @ParameterizedTest
+    @EnumSource(DireccionTraduccion.class)
+    @DisplayName("Debe producir exactamente el mismo resultado que la traducción secuencial")
+    void debeCoincidirConTraduccionSecuencial(DireccionTraduccion direccion) {
+        String texto = textoPara(direccion);
+        assertTrue(TraductorParalelo.conviene(texto.length(), paralelo));
+
+        assertEquals(traducir(texto, direccion, secuencial), traducir(texto, direccion, paralelo));
+    }
+
+    @Test
+    @DisplayName("Debe cortar solo al inicio de una palabra")
+    void debeCortarSoloEnPuntosSeguros() {
+        String texto = generarEspanol(7);
+        int[] cortes = TraductorParalelo.cortes(texto, true, 16);
+
+        assertEquals(0, cortes[0]);
+        assertEquals(texto.length(), cortes[cortes.length - 1]);
+        assertTrue(cortes.length > 2);
+        for (int k = 1; k < cortes.length - 1; k++) {
+            assertTrue(cortes[k] > cortes[k - 1]);
+            assertTrue(texto.charAt(cortes[k]) > ' ');
+            assertTrue(texto.charAt(cortes[k] - 1) <= ' ');
+        }
+    }
+
+    @Test
+    @DisplayName("Debe omitir el corte si no hay un punto seguro cerca")
+    void debeOmitirCortesSinPuntoSeguro() {
+        String texto = "a".repeat(TraductorParalelo.UMBRAL_PARALELO);
+
+        assertArrayEquals(new int[]{0, texto.length()}, TraductorParalelo.cortes(texto, true, 8));
+    }
+
+    @Test
+    @DisplayName("Debe informar el primer carácter no soportado, como la traducción secuencial")
+    void debeInformarElPrimerError() {
+        StringBuilder texto = new StringBuilder(generarEspanol(3));
+        texto.insert(texto.length() / 3, " €uro ");
+        texto.insert(texto.length() / 2, " @ ");
+
+        RuntimeException esperado = assertThrows(RuntimeException.class,
+                () -> traducir(texto.toString(), DireccionTraduccion.ESPANOL_A_BRAILLE, secuencial));
+        RuntimeException obtenido = assertThrows(RuntimeException.class,
+                () -> traducir(texto.toString(), DireccionTraduccion.ESPANOL_A_BRAILLE, paralelo));
+
+        assertEquals(esperado.getMessage(), obtenido.getMessage());
+        assertTrue(obtenido.getMessage().contains("'€'"));
+
+        ErrorTraduccion error = Traduccion.crear(texto.toString(), DireccionTraduccion.ESPANOL_A_BRAILLE)
+                .intentarEjecutar(paralelo);
+        assertEquals(ErrorTraduccion.Codigo.CARACTER_NO_SOPORTADO, error.getCodigo());
+        assertEquals('€', error.getCaracter());
+        assertEquals(texto.indexOf("€"), error.getPosicion());
+    }
+}
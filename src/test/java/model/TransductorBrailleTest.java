@@ -0,0 +1,99 @@
+package model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.MapeadorBraille;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("TransductorBraille - Equivalencia entre tablas compiladas y reglas")
+class TransductorBrailleTest {
+
+    private static final TransductorBraille TRANSDUCTOR = new TransductorBraille(MapeadorBraille.obtenerTabla());
+
+    @Test
+    @DisplayName("Cada transición compilada español → Braille debe coincidir con la regla")
+    void debeCoincidirEspanolABraille() {
+        for (int estado = 0; estado < 2; estado++) {
+            for (int c = 0; c <= Character.MAX_VALUE; c++) {
+                assertEquals(TRANSDUCTOR.reglaEspanolABraille(estado, (char) c),
+                        TRANSDUCTOR.transicionEspanolABraille(estado, (char) c),
+                        "Estado " + estado + ", carácter U+" + Integer.toHexString(c));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Cada transición compilada Braille → español debe coincidir con la regla")
+    void debeCoincidirBrailleAEspanol() {
+        for (int estado = 0; estado < 4; estado++) {
+            for (int mascara = 0; mascara < 256; mascara++) {
+                assertEquals(TRANSDUCTOR.reglaBrailleAEspanol(estado, mascara),
+                        TRANSDUCTOR.transicionBrailleAEspanol(estado, mascara),
+                        "Estado " + estado + ", máscara " + mascara);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Los textos traducidos con reglas interpretadas y con el motor deben ser iguales")
+    void debeTraducirTextosIgual() {
+        String alfabetoEspanol = "abcñáéíóúüABCÑÁÉ0123456789 ,.;:?¿!¡-_()\"+=÷*/\n";
+        Random aleatorio = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder texto = new StringBuilder("x");
+            int longitud = 1 + aleatorio.nextInt(40);
+            for (int k = 0; k < longitud; k++) {
+                char c = alfabetoEspanol.charAt(aleatorio.nextInt(alfabetoEspanol.length()));
+                // Sin espacios consecutivos: el motor los colapsaría y las reglas no
+                if (c != ' ' || texto.charAt(texto.length() - 1) > ' ') {
+                    texto.append(c);
+                }
+            }
+            texto.append('x');
+            String braille = traducirConMotor(texto.toString(), DireccionTraduccion.ESPANOL_A_BRAILLE);
+            assertEquals(interpretarEspanol(texto.toString()), braille);
+            assertEquals(interpretarBraille(braille.replace('\n', '⠀')),
+                    traducirConMotor(braille.replace('\n', '⠀'), DireccionTraduccion.BRAILLE_A_ESPANOL));
+        }
+    }
+
+    private static String traducirConMotor(String texto, DireccionTraduccion direccion) {
+        MotorTraduccion motor = new MotorTraduccion(direccion, texto.length());
+        motor.procesar(texto, 0, texto.length());
+        return motor.finalizar();
+    }
+
+    private static String interpretarEspanol(String texto) {
+        StringBuilder resultado = new StringBuilder();
+        int estado = TransductorBraille.ESTADO_INICIAL;
+        for (int i = 0; i < texto.length(); i++) {
+            long transicion = TRANSDUCTOR.reglaEspanolABraille(estado, texto.charAt(i));
+            if ((transicion & TransductorBraille.SALTO_LINEA) != 0) {
+                resultado.append('\n');
+            }
+            if (TransductorBraille.cantidad(transicion) > 0) {
+                resultado.append(CeldasBraille.aUnicode(TransductorBraille.primera(transicion)));
+            }
+            if (TransductorBraille.cantidad(transicion) > 1) {
+                resultado.append(CeldasBraille.aUnicode(TransductorBraille.segunda(transicion)));
+            }
+            estado = TransductorBraille.siguienteEstado(transicion);
+        }
+        return resultado.toString();
+    }
+
+    private static String interpretarBraille(String texto) {
+        StringBuilder resultado = new StringBuilder();
+        int estado = TransductorBraille.ESTADO_INICIAL;
+        for (int i = 0; i < texto.length(); i++) {
+            int transicion = TRANSDUCTOR.reglaBrailleAEspanol(estado, texto.charAt(i) - '⠀');
+            if ((transicion & TransductorBraille.CON_SALIDA) != 0) {
+                resultado.append(TransductorBraille.salida(transicion));
+            }
+            estado = TransductorBraille.siguienteEstado(transicion);
+        }
+        return resultado.toString();
+    }
+}
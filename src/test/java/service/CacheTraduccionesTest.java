@@ -0,0 +1,126 @@
+package service;
+import dto.RespuestaTraduccion;
+import dto.SolicitudTraduccion;
+import model.DireccionTraduccion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("CacheTraducciones - Caché W-TinyLFU acotada en bytes")
+class CacheTraduccionesTest {
+
+    private static final DireccionTraduccion DIRECCION = DireccionTraduccion.ESPANOL_A_BRAILLE;
+
+    private static RespuestaTraduccion respuesta(String texto, String version) {
+        RespuestaTraduccion respuesta = new RespuestaTraduccion(texto, "⠿" + texto, DIRECCION.toString());
+        respuesta.setVersionTabla(version);
+        return respuesta;
+    }
+
+    @Test
+    @DisplayName("Debe contar aciertos y fallos y devolver copias independientes")
+    void debeContarAciertosYFallos() {
+        CacheTraducciones cache = new CacheTraducciones(1 << 20);
+        assertNull(cache.obtener(DIRECCION, "hola", "v1"));
+        cache.guardar(DIRECCION, "hola", respuesta("hola", "v1"));
+
+        RespuestaTraduccion primera = cache.obtener(DIRECCION, "hola", "v1");
+        primera.setTextoTraducido("modificado");
+        assertEquals("⠿hola", cache.obtener(DIRECCION, "hola", "v1").getTextoTraducido());
+        assertNull(cache.obtener(DireccionTraduccion.ESPANOL_A_BRAILLE_ESPEJO, "hola", "v1"));
+
+        CacheTraducciones.Estadisticas estadisticas = cache.estadisticas();
+        assertEquals(2, estadisticas.getAciertos());
+        assertEquals(2, estadisticas.getFallos());
+        assertEquals(1, estadisticas.getEntradas());
+        assertEquals(CacheTraducciones.pesar("hola", "⠿hola", null), estadisticas.getBytes());
+    }
+
+    @Test
+    @DisplayName("Una entrada traducida con otra versión de la tabla no debe servirse")
+    void debeInvalidarPorVersionDeTabla() {
+        CacheTraducciones cache = new CacheTraducciones(1 << 20);
+        cache.guardar(DIRECCION, "hola", respuesta("hola", "v1"));
+        assertNull(cache.obtener(DIRECCION, "hola", "v2"));
+
+        cache.guardar(DIRECCION, "hola", respuesta("hola", "v2"));
+        assertEquals("v2", cache.obtener(DIRECCION, "hola", "v2").getVersionTabla());
+        assertEquals(1, cache.estadisticas().getEntradas());
+    }
+
+    @Test
+    @DisplayName("No debe superar el presupuesto y debe conservar los textos frecuentes ante un recorrido")
+    void debeRespetarPresupuestoYFrecuencia() {
+        long capacidad = 64 * 1024;
+        CacheTraducciones cache = new CacheTraducciones(capacidad);
+        List<String> frecuentes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            frecuentes.add("menú " + i);
+        }
+        for (int ronda = 0; ronda < 5; ronda++) {
+            for (String texto : frecuentes) {
+                if (cache.obtener(DIRECCION, texto, "v1") == null) {
+                    cache.guardar(DIRECCION, texto, respuesta(texto, "v1"));
+                }
+            }
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String unico = "texto único número " + i;
+            cache.obtener(DIRECCION, unico, "v1");
+            cache.guardar(DIRECCION, unico, respuesta(unico, "v1"));
+            assertTrue(cache.estadisticas().getBytes() <= capacidad);
+        }
+
+        int conservados = 0;
+        for (String texto : frecuentes) {
+            if (cache.obtener(DIRECCION, texto, "v1") != null) {
+                conservados++;
+            }
+        }
+        assertTrue(conservados >= 36, "Frecuentes conservados: " + conservados);
+        assertTrue(cache.estadisticas().getDesalojos() > 0);
+    }
+
+    @Test
+    @DisplayName("El servicio con caché debe responder igual que sin caché, también con muchos hilos")
+    void debeResponderIgualConCacheConcurrente() throws Exception {
+        ServicioTraduccionBraille sinCache = new ServicioTraduccionBraille(null);
+        ServicioTraduccionBraille conCache = new ServicioTraduccionBraille(new CacheTraducciones(256 * 1024));
+        String[] textos = {"Hola mundo", "Salida 2", "¿Qué tal?", "porque también", "€", " "};
+        String[] direcciones = {"ESPANOL_A_BRAILLE", "ESPANOL_A_BRAILLE_CONTRAIDO", "ESPANOL_A_BRAILLE_ESPEJO"};
+
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < 8; h++) {
+                tareas.add(hilos.submit(() -> {
+                    for (int i = 0; i < 3000; i++) {
+                        SolicitudTraduccion solicitud = new SolicitudTraduccion(
+                                textos[i % textos.length] + (i % 50), direcciones[i % direcciones.length]);
+                        RespuestaTraduccion esperada = sinCache.procesarTraduccion(solicitud);
+                        RespuestaTraduccion obtenida = conCache.procesarTraduccion(solicitud);
+                        assertEquals(esperada.isExito(), obtenida.isExito());
+                        assertEquals(esperada.getTextoTraducido(), obtenida.getTextoTraducido());
+                        assertEquals(esperada.getTextoEspejo(), obtenida.getTextoEspejo());
+                        assertEquals(esperada.getError(), obtenida.getError());
+                        assertEquals(esperada.getVersionTabla(), obtenida.getVersionTabla());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            hilos.shutdown();
+        }
+        assertTrue(conCache.obtenerEstadisticasCache().getAciertos() > 0);
+        assertNull(sinCache.obtenerEstadisticasCache());
+    }
+}
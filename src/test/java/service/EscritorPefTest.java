@@ -0,0 +1,144 @@
+package service;
+
+import model.CeldasBraille;
+import model.DireccionTraduccion;
+import model.Traduccion;
+import model.TraductorFlujo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EscritorPef - Volúmenes, páginas y filas en PEF")
+class EscritorPefTest {
+
+    private static final String TEXTO = "El niño tiene 12 años y vive en Madrid. "
+            + "Todos los días camina hasta la escuela con sus amigos.\n\n"
+            + "Por la tarde juega al fútbol en el parque del barrio.\n";
+
+    private static CeldasBraille celdas(String texto) {
+        Traduccion traduccion = Traduccion.crear(texto, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        traduccion.ejecutar();
+        return traduccion.getCeldasTraducidas();
+    }
+
+    private static Document leer(byte[] pef) throws Exception {
+        DocumentBuilderFactory fabrica = DocumentBuilderFactory.newInstance();
+        fabrica.setNamespaceAware(true);
+        return fabrica.newDocumentBuilder().parse(new ByteArrayInputStream(pef));
+    }
+
+    private static NodeList elementos(Document documento, String nombre) {
+        return documento.getElementsByTagNameNS(EscritorPef.ESPACIO_PEF, nombre);
+    }
+
+    @Test
+    @DisplayName("Debe repartir las páginas en volúmenes con las mismas filas que el BRF")
+    void debeEscribirVolumenesYFilas() throws Exception {
+        CeldasBraille celdas = celdas(TEXTO.repeat(20));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        EscritorPef escritor = new EscritorPef(30, 10, true, 4, true, false, "Prueba", salida);
+        escritor.escribir(celdas);
+        escritor.finalizar();
+
+        Document documento = leer(salida.toByteArray());
+        Element raiz = documento.getDocumentElement();
+        assertEquals("pef", raiz.getLocalName());
+        assertEquals("2008-1", raiz.getAttribute("version"));
+        assertEquals("Prueba", documento.getElementsByTagNameNS("http://purl.org/dc/elements/1.1/", "title")
+                .item(0).getTextContent());
+
+        int paginas = FormateadorBrf.contarPaginas(celdas, 30, 10, true);
+        assertEquals(paginas, escritor.getPaginas());
+        assertEquals(paginas, elementos(documento, "page").getLength());
+        assertEquals((paginas + 3) / 4, elementos(documento, "volume").getLength());
+        assertEquals(escritor.getVolumenes(), elementos(documento, "section").getLength());
+        Element volumen = (Element) elementos(documento, "volume").item(0);
+        assertEquals("30", volumen.getAttribute("cols"));
+        assertEquals("10", volumen.getAttribute("rows"));
+        assertEquals("true", volumen.getAttribute("duplex"));
+
+        // Cada fila es la línea del BRF en Braille Unicode
+        StringWriter brf = new StringWriter();
+        FormateadorBrf formateador = new FormateadorBrf(30, 10, true, brf);
+        formateador.escribir(celdas);
+        formateador.finalizar();
+        String[] lineas = brf.toString().replace("\f", "").split("\r\n");
+        NodeList filas = elementos(documento, "row");
+        assertEquals(lineas.length, filas.getLength());
+        for (int i = 0; i < lineas.length; i++) {
+            String fila = filas.item(i).getTextContent();
+            StringBuilder ascii = new StringBuilder();
+            for (char c : fila.toCharArray()) {
+                ascii.append(CeldasBraille.aAsciiBraille(c - '⠀'));
+            }
+            assertEquals(lineas[i], ascii.toString(), "fila " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("En espejo cada fila debe ocupar el ancho completo, invertida y con las celdas espejadas")
+    void debeEspejarCadaFila() throws Exception {
+        ByteArrayOutputStream normal = new ByteArrayOutputStream();
+        ByteArrayOutputStream espejo = new ByteArrayOutputStream();
+        for (boolean espejar : new boolean[]{false, true}) {
+            EscritorPef escritor = new EscritorPef(20, 5, false, 0, false, espejar, null, espejar ? espejo : normal);
+            TraductorFlujo.traducir(new StringReader(TEXTO), escritor, DireccionTraduccion.ESPANOL_A_BRAILLE);
+            escritor.finalizar();
+        }
+
+        NodeList filasNormales = elementos(leer(normal.toByteArray()), "row");
+        NodeList filasEspejo = elementos(leer(espejo.toByteArray()), "row");
+        assertEquals(filasNormales.getLength(), filasEspejo.getLength());
+        for (int i = 0; i < filasNormales.getLength(); i++) {
+            String fila = filasNormales.item(i).getTextContent();
+            String completa = fila + "⠀".repeat(20 - fila.length());
+            String esperada = util.MapeadorBraille.espejarBraille(completa);
+            assertEquals(esperada, filasEspejo.item(i).getTextContent(), "fila " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("flush debe enviar al destino las filas que retiene el escritor XML")
+    void debeVaciarFilasEscritas() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        EscritorPef escritor = new EscritorPef(40, 25, true, 0, false, false, null,
+                new BufferedOutputStream(salida, 1 << 16));
+        TraductorFlujo.traducir(new StringReader(TEXTO), escritor, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        escritor.flush();
+
+        String parcial = salida.toString(StandardCharsets.UTF_8);
+        assertTrue(parcial.contains("<row>"), parcial);
+        assertFalse(parcial.contains("</pef>"));
+        escritor.finalizar();
+        escritor.flush();
+        assertTrue(salida.toString(StandardCharsets.UTF_8).endsWith("</pef>\n"));
+    }
+
+    @Test
+    @DisplayName("Un documento vacío debe ser un PEF válido con una página")
+    void debeEscribirDocumentoVacio() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        EscritorPef escritor = new EscritorPef(40, 25, true, 0, false, false, null, salida);
+        escritor.finalizar();
+        escritor.finalizar();
+
+        Document documento = leer(salida.toByteArray());
+        assertEquals(1, elementos(documento, "volume").getLength());
+        assertEquals(1, elementos(documento, "page").getLength());
+        assertThrows(IllegalArgumentException.class,
+                () -> new EscritorPef(40, 25, true, -1, false, false, null, new ByteArrayOutputStream()));
+        assertThrows(IllegalStateException.class, () -> escritor.append('⠁'));
+    }
+}
@@ -0,0 +1,144 @@
+package service;
+
+import model.CeldasBraille;
+import model.DireccionTraduccion;
+import model.Traduccion;
+import model.TraductorFlujo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FormateadorBrf - Líneas y páginas en Braille Ready Format")
+class FormateadorBrfTest {
+
+    private static final String TEXTO = "El niño tiene 12 años y vive en Madrid. "
+            + "Todos los días camina hasta la escuela con sus amigos.\n\n"
+            + "    Por la tarde juega al fútbol en el parque del barrio.\n";
+
+    private static CeldasBraille celdas(String texto) {
+        Traduccion traduccion = Traduccion.crear(texto, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        traduccion.ejecutar();
+        return traduccion.getCeldasTraducidas();
+    }
+
+    private static String formatear(CeldasBraille celdas, int ancho, int lineas, boolean numerar) throws IOException {
+        StringWriter salida = new StringWriter();
+        FormateadorBrf formateador = new FormateadorBrf(ancho, lineas, numerar, salida);
+        formateador.escribir(celdas);
+        formateador.finalizar();
+        return salida.toString();
+    }
+
+    @Test
+    @DisplayName("Debe cortar por palabras sin pasar del ancho ni dejar espacios al principio")
+    void debeCortarPorPalabras() throws IOException {
+        String brf = formatear(celdas(TEXTO), 20, 100, false);
+
+        String[] lineas = brf.replace("\f", "").split("\r\n", -1);
+        for (String linea : lineas) {
+            assertTrue(linea.length() <= 20, linea);
+            assertFalse(linea.endsWith(" "), linea);
+        }
+        // Las palabras se conservan: quitar los cortes de línea devuelve el texto sin saltos
+        String original = celdas(TEXTO).aAsciiBraille();
+        assertEquals(original.replaceAll("\\s+", " ").trim(), brf.replaceAll("\\s+", " ").trim());
+        // Línea vacía entre párrafos y sangría del segundo párrafo
+        assertTrue(brf.contains("\r\n\r\n "));
+        assertTrue(lineas.length > 6);
+    }
+
+    @Test
+    @DisplayName("Debe numerar cada página en el margen derecho de su última línea")
+    void debeNumerarPaginas() throws IOException {
+        String brf = formatear(celdas(TEXTO.repeat(4)), 20, 4, true);
+
+        String[] paginas = brf.split("\f", -1);
+        assertEquals("", paginas[paginas.length - 1]);
+        for (int p = 0; p < paginas.length - 1; p++) {
+            String[] lineas = paginas[p].split("\r\n", -1);
+            assertEquals(5, lineas.length, "página " + (p + 1));
+            String ultima = lineas[3];
+            String numero = "#" + Integer.toString(p + 1).chars()
+                    .mapToObj(c -> String.valueOf("JABCDEFGHI".charAt(c - '0'))).reduce("", String::concat);
+            assertEquals(20, ultima.length());
+            assertTrue(ultima.endsWith("   " + numero) || ultima.trim().equals(numero), ultima);
+        }
+        assertTrue(paginas.length - 1 >= 10);
+    }
+
+    @Test
+    @DisplayName("Contar páginas debe coincidir con la salida sin generarla")
+    void debeContarPaginas() throws IOException {
+        CeldasBraille celdas = celdas(TEXTO.repeat(30));
+        for (boolean numerar : new boolean[]{true, false}) {
+            String brf = formatear(celdas, 32, 25, numerar);
+            int esperadas = brf.length() - brf.replace("\f", "").length();
+            assertEquals(esperadas, FormateadorBrf.contarPaginas(celdas, 32, 25, numerar));
+        }
+        assertEquals(0, FormateadorBrf.contarPaginas(CeldasBraille.VACIO, 40, 25, true));
+    }
+
+    @Test
+    @DisplayName("Formatear en flujo debe dar lo mismo que formatear las celdas")
+    void debeFormatearEnFlujo() throws IOException {
+        String texto = TEXTO.repeat(10);
+        StringWriter salida = new StringWriter();
+        FormateadorBrf formateador = new FormateadorBrf(40, 25, true, salida);
+        TraductorFlujo.traducir(new StringReader(texto), formateador, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        formateador.finalizar();
+
+        assertEquals(formatear(celdas(texto), 40, 25, true), salida.toString());
+    }
+
+    @Test
+    @DisplayName("En espejo debe cortar igual y escribir cada línea completa, invertida y espejada")
+    void debeEspejarCadaLinea() throws IOException {
+        String normal = formatear(celdas(TEXTO), 20, 5, true);
+        StringWriter salida = new StringWriter();
+        FormateadorBrf formateador = new FormateadorBrf(20, 5, true, true, salida);
+        formateador.escribir(celdas(TEXTO));
+        formateador.finalizar();
+        String espejo = salida.toString();
+
+        String[] lineasNormales = normal.split("\r\n|\f", -1);
+        String[] lineasEspejo = espejo.split("\r\n|\f", -1);
+        assertEquals(lineasNormales.length, lineasEspejo.length);
+        for (int i = 0; i < lineasNormales.length; i++) {
+            if (lineasNormales[i].isEmpty() && lineasEspejo[i].isEmpty()) {
+                continue;
+            }
+            CeldasBraille completa = CeldasBraille.desdeUnicode(
+                    aUnicode(lineasNormales[i]) + "⠀".repeat(20 - lineasNormales[i].length()));
+            assertEquals(20, lineasEspejo[i].length(), "línea " + i);
+            assertEquals(completa.espejar().aUnicode(), aUnicode(lineasEspejo[i]), "línea " + i);
+        }
+    }
+
+    /** Convierte ASCII Braille de seis puntos a Braille Unicode. */
+    private static String aUnicode(String ascii) {
+        StringBuilder unicode = new StringBuilder();
+        for (char c : ascii.toCharArray()) {
+            int mascara = 0;
+            while (CeldasBraille.aAsciiBraille(mascara) != c) {
+                mascara++;
+            }
+            unicode.append(CeldasBraille.aUnicode(mascara));
+        }
+        return unicode.toString();
+    }
+
+    @Test
+    @DisplayName("Debe partir las palabras más largas que una línea y rechazar dimensiones inválidas")
+    void debePartirPalabrasLargas() throws IOException {
+        String brf = formatear(CeldasBraille.desdeUnicode("⠁".repeat(30)), 12, 25, false);
+        assertEquals("AAAAAAAAAAAA\r\nAAAAAAAAAAAA\r\nAAAAAA\r\n\f", brf);
+
+        assertThrows(IllegalArgumentException.class, () -> new FormateadorBrf(11, 25, true, null));
+        assertThrows(IllegalArgumentException.class, () -> new FormateadorBrf(40, 0, true, null));
+    }
+}
@@ -0,0 +1,87 @@
+package service;
+import dto.RespuestaTraduccion;
+import dto.SolicitudTraduccion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("ProcesadorLotes - Traducción de lotes en paralelo")
+class ProcesadorLotesTest {
+
+    private static final String[] DIRECCIONES = {
+            "ESPANOL_A_BRAILLE", "ESPANOL_A_BRAILLE_ESPEJO", "ESPANOL_A_BRAILLE_CONTRAIDO", "INVALIDA"
+    };
+
+    private final ServicioTraduccionBraille servicio = new ServicioTraduccionBraille();
+    private final ProcesadorLotes procesador = new ProcesadorLotes(servicio, 4, 2);
+
+    @AfterEach
+    void cerrar() {
+        procesador.close();
+    }
+
+    @Test
+    @DisplayName("Debe dar los mismos resultados y en el mismo orden que las peticiones individuales")
+    void debeCoincidirConPeticionesIndividuales() {
+        Random aleatorio = new Random(7);
+        String alfabeto = "abcñáé ABC0123,.¿?€";
+        List<SolicitudTraduccion> lote = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder texto = new StringBuilder();
+            int longitud = aleatorio.nextInt(20);
+            for (int k = 0; k < longitud; k++) {
+                texto.append(alfabeto.charAt(aleatorio.nextInt(alfabeto.length())));
+            }
+            lote.add(new SolicitudTraduccion(texto.toString(), DIRECCIONES[aleatorio.nextInt(DIRECCIONES.length)]));
+        }
+
+        List<RespuestaTraduccion> respuestas = procesador.procesar(lote);
+
+        assertEquals(lote.size(), respuestas.size());
+        for (int i = 0; i < lote.size(); i++) {
+            assertRespuestaIgual(servicio.procesarTraduccion(lote.get(i)), respuestas.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Los errores deben quedar en el elemento que los produjo")
+    void debeAislarErrores() {
+        List<SolicitudTraduccion> lote = Arrays.asList(
+                new SolicitudTraduccion("Hola", "ESPANOL_A_BRAILLE"),
+                null,
+                new SolicitudTraduccion("", "ESPANOL_A_BRAILLE"),
+                new SolicitudTraduccion("€", "ESPANOL_A_BRAILLE"),
+                new SolicitudTraduccion("⠓⠕⠇⠁", "BRAILLE_A_ESPANOL"));
+
+        List<RespuestaTraduccion> respuestas = procesador.procesar(lote);
+
+        assertTrue(respuestas.get(0).isExito());
+        assertEquals("La solicitud no puede ser nula", respuestas.get(1).getError());
+        assertEquals("El texto no puede estar vacío", respuestas.get(2).getError());
+        assertFalse(respuestas.get(3).isExito());
+        assertEquals("hola", respuestas.get(4).getTextoTraducido());
+    }
+
+    @Test
+    @DisplayName("Debe aceptar lotes vacíos y rechazar lotes nulos")
+    void debeTratarLotesVaciosYNulos() {
+        assertTrue(procesador.procesar(Collections.emptyList()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> procesador.procesar(null));
+    }
+
+    private static void assertRespuestaIgual(RespuestaTraduccion esperada, RespuestaTraduccion obtenida) {
+        assertEquals(esperada.isExito(), obtenida.isExito());
+        assertEquals(esperada.getTextoOriginal(), obtenida.getTextoOriginal());
+        assertEquals(esperada.getTextoTraducido(), obtenida.getTextoTraducido());
+        assertEquals(esperada.getTextoEspejo(), obtenida.getTextoEspejo());
+        assertEquals(esperada.getDireccion(), obtenida.getDireccion());
+        assertEquals(esperada.getError(), obtenida.getError());
+    }
+}
@@ -0,0 +1,103 @@
+package service;
+
+import model.CeldasBraille;
+import model.DireccionTraduccion;
+import model.Traduccion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import javax.imageio.ImageIO;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RenderizadorBraille - Imágenes PNG y SVG de las celdas")
+class RenderizadorBrailleTest {
+
+    private static CeldasBraille celdas(String texto) {
+        Traduccion traduccion = Traduccion.crear(texto, DireccionTraduccion.ESPANOL_A_BRAILLE);
+        traduccion.ejecutar();
+        return traduccion.getCeldasTraducidas();
+    }
+
+    private static boolean oscuro(BufferedImage imagen, int x, int y) {
+        return (imagen.getRaster().getSample(x, y, 0)) < 64;
+    }
+
+    @Test
+    @DisplayName("Debe dibujar cada punto activo en su posición y dejar en blanco los inactivos")
+    void debeDibujarLosPuntos() {
+        // "a" es solo el punto 1; "l" son los puntos 1, 2 y 3
+        BufferedImage imagen = RenderizadorBraille.renderizar(celdas("al"), 8, ForkJoinPool.commonPool());
+        RenderizadorBraille.Glifos glifos = RenderizadorBraille.glifos(8);
+        int radio = glifos.diametro / 2;
+        int x = glifos.margen + radio;
+        int y = glifos.margen + radio;
+
+        assertEquals(glifos.ancho(2), imagen.getWidth());
+        assertEquals(glifos.alto(1), imagen.getHeight());
+        assertTrue(oscuro(imagen, x, y));
+        assertFalse(oscuro(imagen, x, y + glifos.paso));
+        assertFalse(oscuro(imagen, x + glifos.paso, y));
+
+        int x2 = x + glifos.avanceCelda;
+        for (int fila = 0; fila < 3; fila++) {
+            assertTrue(oscuro(imagen, x2, y + fila * glifos.paso));
+        }
+        assertFalse(oscuro(imagen, x2 + glifos.paso, y));
+        assertFalse(oscuro(imagen, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Dibujar por bandas en paralelo debe dar la misma imagen que en secuencia")
+    void debeCoincidirParaleloYSecuencial() {
+        CeldasBraille celdas = celdas("El niño tiene 12 años y vive en Madrid.\n".repeat(600));
+        assertTrue(celdas.longitud() >= RenderizadorBraille.UMBRAL_PARALELO);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BufferedImage paralela = RenderizadorBraille.renderizar(celdas, 3, pool);
+            BufferedImage secuencial = RenderizadorBraille.renderizar(celdas, 3, new ForkJoinPool(1));
+            assertArrayEquals(((DataBufferByte) secuencial.getRaster().getDataBuffer()).getData(),
+                    ((DataBufferByte) paralela.getRaster().getDataBuffer()).getData());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("El PNG y el SVG deben poder leerse y el SVG definir solo los glifos usados")
+    void debeEscribirPngYSvg() throws Exception {
+        CeldasBraille celdas = celdas("hola\nhola");
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        RenderizadorBraille.escribirPng(RenderizadorBraille.renderizar(celdas, 6, ForkJoinPool.commonPool()), png);
+        BufferedImage leida = ImageIO.read(new ByteArrayInputStream(png.toByteArray()));
+        assertEquals(RenderizadorBraille.glifos(6).alto(2), leida.getHeight());
+
+        StringWriter svg = new StringWriter();
+        RenderizadorBraille.escribirSvg(celdas, 6, svg);
+        Document documento = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(svg.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(4, documento.getElementsByTagName("symbol").getLength());
+        assertEquals(8, documento.getElementsByTagName("use").getLength());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar tamaños de punto fuera de rango")
+    void debeRechazarTamanoInvalido() {
+        CeldasBraille celdas = celdas("hola");
+        assertThrows(IllegalArgumentException.class,
+                () -> RenderizadorBraille.renderizar(celdas, RenderizadorBraille.PUNTO_MAXIMO + 1, ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class,
+                () -> RenderizadorBraille.escribirSvg(celdas, 1, new StringWriter()));
+    }
+}
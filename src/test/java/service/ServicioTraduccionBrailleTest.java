@@ -0,0 +1,130 @@
+package service;
+import dto.RespuestaTraduccion;
+import dto.SolicitudTraduccion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("ServicioTraduccionBraille - Campos de la respuesta")
+class ServicioTraduccionBrailleTest {
+
+    private static SolicitudTraduccion solicitud(String texto, String direccion, List<String> campos) {
+        SolicitudTraduccion solicitud = new SolicitudTraduccion(texto, direccion);
+        solicitud.setCampos(campos);
+        return solicitud;
+    }
+
+    @Test
+    @DisplayName("Sin campos debe devolver todos, con el espejo en ESPANOL_A_BRAILLE")
+    void debeDevolverTodosLosCamposPorDefecto() {
+        ServicioTraduccionBraille servicio = new ServicioTraduccionBraille(null);
+
+        RespuestaTraduccion respuesta = servicio.procesarTraduccion(
+                new SolicitudTraduccion("ab", "ESPANOL_A_BRAILLE"));
+
+        assertTrue(respuesta.isExito());
+        assertEquals("ab", respuesta.getTextoOriginal());
+        assertEquals("⠁⠃", respuesta.getTextoTraducido());
+        assertEquals("⠘⠈", respuesta.getTextoEspejo());
+        assertEquals("ESPANOL_A_BRAILLE", respuesta.getDireccion());
+        assertNotNull(respuesta.getVersionTabla());
+    }
+
+    @Test
+    @DisplayName("Debe devolver solo los campos pedidos, también desde la caché")
+    void debeDevolverSoloLosCamposPedidos() {
+        ServicioTraduccionBraille servicio = new ServicioTraduccionBraille(new CacheTraducciones(1 << 20));
+
+        for (int vez = 0; vez < 2; vez++) {
+            RespuestaTraduccion soloTexto = servicio.procesarTraduccion(
+                    solicitud("ab", "ESPANOL_A_BRAILLE", List.of("textoTraducido")));
+            assertTrue(soloTexto.isExito());
+            assertEquals("⠁⠃", soloTexto.getTextoTraducido());
+            assertNull(soloTexto.getTextoOriginal());
+            assertNull(soloTexto.getTextoEspejo());
+            assertNull(soloTexto.getDireccion());
+            assertNull(soloTexto.getVersionTabla());
+            assertNotNull(soloTexto.getVersionTablaUsada(), "la versión usada se conserva para el ETag");
+
+            RespuestaTraduccion soloEspejo = servicio.procesarTraduccion(
+                    solicitud("ab", "ESPANOL_A_BRAILLE", List.of("textoEspejo")));
+            assertEquals("⠘⠈", soloEspejo.getTextoEspejo());
+            assertNull(soloEspejo.getTextoTraducido());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe incluir las celdas en binario y Base64 solo si se piden")
+    void debeIncluirCeldasSoloSiSePiden() {
+        ServicioTraduccionBraille servicio = new ServicioTraduccionBraille(null);
+
+        assertNull(servicio.procesarTraduccion(new SolicitudTraduccion("ab", "ESPANOL_A_BRAILLE")).getCeldas());
+
+        RespuestaTraduccion respuesta = servicio.procesarTraduccion(
+                solicitud("ab\nc", "ESPANOL_A_BRAILLE", List.of("celdas")));
+        assertArrayEquals(new byte[]{2, 0x01, 0x03, 1, 0x09}, Base64.getDecoder().decode(respuesta.getCeldas()));
+        assertNull(respuesta.getTextoTraducido());
+
+        assertNull(servicio.procesarTraduccion(solicitud("⠁", "BRAILLE_A_ESPANOL", List.of("celdas"))).getCeldas());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un campo desconocido")
+    void debeRechazarCampoDesconocido() {
+        RespuestaTraduccion respuesta = new ServicioTraduccionBraille(null).procesarTraduccion(
+                solicitud("ab", "ESPANOL_A_BRAILLE", List.of("textoTraducido", "todo")));
+
+        assertFalse(respuesta.isExito());
+        assertTrue(respuesta.getError().contains("'todo'"));
+        assertEquals("CAMPO_DESCONOCIDO", respuesta.getCodigoError());
+    }
+
+    @Test
+    @DisplayName("Debe informar el carácter no soportado y su posición en el texto original")
+    void debeInformarErrorEstructurado() {
+        ServicioTraduccionBraille servicio = new ServicioTraduccionBraille(null);
+
+        RespuestaTraduccion respuesta = servicio.procesarTraduccion(
+                new SolicitudTraduccion("  Hola   mundo €", "ESPANOL_A_BRAILLE"));
+
+        assertFalse(respuesta.isExito());
+        assertEquals("El texto contiene caracteres no soportados: '€'", respuesta.getError());
+        assertEquals("CARACTER_NO_SOPORTADO", respuesta.getCodigoError());
+        assertEquals("€", respuesta.getCaracterError());
+        assertEquals(15, respuesta.getPosicionError());
+
+        RespuestaTraduccion braille = servicio.procesarTraduccion(
+                new SolicitudTraduccion("⠁⠃x", "BRAILLE_A_ESPANOL"));
+        assertEquals("BRAILLE_NO_VALIDO", braille.getCodigoError());
+        assertEquals(2, braille.getPosicionError());
+
+        RespuestaTraduccion direccion = servicio.procesarTraduccion(new SolicitudTraduccion("ab", "AL_REVES"));
+        assertEquals("DIRECCION_INVALIDA", direccion.getCodigoError());
+        assertNull(direccion.getPosicionError());
+    }
+
+    @Test
+    @DisplayName("traducirCeldas debe devolver las celdas hacia Braille y un error en otro caso")
+    void debeTraducirCeldas() {
+        ServicioTraduccionBraille servicio = new ServicioTraduccionBraille(null);
+
+        ServicioTraduccionBraille.TraduccionCeldas celdas = servicio.traducirCeldas(
+                new SolicitudTraduccion("Hola", "ESPANOL_A_BRAILLE"));
+        assertNull(celdas.getError());
+        assertEquals(servicio.procesarTraduccion(new SolicitudTraduccion("Hola", "ESPANOL_A_BRAILLE"))
+                .getTextoTraducido(), celdas.getCeldas().aUnicode());
+        assertNotNull(celdas.getVersionTabla());
+
+        ServicioTraduccionBraille.TraduccionCeldas haciaEspanol = servicio.traducirCeldas(
+                new SolicitudTraduccion("⠁⠃", "BRAILLE_A_ESPANOL"));
+        assertNull(haciaEspanol.getCeldas());
+        assertEquals("DIRECCION_SIN_CELDAS", haciaEspanol.getError().getCodigoError());
+
+        assertEquals("CARACTER_NO_SOPORTADO", servicio.traducirCeldas(
+                new SolicitudTraduccion("Hola €", "ESPANOL_A_BRAILLE")).getError().getCodigoError());
+        assertEquals("SOLICITUD_NULA", servicio.traducirCeldas(null).getError().getCodigoError());
+    }
+}
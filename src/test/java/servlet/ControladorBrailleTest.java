@@ -0,0 +1,48 @@
+package servlet;
+
+import dto.SolicitudTraduccion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ControladorBraille - ETag de las respuestas GET")
+class ControladorBrailleTest {
+
+    private static SolicitudTraduccion solicitud(String texto, String direccion, List<String> campos) {
+        SolicitudTraduccion solicitud = new SolicitudTraduccion(texto, direccion);
+        solicitud.setCampos(campos);
+        return solicitud;
+    }
+
+    @Test
+    @DisplayName("El ETag debe depender del texto, la dirección, los campos y la tabla")
+    void debeCalcularEtagDeterminista() {
+        String etag = ControladorBraille.calcularEtag("espanol-1", solicitud("Hola", "ESPANOL_A_BRAILLE", null));
+
+        assertEquals(etag, ControladorBraille.calcularEtag("espanol-1", solicitud("Hola", "ESPANOL_A_BRAILLE", null)));
+        assertTrue(etag.startsWith("\"espanol-1-") && etag.endsWith("\""), etag);
+        assertNotEquals(etag, ControladorBraille.calcularEtag("espanol-2", solicitud("Hola", "ESPANOL_A_BRAILLE", null)));
+        assertNotEquals(etag, ControladorBraille.calcularEtag("espanol-1", solicitud("Hola ", "ESPANOL_A_BRAILLE", null)));
+        assertNotEquals(etag, ControladorBraille.calcularEtag("espanol-1",
+                solicitud("Hola", "ESPANOL_A_BRAILLE_ESPEJO", null)));
+        assertNotEquals(etag, ControladorBraille.calcularEtag("espanol-1", solicitud("Hola", "ESPANOL_A_BRAILLE", List.of())));
+        assertNotEquals(
+                ControladorBraille.calcularEtag("espanol-1", solicitud("Hola", "ESPANOL_A_BRAILLE", List.of("a,b"))),
+                ControladorBraille.calcularEtag("espanol-1", solicitud("Hola", "ESPANOL_A_BRAILLE", List.of("a", "b"))));
+    }
+
+    @Test
+    @DisplayName("If-None-Match debe aceptar listas, ETag débiles y el comodín")
+    void debeCompararIfNoneMatch() {
+        String etag = "\"espanol-1-abc\"";
+
+        assertTrue(ControladorBraille.coincideEtag(etag, etag));
+        assertTrue(ControladorBraille.coincideEtag("\"otro\", W/" + etag, etag));
+        assertTrue(ControladorBraille.coincideEtag("*", etag));
+        assertFalse(ControladorBraille.coincideEtag(null, etag));
+        assertFalse(ControladorBraille.coincideEtag("\"otro\"", etag));
+    }
+}
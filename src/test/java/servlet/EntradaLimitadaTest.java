@@ -0,0 +1,39 @@
+package servlet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EntradaLimitada - Máximo de bytes del cuerpo")
+class EntradaLimitadaTest {
+
+    private static EntradaLimitada entrada(String cuerpo, int maximo) {
+        return new EntradaLimitada(new ByteArrayInputStream(cuerpo.getBytes(StandardCharsets.UTF_8)), maximo);
+    }
+
+    @Test
+    @DisplayName("Un cuerpo dentro del máximo debe leerse completo")
+    void debeLeerCuerpoDentroDelMaximo() throws Exception {
+        EntradaLimitada justa = entrada("{\"a\":1}", 7);
+        assertEquals("{\"a\":1}", new String(justa.readAllBytes(), StandardCharsets.UTF_8));
+        assertFalse(justa.excedida());
+    }
+
+    @Test
+    @DisplayName("Un cuerpo que pasa del máximo debe cortarse e indicarlo")
+    void debeCortarCuerpoExcedido() throws Exception {
+        EntradaLimitada larga = entrada("{\"a\":12}", 7);
+        assertEquals("{\"a\":12", new String(larga.readAllBytes(), StandardCharsets.UTF_8));
+        assertTrue(larga.excedida());
+
+        EntradaLimitada porBytes = entrada("abc", 2);
+        assertEquals('a', porBytes.read());
+        assertEquals('b', porBytes.read());
+        assertEquals(-1, porBytes.read());
+        assertTrue(porBytes.excedida());
+    }
+}
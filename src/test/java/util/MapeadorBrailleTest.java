@@ -0,0 +1,113 @@
+package util;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("MapeadorBraille - Tablas de mapeo")
+class MapeadorBrailleTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "h, ⠓",
+        "H, ⠓",
+        "ñ, ⠻",
+        "Ñ, ⠻",
+        "ü, ⠳"
+    })
+    @DisplayName("Debe mapear letras a celdas con la API primitiva")
+    void debeMapearLetrasACeldas(char letra, char celdaEsperada) {
+        assertEquals(celdaEsperada, MapeadorBraille.obtenerCeldaParaLetra(letra));
+        assertEquals(String.valueOf(celdaEsperada), MapeadorBraille.obtenerBrailleParaLetra(letra));
+    }
+
+    @Test
+    @DisplayName("Debe devolver SIN_MAPEO para caracteres sin tabla")
+    void debeDevolverSinMapeo() {
+        assertEquals(MapeadorBraille.SIN_MAPEO, MapeadorBraille.obtenerCeldaParaLetra('@'));
+        assertEquals(MapeadorBraille.SIN_MAPEO, MapeadorBraille.obtenerCeldaParaPuntuacion('€'));
+        assertEquals(MapeadorBraille.SIN_MAPEO, MapeadorBraille.obtenerLetraParaCelda('a'));
+        assertNull(MapeadorBraille.obtenerBrailleParaNumero('x'));
+        assertNull(MapeadorBraille.obtenerLetraParaBraille("⠓⠕"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "⠖, +",
+        "⠢, ¿",
+        "⠤, _",
+        "⠶, =",
+        "⠌, /"
+    })
+    @DisplayName("Debe conservar la lectura inversa de los patrones de puntuación compartidos")
+    void debeResolverPuntuacionAmbigua(char celda, char puntuacionEsperada) {
+        assertEquals(puntuacionEsperada, MapeadorBraille.obtenerPuntuacionParaCelda(celda));
+        assertEquals(Character.valueOf(puntuacionEsperada),
+                MapeadorBraille.obtenerPuntuacionParaBraille(String.valueOf(celda)));
+    }
+
+    @Test
+    @DisplayName("Las tablas inversas deben ser coherentes con las directas")
+    void debeSerCoherenteEnAmbasDirecciones() {
+        for (char c = 'a'; c <= 'z'; c++) {
+            assertEquals(c, MapeadorBraille.obtenerLetraParaCelda(MapeadorBraille.obtenerCeldaParaLetra(c)));
+        }
+        for (char d = '0'; d <= '9'; d++) {
+            assertEquals(d, MapeadorBraille.obtenerNumeroParaCelda(MapeadorBraille.obtenerCeldaParaNumero(d)));
+        }
+    }
+
+    @Test
+    @DisplayName("El espejo con tabla debe coincidir con el espejo por líneas original")
+    void debeEspejarIgualQueImplementacionOriginal() throws IOException {
+        String alfabeto = "⠀⠁⠓⠕⠇⠼⠨⣿⡀⢀\n\nab \uD83D\uDE00";
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder texto = new StringBuilder();
+            int longitud = aleatorio.nextInt(60);
+            for (int k = 0; k < longitud; k++) {
+                texto.append(alfabeto.charAt(aleatorio.nextInt(alfabeto.length())));
+            }
+            String esperado = espejarPorLineas(texto.toString());
+            assertEquals(esperado, MapeadorBraille.espejarBraille(texto.toString()));
+
+            StringWriter salida = new StringWriter();
+            MapeadorBraille.espejarBraille(new StringReader(texto.toString()), salida);
+            assertEquals(esperado, salida.toString());
+        }
+    }
+
+    private static String espejarPorLineas(String texto) {
+        if (texto.isEmpty()) return texto;
+        String[] lineas = texto.split("\n", -1);
+        StringBuilder resultado = new StringBuilder();
+        for (int i = 0; i < lineas.length; i++) {
+            StringBuilder lineaEspejada = new StringBuilder();
+            for (char c : lineas[i].toCharArray()) {
+                if (MapeadorBraille.esCaracterBraille(c)) {
+                    int m = c - '\u2800';
+                    int espejo = 0;
+                    if ((m & 0x01) != 0) espejo |= 0x08;
+                    if ((m & 0x02) != 0) espejo |= 0x10;
+                    if ((m & 0x04) != 0) espejo |= 0x20;
+                    if ((m & 0x08) != 0) espejo |= 0x01;
+                    if ((m & 0x10) != 0) espejo |= 0x02;
+                    if ((m & 0x20) != 0) espejo |= 0x04;
+                    if ((m & 0x40) != 0) espejo |= 0x80;
+                    if ((m & 0x80) != 0) espejo |= 0x40;
+                    c = (char) ('\u2800' + espejo);
+                }
+                lineaEspejada.append(c);
+            }
+            resultado.append(lineaEspejada.reverse());
+            if (i < lineas.length - 1) resultado.append('\n');
+        }
+        return resultado.toString();
+    }
+}
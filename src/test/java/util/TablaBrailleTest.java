@@ -0,0 +1,107 @@
+package util;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("TablaBraille - Carga y compilación de archivos de tabla")
+class TablaBrailleTest {
+
+    private static final String TABLA_MINIMA = String.join("\n",
+            "# tabla de prueba",
+            "letra a 1",
+            "letra \\s 0",
+            "numero 1 1",
+            "puntuacion ! 235",
+            "puntuacion + 235 inversa",
+            "puntuacion ¡ 235",
+            "puntuacion € 1246",
+            "puntuacion \\u2014 36",
+            "signo numero 3456",
+            "signo mayuscula 46");
+
+    private static TablaBraille compilar(String contenido) throws IOException {
+        return TablaBraille.compilar("prueba", "memoria", new StringReader(contenido));
+    }
+
+    @Test
+    @DisplayName("Debe compilar reglas, escapes y caracteres fuera de Latin-1")
+    void debeCompilarTabla() throws IOException {
+        TablaBraille tabla = compilar(TABLA_MINIMA);
+
+        assertEquals('⠁', tabla.celdaParaLetra('a'));
+        assertEquals('⠀', tabla.celdaParaLetra(' '));
+        assertEquals('⠁', tabla.celdaParaNumero('1'));
+        assertEquals('⠫', tabla.celdaParaPuntuacion('€'));
+        assertEquals('⠤', tabla.celdaParaPuntuacion('—'));
+        assertEquals(MapeadorBraille.SIN_MAPEO, tabla.celdaParaLetra('b'));
+        assertEquals(MapeadorBraille.SIN_MAPEO, tabla.celdaParaPuntuacion('₭'));
+        assertEquals('⠼', tabla.signoNumero());
+        assertEquals('⠨', tabla.signoMayuscula());
+        assertEquals(8, tabla.cantidadReglas());
+        assertTrue(tabla.getNanosCompilacion() > 0);
+    }
+
+    @Test
+    @DisplayName("La lectura inversa debe preferir la regla marcada y si no la primera")
+    void debeResolverLecturaInversa() throws IOException {
+        TablaBraille tabla = compilar(TABLA_MINIMA);
+        assertEquals('+', tabla.puntuacionParaCelda('⠖'));
+
+        TablaBraille sinMarca = compilar(TABLA_MINIMA.replace(" inversa", ""));
+        assertEquals('!', sinMarca.puntuacionParaCelda('⠖'));
+    }
+
+    @Test
+    @DisplayName("Debe informar el número de línea de los errores de formato")
+    void debeInformarErrores() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> compilar("letra a 1\nletra b 19\n"));
+        assertEquals("Tabla 'prueba', línea 2: puntos no válidos '19'", e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> compilar("letra a 1\nletra a 2"));
+        assertThrows(IllegalArgumentException.class, () -> compilar("letra A 1"));
+        assertThrows(IllegalArgumentException.class, () -> compilar("vocal a 1"));
+        assertThrows(IllegalArgumentException.class, () -> compilar("letra a 1"));
+    }
+
+    @Test
+    @DisplayName("Debe cargar tablas del sistema de archivos y del classpath")
+    void debeCargarArchivoYRecurso(@TempDir Path directorio) throws IOException {
+        Path archivo = directorio.resolve("minima.tabla");
+        Files.writeString(archivo, TABLA_MINIMA, StandardCharsets.UTF_8);
+
+        TablaBraille tabla = TablaBraille.cargarArchivo(archivo);
+        assertEquals("minima", tabla.getNombre());
+        assertEquals('⠁', tabla.celdaParaLetra('a'));
+
+        TablaBraille predeterminada = TablaBraille.cargarRecurso(MapeadorBraille.TABLA_PREDETERMINADA);
+        assertEquals("espanol", predeterminada.getNombre());
+        assertEquals(62, predeterminada.cantidadReglas());
+        assertTrue(predeterminada.informe().contains("hash perfecto"));
+        assertThrows(IOException.class, () -> TablaBraille.cargarRecurso("/tablas/no-existe.tabla"));
+    }
+
+    @Test
+    @DisplayName("El hash perfecto no debe tener colisiones con muchas claves")
+    void debeCompilarSinColisiones() {
+        int cantidad = 5000;
+        char[] claves = new char[cantidad];
+        char[] valores = new char[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            claves[i] = (char) (0x100 + i * 7);
+            valores[i] = (char) ('⠀' + (i & 0xFF));
+        }
+        TablaCaracteres tabla = TablaCaracteres.compilar(claves, valores, cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            assertEquals(valores[i], tabla.obtener(claves[i]));
+        }
+        assertEquals(MapeadorBraille.SIN_MAPEO, tabla.obtener('a'));
+    }
+}
@@ -0,0 +1,70 @@
+package websocket;
+
+import model.DireccionTraduccion;
+import model.DocumentoTraducido;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EdicionPendiente - Combinación de ráfagas de ediciones")
+class EdicionPendienteTest {
+
+    private static DocumentoTraducido documento(String texto) {
+        DocumentoTraducido documento = new DocumentoTraducido(DireccionTraduccion.ESPANOL_A_BRAILLE);
+        documento.editar(0, 0, texto);
+        return documento;
+    }
+
+    @Test
+    @DisplayName("Debe combinar pulsaciones seguidas en un único reemplazo")
+    void debeCombinarPulsaciones() {
+        DocumentoTraducido base = documento("hola mundo");
+        EdicionPendiente pendiente = new EdicionPendiente(4, 0, " ");
+        pendiente.anadir(base, 5, 0, "n");
+        pendiente.anadir(base, 6, 0, "o");
+        pendiente.anadir(base, 6, 1, "");
+
+        assertEquals(4, pendiente.getDesde());
+        assertEquals(0, pendiente.getBorrados());
+        assertEquals(" n", pendiente.getInsertado().toString());
+    }
+
+    @Test
+    @DisplayName("Aplicar el reemplazo combinado debe dar el mismo texto que aplicar cada edición")
+    void debeEquivalerALasEdicionesSucesivas() {
+        Random aleatorio = new Random(11);
+        for (int prueba = 0; prueba < 200; prueba++) {
+            DocumentoTraducido base = documento("uno dos\ntres cuatro cinco");
+            StringBuilder esperado = new StringBuilder(base.getTexto());
+            EdicionPendiente pendiente = null;
+            for (int i = 0; i < 6; i++) {
+                int desde = aleatorio.nextInt(esperado.length() + 1);
+                int borrados = aleatorio.nextInt(Math.min(5, esperado.length() - desde) + 1);
+                String insertado = "xyz ".substring(aleatorio.nextInt(4));
+                esperado.replace(desde, desde + borrados, insertado);
+                if (pendiente == null) {
+                    pendiente = new EdicionPendiente(desde, borrados, insertado);
+                } else {
+                    pendiente.anadir(base, desde, borrados, insertado);
+                }
+            }
+
+            base.editar(pendiente.getDesde(), pendiente.getBorrados(), pendiente.getInsertado());
+            assertEquals(esperado.toString(), base.getTexto());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una edición fuera del texto editado")
+    void debeRechazarEdicionFueraDelTexto() {
+        DocumentoTraducido base = documento("hola");
+        EdicionPendiente pendiente = new EdicionPendiente(4, 0, "!");
+
+        assertThrows(IllegalArgumentException.class, () -> pendiente.anadir(base, 6, 0, "x"));
+        assertThrows(IllegalArgumentException.class, () -> pendiente.anadir(base, 3, 3, ""));
+        assertEquals(5, pendiente.longitudResultante(base));
+    }
+}